@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.benchmark.core;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchRegisterRequest;
+import org.apache.seata.core.rpc.netty.v1.ProtocolDecoderV1;
+import org.apache.seata.core.rpc.netty.v1.ProtocolEncoderV1;
+import org.apache.seata.core.serializer.SerializerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the v1 protocol codec for every serializer usable on the v1 protocol.
+ * <p>
+ * The compressor defaults to none, pass {@code -p compressor=ZSTD} (or any other {@link CompressorType})
+ * to include the compression in the measurement.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolCodecBenchmark {
+
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    @Param({"SEATA", "PROTOBUF", "KRYO", "HESSIAN", "FASTJSON2", "FURY"})
+    private String serializer;
+
+    @Param({"NONE"})
+    private String compressor;
+
+    private final ProtocolEncoderV1 encoder = new ProtocolEncoderV1();
+
+    private ProtocolDecoderV1 decoder;
+
+    private RpcMessage rpcMessage;
+
+    private byte[] frame;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        decoder = new ProtocolDecoderV1();
+
+        BranchRegisterRequest request = new BranchRegisterRequest();
+        request.setXid("192.168.0.1:8091:2000042948");
+        request.setBranchType(BranchType.AT);
+        request.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        request.setLockKey("t_order:100001,100002,100003;t_order_item:200001,200002");
+        request.setApplicationData("{\"autoCommit\":false}");
+
+        rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(SerializerType.getByName(serializer).getCode());
+        rpcMessage.setCompressor(CompressorType.getByName(compressor).getCode());
+        rpcMessage.setBody(request);
+
+        ByteBuf out = ALLOCATOR.buffer();
+        try {
+            encoder.encode(rpcMessage, out);
+            frame = new byte[out.readableBytes()];
+            out.readBytes(frame);
+        } finally {
+            out.release();
+        }
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf out = ALLOCATOR.buffer();
+        try {
+            encoder.encode(rpcMessage, out);
+            return out.readableBytes();
+        } finally {
+            out.release();
+        }
+    }
+
+    @Benchmark
+    public RpcMessage decode() {
+        return decoder.decodeFrame(Unpooled.wrappedBuffer(frame));
+    }
+
+    @Benchmark
+    public RpcMessage roundTrip() {
+        ByteBuf out = ALLOCATOR.buffer();
+        try {
+            encoder.encode(rpcMessage, out);
+            return decoder.decodeFrame(out);
+        } finally {
+            out.release();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.benchmark.rm;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.rm.datasource.sql.SQLVisitorFactory;
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the sql recognition done by the AT mode for every statement executed in a global transaction.
+ * <p>
+ * The sql parser follows the {@code client.rm.sqlParserType} configuration, run with
+ * {@code -jvmArgsAppend -Dclient.rm.sqlParserType=antlr} to measure the antlr parser.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SQLVisitorFactoryBenchmark {
+
+    @Param({
+        "insert into t_order (id, user_id, commodity_code, count, money) values (?, ?, ?, ?, ?)",
+        "update t_order set count = count - ?, money = ? where id = ?",
+        "delete from t_order where id = ?",
+        "select id, user_id, count from t_order where id = ? for update"
+    })
+    private String sql;
+
+    @Param({JdbcConstants.MYSQL})
+    private String dbType;
+
+    @Benchmark
+    public List<SQLRecognizer> get() {
+        return SQLVisitorFactory.get(sql, dbType);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.benchmark.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.storage.file.lock.FileLocker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the row lock table used by the file lock mode.
+ * <p>
+ * Each invocation acquires and then releases all row locks of one AT branch, the table is optionally
+ * pre-populated with the locks of other branches to observe the cost of a crowded lock table.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileLockerBenchmark {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    private static final String TABLE_NAME = "t_order";
+
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    @Param({"1", "10", "100"})
+    private int rowsPerBranch;
+
+    @Param({"0", "100000"})
+    private int heldLocks;
+
+    @Setup(Level.Trial)
+    public void preload() {
+        BranchSession holder = newBranchSession();
+        List<RowLock> rowLocks = newRowLocks(holder, heldLocks);
+        new FileLocker(holder).acquireLock(rowLocks);
+    }
+
+    @TearDown(Level.Trial)
+    public void clean() {
+        new FileLocker(newBranchSession()).cleanAllLocks();
+    }
+
+    @Benchmark
+    public void acquireAndRelease(BranchState state, Blackhole blackhole) {
+        FileLocker locker = new FileLocker(state.branchSession);
+        blackhole.consume(locker.acquireLock(state.rowLocks));
+        blackhole.consume(locker.releaseLock(state.rowLocks));
+    }
+
+    @Benchmark
+    public boolean isLockable(BranchState state) {
+        return new FileLocker(state.branchSession).isLockable(state.rowLocks);
+    }
+
+    /**
+     * The row locks of one branch, every benchmark thread owns its own primary keys so that there are no conflicts.
+     */
+    @State(Scope.Thread)
+    public static class BranchState {
+
+        private BranchSession branchSession;
+
+        private List<RowLock> rowLocks;
+
+        @Setup(Level.Trial)
+        public void setup(FileLockerBenchmark benchmark) {
+            branchSession = newBranchSession();
+            rowLocks = newRowLocks(branchSession, benchmark.rowsPerBranch);
+        }
+    }
+
+    private static BranchSession newBranchSession() {
+        long id = ID_GENERATOR.incrementAndGet();
+        BranchSession branchSession = new BranchSession(BranchType.AT);
+        branchSession.setXid("127.0.0.1:8091:" + id);
+        branchSession.setTransactionId(id);
+        branchSession.setBranchId(id);
+        branchSession.setResourceId(RESOURCE_ID);
+        return branchSession;
+    }
+
+    private static List<RowLock> newRowLocks(BranchSession branchSession, int size) {
+        List<RowLock> rowLocks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RowLock rowLock = new RowLock();
+            rowLock.setXid(branchSession.getXid());
+            rowLock.setTransactionId(branchSession.getTransactionId());
+            rowLock.setBranchId(branchSession.getBranchId());
+            rowLock.setResourceId(RESOURCE_ID);
+            rowLock.setTableName(TABLE_NAME);
+            rowLock.setPk(branchSession.getBranchId() + "_" + i);
+            rowLocks.add(rowLock);
+        }
+        return rowLocks;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.benchmark.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.storage.file.session.FileSessionManager;
+import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
+import org.apache.seata.server.store.TransactionStoreManager.LogOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the write path of the file session store.
+ * <p>
+ * The flush mode is read from the configuration, run with
+ * {@code -jvmArgsAppend -Dstore.file.flushDiskMode=sync} to measure the synchronous flush,
+ * {@code -Dstore.file.flushDiskMode=group} to measure the group commit and with
+ * {@code -t <threads>} to measure contention between concurrent writers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileTransactionStoreManagerBenchmark {
+
+    private File storeDir;
+
+    private FileTransactionStoreManager storeManager;
+
+    private GlobalSession globalSession;
+
+    private BranchSession branchSession;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        storeDir = Files.createTempDirectory("seata-benchmark").toFile();
+        storeManager = new FileTransactionStoreManager(storeDir.getAbsolutePath() + File.separator + "root.data",
+            new FileSessionManager("benchmark"));
+
+        globalSession = new GlobalSession("benchmark-app", "default_tx_group", "benchmark-tx", 60000);
+        globalSession.setBeginTime(System.currentTimeMillis());
+
+        branchSession = new BranchSession(BranchType.AT);
+        branchSession.setXid(globalSession.getXid());
+        branchSession.setTransactionId(globalSession.getTransactionId());
+        branchSession.setBranchId(globalSession.getTransactionId() + 1);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchSession.setClientId("benchmark-app:127.0.0.1:50000");
+        branchSession.setLockKey("t_order:100001,100002,100003");
+        branchSession.setStatus(BranchStatus.Registered);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        storeManager.shutdown();
+        File[] files = storeDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        storeDir.delete();
+    }
+
+    @Benchmark
+    public boolean writeGlobalSession() {
+        return storeManager.writeSession(LogOperation.GLOBAL_UPDATE, globalSession);
+    }
+
+    @Benchmark
+    public boolean writeBranchSession() {
+        return storeManager.writeSession(LogOperation.BRANCH_ADD, branchSession);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.benchmark.server;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the binary encoding of global and branch sessions, which is what the file and raft
+ * store modes write for every session mutation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionCodecBenchmark {
+
+    /**
+     * The number of primary keys in the lock key of the branch session.
+     */
+    @Param({"1", "20", "200"})
+    private int lockKeyRows;
+
+    private GlobalSession globalSession;
+
+    private BranchSession branchSession;
+
+    private byte[] globalSessionBytes;
+
+    private byte[] branchSessionBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        globalSession = new GlobalSession("benchmark-app", "default_tx_group", "benchmark-tx", 60000);
+        globalSession.setBeginTime(System.currentTimeMillis());
+        globalSession.setStatus(GlobalStatus.Begin);
+        globalSession.setApplicationData("{\"autoCommit\":false}");
+
+        branchSession = new BranchSession(BranchType.AT);
+        branchSession.setXid(globalSession.getXid());
+        branchSession.setTransactionId(globalSession.getTransactionId());
+        branchSession.setBranchId(globalSession.getTransactionId() + 1);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchSession.setClientId("benchmark-app:127.0.0.1:50000");
+        branchSession.setStatus(BranchStatus.Registered);
+        branchSession.setLockKey(lockKey(lockKeyRows));
+
+        globalSessionBytes = globalSession.encode();
+        branchSessionBytes = branchSession.encode();
+    }
+
+    @Benchmark
+    public byte[] encodeGlobalSession() {
+        return globalSession.encode();
+    }
+
+    @Benchmark
+    public GlobalSession decodeGlobalSession() {
+        GlobalSession session = new GlobalSession();
+        session.decode(globalSessionBytes);
+        return session;
+    }
+
+    @Benchmark
+    public byte[] encodeBranchSession() {
+        return branchSession.encode();
+    }
+
+    @Benchmark
+    public BranchSession decodeBranchSession() {
+        BranchSession session = new BranchSession();
+        session.decode(branchSessionBytes);
+        return session;
+    }
+
+    private static String lockKey(int rows) {
+        StringBuilder lockKey = new StringBuilder("t_order:");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                lockKey.append(',');
+            }
+            lockKey.append(100000 + i);
+        }
+        return lockKey.toString();
+    }
+}
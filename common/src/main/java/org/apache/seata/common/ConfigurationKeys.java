@@ -175,6 +175,21 @@ public interface ConfigurationKeys {
      * The constant CLIENT_ASYNC_COMMIT_BUFFER_LIMIT.
      */
     String CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = CLIENT_RM_PREFIX + "asyncCommitBufferLimit";
+
+    /**
+     * The constant CLIENT_RM_ENABLE_VIRTUAL_THREAD.
+     */
+    String CLIENT_RM_ENABLE_VIRTUAL_THREAD = CLIENT_RM_PREFIX + "enableVirtualThread";
+
+    /**
+     * The constant CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY.
+     */
+    String CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY = CLIENT_RM_PREFIX + "virtualThreadMaxConcurrency";
+
+    /**
+     * The constant CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS.
+     */
+    String CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS = CLIENT_RM_PREFIX + "virtualThreadMaxPendingTasks";
     /**
      * The constant CLIENT_RM_LOCK_PREFIX.
      */
@@ -274,6 +289,16 @@ public interface ConfigurationKeys {
      */
     String COMPRESSOR_FOR_RPC = TRANSPORT_PREFIX + "compressor";
 
+    /**
+     * The constant COMPRESSOR_ZSTD_DICTIONARY_PATH, the dictionary files or directories of the zstd compressor.
+     */
+    String COMPRESSOR_ZSTD_DICTIONARY_PATH = TRANSPORT_PREFIX + "compressorZstdDictionaryPath";
+
+    /**
+     * The constant COMPRESSOR_ZSTD_DICTIONARY_ID, the id of the dictionary the zstd compressor compresses with.
+     */
+    String COMPRESSOR_ZSTD_DICTIONARY_ID = TRANSPORT_PREFIX + "compressorZstdDictionaryId";
+
     /**
      * The constant STORE_DB_PREFIX.
      */
@@ -354,6 +379,21 @@ public interface ConfigurationKeys {
      */
     String LOCK_DB_TABLE = STORE_DB_PREFIX + "lockTable";
 
+    /**
+     * The constant LOCK_DB_BATCH_ACQUIRE_ENABLED.
+     */
+    String LOCK_DB_BATCH_ACQUIRE_ENABLED = STORE_DB_PREFIX + "lockBatchAcquireEnabled";
+
+    /**
+     * The constant LOCK_DB_UNLOCK_BATCH_ENABLED.
+     */
+    String LOCK_DB_UNLOCK_BATCH_ENABLED = STORE_DB_PREFIX + "unlockBatchEnabled";
+
+    /**
+     * The constant LOCK_DB_UNLOCK_BATCH_WINDOW.
+     */
+    String LOCK_DB_UNLOCK_BATCH_WINDOW = STORE_DB_PREFIX + "unlockBatchWindow";
+
     /**
      * The constant SERVER_RPC_PORT.
      */
@@ -399,6 +439,16 @@ public interface ConfigurationKeys {
      */
     String TIMEOUT_RETRY_PERIOD = RECOVERY_PREFIX + "timeoutRetryPeriod";
 
+    /**
+     * The constant RECOVERY_PARTITIONS.
+     */
+    String RECOVERY_PARTITIONS = RECOVERY_PREFIX + "partitions";
+
+    /**
+     * The constant RECOVERY_PARTITION_QUEUE_SIZE.
+     */
+    String RECOVERY_PARTITION_QUEUE_SIZE = RECOVERY_PREFIX + "partitionQueueSize";
+
     /**
      * The constant CLIENT_UNDO_PREFIX.
      */
@@ -419,6 +469,11 @@ public interface ConfigurationKeys {
      */
     String TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS = CLIENT_UNDO_PREFIX + "onlyCareUpdateColumns";
 
+    /**
+     * The constant TRANSACTION_UNDO_RETURNING_IMAGE.
+     */
+    String TRANSACTION_UNDO_RETURNING_IMAGE = CLIENT_UNDO_PREFIX + "returningImage";
+
     /**
      * the constant CLIENT_UNDO_COMPRESS_PREFIX
      */
@@ -656,11 +711,41 @@ public interface ConfigurationKeys {
      */
     String ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = TRANSPORT_PREFIX + "enableRmClientBatchSendRequest";
 
+    /**
+     * The constant CLIENT_BATCH_SEND_MAX_SIZE
+     */
+    String CLIENT_BATCH_SEND_MAX_SIZE = TRANSPORT_PREFIX + "clientBatchSendMaxSize";
+
+    /**
+     * The constant CLIENT_BATCH_SEND_MAX_WAIT
+     */
+    String CLIENT_BATCH_SEND_MAX_WAIT = TRANSPORT_PREFIX + "clientBatchSendMaxWait";
+
+    /**
+     * The constant CLIENT_CHANNELS_PER_SERVER
+     */
+    String CLIENT_CHANNELS_PER_SERVER = TRANSPORT_PREFIX + "clientChannelsPerServer";
+
     /**
      * The constant ENABLE_TC_SERVER_BATCH_SEND_RESPONSE
      */
     String ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = TRANSPORT_PREFIX + "enableTcServerBatchSendResponse";
 
+    /**
+     * The constant TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE
+     */
+    String TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE = TRANSPORT_PREFIX + "tcServerBatchSendResponseMaxSize";
+
+    /**
+     * The constant ENABLE_TC_SERVER_MESSAGE_LANE
+     */
+    String ENABLE_TC_SERVER_MESSAGE_LANE = TRANSPORT_PREFIX + "enableTcServerMessageLane";
+
+    /**
+     * The constant TC_SERVER_MESSAGE_LANE_PREFIX, followed by the lane name and "poolSize" or "queueSize"
+     */
+    String TC_SERVER_MESSAGE_LANE_PREFIX = TRANSPORT_PREFIX + "messageLane.";
+
     /**
      * The constant DISABLE_GLOBAL_TRANSACTION.
      */
@@ -671,6 +756,11 @@ public interface ConfigurationKeys {
      */
     String SQL_PARSER_TYPE = CLIENT_RM_PREFIX + "sqlParserType";
 
+    /**
+     * The constant SQL_RECOGNIZER_CACHE_SIZE.
+     */
+    String SQL_RECOGNIZER_CACHE_SIZE = CLIENT_RM_PREFIX + "sqlRecognizerCacheSize";
+
     /**
      * The constant STORE_REDIS_MODE.
      */
@@ -1061,6 +1151,26 @@ public interface ConfigurationKeys {
      */
     String ENABLE_PARALLEL_HANDLE_BRANCH_KEY = SERVER_PREFIX + "enableParallelHandleBranch";
 
+    /**
+     * The constant PARALLEL_HANDLE_BRANCH_THREADS_KEY
+     */
+    String PARALLEL_HANDLE_BRANCH_THREADS_KEY = SERVER_PREFIX + "parallelHandleBranchThreads";
+
+    /**
+     * The constant ENABLE_SERVER_VIRTUAL_THREAD_KEY
+     */
+    String ENABLE_SERVER_VIRTUAL_THREAD_KEY = SERVER_PREFIX + "enableVirtualThread";
+
+    /**
+     * The constant SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY_KEY
+     */
+    String SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY_KEY = SERVER_PREFIX + "virtualThreadMaxConcurrency";
+
+    /**
+     * The constant SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS_KEY
+     */
+    String SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS_KEY = SERVER_PREFIX + "virtualThreadMaxPendingTasks";
+
     /**
      * The constant RM_APPLICATION_DATA_SIZE_ERROR
      */
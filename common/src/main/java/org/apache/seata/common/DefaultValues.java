@@ -130,10 +130,58 @@ public interface DefaultValues {
      * The constant DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST.
      */
     boolean DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = true;
+    /**
+     * The constant DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE.
+     */
+    int DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE = 128;
+    /**
+     * The constant DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT, in microseconds.
+     */
+    long DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT = 1000L;
+    /**
+     * The constant DEFAULT_CLIENT_CHANNELS_PER_SERVER.
+     */
+    int DEFAULT_CLIENT_CHANNELS_PER_SERVER = 1;
+    /**
+     * The constant DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID, no dictionary.
+     */
+    long DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID = 0L;
     /**
      * The constant DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE.
      */
     boolean DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = false;
+    /**
+     * The constant DEFAULT_TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE.
+     */
+    int DEFAULT_TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE = 128;
+    /**
+     * The constant DEFAULT_ENABLE_TC_SERVER_MESSAGE_LANE.
+     */
+    boolean DEFAULT_ENABLE_TC_SERVER_MESSAGE_LANE = false;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_PHASE_END_POOL_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_PHASE_END_POOL_SIZE = 16;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_PHASE_END_QUEUE_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_PHASE_END_QUEUE_SIZE = 2000;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_BRANCH_POOL_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_BRANCH_POOL_SIZE = 32;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_BRANCH_QUEUE_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_BRANCH_QUEUE_SIZE = 5000;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_LOCK_QUERY_POOL_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_LOCK_QUERY_POOL_SIZE = 8;
+    /**
+     * The constant DEFAULT_MESSAGE_LANE_LOCK_QUERY_QUEUE_SIZE.
+     */
+    int DEFAULT_MESSAGE_LANE_LOCK_QUERY_QUEUE_SIZE = 2000;
 
     /**
      * The constant DEFAULT_CLIENT_CHANNEL_CHECK_FAIL_FAST.
@@ -173,6 +221,10 @@ public interface DefaultValues {
      * The constant DEFAULT_ONLY_CARE_UPDATE_COLUMNS.
      */
     boolean DEFAULT_ONLY_CARE_UPDATE_COLUMNS = true;
+    /**
+     * The constant DEFAULT_TRANSACTION_UNDO_RETURNING_IMAGE.
+     */
+    boolean DEFAULT_TRANSACTION_UNDO_RETURNING_IMAGE = false;
     /**
      * The constant  DEFAULT_TRANSACTION_UNDO_LOG_TABLE.
      */
@@ -402,6 +454,16 @@ public interface DefaultValues {
      */
     int DEFAULT_TIMEOUT_RETRY_PERIOD = 1000;
 
+    /**
+     * the constant DEFAULT_RECOVERY_PARTITIONS, 0 means the recovery sessions are not partitioned
+     */
+    int DEFAULT_RECOVERY_PARTITIONS = 0;
+
+    /**
+     * the constant DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE
+     */
+    int DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE = 1024;
+
     /**
      * the constant DEFAULT_UNDO_LOG_DELETE_PERIOD
      */
@@ -457,6 +519,46 @@ public interface DefaultValues {
      */
     boolean DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE = false;
 
+    /**
+     * DEFAULT_PARALLEL_HANDLE_BRANCH_THREADS
+     */
+    int DEFAULT_PARALLEL_HANDLE_BRANCH_THREADS = 64;
+
+    /**
+     * DEFAULT_ENABLE_SERVER_VIRTUAL_THREAD
+     */
+    boolean DEFAULT_ENABLE_SERVER_VIRTUAL_THREAD = false;
+
+    /**
+     * DEFAULT_SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY
+     */
+    int DEFAULT_SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY = 2000;
+
+    /**
+     * DEFAULT_SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS
+     */
+    int DEFAULT_SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS = 20000;
+
+    /**
+     * DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD
+     */
+    boolean DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD = false;
+
+    /**
+     * DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY
+     */
+    int DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY = 256;
+
+    /**
+     * DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS
+     */
+    int DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS = 2560;
+
+    /**
+     * DEFAULT_SQL_RECOGNIZER_CACHE_SIZE
+     */
+    int DEFAULT_SQL_RECOGNIZER_CACHE_SIZE = 1024;
+
     /**
      * The constant DEFAULT_DB_MAX_CONN.
      */
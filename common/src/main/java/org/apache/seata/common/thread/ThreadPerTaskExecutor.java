@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.common.thread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor starts a new thread for each task, the concurrency of the tasks is limited by a semaphore instead of
+ * the pool size.
+ * <p>
+ * It's meant for the virtual threads, see {@link VirtualThreads}: a task waiting for its permit only parks its own
+ * thread, so there is no queue to tune. The count of the tasks running or waiting is still bounded, the tasks beyond
+ * the bound run on the caller thread to slow down the producer, like the CallerRunsPolicy of a thread pool.
+ * </p>
+ */
+public class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    private final int maxPendingTasks;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger unfinished = new AtomicInteger();
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile boolean shutdown;
+
+    /**
+     * Instantiates a new thread per task executor.
+     *
+     * @param threadFactory   the thread factory
+     * @param maxConcurrency  the max count of the tasks running at the same time
+     * @param maxPendingTasks the max count of the tasks running or waiting for their permits, at least the max
+     *                        concurrency
+     */
+    public ThreadPerTaskExecutor(ThreadFactory threadFactory, int maxConcurrency, int maxPendingTasks) {
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPendingTasks = Math.max(this.maxConcurrency, maxPendingTasks);
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        int pending = unfinished.incrementAndGet();
+        if (shutdown) {
+            finishOne();
+            throw new RejectedExecutionException("executor is shutdown");
+        }
+        if (pending > maxPendingTasks) {
+            finishOne();
+            command.run();
+            return;
+        }
+        Thread thread = threadFactory.newThread(() -> runTask(command));
+        if (thread == null) {
+            finishOne();
+            throw new RejectedExecutionException("failed to create thread");
+        }
+        threads.add(thread);
+        thread.start();
+    }
+
+    private void runTask(Runnable command) {
+        try {
+            permits.acquire();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            threads.remove(Thread.currentThread());
+            finishOne();
+        }
+    }
+
+    private void finishOne() {
+        if (unfinished.decrementAndGet() == 0 && shutdown) {
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * The count of the tasks running or waiting for their permits.
+     *
+     * @return the count
+     */
+    public int getUnfinishedCount() {
+        return unfinished.get();
+    }
+
+    /**
+     * The count of the tasks running.
+     *
+     * @return the count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (unfinished.get() == 0) {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : new ArrayList<>(threads)) {
+            thread.interrupt();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+}
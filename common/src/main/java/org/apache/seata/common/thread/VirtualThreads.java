@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.common.thread;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The helpers of the virtual threads, which are looked up by reflection, so the code still runs on the JDKs without
+ * them.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL;
+
+    private static final Method BUILDER_NAME;
+
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            // the preview api of JDK 19 and 20 throws when the preview is not enabled
+            builderFactory.invoke(ofVirtual.invoke(null));
+        } catch (Throwable t) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether the virtual threads are supported by the running JDK.
+     *
+     * @return the boolean
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create the factory of the virtual threads, named the prefix followed by a counter.
+     *
+     * @param prefix the name prefix
+     * @return the thread factory
+     * @throws UnsupportedOperationException if the virtual threads are not supported
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("virtual threads require JDK 21 or later");
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), prefix + "_", 0L);
+            return (ThreadFactory)BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("failed to create the virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Create the executor running each task on a new virtual thread, at most max concurrency tasks at the same time.
+     * The tasks beyond max pending tasks run on the caller thread.
+     * Returns null with a warning if the virtual threads are not supported, so the callers keep their platform
+     * thread pools.
+     *
+     * @param prefix          the thread name prefix
+     * @param maxConcurrency  the max concurrency
+     * @param maxPendingTasks the max count of the tasks running or waiting
+     * @return the executor, or null
+     */
+    public static ExecutorService newExecutorIfSupported(String prefix, int maxConcurrency, int maxPendingTasks) {
+        if (!isSupported()) {
+            LOGGER.warn("virtual threads are not supported by the running JDK, {} keeps the platform threads", prefix);
+            return null;
+        }
+        return new ThreadPerTaskExecutor(newThreadFactory(prefix), maxConcurrency, maxPendingTasks);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.common.thread;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ThreadPerTaskExecutorTest {
+
+    @Test
+    public void concurrencyLimitTest() throws InterruptedException {
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(new NamedThreadFactory("perTask", 8), 2, 16);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int tasks = 6;
+        CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignore) {
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        // the tasks beyond the limit wait for the permits on their own threads, the caller never blocks
+        Assertions.assertEquals(tasks, executor.getUnfinishedCount());
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, executor.getActiveCount());
+        release.countDown();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, maxRunning.get());
+
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, executor.getUnfinishedCount());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    @Test
+    public void shutdownNowTest() throws InterruptedException {
+        ThreadFactory threadFactory = new NamedThreadFactory("perTaskNow", 2);
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(threadFactory, 1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(30);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        // waiting for the permit
+        executor.execute(() -> { });
+        Assertions.assertFalse(executor.isTerminated());
+        executor.shutdownNow();
+        Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void callerRunsBeyondMaxPendingTasksTest() throws InterruptedException {
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(new NamedThreadFactory("perTaskBound", 2), 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignore) {
+                }
+                done.countDown();
+            });
+        }
+        Assertions.assertEquals(2, executor.getUnfinishedCount());
+
+        // one task is running and one is waiting, the next runs on the caller
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        executor.execute(() -> runner.set(Thread.currentThread()));
+        Assertions.assertSame(Thread.currentThread(), runner.get());
+        Assertions.assertEquals(2, executor.getUnfinishedCount());
+
+        release.countDown();
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void virtualThreadsTest() throws Exception {
+        ExecutorService executor = VirtualThreads.newExecutorIfSupported("virtual", 4, 16);
+        if (!VirtualThreads.isSupported()) {
+            Assertions.assertNull(executor);
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newThreadFactory("v"));
+            return;
+        }
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            Assertions.assertTrue(thread.getName().startsWith("virtual_"));
+            Assertions.assertTrue((Boolean)Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.compressor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.seata.compressor.deflater.DeflaterCompressor;
+import org.apache.seata.compressor.gzip.GzipCompressor;
+import org.apache.seata.compressor.zip.ZipCompressor;
+import org.apache.seata.core.compressor.ByteBufCompressor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * The round trip of the compressors streaming over the netty buffers.
+ */
+public class ByteBufCompressorTest {
+
+    static Stream<Arguments> byteBufCompressorProvider() {
+        return Stream.of(
+            Arguments.of(new GzipCompressor()),
+            Arguments.of(new ZipCompressor()),
+            Arguments.of(new DeflaterCompressor()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("byteBufCompressorProvider")
+    public void testStreamCompressAndDecompress(ByteBufCompressor compressor) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("seata-").append(i);
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuf plain = PooledByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf compressed = PooledByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf decompressed = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            plain.writeBytes(bytes);
+            compressor.compress(plain, compressed);
+            Assertions.assertFalse(plain.isReadable());
+
+            // the same format of the byte[] one
+            byte[] compressedBytes = new byte[compressed.readableBytes()];
+            compressed.getBytes(compressed.readerIndex(), compressedBytes);
+            Assertions.assertArrayEquals(bytes, compressor.decompress(compressedBytes));
+
+            compressor.decompress(compressed, decompressed);
+            Assertions.assertEquals(content.toString(), decompressed.toString(StandardCharsets.UTF_8));
+        } finally {
+            plain.release();
+            compressed.release();
+            decompressed.release();
+        }
+    }
+}
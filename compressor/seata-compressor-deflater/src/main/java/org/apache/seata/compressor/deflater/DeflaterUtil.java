@@ -16,10 +16,16 @@
  */
 package org.apache.seata.compressor.deflater;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 
 public class DeflaterUtil {
@@ -74,4 +80,29 @@ public class DeflaterUtil {
         }
     }
 
+    public static void compress(ByteBuf in, ByteBuf out) {
+        Deflater deflater = new Deflater();
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(new ByteBufOutputStream(out), deflater, BUFFER_SIZE)) {
+            in.readBytes(dos, in.readableBytes());
+            dos.finish();
+        } catch (IOException e) {
+            throw new RuntimeException("Deflater compress error", e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static void decompress(ByteBuf in, ByteBuf out) {
+        Inflater inflater = new Inflater();
+        try (InflaterInputStream iis = new InflaterInputStream(new ByteBufInputStream(in), inflater, BUFFER_SIZE)) {
+            while (out.writeBytes(iis, BUFFER_SIZE) > -1) {
+                // keep reading until the end of the stream
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Deflater decompress error", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
 }
@@ -16,15 +16,16 @@
  */
 package org.apache.seata.compressor.zip;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.seata.common.loader.LoadLevel;
-import org.apache.seata.core.compressor.Compressor;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 
 /**
  * the Zip Compressor
  *
  */
 @LoadLevel(name = "ZIP")
-public class ZipCompressor implements Compressor {
+public class ZipCompressor implements ByteBufCompressor {
 
     @Override
     public byte[] compress(byte[] bytes) {
@@ -36,4 +37,14 @@ public class ZipCompressor implements Compressor {
         return ZipUtil.decompress(bytes);
     }
 
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) {
+        ZipUtil.compress(in, out);
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out) {
+        ZipUtil.decompress(in, out);
+    }
+
 }
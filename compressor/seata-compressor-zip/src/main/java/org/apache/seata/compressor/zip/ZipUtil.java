@@ -16,6 +16,10 @@
  */
 package org.apache.seata.compressor.zip;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -66,4 +70,28 @@ public class ZipUtil {
             throw new RuntimeException("Zip decompress error", e);
         }
     }
+
+    public static void compress(ByteBuf in, ByteBuf out) {
+        try (ZipOutputStream zip = new ZipOutputStream(new ByteBufOutputStream(out))) {
+            ZipEntry entry = new ZipEntry("zip");
+            entry.setSize(in.readableBytes());
+            zip.putNextEntry(entry);
+            in.readBytes(zip, in.readableBytes());
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new RuntimeException("Zip compress error", e);
+        }
+    }
+
+    public static void decompress(ByteBuf in, ByteBuf out) {
+        try (ZipInputStream zip = new ZipInputStream(new ByteBufInputStream(in))) {
+            while (zip.getNextEntry() != null) {
+                while (out.writeBytes(zip, BUFFER_SIZE) > -1) {
+                    // keep reading until the end of the entry
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Zip decompress error", e);
+        }
+    }
 }
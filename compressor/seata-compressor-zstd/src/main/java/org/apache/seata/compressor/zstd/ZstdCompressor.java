@@ -16,24 +16,76 @@
  */
 package org.apache.seata.compressor.zstd;
 
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.loader.LoadLevel;
-import org.apache.seata.core.compressor.Compressor;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.compressor.DictionaryCompressor;
 
 /**
  * the Zstd Compressor
+ * <p>
+ * Compress with the active dictionary if configured, the small and repetitive payloads such as the lock keys and
+ * the undo logs compress much better with a dictionary trained from them, see {@link ZstdDictionaryTrainer}. The
+ * frames without dictionary are still decompressed, so the dictionary can be rolled out peer by peer.
+ * </p>
  *
  */
 @LoadLevel(name = "ZSTD")
-public class ZstdCompressor implements Compressor {
+public class ZstdCompressor implements DictionaryCompressor {
+
+    private final ZstdDictionaries dictionaries;
+
+    public ZstdCompressor() {
+        this(ZstdDictionaries.load(
+            ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.COMPRESSOR_ZSTD_DICTIONARY_PATH),
+            ConfigurationFactory.getInstance().getLong(ConfigurationKeys.COMPRESSOR_ZSTD_DICTIONARY_ID,
+                DefaultValues.DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID)));
+    }
+
+    ZstdCompressor(ZstdDictionaries dictionaries) {
+        this.dictionaries = dictionaries;
+    }
 
     @Override
     public byte[] compress(byte[] bytes) {
-        return ZstdUtil.compress(bytes);
+        ZstdDictCompress dictionary = dictionaries.getActiveCompressDictionary();
+        return dictionary == null ? ZstdUtil.compress(bytes) : ZstdUtil.compress(bytes, dictionary);
+    }
+
+    @Override
+    public byte[] compress(byte[] bytes, long dictionaryId) {
+        ZstdDictCompress dictionary = dictionaries.getCompressDictionary(dictionaryId);
+        return dictionary == null ? ZstdUtil.compress(bytes) : ZstdUtil.compress(bytes, dictionary);
     }
 
     @Override
     public byte[] decompress(byte[] bytes) {
-        return ZstdUtil.decompress(bytes);
+        if (bytes == null) {
+            throw new NullPointerException("bytes is null");
+        }
+        long dictionaryId = Zstd.getDictIdFromFrame(bytes);
+        if (dictionaryId == 0) {
+            return ZstdUtil.decompress(bytes);
+        }
+        ZstdDictDecompress dictionary = dictionaries.getDecompressDictionary(dictionaryId);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("the zstd dictionary " + dictionaryId + " is not loaded");
+        }
+        return ZstdUtil.decompress(bytes, dictionary);
+    }
+
+    @Override
+    public long getActiveDictionaryId() {
+        return dictionaries.getActiveDictionaryId();
+    }
+
+    @Override
+    public boolean hasDictionary(long dictionaryId) {
+        return dictionaries.hasDictionary(dictionaryId);
     }
 
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.compressor.zstd;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import org.apache.seata.common.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The loaded zstd dictionaries, by their ids.
+ * <p>
+ * The id of a dictionary is its version, a compressed frame records the id of its dictionary, so the frames of the
+ * replaced dictionaries can still be decompressed as long as the dictionaries stay loaded, such as the undo logs
+ * written before the active dictionary is changed.
+ * </p>
+ *
+ */
+public class ZstdDictionaries {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZstdDictionaries.class);
+
+    /**
+     * The suffix of the dictionary files in a dictionary directory.
+     */
+    public static final String DICTIONARY_FILE_SUFFIX = ".dict";
+
+    /**
+     * The compression level, the default level of zstd.
+     */
+    public static final int COMPRESSION_LEVEL = 3;
+
+    private static final String PATH_SPLIT_CHAR = ",";
+
+    private final Map<Long, ZstdDictCompress> compressDictionaries = new ConcurrentHashMap<>();
+
+    private final Map<Long, ZstdDictDecompress> decompressDictionaries = new ConcurrentHashMap<>();
+
+    private volatile long activeDictionaryId;
+
+    /**
+     * Load the dictionaries of the paths.
+     *
+     * @param paths              the dictionary files or directories, separated by comma
+     * @param activeDictionaryId the id of the dictionary compressed with, 0 for none
+     * @return the dictionaries
+     */
+    public static ZstdDictionaries load(String paths, long activeDictionaryId) {
+        ZstdDictionaries dictionaries = new ZstdDictionaries();
+        if (StringUtils.isNotBlank(paths)) {
+            for (String path : paths.split(PATH_SPLIT_CHAR)) {
+                if (StringUtils.isNotBlank(path)) {
+                    dictionaries.loadPath(new File(path.trim()));
+                }
+            }
+        }
+        if (activeDictionaryId != 0 && !dictionaries.hasDictionary(activeDictionaryId)) {
+            LOGGER.error("the zstd dictionary {} is not found in {}, compress without dictionary", activeDictionaryId,
+                paths);
+        } else {
+            dictionaries.setActiveDictionaryId(activeDictionaryId);
+        }
+        return dictionaries;
+    }
+
+    private void loadPath(File path) {
+        File[] files = path.isDirectory()
+            ? path.listFiles((dir, name) -> name.endsWith(DICTIONARY_FILE_SUFFIX)) : new File[] {path};
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            try {
+                long dictionaryId = register(Files.readAllBytes(file.toPath()));
+                LOGGER.info("loaded the zstd dictionary {} from {}", dictionaryId, file);
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.error("failed to load the zstd dictionary {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Register the dictionary.
+     *
+     * @param dictionary the dictionary content
+     * @return the dictionary id
+     * @throws IllegalArgumentException if the content is not a zstd dictionary with id
+     */
+    public long register(byte[] dictionary) {
+        long dictionaryId = Zstd.getDictIdFromDict(dictionary);
+        if (dictionaryId == 0) {
+            throw new IllegalArgumentException("not a zstd dictionary with id");
+        }
+        decompressDictionaries.computeIfAbsent(dictionaryId, key -> new ZstdDictDecompress(dictionary));
+        compressDictionaries.computeIfAbsent(dictionaryId, key -> new ZstdDictCompress(dictionary, COMPRESSION_LEVEL));
+        return dictionaryId;
+    }
+
+    /**
+     * Sets the id of the dictionary compressed with.
+     *
+     * @param activeDictionaryId the dictionary id, 0 for none
+     * @throws IllegalArgumentException if the dictionary is not loaded
+     */
+    public void setActiveDictionaryId(long activeDictionaryId) {
+        if (activeDictionaryId != 0 && !hasDictionary(activeDictionaryId)) {
+            throw new IllegalArgumentException("the zstd dictionary " + activeDictionaryId + " is not loaded");
+        }
+        this.activeDictionaryId = activeDictionaryId;
+    }
+
+    public long getActiveDictionaryId() {
+        return activeDictionaryId;
+    }
+
+    /**
+     * Gets the dictionary compressed with.
+     *
+     * @return the dictionary, or null if compressing without dictionary
+     */
+    public ZstdDictCompress getActiveCompressDictionary() {
+        return getCompressDictionary(activeDictionaryId);
+    }
+
+    /**
+     * Gets the dictionary to compress with.
+     *
+     * @param dictionaryId the dictionary id, 0 for none
+     * @return the dictionary, or null if the id is 0 or not loaded
+     */
+    public ZstdDictCompress getCompressDictionary(long dictionaryId) {
+        return dictionaryId == 0 ? null : compressDictionaries.get(dictionaryId);
+    }
+
+    /**
+     * Gets the dictionary to decompress with.
+     *
+     * @param dictionaryId the dictionary id
+     * @return the dictionary, or null if not loaded
+     */
+    public ZstdDictDecompress getDecompressDictionary(long dictionaryId) {
+        return decompressDictionaries.get(dictionaryId);
+    }
+
+    public boolean hasDictionary(long dictionaryId) {
+        return decompressDictionaries.containsKey(dictionaryId);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.compressor.zstd;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Train the zstd dictionary from the sampled payloads, such as the rpc message bodies and the undo logs.
+ * <p>
+ * The samples are kept by reservoir sampling, so the payloads can be offered all the time with bounded memory. The
+ * trained dictionary is saved as a {@value ZstdDictionaries#DICTIONARY_FILE_SUFFIX} file, and activated by its id on
+ * all the peers after it's deployed to them.
+ * </p>
+ *
+ */
+public class ZstdDictionaryTrainer {
+
+    /**
+     * The default dictionary size, as the zstd cli.
+     */
+    public static final int DEFAULT_DICTIONARY_SIZE = 112640;
+
+    private final int maxSamples;
+
+    private final List<byte[]> samples;
+
+    private long offered;
+
+    /**
+     * Instantiates a new trainer.
+     *
+     * @param maxSamples the max samples kept
+     */
+    public ZstdDictionaryTrainer(int maxSamples) {
+        if (maxSamples <= 0) {
+            throw new IllegalArgumentException("maxSamples should be positive");
+        }
+        this.maxSamples = maxSamples;
+        this.samples = new ArrayList<>(Math.min(maxSamples, 1024));
+    }
+
+    /**
+     * Offer the payload as a sample.
+     *
+     * @param payload the payload
+     */
+    public synchronized void offer(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return;
+        }
+        offered++;
+        if (samples.size() < maxSamples) {
+            samples.add(payload);
+            return;
+        }
+        long index = ThreadLocalRandom.current().nextLong(offered);
+        if (index < maxSamples) {
+            samples.set((int)index, payload);
+        }
+    }
+
+    public synchronized int getSampleCount() {
+        return samples.size();
+    }
+
+    /**
+     * Train the dictionary from the samples.
+     *
+     * @param dictionarySize the max dictionary size
+     * @return the dictionary content
+     * @throws IllegalStateException if the training fails, usually too few samples
+     */
+    public byte[] train(int dictionarySize) {
+        byte[][] trainSamples;
+        synchronized (this) {
+            trainSamples = samples.toArray(new byte[0][]);
+        }
+        byte[] buffer = new byte[dictionarySize];
+        long size = Zstd.trainFromBuffer(trainSamples, buffer);
+        if (Zstd.isError(size)) {
+            throw new IllegalStateException("train zstd dictionary failed: " + Zstd.getErrorName(size) + ", samples: "
+                + trainSamples.length);
+        }
+        byte[] dictionary = new byte[(int)size];
+        System.arraycopy(buffer, 0, dictionary, 0, dictionary.length);
+        return dictionary;
+    }
+
+    /**
+     * Train the dictionary and save it into the directory, named by its id.
+     *
+     * @param directory      the directory
+     * @param dictionarySize the max dictionary size
+     * @return the saved file
+     * @throws IOException if the saving fails
+     */
+    public Path trainTo(Path directory, int dictionarySize) throws IOException {
+        byte[] dictionary = train(dictionarySize);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(Zstd.getDictIdFromDict(dictionary) + ZstdDictionaries.DICTIONARY_FILE_SUFFIX);
+        return Files.write(file, dictionary);
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.seata.compressor.zstd;
 
 import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
 
 /**
  * the Zstd Util
@@ -34,18 +36,38 @@ public class ZstdUtil {
         return Zstd.compress(bytes);
     }
 
+    public static byte[] compress(byte[] bytes, ZstdDictCompress dictionary) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes is null");
+        }
+
+        return Zstd.compress(bytes, dictionary);
+    }
+
     public static byte[] decompress(byte[] bytes) {
         if (bytes == null) {
             throw new NullPointerException("bytes is null");
         }
 
+        byte[] decompressBytes = new byte[checkDecompressedSize(bytes)];
+        Zstd.decompress(decompressBytes, bytes);
+        return decompressBytes;
+    }
+
+    public static byte[] decompress(byte[] bytes, ZstdDictDecompress dictionary) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes is null");
+        }
+
+        return Zstd.decompress(bytes, dictionary, checkDecompressedSize(bytes));
+    }
+
+    private static int checkDecompressedSize(byte[] bytes) {
         long size = Zstd.decompressedSize(bytes);
         if (size < 0 || size > MAX_COMPRESSED_SIZE) {
             throw new IllegalArgumentException(
                 "Invalid decompressed size: " + size + ", the value of size ranges from 0 to " + MAX_COMPRESSED_SIZE);
         }
-        byte[] decompressBytes = new byte[(int)size];
-        Zstd.decompress(decompressBytes, bytes);
-        return decompressBytes;
+        return (int)size;
     }
 }
@@ -16,9 +16,13 @@
  */
 package org.apache.seata.compressor.zstd;
 
+import com.github.luben.zstd.Zstd;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.UUID;
 
 /**
@@ -50,4 +54,44 @@ public class ZstdCompressorTest {
         bytes = compressor.compress(bytes);
         System.out.println("compressed size=" + bytes.length);
     }
+
+    @Test
+    public void testCompressWithDictionary(@TempDir Path directory) throws Exception {
+        ZstdDictionaryTrainer trainer = new ZstdDictionaryTrainer(2000);
+        for (int i = 0; i < 5000; i++) {
+            trainer.offer(lockKey(i));
+        }
+        Assertions.assertEquals(2000, trainer.getSampleCount());
+        Path file = trainer.trainTo(directory, 16 * 1024);
+
+        ZstdDictionaries dictionaries = ZstdDictionaries.load(directory.toString(), 0);
+        long dictionaryId = Long.parseLong(file.getFileName().toString().replace(ZstdDictionaries.DICTIONARY_FILE_SUFFIX, ""));
+        Assertions.assertTrue(dictionaries.hasDictionary(dictionaryId));
+        dictionaries.setActiveDictionaryId(dictionaryId);
+        ZstdCompressor compressor = new ZstdCompressor(dictionaries);
+        Assertions.assertEquals(dictionaryId, compressor.getActiveDictionaryId());
+
+        byte[] payload = lockKey(10001);
+        byte[] compressed = compressor.compress(payload);
+        Assertions.assertTrue(compressed.length < ZstdUtil.compress(payload).length);
+        Assertions.assertArrayEquals(payload, compressor.decompress(compressed));
+        // the frames without dictionary are still decompressed
+        Assertions.assertArrayEquals(payload, compressor.decompress(ZstdUtil.compress(payload)));
+
+        // compress to a peer with the dictionary it declared, or without dictionary
+        Assertions.assertEquals(dictionaryId, Zstd.getDictIdFromFrame(compressor.compress(payload, dictionaryId)));
+        Assertions.assertEquals(0, Zstd.getDictIdFromFrame(compressor.compress(payload, 0)));
+        Assertions.assertEquals(0, Zstd.getDictIdFromFrame(compressor.compress(payload, dictionaryId + 1)));
+        Assertions.assertArrayEquals(payload, compressor.decompress(compressor.compress(payload, 0)));
+
+        ZstdCompressor withoutDictionary = new ZstdCompressor(new ZstdDictionaries());
+        Assertions.assertFalse(withoutDictionary.hasDictionary(dictionaryId));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> withoutDictionary.decompress(compressed));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZstdDictionaries().setActiveDictionaryId(dictionaryId));
+    }
+
+    private static byte[] lockKey(int i) {
+        return ("jdbc:mysql://127.0.0.1:3306/seata_order;order_tbl:" + (100000 + i) + "," + (200000 + i * 7)
+            + ";stock_tbl:" + (i % 97) + ";xid=192.168.0.2:8091:" + (2612341234L + i)).getBytes(StandardCharsets.UTF_8);
+    }
 }
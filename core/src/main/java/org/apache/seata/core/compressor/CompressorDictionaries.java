@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.compressor;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.DefaultValues;
+import org.apache.seata.common.exception.FrameworkException;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.protocol.ProtocolConstants;
+
+/**
+ * The negotiation of the compressor dictionaries between the clients and the server.
+ * <p>
+ * A client compressing the rpc messages with a dictionary declares its id in the extra data of the register request,
+ * the server refuses the register if the dictionary is not loaded, so no message is sent that the server can not
+ * decompress.
+ * </p>
+ * <p>
+ * The server compresses the messages to a channel with the dictionary its client declared, or without dictionary if
+ * none is declared, never with its own active dictionary that the client may not have loaded.
+ * </p>
+ *
+ */
+public final class CompressorDictionaries {
+
+    /**
+     * The key of the zstd dictionary id in the extra data.
+     */
+    public static final String UDATA_ZSTD_DICTIONARY_ID = "zstdDictionaryId";
+
+    private static final AttributeKey<Long> CHANNEL_DICTIONARY_ID = AttributeKey.valueOf("compressorDictionaryId");
+
+    private CompressorDictionaries() {
+    }
+
+    /**
+     * Gets the extra data declaring the dictionary the rpc messages are compressed with.
+     *
+     * @return the extra data, empty if no dictionary is used
+     */
+    public static String getRegisterExtraData() {
+        if (ProtocolConstants.CONFIGURED_COMPRESSOR != CompressorType.ZSTD.getCode()) {
+            return StringUtils.EMPTY;
+        }
+        long dictionaryId = ConfigurationFactory.getInstance().getLong(ConfigurationKeys.COMPRESSOR_ZSTD_DICTIONARY_ID,
+            DefaultValues.DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID);
+        if (dictionaryId == 0) {
+            return StringUtils.EMPTY;
+        }
+        return UDATA_ZSTD_DICTIONARY_ID + ConfigurationKeys.EXTRA_DATA_KV_CHAR + dictionaryId
+            + ConfigurationKeys.EXTRA_DATA_SPLIT_CHAR;
+    }
+
+    /**
+     * Check the dictionary declared in the extra data of the register request is loaded.
+     *
+     * @param extraData the extra data
+     * @return the declared dictionary id, 0 if none
+     * @throws FrameworkException if the dictionary is not loaded
+     */
+    public static long checkRegisterExtraData(String extraData) {
+        long dictionaryId = parseDictionaryId(extraData);
+        if (dictionaryId == 0) {
+            return 0;
+        }
+        Compressor compressor;
+        try {
+            compressor = CompressorFactory.getCompressor(CompressorType.ZSTD.getCode());
+        } catch (Exception e) {
+            compressor = null;
+        }
+        if (!(compressor instanceof DictionaryCompressor)
+            || !((DictionaryCompressor)compressor).hasDictionary(dictionaryId)) {
+            throw new FrameworkException("the zstd dictionary " + dictionaryId + " of the client is not loaded");
+        }
+        return dictionaryId;
+    }
+
+    /**
+     * Check the dictionary declared in the extra data of the register request and bind it to the channel.
+     *
+     * @param channel   the channel of the client
+     * @param extraData the extra data
+     * @throws FrameworkException if the dictionary is not loaded
+     */
+    public static void registerChannelDictionary(Channel channel, String extraData) {
+        channel.attr(CHANNEL_DICTIONARY_ID).set(checkRegisterExtraData(extraData));
+    }
+
+    /**
+     * Gets the compressor to compress the messages to the channel with, on the server side.
+     *
+     * @param channel    the channel of the client, may be null
+     * @param compressor the compressor of the message
+     * @return the compressor with the dictionary the client declared, without dictionary if the client declared none
+     * or is not registered yet
+     */
+    public static Compressor getChannelCompressor(Channel channel, Compressor compressor) {
+        if (!(compressor instanceof DictionaryCompressor)) {
+            return compressor;
+        }
+        Long dictionaryId = channel == null ? null : channel.attr(CHANNEL_DICTIONARY_ID).get();
+        return new ChannelDictionaryCompressor((DictionaryCompressor)compressor,
+            dictionaryId == null ? 0 : dictionaryId);
+    }
+
+    static long parseDictionaryId(String extraData) {
+        if (StringUtils.isBlank(extraData)) {
+            return 0;
+        }
+        String prefix = UDATA_ZSTD_DICTIONARY_ID + ConfigurationKeys.EXTRA_DATA_KV_CHAR;
+        for (String entry : extraData.split(ConfigurationKeys.EXTRA_DATA_SPLIT_CHAR)) {
+            if (entry.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(entry.substring(prefix.length()).trim());
+                } catch (NumberFormatException e) {
+                    throw new FrameworkException("invalid zstd dictionary id: " + entry);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class ChannelDictionaryCompressor implements Compressor {
+
+        private final DictionaryCompressor compressor;
+
+        private final long dictionaryId;
+
+        ChannelDictionaryCompressor(DictionaryCompressor compressor, long dictionaryId) {
+            this.compressor = compressor;
+            this.dictionaryId = dictionaryId;
+        }
+
+        @Override
+        public byte[] compress(byte[] bytes) {
+            return compressor.compress(bytes, dictionaryId);
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) {
+            return compressor.decompress(bytes);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.compressor;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.common.loader.LoadLevel;
 import org.apache.seata.common.util.CollectionUtils;
@@ -53,7 +54,7 @@ public class CompressorFactory {
      * None compressor
      */
     @LoadLevel(name = "NONE")
-    public static class NoneCompressor implements Compressor {
+    public static class NoneCompressor implements ByteBufCompressor {
         @Override
         public byte[] compress(byte[] bytes) {
             return bytes;
@@ -63,6 +64,16 @@ public class CompressorFactory {
         public byte[] decompress(byte[] bytes) {
             return bytes;
         }
+
+        @Override
+        public void compress(ByteBuf in, ByteBuf out) {
+            out.writeBytes(in);
+        }
+
+        @Override
+        public void decompress(ByteBuf in, ByteBuf out) {
+            out.writeBytes(in);
+        }
     }
 
 }
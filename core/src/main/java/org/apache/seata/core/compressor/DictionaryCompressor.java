@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.compressor;
+
+/**
+ * The compressor compresses with a shared dictionary.
+ * <p>
+ * The dictionaries are versioned by their ids, the compressed content records the id of its dictionary, so all the
+ * loaded dictionaries can be decompressed while the active one is replaced. The clients declare their active
+ * dictionary when registering, see {@link CompressorDictionaries}.
+ * </p>
+ *
+ */
+public interface DictionaryCompressor extends Compressor {
+
+    /**
+     * Gets the id of the dictionary compressed with.
+     *
+     * @return the dictionary id, 0 if compressing without dictionary
+     */
+    long getActiveDictionaryId();
+
+    /**
+     * Compress with the dictionary instead of the active one, such as the dictionary a client declared.
+     *
+     * @param bytes        the bytes
+     * @param dictionaryId the dictionary id, 0 for none
+     * @return the compressed bytes, without dictionary if the dictionary is not loaded
+     */
+    byte[] compress(byte[] bytes, long dictionaryId);
+
+    /**
+     * Whether the dictionary is loaded.
+     *
+     * @param dictionaryId the dictionary id
+     * @return the boolean
+     */
+    boolean hasDictionary(long dictionaryId);
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.model;
+
+import java.util.concurrent.CompletionStage;
+
+import org.apache.seata.core.exception.TransactionException;
+
+/**
+ * Resource Manager: send outbound request to TC without blocking.
+ * <p>
+ * Each method returns at once, the stage is completed with the result, or completed exceptionally with the
+ * {@link TransactionException}. The stages may be completed on the io threads of the transport, the callers should
+ * not block in the dependent actions.
+ * </p>
+ * The default methods call the blocking ones in the caller thread, the implementations backed by a non-blocking
+ * transport should override them.
+ *
+ */
+public interface AsyncResourceManagerOutbound extends ResourceManagerOutbound {
+
+    /**
+     * Branch register.
+     *
+     * @param branchType      the branch type
+     * @param resourceId      the resource id
+     * @param clientId        the client id
+     * @param xid             the xid
+     * @param applicationData the context
+     * @param lockKeys        the lock keys
+     * @return the stage of the branch id
+     */
+    default CompletionStage<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId,
+                                                      String xid, String applicationData, String lockKeys) {
+        return CompletedStages.of(
+            () -> branchRegister(branchType, resourceId, clientId, xid, applicationData, lockKeys));
+    }
+
+    /**
+     * Branch report.
+     *
+     * @param branchType      the branch type
+     * @param xid             the xid
+     * @param branchId        the branch id
+     * @param status          the status
+     * @param applicationData the application data
+     * @return the stage completed once reported
+     */
+    default CompletionStage<Void> branchReportAsync(BranchType branchType, String xid, long branchId,
+                                                    BranchStatus status, String applicationData) {
+        return CompletedStages.of(() -> {
+            branchReport(branchType, xid, branchId, status, applicationData);
+            return null;
+        });
+    }
+
+    /**
+     * Lock query.
+     *
+     * @param branchType the branch type
+     * @param resourceId the resource id
+     * @param xid        the xid
+     * @param lockKeys   the lock keys
+     * @return the stage of whether the lock keys are lockable
+     */
+    default CompletionStage<Boolean> lockQueryAsync(BranchType branchType, String resourceId, String xid,
+                                                    String lockKeys) {
+        return CompletedStages.of(() -> lockQuery(branchType, resourceId, xid, lockKeys));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.model;
+
+import java.util.concurrent.CompletionStage;
+
+import org.apache.seata.core.exception.TransactionException;
+
+/**
+ * Transaction Manager without blocking.
+ * <p>
+ * Each method returns at once, the stage is completed with the result of the global transaction, or completed
+ * exceptionally with the {@link TransactionException}. The stages may be completed
+ * on the io threads of the transport, the callers should not block in the dependent actions.
+ * </p>
+ * The default methods call the blocking ones in the caller thread, the implementations backed by a non-blocking
+ * transport should override them.
+ *
+ */
+public interface AsyncTransactionManager extends TransactionManager {
+
+    /**
+     * Begin a new global transaction.
+     *
+     * @param applicationId           ID of the application who begins this transaction.
+     * @param transactionServiceGroup ID of the transaction service group.
+     * @param name                    Give a name to the global transaction.
+     * @param timeout                 Timeout of the global transaction.
+     * @return the stage of the XID of the global transaction
+     */
+    default CompletionStage<String> beginAsync(String applicationId, String transactionServiceGroup, String name,
+                                               int timeout) {
+        return CompletedStages.of(() -> begin(applicationId, transactionServiceGroup, name, timeout));
+    }
+
+    /**
+     * Global commit.
+     *
+     * @param xid XID of the global transaction.
+     * @return the stage of the status of the global transaction after committing.
+     */
+    default CompletionStage<GlobalStatus> commitAsync(String xid) {
+        return CompletedStages.of(() -> commit(xid));
+    }
+
+    /**
+     * Global rollback.
+     *
+     * @param xid XID of the global transaction
+     * @return the stage of the status of the global transaction after rollbacking.
+     */
+    default CompletionStage<GlobalStatus> rollbackAsync(String xid) {
+        return CompletedStages.of(() -> rollback(xid));
+    }
+
+    /**
+     * Get current status of the give transaction.
+     *
+     * @param xid XID of the global transaction.
+     * @return the stage of the current status of the global transaction.
+     */
+    default CompletionStage<GlobalStatus> getStatusAsync(String xid) {
+        return CompletedStages.of(() -> getStatus(xid));
+    }
+
+    /**
+     * Global report.
+     *
+     * @param xid          XID of the global transaction.
+     * @param globalStatus Status of the global transaction.
+     * @return the stage of the status of the global transaction.
+     */
+    default CompletionStage<GlobalStatus> globalReportAsync(String xid, GlobalStatus globalStatus) {
+        return CompletedStages.of(() -> globalReport(xid, globalStatus));
+    }
+
+    /**
+     * Adapt the transaction manager, the blocking one is called in the caller thread.
+     *
+     * @param transactionManager the transaction manager
+     * @return the async transaction manager
+     */
+    static AsyncTransactionManager of(TransactionManager transactionManager) {
+        if (transactionManager instanceof AsyncTransactionManager) {
+            return (AsyncTransactionManager)transactionManager;
+        }
+        return new AsyncTransactionManager() {
+            @Override
+            public String begin(String applicationId, String transactionServiceGroup, String name, int timeout)
+                throws TransactionException {
+                return transactionManager.begin(applicationId, transactionServiceGroup, name, timeout);
+            }
+
+            @Override
+            public GlobalStatus commit(String xid) throws TransactionException {
+                return transactionManager.commit(xid);
+            }
+
+            @Override
+            public GlobalStatus rollback(String xid) throws TransactionException {
+                return transactionManager.rollback(xid);
+            }
+
+            @Override
+            public GlobalStatus getStatus(String xid) throws TransactionException {
+                return transactionManager.getStatus(xid);
+            }
+
+            @Override
+            public GlobalStatus globalReport(String xid, GlobalStatus globalStatus)
+                throws TransactionException {
+                return transactionManager.globalReport(xid, globalStatus);
+            }
+        };
+    }
+}
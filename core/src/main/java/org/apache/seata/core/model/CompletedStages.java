@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.model;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.apache.seata.core.exception.TransactionException;
+
+/**
+ * Adapt the blocking calls into the completed stages, used by the default methods of the async interfaces.
+ *
+ */
+final class CompletedStages {
+
+    private CompletedStages() {
+    }
+
+    /**
+     * Run the blocking call at once, in the caller thread.
+     *
+     * @param call the blocking call
+     * @param <T>  the type of the result
+     * @return the stage completed with the result, or completed exceptionally with the failure
+     */
+    static <T> CompletionStage<T> of(BlockingCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(call.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * The blocking call.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface BlockingCall<T> {
+
+        /**
+         * Call and wait for the result.
+         *
+         * @return the result
+         * @throws TransactionException the transaction exception
+         */
+        T call() throws TransactionException;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.protocol;
 
+import io.netty.util.Timeout;
 import org.apache.seata.common.exception.ShouldNeverHappenException;
 
 import java.util.concurrent.CompletableFuture;
@@ -32,6 +33,7 @@ public class MessageFuture {
     private long timeout;
     private long start = System.currentTimeMillis();
     private transient CompletableFuture<Object> origin = new CompletableFuture<>();
+    private transient volatile Timeout timeoutCheckTask;
 
     /**
      * Is timeout boolean.
@@ -81,6 +83,42 @@ public class MessageFuture {
      */
     public void setResultMessage(Object obj) {
         origin.complete(obj);
+        Timeout task = timeoutCheckTask;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Get the future completed with the result message,
+     * or completed exceptionally if the result is a failure, including the timeout.
+     *
+     * @return the completable future
+     */
+    public CompletableFuture<Object> toCompletableFuture() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        origin.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else if (result instanceof Throwable) {
+                future.completeExceptionally((Throwable)result);
+            } else {
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Sets the timeout check task, which is cancelled once the result message is set.
+     *
+     * @param timeoutCheckTask the timeout check task
+     */
+    public void setTimeoutCheckTask(Timeout timeoutCheckTask) {
+        this.timeoutCheckTask = timeoutCheckTask;
+        if (origin.isDone()) {
+            timeoutCheckTask.cancel();
+        }
     }
 
     /**
@@ -57,7 +57,7 @@ public class Http2Detector implements ProtocolDetector {
                 protected void initChannel(Http2StreamChannel ch) {
                     final ChannelPipeline p = ch.pipeline();
                     p.addLast(new GrpcDecoder());
-                    p.addLast(new GrpcEncoder());
+                    p.addLast(new GrpcEncoder(true));
                     p.addLast(serverHandlers);
                 }
             })
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.rpc;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import io.netty.channel.Channel;
@@ -46,6 +47,25 @@ public interface RemotingClient {
      */
     Object sendSyncRequest(Object msg) throws TimeoutException;
 
+    /**
+     * client send request without blocking, batched like {@link #sendSyncRequest(Object)}.
+     * The future is completed with the server result message, or completed exceptionally
+     * once the request failed or timed out.
+     * The default implementation falls back to {@link #sendSyncRequest(Object)} and blocks the caller.
+     *
+     * @param msg transaction message {@code org.apache.seata.core.protocol}
+     * @return the future of the server result message
+     */
+    default CompletableFuture<Object> sendAsyncRequest(Object msg) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            future.complete(sendSyncRequest(msg));
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
     /**
      * client send sync request.
      *
@@ -22,6 +22,7 @@ import java.net.SocketAddress;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -33,6 +34,7 @@ import java.util.concurrent.TimeoutException;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.HashedWheelTimer;
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
@@ -83,16 +85,14 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
     private static final long NOT_WRITEABLE_CHECK_MILLS = 10L;
 
+    private static final long TIMEOUT_CHECK_TICK_MILLS = 10L;
+
     /**
-     * The Now mills.
+     * The timeout of each request is checked by the wheel, and cancelled once the response is received.
      */
-    protected volatile long nowMills = 0;
-    private static final int TIMEOUT_CHECK_INTERVAL = 3000;
+    protected final HashedWheelTimer timeoutChecker = new HashedWheelTimer(
+        new NamedThreadFactory("timeoutChecker", 1, true), TIMEOUT_CHECK_TICK_MILLS, TimeUnit.MILLISECONDS);
     protected final Object lock = new Object();
-    /**
-     * The Is sending.
-     */
-    protected volatile boolean isSending = false;
     private String group = "DEFAULT";
 
     /**
@@ -104,25 +104,26 @@ public abstract class AbstractNettyRemoting implements Disposable {
     protected final List<RpcHook> rpcHooks = EnhancedServiceLoader.loadAll(RpcHook.class);
 
     public void init() {
-        timerExecutor.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                for (Map.Entry<Integer, MessageFuture> entry : futures.entrySet()) {
-                    MessageFuture future = entry.getValue();
-                    if (future.isTimeout()) {
-                        futures.remove(entry.getKey());
-                        RpcMessage rpcMessage = future.getRequestMessage();
-                        future.setResultMessage(new TimeoutException(String
-                            .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", rpcMessage.getId(), String.valueOf(rpcMessage.getMessageType()), rpcMessage.getBody().toString())));
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("timeout clear future: {}", entry.getValue().getRequestMessage().getBody());
-                        }
-                    }
-                }
+    }
 
-                nowMills = System.currentTimeMillis();
+    /**
+     * Put the future of the request into futures, and check its timeout.
+     *
+     * @param messageFuture the message future, with the request message and the timeout
+     */
+    protected void registerFuture(MessageFuture messageFuture) {
+        RpcMessage rpcMessage = messageFuture.getRequestMessage();
+        futures.put(rpcMessage.getId(), messageFuture);
+        messageFuture.setTimeoutCheckTask(timeoutChecker.newTimeout(timeout -> {
+            if (!futures.remove(rpcMessage.getId(), messageFuture)) {
+                return;
+            }
+            messageFuture.setResultMessage(new TimeoutException(String
+                .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", rpcMessage.getId(), String.valueOf(rpcMessage.getMessageType()), rpcMessage.getBody().toString())));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("timeout clear future: {}", rpcMessage.getBody());
             }
-        }, TIMEOUT_CHECK_INTERVAL, TIMEOUT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        }, messageFuture.getTimeout(), TimeUnit.MILLISECONDS));
     }
 
     public AbstractNettyRemoting(ThreadPoolExecutor messageExecutor) {
@@ -152,6 +153,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
     @Override
     public void destroy() {
         timerExecutor.shutdown();
+        timeoutChecker.stop();
         messageExecutor.shutdown();
     }
 
@@ -177,7 +179,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
         MessageFuture messageFuture = new MessageFuture();
         messageFuture.setRequestMessage(rpcMessage);
         messageFuture.setTimeout(timeoutMillis);
-        futures.put(rpcMessage.getId(), messageFuture);
+        registerFuture(messageFuture);
 
         channelWritableCheck(channel, rpcMessage.getBody());
 
@@ -209,6 +211,58 @@ public abstract class AbstractNettyRemoting implements Disposable {
         }
     }
 
+    /**
+     * rpc request without blocking.
+     * The future is completed with the response message, or completed exceptionally once the request
+     * failed or timed out. The channel is never waited for to become writable, the request fails fast instead.
+     *
+     * @param channel       netty channel
+     * @param rpcMessage    rpc message
+     * @param timeoutMillis rpc communication timeout
+     * @return the future of the response message
+     */
+    protected CompletableFuture<Object> sendAsync(Channel channel, RpcMessage rpcMessage, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new FrameworkException("timeout should more than 0ms");
+        }
+        if (channel == null) {
+            LOGGER.warn("sendAsync nothing, caused by null channel.");
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new FrameworkException("null channel, msg:" + rpcMessage.getBody(),
+                FrameworkErrorCode.ChannelIsNotWritable));
+            return failed;
+        }
+        if (!channel.isWritable()) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new FrameworkException("msg:" + rpcMessage.getBody(),
+                FrameworkErrorCode.ChannelIsNotWritable));
+            return failed;
+        }
+
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        registerFuture(messageFuture);
+
+        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
+        doBeforeRpcHooks(remoteAddr, rpcMessage);
+
+        channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                MessageFuture messageFuture1 = futures.remove(rpcMessage.getId());
+                if (messageFuture1 != null) {
+                    messageFuture1.setResultMessage(future.cause());
+                }
+                destroyChannel(future.channel());
+            }
+        });
+        return messageFuture.toCompletableFuture().whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                doAfterRpcHooks(remoteAddr, rpcMessage, result);
+            }
+        });
+    }
+
     /**
      * rpc async request.
      *
@@ -20,10 +20,10 @@ import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +31,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -39,7 +40,6 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
-import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.NetUtil;
 import org.apache.seata.common.util.StringUtils;
@@ -75,14 +75,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private static final String MSG_ID_PREFIX = "msgId:";
     private static final String FUTURES_PREFIX = "futures:";
     private static final String SINGLE_LOG_POSTFIX = ";";
-    private static final int MAX_MERGE_SEND_MILLS = 1;
-    private static final String THREAD_PREFIX_SPLIT_CHAR = "_";
-    private static final int MAX_MERGE_SEND_THREAD = 1;
-    private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
     private static final long SCHEDULE_DELAY_MILLS = 60 * 1000L;
     private static final long SCHEDULE_INTERVAL_MILLS = 10 * 1000L;
-    private static final String MERGE_THREAD_PREFIX = "rpcMergeMessageSend";
-    protected final Object mergeLock = new Object();
 
     /**
      * When sending message type is {@link MergeMessage}, will be stored to mergeMsgMap.
@@ -92,15 +86,14 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     protected final Map<Integer, Integer> childToParentMap = new ConcurrentHashMap<>();
 
     /**
-     * When batch sending is enabled, the message will be stored to basketMap
-     * Send via asynchronous thread {@link AbstractNettyRemotingClient.MergedSendRunnable}
+     * When batch sending is enabled, the message will be offered into the queue of its channel,
+     * and sent on the event loop of the channel, see {@link MergedSendQueue}
      * {@link AbstractNettyRemotingClient#isEnableClientBatchSendRequest()}
      */
-    protected final ConcurrentHashMap<String/*serverAddress*/, BlockingQueue<RpcMessage>> basketMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Channel, MergedSendQueue> mergedSendQueues = new ConcurrentHashMap<>();
+    private final MergedSendQueue.Flusher mergedSendFlusher = new MergedSendFlusher();
     private final NettyClientBootstrap clientBootstrap;
     private final NettyClientChannelManager clientChannelManager;
-    private final NettyPoolKey.TransactionRole transactionRole;
-    private ExecutorService mergeSendExecutorService;
     private TransactionMessageHandler transactionMessageHandler;
     protected volatile boolean enableClientBatchSendRequest;
 
@@ -113,14 +106,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                 LOGGER.warn("reconnect server failed. {}", ex.getMessage());
             }
         }, SCHEDULE_DELAY_MILLS, SCHEDULE_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
-        if (this.isEnableClientBatchSendRequest()) {
-            mergeSendExecutorService = new ThreadPoolExecutor(MAX_MERGE_SEND_THREAD,
-                MAX_MERGE_SEND_THREAD,
-                KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                new NamedThreadFactory(getThreadPrefix(), MAX_MERGE_SEND_THREAD));
-            mergeSendExecutorService.submit(new MergedSendRunnable());
-        }
         super.init();
         clientBootstrap.start();
     }
@@ -128,7 +113,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     public AbstractNettyRemotingClient(NettyClientConfig nettyClientConfig, EventExecutorGroup eventExecutorGroup,
                                        ThreadPoolExecutor messageExecutor, NettyPoolKey.TransactionRole transactionRole) {
         super(messageExecutor);
-        this.transactionRole = transactionRole;
         clientBootstrap = new NettyClientBootstrap(nettyClientConfig, eventExecutorGroup, transactionRole);
         clientBootstrap.setChannelHandlers(new ClientHandler());
         clientChannelManager = new NettyClientChannelManager(
@@ -142,48 +126,63 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
 
         // send batch message
-        // put message into basketMap, @see MergedSendRunnable
-        if (this.isEnableClientBatchSendRequest()) {
-
-            // send batch message is sync request, needs to create messageFuture and put it in futures.
-            MessageFuture messageFuture = new MessageFuture();
-            messageFuture.setRequestMessage(rpcMessage);
-            messageFuture.setTimeout(timeoutMillis);
-            futures.put(rpcMessage.getId(), messageFuture);
-
-            // put message into basketMap
-            BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, serverAddress,
-                key -> new LinkedBlockingQueue<>());
-            if (!basket.offer(rpcMessage)) {
-                LOGGER.error("put message into basketMap offer failed, serverAddress:{},rpcMessage:{}",
-                    serverAddress, rpcMessage);
-                return null;
-            }
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("offer message: {}", rpcMessage.getBody());
-            }
-            if (!isSending) {
-                synchronized (mergeLock) {
-                    mergeLock.notifyAll();
+        // put message into the merged send queue of the channel, @see MergedSendQueue
+        Channel channel = clientChannelManager.acquireChannel(serverAddress, getAffinityXid(msg));
+        clientChannelManager.onRequestSent(channel);
+        try {
+            if (this.isEnableClientBatchSendRequest()) {
+                MessageFuture messageFuture = offerMergedRequest(channel, rpcMessage, timeoutMillis);
+                try {
+                    Object response = messageFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                    return response;
+                } catch (Exception exx) {
+                    LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), serverAddress, rpcMessage.getBody());
+                    if (exx instanceof TimeoutException) {
+                        throw (TimeoutException)exx;
+                    } else {
+                        throw new RuntimeException(exx);
+                    }
                 }
+            } else {
+                return super.sendSync(channel, rpcMessage, timeoutMillis);
             }
+        } finally {
+            clientChannelManager.onRequestDone(channel);
+        }
 
-            try {
-                Object response = messageFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
-                return response;
-            } catch (Exception exx) {
-                LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), serverAddress, rpcMessage.getBody());
-                if (exx instanceof TimeoutException) {
-                    throw (TimeoutException)exx;
-                } else {
-                    throw new RuntimeException(exx);
-                }
-            }
-        } else {
-            Channel channel = clientChannelManager.acquireChannel(serverAddress);
-            return super.sendSync(channel, rpcMessage, timeoutMillis);
+    }
+
+    @Override
+    public CompletableFuture<Object> sendAsyncRequest(Object msg) {
+        String serverAddress = loadBalance(getTransactionServiceGroup(), msg);
+        long timeoutMillis = this.getRpcRequestTimeout();
+        RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        Channel channel = clientChannelManager.acquireChannel(serverAddress, getAffinityXid(msg));
+        clientChannelManager.onRequestSent(channel);
+        CompletableFuture<Object> future;
+        try {
+            future = this.isEnableClientBatchSendRequest()
+                ? offerMergedRequest(channel, rpcMessage, timeoutMillis).toCompletableFuture()
+                : super.sendAsync(channel, rpcMessage, timeoutMillis);
+        } catch (RuntimeException e) {
+            clientChannelManager.onRequestDone(channel);
+            throw e;
         }
+        future.whenComplete((response, cause) -> clientChannelManager.onRequestDone(channel));
+        return future;
+    }
 
+    private MessageFuture offerMergedRequest(Channel channel, RpcMessage rpcMessage, long timeoutMillis) {
+        // send batch message is sync request, needs to create messageFuture and put it in futures.
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        registerFuture(messageFuture);
+        getMergedSendQueue(channel).offer(rpcMessage);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("offer message: {}", rpcMessage.getBody());
+        }
+        return messageFuture;
     }
 
     @Override
@@ -205,6 +204,11 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         RpcMessage rpcMessage = buildRequestMessage(msg, msg instanceof HeartbeatMessage
             ? ProtocolConstants.MSGTYPE_HEARTBEAT_REQUEST
             : ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY);
+        registerMergeMessage(rpcMessage);
+        super.sendAsync(channel, rpcMessage);
+    }
+
+    private void registerMergeMessage(RpcMessage rpcMessage) {
         Object body = rpcMessage.getBody();
         if (body instanceof MergeMessage) {
             Integer parentId = rpcMessage.getId();
@@ -215,7 +219,19 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                 }
             }
         }
-        super.sendAsync(channel, rpcMessage);
+    }
+
+    private MergedSendQueue getMergedSendQueue(Channel channel) {
+        MergedSendQueue mergedSendQueue = mergedSendQueues.get(channel);
+        if (mergedSendQueue != null) {
+            return mergedSendQueue;
+        }
+        return mergedSendQueues.computeIfAbsent(channel, key -> {
+            // the requests offered after the close are failed by the drain of the inactive channel
+            key.closeFuture().addListener(future -> mergedSendQueues.remove(key));
+            return new MergedSendQueue(key, mergedSendFlusher, NettyClientConfig.getClientBatchSendMaxSize(),
+                NettyClientConfig.getClientBatchSendMaxWait());
+        });
     }
 
     @Override
@@ -239,9 +255,6 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     @Override
     public void destroy() {
         clientBootstrap.shutdown();
-        if (mergeSendExecutorService != null) {
-            mergeSendExecutorService.shutdown();
-        }
         super.destroy();
     }
 
@@ -304,8 +317,22 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         return StringUtils.isBlank(xid) ? String.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)) : xid;
     }
 
-    private String getThreadPrefix() {
-        return AbstractNettyRemotingClient.MERGE_THREAD_PREFIX + THREAD_PREFIX_SPLIT_CHAR + transactionRole.name();
+    /**
+     * Get the xid the request keeps its order within, the requests of one transaction are sent on the same channel.
+     *
+     * @param msg the request
+     * @return the xid, or null if the request is not bound to a transaction
+     */
+    protected String getAffinityXid(Object msg) {
+        String xid = null;
+        if (msg instanceof AbstractGlobalEndRequest) {
+            xid = ((AbstractGlobalEndRequest) msg).getXid();
+        } else if (msg instanceof BranchRegisterRequest) {
+            xid = ((BranchRegisterRequest) msg).getXid();
+        } else if (msg instanceof BranchReportRequest) {
+            xid = ((BranchReportRequest) msg).getXid();
+        }
+        return StringUtils.isBlank(xid) ? null : xid;
     }
 
     /**
@@ -337,62 +364,44 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     protected abstract long getRpcRequestTimeout();
 
     /**
-     * The type Merged send runnable.
+     * The type Merged send flusher, writes the merged messages on the event loop of the channel.
      */
-    private class MergedSendRunnable implements Runnable {
+    private class MergedSendFlusher implements MergedSendQueue.Flusher {
 
         @Override
-        public void run() {
-            while (true) {
-                synchronized (mergeLock) {
-                    try {
-                        mergeLock.wait(MAX_MERGE_SEND_MILLS);
-                    } catch (InterruptedException e) {
-                    }
+        public void flush(Channel channel, MergedWarpMessage mergeMessage) {
+            if (mergeMessage.msgIds.size() > 1) {
+                printMergeMessageLog(mergeMessage);
+            }
+            // send batch message is sync request, but there is no need to get the return value.
+            // Since the messageFuture has been created before the message is offered into the queue,
+            // the return value will be obtained in ClientOnResponseProcessor.
+            // The writability is checked by the queue, never wait for it on the event loop.
+            RpcMessage rpcMessage = buildRequestMessage(mergeMessage, ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY);
+            registerMergeMessage(rpcMessage);
+            doBeforeRpcHooks(getAddressFromChannel(channel), rpcMessage);
+            channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener)future -> {
+                if (!future.isSuccess()) {
+                    mergeMsgMap.remove(rpcMessage.getId());
+                    fail(channel, mergeMessage, future.cause());
+                    destroyChannel(future.channel());
                 }
-                isSending = true;
-                basketMap.forEach((address, basket) -> {
-                    if (basket.isEmpty()) {
-                        return;
-                    }
+            });
+        }
 
-                    MergedWarpMessage mergeMessage = new MergedWarpMessage();
-                    while (!basket.isEmpty()) {
-                        RpcMessage msg = basket.poll();
-                        mergeMessage.msgs.add((AbstractMessage) msg.getBody());
-                        mergeMessage.msgIds.add(msg.getId());
-                    }
-                    if (mergeMessage.msgIds.size() > 1) {
-                        printMergeMessageLog(mergeMessage);
-                    }
-                    Channel sendChannel = null;
-                    try {
-                        // send batch message is sync request, but there is no need to get the return value.
-                        // Since the messageFuture has been created before the message is placed in basketMap,
-                        // the return value will be obtained in ClientOnResponseProcessor.
-                        sendChannel = clientChannelManager.acquireChannel(address);
-                        AbstractNettyRemotingClient.this.sendAsyncRequest(sendChannel, mergeMessage);
-                    } catch (FrameworkException e) {
-                        if (e.getErrcode() == FrameworkErrorCode.ChannelIsNotWritable && sendChannel != null) {
-                            destroyChannel(address, sendChannel);
-                        }
-                        // fast fail
-                        for (Integer msgId : mergeMessage.msgIds) {
-                            MessageFuture messageFuture = futures.remove(msgId);
-                            Integer parentId = childToParentMap.remove(msgId);
-                            if (parentId != null) {
-                                mergeMsgMap.remove(parentId);
-                            }
-                            if (messageFuture != null) {
-                                messageFuture.setResultMessage(
-                                    new RuntimeException(String.format("%s is unreachable", address), e));
-                            }
-                        }
-                        LOGGER.error("client merge call failed: {}", e.getMessage(), e);
-                    }
-                });
-                isSending = false;
+        @Override
+        public void fail(Channel channel, MergedWarpMessage mergeMessage, Throwable cause) {
+            String address = getAddressFromChannel(channel);
+            // fast fail
+            for (Integer msgId : mergeMessage.msgIds) {
+                MessageFuture messageFuture = futures.remove(msgId);
+                childToParentMap.remove(msgId);
+                if (messageFuture != null) {
+                    messageFuture.setResultMessage(
+                        new RuntimeException(String.format("%s is unreachable", address), cause));
+                }
             }
+            LOGGER.error("client merge call failed: {}", cause.getMessage(), cause);
         }
 
         private void printMergeMessageLog(MergedWarpMessage mergeMessage) {
@@ -436,6 +445,10 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                     lock.notifyAll();
                 }
             }
+            MergedSendQueue mergedSendQueue = mergedSendQueues.get(ctx.channel());
+            if (mergedSendQueue != null && ctx.channel().isWritable()) {
+                mergedSendQueue.resume();
+            }
             ctx.fireChannelWritabilityChanged();
         }
 
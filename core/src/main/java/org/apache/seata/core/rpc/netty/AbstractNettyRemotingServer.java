@@ -40,6 +40,7 @@ import org.apache.seata.core.rpc.RemotingServer;
 import org.apache.seata.core.rpc.RpcContext;
 import org.apache.seata.core.rpc.processor.Pair;
 import org.apache.seata.core.rpc.processor.RemotingProcessor;
+import org.apache.seata.core.rpc.processor.server.BatchResponseQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -182,6 +183,9 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
                     lock.notifyAll();
                 }
             }
+            if (ctx.channel().isWritable()) {
+                BatchResponseQueue.resume(ctx.channel());
+            }
             ctx.fireChannelWritabilityChanged();
         }
 
@@ -279,9 +283,11 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
     protected void processMessage(ChannelHandlerContext ctx, RpcMessage rpcMessage) throws Exception {
         Object body = rpcMessage.getBody();
         RpcContext rpcContext = ChannelManager.getContextFromIdentified(ctx.channel());
-        // If the client is not version 2.3.0 or higher, splitting MergedWarpMessage will result in the client’s mergeMsgMap not being cleared
+        // If the client is not version 2.3.0 or higher, splitting MergedWarpMessage will result in the client’s mergeMsgMap not being cleared.
+        // The clients since 2.4.0 keep the MergedWarpMessage, whose results are streamed in the order of completion.
         if (body instanceof MergedWarpMessage && (StringUtils.isNotBlank(rpcContext.getVersion())
-            && Version.isAboveOrEqualVersion230(rpcContext.getVersion()))) {
+            && Version.isAboveOrEqualVersion230(rpcContext.getVersion())
+            && !Version.isAboveOrEqualVersion240(rpcContext.getVersion()))) {
             MergedWarpMessage mergedWarpMessage = (MergedWarpMessage)body;
             for (int i = 0; i < mergedWarpMessage.msgs.size(); i++) {
                 RpcMessage rpcMsg =
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.channel.Channel;
+import io.netty.util.internal.PlatformDependent;
+import org.apache.seata.core.protocol.AbstractMessage;
+import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.RpcMessage;
+
+/**
+ * The queue of the batch requests of one channel.
+ * <p>
+ * The business threads offer the requests into a lock-free mpsc queue, the requests are drained on the event loop of
+ * the channel into {@link MergedWarpMessage}s. A drain is triggered when the pending requests reach the max batch
+ * size, or after the max wait since the first pending request. While the former drain sent at most one request, the
+ * load is light and the drain is triggered at once, without waiting for more requests.
+ * </p>
+ * <p>
+ * The requests are kept in the queue while the channel is not writable, and drained again when it becomes writable.
+ * The requests of an inactive channel are failed.
+ * </p>
+ */
+class MergedSendQueue {
+
+    private final Channel channel;
+
+    private final Flusher flusher;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitMicros;
+
+    private final Queue<RpcMessage> queue = PlatformDependent.newMpscQueue();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Runnable drainTask = this::drain;
+
+    /**
+     * written on the event loop only
+     */
+    private volatile int lastDrainSize;
+
+    /**
+     * Instantiates a new merged send queue.
+     *
+     * @param channel       the channel
+     * @param flusher       the flusher
+     * @param maxBatchSize  the max requests in one merged message
+     * @param maxWaitMicros the max wait of the first pending request in microseconds
+     */
+    MergedSendQueue(Channel channel, Flusher flusher, int maxBatchSize, long maxWaitMicros) {
+        this.channel = channel;
+        this.flusher = flusher;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitMicros = maxWaitMicros;
+    }
+
+    /**
+     * Offer the request, never blocks.
+     *
+     * @param rpcMessage the rpc message
+     */
+    void offer(RpcMessage rpcMessage) {
+        queue.offer(rpcMessage);
+        int size = pending.incrementAndGet();
+        if (size == maxBatchSize) {
+            channel.eventLoop().execute(drainTask);
+        } else if (scheduled.compareAndSet(false, true)) {
+            if (lastDrainSize <= 1 || maxWaitMicros <= 0) {
+                channel.eventLoop().execute(drainTask);
+            } else {
+                channel.eventLoop().schedule(drainTask, maxWaitMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Drain the pending requests again, when the channel becomes writable.
+     */
+    void resume() {
+        if (pending.get() > 0) {
+            channel.eventLoop().execute(drainTask);
+        }
+    }
+
+    /**
+     * The count of the pending requests.
+     *
+     * @return the count
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        if (!channel.isActive()) {
+            MergedWarpMessage mergeMessage;
+            while ((mergeMessage = poll()) != null) {
+                flusher.fail(channel, mergeMessage, new IllegalStateException("channel is inactive: " + channel));
+            }
+            return;
+        }
+        int drained = 0;
+        MergedWarpMessage mergeMessage;
+        while (channel.isWritable() && (mergeMessage = poll()) != null) {
+            drained += mergeMessage.msgIds.size();
+            flusher.flush(channel, mergeMessage);
+        }
+        if (drained > 0) {
+            lastDrainSize = drained;
+        }
+    }
+
+    private MergedWarpMessage poll() {
+        RpcMessage rpcMessage = queue.poll();
+        if (rpcMessage == null) {
+            return null;
+        }
+        MergedWarpMessage mergeMessage = new MergedWarpMessage();
+        do {
+            mergeMessage.msgs.add((AbstractMessage)rpcMessage.getBody());
+            mergeMessage.msgIds.add(rpcMessage.getId());
+        } while (mergeMessage.msgIds.size() < maxBatchSize && (rpcMessage = queue.poll()) != null);
+        pending.addAndGet(-mergeMessage.msgIds.size());
+        return mergeMessage;
+    }
+
+    /**
+     * Sends the merged messages drained on the event loop.
+     */
+    interface Flusher {
+
+        /**
+         * Write the merged message into the channel, called on the event loop.
+         *
+         * @param channel      the channel
+         * @param mergeMessage the merged message
+         */
+        void flush(Channel channel, MergedWarpMessage mergeMessage);
+
+        /**
+         * Fail the requests of the merged message which can not be sent.
+         *
+         * @param channel      the channel
+         * @param mergeMessage the merged message
+         * @param cause        the cause
+         */
+        void fail(Channel channel, MergedWarpMessage mergeMessage, Throwable cause);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.apache.seata.common.thread.NamedThreadFactory;
+
+/**
+ * The executor of one message lane on the TC, with a bounded queue.
+ * <p>
+ * The time a task waits in the queue is reported to the wait time listener in nanoseconds, when it starts running
+ * on the lane.
+ * </p>
+ */
+public class MessageExecutorLane extends ThreadPoolExecutor {
+
+    private final String laneName;
+
+    private volatile LongConsumer waitTimeListener;
+
+    /**
+     * Instantiates a new message executor lane.
+     *
+     * @param laneName          the lane name
+     * @param poolSize          the pool size
+     * @param queueSize         the queue size
+     * @param keepAliveSeconds  the keep alive time of the idle threads in seconds
+     * @param rejectedHandler   the handler of the tasks can not be queued
+     */
+    public MessageExecutorLane(String laneName, int poolSize, int queueSize, long keepAliveSeconds,
+                               RejectedExecutionHandler rejectedHandler) {
+        super(poolSize, poolSize, keepAliveSeconds, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueSize),
+            new NamedThreadFactory("ServerLane_" + laneName, poolSize), rejectedHandler);
+        this.laneName = laneName;
+        allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(command instanceof QueuedTask ? command : new QueuedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        LongConsumer listener = waitTimeListener;
+        if (listener != null && r instanceof QueuedTask) {
+            listener.accept(System.nanoTime() - ((QueuedTask)r).enqueueNanos);
+        }
+    }
+
+    /**
+     * Gets the lane name.
+     *
+     * @return the lane name
+     */
+    public String getLaneName() {
+        return laneName;
+    }
+
+    /**
+     * Gets the count of the queued tasks.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /**
+     * Sets the listener of the queue wait time in nanoseconds.
+     *
+     * @param waitTimeListener the wait time listener
+     */
+    public void setWaitTimeListener(LongConsumer waitTimeListener) {
+        this.waitTimeListener = waitTimeListener;
+    }
+
+    private static final class QueuedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long enqueueNanos = System.nanoTime();
+
+        QueuedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.seata.common.DefaultValues;
+import org.apache.seata.core.protocol.MessageType;
+
+/**
+ * The message lanes of the TC, isolate the request messages by their type on dedicated executors.
+ * <p>
+ * The phase-ending requests (global commit, rollback and report) have their own lane, so a burst of branch
+ * registers or lock queries can not delay them, and the row locks are released in time. The queues are bounded, a
+ * full lane runs the request in the calling thread as the shared message executor does. The types not in any lane,
+ * including the merged messages, stay on the shared message executor, the sub messages of the merged messages are
+ * handled on their lanes.
+ * </p>
+ */
+public class MessageExecutorLanes {
+
+    private final Map<Integer, MessageExecutorLane> laneByType = new HashMap<>();
+
+    private final List<MessageExecutorLane> lanes = new ArrayList<>();
+
+    /**
+     * Instantiates the lanes enabled in the configuration.
+     */
+    public MessageExecutorLanes() {
+        if (!NettyServerConfig.isEnableTcServerMessageLane()) {
+            return;
+        }
+        for (Lane lane : Lane.values()) {
+            int poolSize = NettyServerConfig.getMessageLanePoolSize(lane.laneName, lane.defaultPoolSize);
+            if (poolSize <= 0) {
+                continue;
+            }
+            int queueSize = NettyServerConfig.getMessageLaneQueueSize(lane.laneName, lane.defaultQueueSize);
+            addLane(lane, new MessageExecutorLane(lane.laneName, poolSize, Math.max(1, queueSize),
+                NettyServerConfig.getKeepAliveTime(), new ThreadPoolExecutor.CallerRunsPolicy()));
+        }
+    }
+
+    /**
+     * For testing, instantiates the lanes with the given executors.
+     *
+     * @param executors the executors by lane
+     */
+    MessageExecutorLanes(Map<Lane, MessageExecutorLane> executors) {
+        executors.forEach(this::addLane);
+    }
+
+    private void addLane(Lane lane, MessageExecutorLane executor) {
+        lanes.add(executor);
+        for (short typeCode : lane.typeCodes) {
+            laneByType.put((int)typeCode, executor);
+        }
+    }
+
+    /**
+     * Gets the lane of the message type.
+     *
+     * @param typeCode the message type code
+     * @return the lane, or null if the type is not in any lane
+     */
+    public MessageExecutorLane laneOf(int typeCode) {
+        return laneByType.get(typeCode);
+    }
+
+    /**
+     * Gets the executor of the message type.
+     *
+     * @param typeCode        the message type code
+     * @param defaultExecutor the executor of the types not in any lane
+     * @return the executor
+     */
+    public ExecutorService executorOf(int typeCode, ExecutorService defaultExecutor) {
+        MessageExecutorLane lane = laneByType.get(typeCode);
+        return lane != null ? lane : defaultExecutor;
+    }
+
+    /**
+     * Gets all the lanes.
+     *
+     * @return the lanes
+     */
+    public List<MessageExecutorLane> getLanes() {
+        return Collections.unmodifiableList(lanes);
+    }
+
+    /**
+     * Shutdown all the lanes.
+     */
+    public void shutdown() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /**
+     * The lanes and their message types.
+     */
+    enum Lane {
+
+        /**
+         * The phase-ending requests of the global transactions.
+         */
+        PHASE_END("phaseEnd", DefaultValues.DEFAULT_MESSAGE_LANE_PHASE_END_POOL_SIZE,
+            DefaultValues.DEFAULT_MESSAGE_LANE_PHASE_END_QUEUE_SIZE,
+            MessageType.TYPE_GLOBAL_COMMIT, MessageType.TYPE_GLOBAL_ROLLBACK, MessageType.TYPE_GLOBAL_REPORT),
+
+        /**
+         * The branch register and report requests.
+         */
+        BRANCH("branch", DefaultValues.DEFAULT_MESSAGE_LANE_BRANCH_POOL_SIZE,
+            DefaultValues.DEFAULT_MESSAGE_LANE_BRANCH_QUEUE_SIZE,
+            MessageType.TYPE_BRANCH_REGISTER, MessageType.TYPE_BRANCH_STATUS_REPORT),
+
+        /**
+         * The global lock query requests.
+         */
+        LOCK_QUERY("lockQuery", DefaultValues.DEFAULT_MESSAGE_LANE_LOCK_QUERY_POOL_SIZE,
+            DefaultValues.DEFAULT_MESSAGE_LANE_LOCK_QUERY_QUEUE_SIZE,
+            MessageType.TYPE_GLOBAL_LOCK_QUERY);
+
+        private final String laneName;
+
+        private final int defaultPoolSize;
+
+        private final int defaultQueueSize;
+
+        private final short[] typeCodes;
+
+        Lane(String laneName, int defaultPoolSize, int defaultQueueSize, short... typeCodes) {
+            this.laneName = laneName;
+            this.defaultPoolSize = defaultPoolSize;
+            this.defaultQueueSize = defaultQueueSize;
+            this.typeCodes = typeCodes;
+        }
+
+        String getLaneName() {
+            return laneName;
+        }
+    }
+}
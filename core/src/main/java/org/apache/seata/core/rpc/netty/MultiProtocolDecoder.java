@@ -88,7 +88,7 @@ public class MultiProtocolDecoder extends LengthFieldBasedFrameDecoder {
                 .put(ProtocolConstants.VERSION_1, new ProtocolDecoderV1()).build();
         this.protocolEncoderMap =
             ImmutableMap.<Byte, ProtocolEncoder>builder().put(ProtocolConstants.VERSION_0, new ProtocolEncoderV0())
-                .put(ProtocolConstants.VERSION_1, new ProtocolEncoderV1()).build();
+                .put(ProtocolConstants.VERSION_1, new ProtocolEncoderV1(true)).build();
         this.channelHandlers = channelHandlers;
     }
 
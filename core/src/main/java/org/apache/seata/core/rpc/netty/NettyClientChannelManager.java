@@ -26,10 +26,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.seata.common.ConfigurationKeys;
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
@@ -45,27 +49,50 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Netty client pool manager.
- *
+ * <p>
+ * Each server address has a primary channel, and {@link NettyClientConfig#getClientChannelsPerServer()} - 1 extra
+ * channels if configured. The requests of a transaction are sent on the channel selected by their xid, so they keep
+ * their order on the wire, the requests without xid are sent on the channel with the least pending requests. The
+ * extra channels are connected by the reconnect task, a request never waits for their connecting and falls back to
+ * the primary channel instead.
+ * </p>
  */
 class NettyClientChannelManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NettyClientChannelManager.class);
 
+    private static final AttributeKey<AtomicInteger> PENDING_REQUESTS = AttributeKey.valueOf("seata.pendingRequests");
+
     private final ConcurrentMap<String, Object> channelLocks = new ConcurrentHashMap<>();
 
     private final ConcurrentMap<String, NettyPoolKey> poolKeyMap = new ConcurrentHashMap<>();
 
     private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
 
+    /**
+     * The extra channels of each server address, the slot i holds the channel i + 1, the channel 0 is the primary
+     * channel in {@link #channels}.
+     */
+    private final ConcurrentMap<String, AtomicReferenceArray<Channel>> extraChannels = new ConcurrentHashMap<>();
+
     private final GenericKeyedObjectPool<NettyPoolKey, Channel> nettyClientKeyPool;
 
     private Function<String, NettyPoolKey> poolKeyFunction;
 
+    private final int channelsPerServer;
+
     NettyClientChannelManager(final NettyPoolableFactory keyPoolableFactory, final Function<String, NettyPoolKey> poolKeyFunction,
                                      final NettyClientConfig clientConfig) {
+        this(keyPoolableFactory, poolKeyFunction, clientConfig, NettyClientConfig.getClientChannelsPerServer());
+    }
+
+    NettyClientChannelManager(final NettyPoolableFactory keyPoolableFactory, final Function<String, NettyPoolKey> poolKeyFunction,
+                              final NettyClientConfig clientConfig, final int channelsPerServer) {
         nettyClientKeyPool = new GenericKeyedObjectPool<>(keyPoolableFactory);
         nettyClientKeyPool.setConfig(getNettyPoolConfig(clientConfig));
         this.poolKeyFunction = poolKeyFunction;
+        this.channelsPerServer = Math.max(1, channelsPerServer);
+        nettyClientKeyPool.setMaxActive(Math.max(nettyClientKeyPool.getMaxActive(), this.channelsPerServer));
     }
 
     private GenericKeyedObjectPool.Config getNettyPoolConfig(final NettyClientConfig clientConfig) {
@@ -111,6 +138,139 @@ class NettyClientChannelManager {
         }
     }
 
+    /**
+     * Acquire the channel of the request connected to remote server.
+     *
+     * @param serverAddress server address
+     * @param affinityXid   the xid the request keeps its order within, or null to select the least loaded channel
+     * @return netty channel
+     */
+    Channel acquireChannel(String serverAddress, String affinityXid) {
+        Channel primary = acquireChannel(serverAddress);
+        if (channelsPerServer <= 1) {
+            return primary;
+        }
+        AtomicReferenceArray<Channel> slots = extraChannels.get(serverAddress);
+        if (slots == null) {
+            return primary;
+        }
+        if (affinityXid != null) {
+            int index = (affinityXid.hashCode() & Integer.MAX_VALUE) % channelsPerServer;
+            if (index == 0) {
+                return primary;
+            }
+            Channel channel = slots.get(index - 1);
+            return channel != null && channel.isActive() ? channel : primary;
+        }
+        Channel selected = primary;
+        int leastPending = getPendingRequests(primary);
+        for (int i = 0; i < slots.length() && leastPending > 0; i++) {
+            Channel channel = slots.get(i);
+            if (channel != null && channel.isActive()) {
+                int pending = getPendingRequests(channel);
+                if (pending < leastPending) {
+                    selected = channel;
+                    leastPending = pending;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Connect the missing extra channels to remote server, the failed ones are retried by the next reconnect.
+     *
+     * @param serverAddress server address
+     */
+    void acquireExtraChannels(String serverAddress) {
+        if (channelsPerServer <= 1) {
+            return;
+        }
+        AtomicReferenceArray<Channel> slots = CollectionUtils.computeIfAbsent(extraChannels, serverAddress,
+            key -> new AtomicReferenceArray<>(channelsPerServer - 1));
+        Object lockObj = CollectionUtils.computeIfAbsent(channelLocks, serverAddress, key -> new Object());
+        synchronized (lockObj) {
+            for (int i = 0; i < slots.length(); i++) {
+                Channel channel = slots.get(i);
+                if (channel != null && channel.isActive()) {
+                    continue;
+                }
+                try {
+                    NettyPoolKey currentPoolKey = poolKeyFunction.apply(serverAddress);
+                    poolKeyMap.put(serverAddress, currentPoolKey);
+                    slots.set(i, nettyClientKeyPool.borrowObject(currentPoolKey));
+                } catch (Exception exx) {
+                    LOGGER.warn("can not connect the channel {} to {}, cause:{}", i + 1, serverAddress, exx.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the active channels connected to remote server, the primary channel first.
+     *
+     * @param serverAddress server address
+     * @return the channels
+     */
+    List<Channel> getChannels(String serverAddress) {
+        List<Channel> result = new ArrayList<>(channelsPerServer);
+        Channel primary = channels.get(serverAddress);
+        if (primary != null) {
+            result.add(primary);
+        }
+        AtomicReferenceArray<Channel> slots = extraChannels.get(serverAddress);
+        if (slots != null) {
+            for (int i = 0; i < slots.length(); i++) {
+                Channel channel = slots.get(i);
+                if (channel != null && channel.isActive() && !result.contains(channel)) {
+                    result.add(channel);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count a request sent on the channel as pending, only if there are more than one channel per server.
+     *
+     * @param channel the channel
+     */
+    void onRequestSent(Channel channel) {
+        if (channelsPerServer > 1 && channel != null) {
+            pendingRequestsOf(channel).incrementAndGet();
+        }
+    }
+
+    /**
+     * Count a pending request of the channel as done, only if there are more than one channel per server.
+     *
+     * @param channel the channel
+     */
+    void onRequestDone(Channel channel) {
+        if (channelsPerServer > 1 && channel != null) {
+            pendingRequestsOf(channel).decrementAndGet();
+        }
+    }
+
+    static int getPendingRequests(Channel channel) {
+        AtomicInteger pending = channel.attr(PENDING_REQUESTS).get();
+        return pending == null ? 0 : pending.get();
+    }
+
+    private static AtomicInteger pendingRequestsOf(Channel channel) {
+        Attribute<AtomicInteger> attribute = channel.attr(PENDING_REQUESTS);
+        AtomicInteger pending = attribute.get();
+        if (pending == null) {
+            AtomicInteger created = new AtomicInteger();
+            pending = attribute.setIfAbsent(created);
+            if (pending == null) {
+                pending = created;
+            }
+        }
+        return pending;
+    }
+
     /**
      * Release channel to pool if necessary.
      *
@@ -121,6 +281,7 @@ class NettyClientChannelManager {
         if (channel == null || serverAddress == null) { return; }
         try {
             synchronized (channelLocks.get(serverAddress)) {
+                removeExtraChannel(serverAddress, channel);
                 Channel ch = channels.get(serverAddress);
                 if (ch == null) {
                     nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
@@ -152,6 +313,7 @@ class NettyClientChannelManager {
             if (channel.equals(channels.get(serverAddress))) {
                 channels.remove(serverAddress);
             }
+            removeExtraChannel(serverAddress, channel);
             nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
         } catch (Exception exx) {
             LOGGER.error("return channel to rmPool error:{}", exx.getMessage());
@@ -232,6 +394,7 @@ class NettyClientChannelManager {
                 try {
                     acquireChannel(serverAddress);
                     channelAddress.add(serverAddress);
+                    acquireExtraChannels(serverAddress);
                 } catch (Exception e) {
                     failedMap.put(serverAddress, e);
                 }
@@ -278,6 +441,16 @@ class NettyClientChannelManager {
         channels.put(serverAddress, channel);
     }
 
+    private void removeExtraChannel(String serverAddress, Channel channel) {
+        AtomicReferenceArray<Channel> slots = extraChannels.get(serverAddress);
+        if (slots == null) {
+            return;
+        }
+        for (int i = 0; i < slots.length(); i++) {
+            slots.compareAndSet(i, channel, null);
+        }
+    }
+
     private Channel doConnect(String serverAddress) {
         Channel channelToServer = channels.get(serverAddress);
         if (channelToServer != null && channelToServer.isActive()) {
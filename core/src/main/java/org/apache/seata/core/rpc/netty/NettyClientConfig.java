@@ -20,6 +20,9 @@ import io.netty.channel.Channel;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.rpc.TransportServerType;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_CHANNELS_PER_SERVER;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_PROTOCOL;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
@@ -60,6 +63,9 @@ public class NettyClientConfig extends NettyBaseConfig {
     private static final boolean DEFAULT_POOL_TEST_RETURN = true;
     private static final boolean DEFAULT_POOL_LIFO = true;
     private static final boolean ENABLE_CLIENT_BATCH_SEND_REQUEST = CONFIG.getBoolean(ConfigurationKeys.ENABLE_CLIENT_BATCH_SEND_REQUEST, DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST);
+    private static final int CLIENT_BATCH_SEND_MAX_SIZE = CONFIG.getInt(ConfigurationKeys.CLIENT_BATCH_SEND_MAX_SIZE, DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE);
+    private static final long CLIENT_BATCH_SEND_MAX_WAIT = CONFIG.getLong(ConfigurationKeys.CLIENT_BATCH_SEND_MAX_WAIT, DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT);
+    private static final int CLIENT_CHANNELS_PER_SERVER = Math.max(1, CONFIG.getInt(ConfigurationKeys.CLIENT_CHANNELS_PER_SERVER, DEFAULT_CLIENT_CHANNELS_PER_SERVER));
 
     /**
      * Gets connect timeout millis.
@@ -308,6 +314,33 @@ public class NettyClientConfig extends NettyBaseConfig {
         return MAX_NOT_WRITEABLE_RETRY;
     }
 
+    /**
+     * Gets the max requests merged into one message of the client batch send.
+     *
+     * @return the max size
+     */
+    public static int getClientBatchSendMaxSize() {
+        return CLIENT_BATCH_SEND_MAX_SIZE;
+    }
+
+    /**
+     * Gets the max wait of the first pending request of the client batch send, in microseconds.
+     *
+     * @return the max wait
+     */
+    public static long getClientBatchSendMaxWait() {
+        return CLIENT_BATCH_SEND_MAX_WAIT;
+    }
+
+    /**
+     * Gets the channels connected to each server address.
+     *
+     * @return the channels per server
+     */
+    public static int getClientChannelsPerServer() {
+        return CLIENT_CHANNELS_PER_SERVER;
+    }
+
     /**
      * Gets per host min conn.
      *
@@ -395,7 +428,7 @@ public class NettyClientConfig extends NettyBaseConfig {
      * @return the max pool active
      */
     public int getMaxPoolActive() {
-        return DEFAULT_MAX_POOL_ACTIVE;
+        return Math.max(DEFAULT_MAX_POOL_ACTIVE, getClientChannelsPerServer());
     }
 
     /**
@@ -16,12 +16,15 @@
  */
 package org.apache.seata.core.rpc.netty;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import io.netty.channel.Channel;
 import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.thread.VirtualThreads;
 import org.apache.seata.core.protocol.MessageType;
 import org.apache.seata.core.rpc.ShutdownHook;
 import org.apache.seata.core.rpc.TransactionMessageHandler;
@@ -50,6 +53,16 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
             new LinkedBlockingQueue<>(NettyServerConfig.getMaxTaskQueueSize()),
             new NamedThreadFactory("BranchResultHandlerThread", NettyServerConfig.getMaxBranchResultPoolSize()), new ThreadPoolExecutor.CallerRunsPolicy());
 
+    private final MessageExecutorLanes messageLanes;
+
+    private final ExecutorService virtualThreadExecutor;
+
+    /**
+     * the merged sub messages wait on their own permits, the merged messages holding the permits of the
+     * virtual thread executor can not starve them
+     */
+    private final ExecutorService subMessageVirtualThreadExecutor;
+
     @Override
     public void init() {
         // registry processor
@@ -65,11 +78,20 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
      * @param messageExecutor   the message executor
      */
     public NettyRemotingServer(ThreadPoolExecutor messageExecutor) {
-        super(messageExecutor, new NettyServerConfig());
+        this(messageExecutor, new NettyServerConfig());
     }
 
     public NettyRemotingServer(ThreadPoolExecutor messageExecutor, NettyServerConfig nettyServerConfig) {
         super(messageExecutor, nettyServerConfig);
+        this.messageLanes = new MessageExecutorLanes();
+        this.virtualThreadExecutor = NettyServerConfig.isEnableVirtualThread()
+            ? VirtualThreads.newExecutorIfSupported("ServerHandlerVirtualThread",
+                NettyServerConfig.getVirtualThreadMaxConcurrency(), NettyServerConfig.getVirtualThreadMaxPendingTasks())
+            : null;
+        this.subMessageVirtualThreadExecutor = virtualThreadExecutor != null
+            ? VirtualThreads.newExecutorIfSupported("ServerSubMessageVirtualThread",
+                NettyServerConfig.getVirtualThreadMaxConcurrency(), NettyServerConfig.getVirtualThreadMaxPendingTasks())
+            : null;
     }
 
     /**
@@ -85,6 +107,15 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
         return transactionMessageHandler;
     }
 
+    /**
+     * Gets the message lanes, which are empty unless enabled.
+     *
+     * @return the message lanes
+     */
+    public MessageExecutorLanes getMessageLanes() {
+        return messageLanes;
+    }
+
     @Override
     public void destroyChannel(String serverAddress, Channel channel) {
         if (LOGGER.isInfoEnabled()) {
@@ -95,19 +126,32 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
     }
 
     private void registerProcessor() {
-        // 1. registry on request message processor
+        // the requests run on the virtual threads if enabled, except the ones in the message lanes
+        ExecutorService requestExecutor = virtualThreadExecutor != null ? virtualThreadExecutor : messageExecutor;
+        // 1. registry on request message processor, the merged sub messages outside the lanes run on their own
+        // virtual threads if enabled, otherwise on the message executor
+        Executor subMessageExecutor =
+            subMessageVirtualThreadExecutor != null ? subMessageVirtualThreadExecutor : messageExecutor;
         ServerOnRequestProcessor onRequestProcessor =
-            new ServerOnRequestProcessor(this, getHandler());
+            new ServerOnRequestProcessor(this, getHandler(), messageLanes, subMessageExecutor);
         ShutdownHook.getInstance().addDisposable(onRequestProcessor);
-        super.registerProcessor(MessageType.TYPE_BRANCH_REGISTER, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_BRANCH_STATUS_REPORT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_COMMIT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_LOCK_QUERY, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_REPORT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_ROLLBACK, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_STATUS, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_SEATA_MERGE, onRequestProcessor, messageExecutor);
+        super.registerProcessor(MessageType.TYPE_BRANCH_REGISTER, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_BRANCH_REGISTER, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_BRANCH_STATUS_REPORT, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_BRANCH_STATUS_REPORT, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_BEGIN, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_COMMIT, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_COMMIT, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_LOCK_QUERY, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_LOCK_QUERY, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_REPORT, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_REPORT, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_ROLLBACK, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_ROLLBACK, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_GLOBAL_STATUS, onRequestProcessor,
+            messageLanes.executorOf(MessageType.TYPE_GLOBAL_STATUS, requestExecutor));
+        super.registerProcessor(MessageType.TYPE_SEATA_MERGE, onRequestProcessor, requestExecutor);
         // 2. registry on response message processor
         ServerOnResponseProcessor onResponseProcessor =
             new ServerOnResponseProcessor(getHandler(), getFutures());
@@ -128,5 +172,10 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
     public void destroy() {
         super.destroy();
         branchResultMessageExecutor.shutdown();
+        messageLanes.shutdown();
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+            subMessageVirtualThreadExecutor.shutdown();
+        }
     }
 }
@@ -68,6 +68,17 @@ public class NettyServerConfig extends NettyBaseConfig {
             ConfigurationKeys.MAX_BRANCH_RESULT_POOL_SIZE, String.valueOf(WorkThreadMode.Pin.getValue())));
     private static boolean ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = CONFIG.getBoolean(ConfigurationKeys.ENABLE_TC_SERVER_BATCH_SEND_RESPONSE,
         DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE);
+    private static int TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE = CONFIG.getInt(ConfigurationKeys.TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE,
+        DefaultValues.DEFAULT_TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE);
+    private static boolean ENABLE_TC_SERVER_MESSAGE_LANE = CONFIG.getBoolean(ConfigurationKeys.ENABLE_TC_SERVER_MESSAGE_LANE,
+        DefaultValues.DEFAULT_ENABLE_TC_SERVER_MESSAGE_LANE);
+    private static boolean ENABLE_VIRTUAL_THREAD = CONFIG.getBoolean(ConfigurationKeys.ENABLE_SERVER_VIRTUAL_THREAD_KEY,
+        DefaultValues.DEFAULT_ENABLE_SERVER_VIRTUAL_THREAD);
+    private static int VIRTUAL_THREAD_MAX_CONCURRENCY = CONFIG.getInt(
+        ConfigurationKeys.SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY_KEY, DefaultValues.DEFAULT_SERVER_VIRTUAL_THREAD_MAX_CONCURRENCY);
+    private static int VIRTUAL_THREAD_MAX_PENDING_TASKS = CONFIG.getInt(
+        ConfigurationKeys.SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS_KEY,
+        DefaultValues.DEFAULT_SERVER_VIRTUAL_THREAD_MAX_PENDING_TASKS);
 
     /**
      * The Server channel clazz.
@@ -340,4 +351,73 @@ public class NettyServerConfig extends NettyBaseConfig {
     public static boolean isEnableTcServerBatchSendResponse() {
         return ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
     }
+
+    /**
+     * Get the max responses coalesced into one batch result message of a channel
+     *
+     * @return the max size
+     */
+    public static int getTcServerBatchSendResponseMaxSize() {
+        return TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE;
+    }
+
+    /**
+     * Get the tc server message lane enable
+     *
+     * @return true or false
+     */
+    public static boolean isEnableTcServerMessageLane() {
+        return ENABLE_TC_SERVER_MESSAGE_LANE;
+    }
+
+    /**
+     * Get the tc server virtual thread enable, the requests are handled on the virtual threads instead of the
+     * server pool if enabled and supported by the running JDK
+     *
+     * @return true or false
+     */
+    public static boolean isEnableVirtualThread() {
+        return ENABLE_VIRTUAL_THREAD;
+    }
+
+    /**
+     * Get the max count of the requests handled on the virtual threads at the same time
+     *
+     * @return the max concurrency
+     */
+    public static int getVirtualThreadMaxConcurrency() {
+        return VIRTUAL_THREAD_MAX_CONCURRENCY;
+    }
+
+    /**
+     * Get the max count of the requests handled or waiting on the virtual threads, the requests beyond are handled
+     * on the caller thread
+     *
+     * @return the max pending tasks
+     */
+    public static int getVirtualThreadMaxPendingTasks() {
+        return VIRTUAL_THREAD_MAX_PENDING_TASKS;
+    }
+
+    /**
+     * Get the pool size of the message lane, 0 means the lane is disabled
+     *
+     * @param lane        the lane name
+     * @param defaultSize the default size
+     * @return the pool size
+     */
+    public static int getMessageLanePoolSize(String lane, int defaultSize) {
+        return CONFIG.getInt(ConfigurationKeys.TC_SERVER_MESSAGE_LANE_PREFIX + lane + ".poolSize", defaultSize);
+    }
+
+    /**
+     * Get the queue size of the message lane
+     *
+     * @param lane        the lane name
+     * @param defaultSize the default size
+     * @return the queue size
+     */
+    public static int getMessageLaneQueueSize(String lane, int defaultSize) {
+        return CONFIG.getInt(ConfigurationKeys.TC_SERVER_MESSAGE_LANE_PREFIX + lane + ".queueSize", defaultSize);
+    }
 }
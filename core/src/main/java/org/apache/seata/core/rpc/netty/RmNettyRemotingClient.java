@@ -18,6 +18,7 @@ package org.apache.seata.core.rpc.netty;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +31,7 @@ import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.exception.FrameworkErrorCode;
 import org.apache.seata.common.exception.FrameworkException;
 import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.thread.VirtualThreads;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.CachedConfigurationChangeListener;
 import org.apache.seata.config.Configuration;
@@ -38,6 +40,7 @@ import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.model.Resource;
 import org.apache.seata.core.model.ResourceManager;
+import org.apache.seata.core.compressor.CompressorDictionaries;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.MessageType;
 import org.apache.seata.core.protocol.RegisterRMRequest;
@@ -68,6 +71,7 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     private static final int MAX_QUEUE_SIZE = 20000;
     private String applicationId;
     private String transactionServiceGroup;
+    private ExecutorService phaseTwoExecutor;
 
     @Override
     public void init() {
@@ -105,6 +109,15 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
                 }
             }
         });
+        if (configuration.getBoolean(ConfigurationKeys.CLIENT_RM_ENABLE_VIRTUAL_THREAD,
+            DefaultValues.DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD)) {
+            this.phaseTwoExecutor = VirtualThreads.newExecutorIfSupported(
+                nettyClientConfig.getRmDispatchThreadPrefix() + "Virtual",
+                configuration.getInt(ConfigurationKeys.CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY,
+                    DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY),
+                configuration.getInt(ConfigurationKeys.CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS,
+                    DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS));
+        }
     }
 
     /**
@@ -225,13 +238,14 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
             return;
         }
         synchronized (getClientChannelManager().getChannels()) {
-            for (Map.Entry<String, Channel> entry : getClientChannelManager().getChannels().entrySet()) {
-                String serverAddress = entry.getKey();
-                Channel rmChannel = entry.getValue();
+            for (String serverAddress : getClientChannelManager().getChannels().keySet()) {
                 if (LOGGER.isInfoEnabled()) {
                     LOGGER.info("will register resourceId:{}", resourceId);
                 }
-                sendRegisterMessage(serverAddress, rmChannel, resourceId);
+                // the extra channels of the server are registered as well, see NettyClientConfig#getClientChannelsPerServer
+                for (Channel rmChannel : getClientChannelManager().getChannels(serverAddress)) {
+                    sendRegisterMessage(serverAddress, rmChannel, resourceId);
+                }
             }
         }
     }
@@ -279,6 +293,9 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     @Override
     public void destroy() {
         super.destroy();
+        if (phaseTwoExecutor != null) {
+            phaseTwoExecutor.shutdown();
+        }
         initialized.getAndSet(false);
         instance = null;
     }
@@ -292,6 +309,10 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
             }
             RegisterRMRequest message = new RegisterRMRequest(applicationId, transactionServiceGroup);
             message.setResourceIds(resourceIds);
+            String extraData = CompressorDictionaries.getRegisterExtraData();
+            if (StringUtils.isNotEmpty(extraData)) {
+                message.setExtraData(extraData);
+            }
             return new NettyPoolKey(NettyPoolKey.TransactionRole.RMROLE, serverAddress, message);
         };
     }
@@ -312,15 +333,17 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     }
 
     private void registerProcessor() {
+        // the phase two handlers run on the virtual threads if enabled
+        ExecutorService phaseTwoExecutor = this.phaseTwoExecutor != null ? this.phaseTwoExecutor : messageExecutor;
         // 1.registry rm client handle branch commit processor
         RmBranchCommitProcessor rmBranchCommitProcessor = new RmBranchCommitProcessor(getTransactionMessageHandler(), this);
-        super.registerProcessor(MessageType.TYPE_BRANCH_COMMIT, rmBranchCommitProcessor, messageExecutor);
+        super.registerProcessor(MessageType.TYPE_BRANCH_COMMIT, rmBranchCommitProcessor, phaseTwoExecutor);
         // 2.registry rm client handle branch rollback processor
         RmBranchRollbackProcessor rmBranchRollbackProcessor = new RmBranchRollbackProcessor(getTransactionMessageHandler(), this);
-        super.registerProcessor(MessageType.TYPE_BRANCH_ROLLBACK, rmBranchRollbackProcessor, messageExecutor);
+        super.registerProcessor(MessageType.TYPE_BRANCH_ROLLBACK, rmBranchRollbackProcessor, phaseTwoExecutor);
         // 3.registry rm handler undo log processor
         RmUndoLogProcessor rmUndoLogProcessor = new RmUndoLogProcessor(getTransactionMessageHandler());
-        super.registerProcessor(MessageType.TYPE_RM_DELETE_UNDOLOG, rmUndoLogProcessor, messageExecutor);
+        super.registerProcessor(MessageType.TYPE_RM_DELETE_UNDOLOG, rmUndoLogProcessor, phaseTwoExecutor);
         // 4.registry TC response processor
         ClientOnResponseProcessor onResponseProcessor =
             new ClientOnResponseProcessor(mergeMsgMap, super.getFutures(), childToParentMap, getTransactionMessageHandler());
@@ -36,6 +36,7 @@ import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationChangeEvent;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.auth.AuthSigner;
+import org.apache.seata.core.compressor.CompressorDictionaries;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.MessageType;
@@ -283,6 +284,7 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
         sb.append(RegisterTMRequest.UDATA_AUTH_VERSION).append(
             org.apache.seata.common.ConfigurationKeys.EXTRA_DATA_KV_CHAR).append(signer.getSignVersion()).append(
             org.apache.seata.common.ConfigurationKeys.EXTRA_DATA_SPLIT_CHAR);
+        sb.append(CompressorDictionaries.getRegisterExtraData());
         return sb.toString();
     }
 
@@ -26,6 +26,7 @@ import io.netty.handler.codec.http2.DefaultHttp2Headers;
 import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
 import io.netty.handler.codec.http2.Http2Headers;
 import org.apache.seata.core.compressor.Compressor;
+import org.apache.seata.core.compressor.CompressorDictionaries;
 import org.apache.seata.core.compressor.CompressorFactory;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
@@ -41,6 +42,22 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class GrpcEncoder extends ChannelOutboundHandlerAdapter {
     private final AtomicBoolean headerSent = new AtomicBoolean(false);
 
+    private final boolean channelDictionary;
+
+    public GrpcEncoder() {
+        this(false);
+    }
+
+    /**
+     * Instantiates a new Grpc encoder.
+     *
+     * @param channelDictionary whether to compress with the dictionary the client of the channel declared, on the
+     *                          server side, see {@link CompressorDictionaries}
+     */
+    public GrpcEncoder(boolean channelDictionary) {
+        this.channelDictionary = channelDictionary;
+    }
+
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         if (!(msg instanceof RpcMessage)) {
@@ -67,6 +84,9 @@ public class GrpcEncoder extends ChannelOutboundHandlerAdapter {
             Serializer serializer = SerializerServiceLoader.load(SerializerType.getByCode(SerializerType.GRPC.getCode()));
             byte[] serializedBytes = serializer.serialize(body);
             Compressor compressor = CompressorFactory.getCompressor(rpcMessage.getCompressor());
+            if (channelDictionary) {
+                compressor = CompressorDictionaries.getChannelCompressor(ctx.channel(), compressor);
+            }
             dataBytes = ByteString.copyFrom(compressor.compress(serializedBytes));
         } else {
             dataBytes = ByteString.EMPTY;
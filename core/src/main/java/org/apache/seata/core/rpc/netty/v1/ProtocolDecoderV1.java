@@ -20,8 +20,10 @@ import java.util.List;
 import java.util.Map;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import org.apache.seata.core.compressor.ByteBufCompressor;
 import org.apache.seata.core.compressor.Compressor;
 import org.apache.seata.core.compressor.CompressorFactory;
 import org.apache.seata.core.exception.DecodeException;
@@ -29,6 +31,7 @@ import org.apache.seata.core.protocol.HeartbeatMessage;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
 import org.apache.seata.core.rpc.netty.ProtocolDecoder;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
 import org.apache.seata.core.serializer.SerializerServiceLoader;
 import org.apache.seata.core.serializer.SerializerType;
@@ -123,14 +126,11 @@ public class ProtocolDecoderV1 extends LengthFieldBasedFrameDecoder implements P
         } else {
             int bodyLength = fullLength - headLength;
             if (bodyLength > 0) {
-                byte[] bs = new byte[bodyLength];
-                frame.readBytes(bs);
-                Compressor compressor = CompressorFactory.getCompressor(compressorType);
-                bs = compressor.decompress(bs);
                 SerializerType protocolType = SerializerType.getByCode(rpcMessage.getCodec());
                 if (this.supportDeSerializerTypes.contains(protocolType)) {
                     Serializer serializer = SerializerServiceLoader.load(protocolType, ProtocolConstants.VERSION_1);
-                    rpcMessage.setBody(serializer.deserialize(bs));
+                    Compressor compressor = CompressorFactory.getCompressor(compressorType);
+                    rpcMessage.setBody(decodeBody(frame.readSlice(bodyLength), serializer, compressor));
                 } else {
                     throw new IllegalArgumentException("SerializerType not match");
                 }
@@ -140,6 +140,34 @@ public class ProtocolDecoderV1 extends LengthFieldBasedFrameDecoder implements P
         return rpcMessage.protocolMsg2RpcMsg();
     }
 
+    /**
+     * Decode the body from the slice of the frame when both the serializer and the compressor work on the buffers,
+     * otherwise through the byte[].
+     */
+    private Object decodeBody(ByteBuf body, Serializer serializer, Compressor compressor) {
+        if (!(serializer instanceof ByteBufSerializer)) {
+            byte[] bs = new byte[body.readableBytes()];
+            body.readBytes(bs);
+            return serializer.deserialize(compressor.decompress(bs));
+        }
+        ByteBufSerializer byteBufSerializer = (ByteBufSerializer)serializer;
+        if (compressor instanceof CompressorFactory.NoneCompressor) {
+            return byteBufSerializer.deserialize(body);
+        }
+        if (!(compressor instanceof ByteBufCompressor)) {
+            byte[] bs = new byte[body.readableBytes()];
+            body.readBytes(bs);
+            return byteBufSerializer.deserialize(Unpooled.wrappedBuffer(compressor.decompress(bs)));
+        }
+        ByteBuf plain = body.alloc().buffer(body.readableBytes() << 1);
+        try {
+            ((ByteBufCompressor)compressor).decompress(body, plain);
+            return byteBufSerializer.deserialize(plain);
+        } finally {
+            plain.release();
+        }
+    }
+
     @Override
     protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
         Object decoded;
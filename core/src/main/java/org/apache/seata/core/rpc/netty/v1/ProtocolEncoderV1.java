@@ -17,11 +17,15 @@
 package org.apache.seata.core.rpc.netty.v1;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.apache.seata.core.rpc.netty.ProtocolEncoder;
+import org.apache.seata.core.compressor.ByteBufCompressor;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 import org.apache.seata.core.serializer.Serializer;
 import org.apache.seata.core.compressor.Compressor;
+import org.apache.seata.core.compressor.CompressorDictionaries;
 import org.apache.seata.core.compressor.CompressorFactory;
 import org.apache.seata.core.protocol.ProtocolConstants;
 import org.apache.seata.core.protocol.RpcMessage;
@@ -63,8 +67,28 @@ public class ProtocolEncoderV1 extends MessageToByteEncoder implements ProtocolE
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolEncoderV1.class);
 
+    private final boolean channelDictionary;
 
+    public ProtocolEncoderV1() {
+        this(false);
+    }
+
+    /**
+     * Instantiates a new Protocol encoder v1.
+     *
+     * @param channelDictionary whether to compress with the dictionary the client of the channel declared, on the
+     *                          server side, see {@link CompressorDictionaries}
+     */
+    public ProtocolEncoderV1(boolean channelDictionary) {
+        this.channelDictionary = channelDictionary;
+    }
+
+    @Override
     public void encode(RpcMessage message, ByteBuf out) {
+        encode(message, out, null);
+    }
+
+    private void encode(RpcMessage message, ByteBuf out, Channel channel) {
         try {
             ProtocolRpcMessageV1 rpcMessage = new ProtocolRpcMessageV1();
             rpcMessage.rpcMsg2ProtocolMsg(message);
@@ -90,19 +114,17 @@ public class ProtocolEncoderV1 extends MessageToByteEncoder implements ProtocolE
                 fullLength += headMapBytesLength;
             }
 
-            byte[] bodyBytes = null;
             if (messageType != ProtocolConstants.MSGTYPE_HEARTBEAT_REQUEST
                 && messageType != ProtocolConstants.MSGTYPE_HEARTBEAT_RESPONSE) {
                 // heartbeat has no body
                 Serializer serializer = SerializerServiceLoader.load(SerializerType.getByCode(rpcMessage.getCodec()), ProtocolConstants.VERSION_1);
-                bodyBytes = serializer.serialize(rpcMessage.getBody());
                 Compressor compressor = CompressorFactory.getCompressor(rpcMessage.getCompressor());
-                bodyBytes = compressor.compress(bodyBytes);
-                fullLength += bodyBytes.length;
-            }
-
-            if (bodyBytes != null) {
-                out.writeBytes(bodyBytes);
+                if (channelDictionary) {
+                    compressor = CompressorDictionaries.getChannelCompressor(channel, compressor);
+                }
+                int bodyStart = out.writerIndex();
+                encodeBody(rpcMessage.getBody(), serializer, compressor, out);
+                fullLength += out.writerIndex() - bodyStart;
             }
 
             // fix fullLength and headLength
@@ -121,11 +143,40 @@ public class ProtocolEncoderV1 extends MessageToByteEncoder implements ProtocolE
         }
     }
 
+    /**
+     * Encode the body straight into the frame when both the serializer and the compressor work on the buffers,
+     * otherwise through the byte[].
+     */
+    private void encodeBody(Object body, Serializer serializer, Compressor compressor, ByteBuf out) {
+        if (!(serializer instanceof ByteBufSerializer)) {
+            out.writeBytes(compressor.compress(serializer.serialize(body)));
+            return;
+        }
+        ByteBufSerializer byteBufSerializer = (ByteBufSerializer)serializer;
+        if (compressor instanceof CompressorFactory.NoneCompressor) {
+            byteBufSerializer.serialize(body, out);
+            return;
+        }
+        ByteBuf plain = out.alloc().buffer();
+        try {
+            byteBufSerializer.serialize(body, plain);
+            if (compressor instanceof ByteBufCompressor) {
+                ((ByteBufCompressor)compressor).compress(plain, out);
+            } else {
+                byte[] bytes = new byte[plain.readableBytes()];
+                plain.readBytes(bytes);
+                out.writeBytes(compressor.compress(bytes));
+            }
+        } finally {
+            plain.release();
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
         try {
             if (msg instanceof RpcMessage) {
-                this.encode((RpcMessage)msg, out);
+                this.encode((RpcMessage)msg, out, ctx.channel());
             } else {
                 throw new UnsupportedOperationException("Not support this class:" + msg.getClass());
             }
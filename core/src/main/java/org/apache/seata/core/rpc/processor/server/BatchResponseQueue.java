@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.processor.server;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.internal.PlatformDependent;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.core.protocol.AbstractResultMessage;
+import org.apache.seata.core.protocol.BatchResultMessage;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The queue of the batch responses of one channel.
+ * <p>
+ * The handler threads offer the results of the merged sub messages into a lock-free mpsc queue, the results are
+ * drained on the event loop of the channel into {@link BatchResultMessage}s. A drain is triggered when all the sub
+ * messages of an inbound merged message are handled, or each of them if the client accepts the streamed results, when
+ * the pending results reach the max batch size, or when the channel becomes writable again. So the responses are
+ * coalesced as much as the load allows, without any sweep thread or fixed wait.
+ * </p>
+ * <p>
+ * The results are kept while the channel is not writable, so the event loop never waits for the writability. The
+ * results of an inactive channel are sent as well, the server sends them on another channel of the same client. One
+ * drain polls at most {@link #MAX_POLLS_PER_DRAIN} times and schedules the next one for the rest, so the workers which
+ * keep offering can not hold the event loop away from the other channels.
+ * </p>
+ */
+public class BatchResponseQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchResponseQueue.class);
+
+    private static final AttributeKey<BatchResponseQueue> QUEUE_KEY = AttributeKey.valueOf("batchResponseQueue");
+
+    /**
+     * Max polls of max batch size results in one drain.
+     */
+    static final int MAX_POLLS_PER_DRAIN = 4;
+
+    private final Channel channel;
+
+    private final Flusher flusher;
+
+    private final int maxBatchSize;
+
+    private final Queue<QueueItem> queue = PlatformDependent.newMpscQueue();
+
+    /**
+     * the batches polled but not sent yet because the channel became not writable, accessed on the event loop only
+     */
+    private final Queue<Map.Entry<ClientRequestRpcInfo, BatchResultMessage>> unsent = new ArrayDeque<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Runnable drainTask = this::drain;
+
+    /**
+     * Instantiates a new batch response queue.
+     *
+     * @param channel      the channel
+     * @param flusher      the flusher
+     * @param maxBatchSize the max results drained at one time
+     */
+    BatchResponseQueue(Channel channel, Flusher flusher, int maxBatchSize) {
+        this.channel = channel;
+        this.flusher = flusher;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Get the queue of the channel, created on the first call and released with the channel.
+     *
+     * @param channel      the channel
+     * @param flusher      the flusher
+     * @param maxBatchSize the max results drained at one time
+     * @return the queue
+     */
+    static BatchResponseQueue computeIfAbsent(Channel channel, Flusher flusher, int maxBatchSize) {
+        Attribute<BatchResponseQueue> attribute = channel.attr(QUEUE_KEY);
+        BatchResponseQueue queue = attribute.get();
+        if (queue == null) {
+            queue = new BatchResponseQueue(channel, flusher, maxBatchSize);
+            BatchResponseQueue previous = attribute.setIfAbsent(queue);
+            if (previous != null) {
+                queue = previous;
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Drain the queue of the channel again when it becomes writable, called on the event loop of the channel.
+     *
+     * @param channel the channel
+     */
+    public static void resume(Channel channel) {
+        if (!channel.hasAttr(QUEUE_KEY)) {
+            return;
+        }
+        BatchResponseQueue queue = channel.attr(QUEUE_KEY).get();
+        if (queue != null && (queue.pending() > 0 || !queue.unsent.isEmpty())) {
+            queue.flush();
+        }
+    }
+
+    /**
+     * Offer the result of a merged sub message, never blocks. A drain is triggered if the pending results reach the
+     * max batch size.
+     *
+     * @param rpcMessage    the outer rpc message of the request
+     * @param resultMessage the result message
+     * @param msgId         the id of the sub message
+     */
+    void offer(RpcMessage rpcMessage, AbstractResultMessage resultMessage, int msgId) {
+        queue.offer(new QueueItem(resultMessage, msgId, rpcMessage));
+        if (pending.incrementAndGet() >= maxBatchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Trigger a drain on the event loop of the channel, unless one is already scheduled.
+     */
+    void flush() {
+        if (scheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(drainTask);
+        }
+    }
+
+    /**
+     * The count of the results not drained yet.
+     *
+     * @return the count
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        int polls = 0;
+        while (!channel.isActive() || channel.isWritable()) {
+            Map.Entry<ClientRequestRpcInfo, BatchResultMessage> batch = unsent.poll();
+            if (batch == null) {
+                if (polls == MAX_POLLS_PER_DRAIN) {
+                    // give the event loop back, the rest is drained by the next run
+                    if (pending() > 0) {
+                        flush();
+                    }
+                    return;
+                }
+                if (!poll()) {
+                    return;
+                }
+                polls++;
+                continue;
+            }
+            try {
+                flusher.flush(channel, buildRpcMessage(batch.getKey()), batch.getValue());
+            } catch (Exception e) {
+                LOGGER.error("send batch response failed, channel:{}, msgIds:{}", channel,
+                    batch.getValue().getMsgIds(), e);
+            }
+        }
+    }
+
+    /**
+     * Poll at most the max batch size results, and group them into the unsent batches.
+     * <p>
+     * Because the [serialization,compressor,rpcMessageId,headMap] of the response
+     * needs to be the same as the [serialization,compressor,rpcMessageId,headMap] of the request.
+     * Assemble by grouping according to the [serialization,compressor,rpcMessageId,headMap] dimensions.
+     * </p>
+     *
+     * @return whether any result is polled
+     */
+    private boolean poll() {
+        Map<ClientRequestRpcInfo, BatchResultMessage> batchResultMessageMap = new LinkedHashMap<>();
+        int polled = 0;
+        QueueItem item;
+        while (polled < maxBatchSize && (item = queue.poll()) != null) {
+            polled++;
+            BatchResultMessage batchResultMessage = CollectionUtils.computeIfAbsent(batchResultMessageMap,
+                new ClientRequestRpcInfo(item.getRpcMessage()), key -> new BatchResultMessage());
+            batchResultMessage.getResultMessages().add(item.getResultMessage());
+            batchResultMessage.getMsgIds().add(item.getMsgId());
+        }
+        if (polled == 0) {
+            return false;
+        }
+        pending.addAndGet(-polled);
+        unsent.addAll(batchResultMessageMap.entrySet());
+        return true;
+    }
+
+    /**
+     * build RpcMessage
+     *
+     * @param clientRequestRpcInfo For saving client request rpc info
+     * @return rpcMessage
+     */
+    private static RpcMessage buildRpcMessage(ClientRequestRpcInfo clientRequestRpcInfo) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(clientRequestRpcInfo.getRpcMessageId());
+        rpcMessage.setCodec(clientRequestRpcInfo.getCodec());
+        rpcMessage.setCompressor(clientRequestRpcInfo.getCompressor());
+        rpcMessage.setHeadMap(clientRequestRpcInfo.getHeadMap());
+        return rpcMessage;
+    }
+
+    /**
+     * Sends the batch results drained on the event loop.
+     */
+    interface Flusher {
+
+        /**
+         * Send the batch result message as the response of the rpc message, called on the event loop.
+         *
+         * @param channel            the channel
+         * @param rpcMessage         the rpc message of the request
+         * @param batchResultMessage the batch result message
+         */
+        void flush(Channel channel, RpcMessage rpcMessage, BatchResultMessage batchResultMessage);
+    }
+
+    /**
+     * For saving client request rpc info
+     * <p>
+     * Because the [serialization,compressor,rpcMessageId,headMap] of the response
+     * needs to be the same as the [serialization,compressor,rpcMessageId,headMap] of the request.
+     * Assemble by grouping according to the [serialization,compressor,rpcMessageId,headMap] dimensions.
+     */
+    private static class ClientRequestRpcInfo {
+
+        /**
+         * the Outer layer rpcMessage id
+         */
+        private final int rpcMessageId;
+
+        /**
+         * the Outer layer rpcMessage client send request message codec
+         */
+        private final byte codec;
+
+        /**
+         * the Outer layer rpcMessage client send request message compressor
+         */
+        private final byte compressor;
+
+        /**
+         * the Outer layer rpcMessage headMap
+         */
+        private final Map<String, String> headMap;
+
+        public ClientRequestRpcInfo(RpcMessage rpcMessage) {
+            this.rpcMessageId = rpcMessage.getId();
+            this.codec = rpcMessage.getCodec();
+            this.compressor = rpcMessage.getCompressor();
+            this.headMap = rpcMessage.getHeadMap();
+        }
+
+        public int getRpcMessageId() {
+            return rpcMessageId;
+        }
+
+        public byte getCodec() {
+            return codec;
+        }
+
+        public byte getCompressor() {
+            return compressor;
+        }
+
+        public Map<String, String> getHeadMap() {
+            return headMap;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClientRequestRpcInfo that = (ClientRequestRpcInfo) o;
+            return rpcMessageId == that.rpcMessageId && codec == that.codec
+                && compressor == that.compressor && Objects.equals(headMap, that.headMap);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rpcMessageId, codec, compressor, headMap);
+        }
+    }
+
+    /**
+     * the queue item
+     */
+    private static class QueueItem {
+
+        /**
+         * the result message
+         */
+        private final AbstractResultMessage resultMessage;
+
+        /**
+         * result message id
+         */
+        private final Integer msgId;
+
+        /**
+         * the Outer layer rpcMessage
+         */
+        private final RpcMessage rpcMessage;
+
+        public QueueItem(AbstractResultMessage resultMessage, int msgId, RpcMessage rpcMessage) {
+            this.resultMessage = resultMessage;
+            this.msgId = msgId;
+            this.rpcMessage = rpcMessage;
+        }
+
+        public AbstractResultMessage getResultMessage() {
+            return resultMessage;
+        }
+
+        public Integer getMsgId() {
+            return msgId;
+        }
+
+        public RpcMessage getRpcMessage() {
+            return rpcMessage;
+        }
+    }
+}
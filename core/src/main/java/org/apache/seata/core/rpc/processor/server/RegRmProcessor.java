@@ -19,6 +19,7 @@ package org.apache.seata.core.rpc.processor.server;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.common.util.NetUtil;
+import org.apache.seata.core.compressor.CompressorDictionaries;
 import org.apache.seata.core.protocol.RegisterRMRequest;
 import org.apache.seata.core.protocol.RegisterRMResponse;
 import org.apache.seata.core.protocol.RpcMessage;
@@ -64,6 +65,7 @@ public class RegRmProcessor implements RemotingProcessor {
         String errorInfo = StringUtils.EMPTY;
         try {
             if (null == checkAuthHandler || checkAuthHandler.regResourceManagerCheckAuth(message)) {
+                CompressorDictionaries.registerChannelDictionary(ctx.channel(), message.getExtraData());
                 ChannelManager.registerRMChannel(message, ctx.channel());
                 Version.putChannelVersion(ctx.channel(), message.getVersion());
                 isSuccess = true;
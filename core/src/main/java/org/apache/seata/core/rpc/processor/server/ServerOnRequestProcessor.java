@@ -17,31 +17,23 @@
 package org.apache.seata.core.rpc.processor.server;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
-import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.seata.common.ConfigurationKeys;
-import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.NetUtil;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.AbstractResultMessage;
-import org.apache.seata.core.protocol.BatchResultMessage;
 import org.apache.seata.core.protocol.MergeResultMessage;
 import org.apache.seata.core.protocol.MergedWarpMessage;
 import org.apache.seata.core.protocol.RpcMessage;
@@ -59,6 +51,7 @@ import org.apache.seata.core.rpc.RemotingServer;
 import org.apache.seata.core.rpc.RpcContext;
 import org.apache.seata.core.rpc.TransactionMessageHandler;
 import org.apache.seata.core.rpc.netty.ChannelManager;
+import org.apache.seata.core.rpc.netty.MessageExecutorLanes;
 import org.apache.seata.core.rpc.netty.NettyServerConfig;
 import org.apache.seata.core.rpc.processor.RemotingProcessor;
 import org.slf4j.Logger;
@@ -91,29 +84,37 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
 
     private final TransactionMessageHandler transactionMessageHandler;
 
-    private ExecutorService batchResponseExecutorService;
+    private final MessageExecutorLanes messageLanes;
+
+    private final Executor subMessageExecutor;
+
+    private final BatchResponseQueue.Flusher batchResponseFlusher;
 
-    private final ConcurrentMap<Channel, BlockingQueue<QueueItem>> basketMap = new ConcurrentHashMap<>();
-    protected final Object batchResponseLock = new Object();
-    private volatile boolean isResponding = false;
-    private static final int MAX_BATCH_RESPONSE_MILLS = 1;
-    private static final int MAX_BATCH_RESPONSE_THREAD = 1;
-    private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
-    private static final String BATCH_RESPONSE_THREAD_PREFIX = "rpcBatchResponse";
     private static final boolean PARALLEL_REQUEST_HANDLE =
         ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.ENABLE_PARALLEL_REQUEST_HANDLE_KEY, true);
 
     public ServerOnRequestProcessor(RemotingServer remotingServer, TransactionMessageHandler transactionMessageHandler) {
+        this(remotingServer, transactionMessageHandler, null, null);
+    }
+
+    /**
+     * Instantiates a new server on request processor, the merged sub messages of the types in the lanes are handled
+     * on their lanes, the others on the sub message executor.
+     *
+     * @param remotingServer            the remoting server
+     * @param transactionMessageHandler the transaction message handler
+     * @param messageLanes              the message lanes, nullable
+     * @param subMessageExecutor        the executor of the merged sub messages, nullable to handle them on the thread
+     *                                  of the merged message
+     */
+    public ServerOnRequestProcessor(RemotingServer remotingServer, TransactionMessageHandler transactionMessageHandler,
+                                    MessageExecutorLanes messageLanes, Executor subMessageExecutor) {
         this.remotingServer = remotingServer;
         this.transactionMessageHandler = transactionMessageHandler;
-        if (NettyServerConfig.isEnableTcServerBatchSendResponse()) {
-            batchResponseExecutorService = new ThreadPoolExecutor(MAX_BATCH_RESPONSE_THREAD,
-                MAX_BATCH_RESPONSE_THREAD,
-                KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                new NamedThreadFactory(BATCH_RESPONSE_THREAD_PREFIX, MAX_BATCH_RESPONSE_THREAD));
-            batchResponseExecutorService.submit(new BatchResponseRunnable());
-        }
+        this.messageLanes = messageLanes;
+        this.subMessageExecutor = subMessageExecutor;
+        this.batchResponseFlusher = (channel, requestRpcMessage, batchResultMessage) ->
+            remotingServer.sendAsyncResponse(requestRpcMessage, channel, batchResultMessage);
     }
 
     @Override
@@ -138,9 +139,7 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
 
     @Override
     public void destroy() {
-        if (batchResponseExecutorService != null) {
-            batchResponseExecutorService.shutdown();
-        }
+        // the batch responses are drained on the event loops of the channels, nothing to release
     }
 
     private void onRequestMessage(ChannelHandlerContext ctx, RpcMessage rpcMessage) {
@@ -152,40 +151,51 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
         }
         // the batch send request message
         if (message instanceof MergedWarpMessage) {
-            if (NettyServerConfig.isEnableTcServerBatchSendResponse() && StringUtils.isNotBlank(rpcContext.getVersion())
-                && Version.isAboveOrEqualVersion150(rpcContext.getVersion())) {
+            String version = rpcContext.getVersion();
+            // the clients since 2.4.0 accept the results streamed as soon as each sub message is handled
+            boolean streamResponse = StringUtils.isNotBlank(version) && Version.isAboveOrEqualVersion240(version);
+            if (streamResponse || NettyServerConfig.isEnableTcServerBatchSendResponse()
+                && StringUtils.isNotBlank(version) && Version.isAboveOrEqualVersion150(version)) {
                 List<AbstractMessage> msgs = ((MergedWarpMessage)message).msgs;
                 List<Integer> msgIds = ((MergedWarpMessage)message).msgIds;
+                BatchResponseQueue responseQueue = BatchResponseQueue.computeIfAbsent(ctx.channel(),
+                    batchResponseFlusher, NettyServerConfig.getTcServerBatchSendResponseMaxSize());
+                // the responses are flushed once all the sub messages of the merged message are handled, or once each
+                // sub message is handled if streamed, the results handled before the drain runs still share a batch
+                AtomicInteger remaining = streamResponse ? null : new AtomicInteger(msgs.size());
                 for (int i = 0; i < msgs.size(); i++) {
                     AbstractMessage msg = msgs.get(i);
                     int msgId = msgIds.get(i);
                     if (PARALLEL_REQUEST_HANDLE) {
-                        CompletableFuture.runAsync(
-                            () -> handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage, ctx, rpcContext));
+                        runSubMessage(msg, () -> handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage,
+                            ctx, rpcContext, responseQueue, remaining));
                     } else {
-                        handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage, ctx, rpcContext);
+                        handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage, ctx, rpcContext,
+                            responseQueue, remaining);
                     }
                 }
             } else {
                 List<AbstractResultMessage> results = new ArrayList<>();
-                List<CompletableFuture<AbstractResultMessage>> completableFutures = null;
+                List<SubMessageTask> subMessageTasks = null;
                 for (int i = 0; i < ((MergedWarpMessage)message).msgs.size(); i++) {
                     if (PARALLEL_REQUEST_HANDLE) {
-                        if (completableFutures == null) {
-                            completableFutures = new ArrayList<>();
+                        if (subMessageTasks == null) {
+                            subMessageTasks = new ArrayList<>();
                         }
-                        int finalI = i;
-                        completableFutures.add(CompletableFuture.supplyAsync(() -> handleRequestsByMergedWarpMessage(
-                            ((MergedWarpMessage)message).msgs.get(finalI), rpcContext)));
+                        AbstractMessage subMessage = ((MergedWarpMessage)message).msgs.get(i);
+                        SubMessageTask subMessageTask =
+                            new SubMessageTask(() -> handleRequestsByMergedWarpMessage(subMessage, rpcContext));
+                        subMessageTasks.add(subMessageTask);
+                        forkSubMessage(subMessage, subMessageTask);
                     } else {
                         results.add(i,
                             handleRequestsByMergedWarpMessage(((MergedWarpMessage)message).msgs.get(i), rpcContext));
                     }
                 }
-                if (CollectionUtils.isNotEmpty(completableFutures)) {
+                if (CollectionUtils.isNotEmpty(subMessageTasks)) {
                     try {
-                        for (CompletableFuture<AbstractResultMessage> completableFuture : completableFutures) {
-                            results.add(completableFuture.get());
+                        for (SubMessageTask subMessageTask : subMessageTasks) {
+                            results.add(subMessageTask.join());
                         }
                     } catch (InterruptedException | ExecutionException e) {
                         LOGGER.error("handle request error: {}", e.getMessage(), e);
@@ -213,66 +223,84 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
         }
     }
 
-    private void notifyBatchRespondingThread() {
-        if (!isResponding) {
-            synchronized (batchResponseLock) {
-                batchResponseLock.notifyAll();
-            }
+    /**
+     * Run the merged sub message on its lane if any, otherwise on the sub message executor, or on the current thread
+     * if there is no executor or the executor rejects it.
+     */
+    private void runSubMessage(AbstractMessage subMessage, Runnable task) {
+        Executor executor = subMessageExecutorOf(subMessage);
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOGGER.error("handle merged sub message error: {}", t.getMessage(), t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the executor is shutting down, the result of the sub message must still be sent
+            LOGGER.warn("merged sub message is rejected by the executor, handle it on the current thread");
+            task.run();
         }
     }
 
-    private BlockingQueue<QueueItem> computeIfAbsentMsgQueue(Channel channel) {
-        return CollectionUtils.computeIfAbsent(basketMap, channel, key -> new LinkedBlockingQueue<>());
+    /**
+     * Hand the merged sub message to its lane or the sub message executor, the task is handled by the waiting thread
+     * on join if no executor takes it first.
+     */
+    private void forkSubMessage(AbstractMessage subMessage, SubMessageTask task) {
+        Executor executor = subMessageExecutorOf(subMessage);
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("merged sub message is rejected by the executor, handle it on the current thread");
+        }
     }
 
-    private void offerMsg(BlockingQueue<QueueItem> msgQueue, RpcMessage rpcMessage,
-                          AbstractResultMessage resultMessage, int msgId, Channel channel) {
-        if (!msgQueue.offer(new QueueItem(resultMessage, msgId, rpcMessage))) {
-            LOGGER.error("put message into basketMap offer failed, channel:{},rpcMessage:{},resultMessage:{}",
-                channel, rpcMessage, resultMessage);
-        }
+    private Executor subMessageExecutorOf(AbstractMessage subMessage) {
+        Executor lane = messageLanes == null ? null : messageLanes.laneOf(subMessage.getTypeCode());
+        return lane != null ? lane : subMessageExecutor;
     }
 
     /**
-     * batch response runnable
-     *
-     * @since 1.5.0
+     * A merged sub message whose result is waited for, it is handled once either by the executor or by the waiting
+     * thread, so the merged messages waiting on the executor their sub messages queue up on can not deadlock it.
      */
-    private class BatchResponseRunnable implements Runnable {
+    private static final class SubMessageTask implements Runnable {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final CompletableFuture<AbstractResultMessage> future = new CompletableFuture<>();
+
+        private final Supplier<AbstractResultMessage> supplier;
+
+        SubMessageTask(Supplier<AbstractResultMessage> supplier) {
+            this.supplier = supplier;
+        }
+
         @Override
         public void run() {
-            while (true) {
-                synchronized (batchResponseLock) {
-                    try {
-                        batchResponseLock.wait(MAX_BATCH_RESPONSE_MILLS);
-                    } catch (InterruptedException e) {
-                        LOGGER.error("BatchResponseRunnable Interrupted error", e);
-                    }
-                }
-                isResponding = true;
-                basketMap.forEach((channel, msgQueue) -> {
-                    if (msgQueue.isEmpty()) {
-                        return;
-                    }
-                    // Because the [serialization,compressor,rpcMessageId,headMap] of the response
-                    // needs to be the same as the [serialization,compressor,rpcMessageId,headMap] of the request.
-                    // Assemble by grouping according to the [serialization,compressor,rpcMessageId,headMap] dimensions.
-                    Map<ClientRequestRpcInfo, BatchResultMessage> batchResultMessageMap = new HashMap<>();
-                    while (!msgQueue.isEmpty()) {
-                        QueueItem item = msgQueue.poll();
-                        BatchResultMessage batchResultMessage = CollectionUtils.computeIfAbsent(batchResultMessageMap,
-                            new ClientRequestRpcInfo(item.getRpcMessage()),
-                            key -> new BatchResultMessage());
-                        batchResultMessage.getResultMessages().add(item.getResultMessage());
-                        batchResultMessage.getMsgIds().add(item.getMsgId());
-                    }
-                    batchResultMessageMap.forEach((clientRequestRpcInfo, batchResultMessage) ->
-                        remotingServer.sendAsyncResponse(buildRpcMessage(clientRequestRpcInfo),
-                            channel, batchResultMessage));
-                });
-                isResponding = false;
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
             }
         }
+
+        AbstractResultMessage join() throws InterruptedException, ExecutionException {
+            run();
+            return future.get();
+        }
     }
 
     /**
@@ -301,178 +329,28 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
      * @param rpcMessage rpcMessage
      * @param ctx ctx
      * @param rpcContext rpcContext
+     * @param responseQueue the batch response queue of the channel
+     * @param remaining the count of the sub messages of the merged message not handled yet, null if streamed
      */
     private void handleRequestsByMergedWarpMessageBy150(AbstractMessage msg, int msgId, RpcMessage rpcMessage,
-        ChannelHandlerContext ctx, RpcContext rpcContext) {
-        if (LOGGER.isInfoEnabled()) {
-            String receiveMsgLog = String.format("receive msg[merged]: %s, clientIp: %s, vgroup: %s", msg,
-                NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-            BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
-        }
-        AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
-        BlockingQueue<QueueItem> msgQueue = computeIfAbsentMsgQueue(ctx.channel());
-        offerMsg(msgQueue, rpcMessage, resultMessage, msgId, ctx.channel());
-        notifyBatchRespondingThread();
-        if (LOGGER.isInfoEnabled()) {
-            String resultMsgLog = String.format("result msg[merged]: %s, clientIp: %s, vgroup: %s", resultMessage,
-                NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-            BatchLogHandler.INSTANCE.writeLog(resultMsgLog);
-        }
-    }
-
-    /**
-     * build RpcMessage
-     *
-     * @param clientRequestRpcInfo For saving client request rpc info
-     * @return rpcMessage
-     */
-    private RpcMessage buildRpcMessage(ClientRequestRpcInfo clientRequestRpcInfo) {
-        RpcMessage rpcMessage = new RpcMessage();
-        rpcMessage.setId(clientRequestRpcInfo.getRpcMessageId());
-        rpcMessage.setCodec(clientRequestRpcInfo.getCodec());
-        rpcMessage.setCompressor(clientRequestRpcInfo.getCompressor());
-        rpcMessage.setHeadMap(clientRequestRpcInfo.getHeadMap());
-        return rpcMessage;
-    }
-
-    /**
-     * For saving client request rpc info
-     * <p>
-     * Because the [serialization,compressor,rpcMessageId,headMap] of the response
-     * needs to be the same as the [serialization,compressor,rpcMessageId,headMap] of the request.
-     * Assemble by grouping according to the [serialization,compressor,rpcMessageId,headMap] dimensions.
-     */
-    private static class ClientRequestRpcInfo {
-
-        /**
-         * the Outer layer rpcMessage id
-         */
-        private int rpcMessageId;
-
-        /**
-         * the Outer layer rpcMessage client send request message codec
-         */
-        private byte codec;
-
-        /**
-         * the Outer layer rpcMessage client send request message compressor
-         */
-        private byte compressor;
-
-        /**
-         * the Outer layer rpcMessage headMap
-         */
-        private Map<String, String> headMap;
-
-        public ClientRequestRpcInfo(RpcMessage rpcMessage) {
-            this.rpcMessageId = rpcMessage.getId();
-            this.codec = rpcMessage.getCodec();
-            this.compressor = rpcMessage.getCompressor();
-            this.headMap = rpcMessage.getHeadMap();
-        }
-
-        public int getRpcMessageId() {
-            return rpcMessageId;
-        }
-
-        public void setRpcMessageId(int rpcMessageId) {
-            this.rpcMessageId = rpcMessageId;
-        }
-
-        public byte getCodec() {
-            return codec;
-        }
-
-        public void setCodec(byte codec) {
-            this.codec = codec;
-        }
-
-        public byte getCompressor() {
-            return compressor;
-        }
-
-        public void setCompressor(byte compressor) {
-            this.compressor = compressor;
-        }
-
-        public Map<String, String> getHeadMap() {
-            return headMap;
-        }
-
-        public void setHeadMap(Map<String, String> headMap) {
-            this.headMap = headMap;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+        ChannelHandlerContext ctx, RpcContext rpcContext, BatchResponseQueue responseQueue, AtomicInteger remaining) {
+        try {
+            if (LOGGER.isInfoEnabled()) {
+                String receiveMsgLog = String.format("receive msg[merged]: %s, clientIp: %s, vgroup: %s", msg,
+                    NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
+                BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
+            responseQueue.offer(rpcMessage, resultMessage, msgId);
+            if (LOGGER.isInfoEnabled()) {
+                String resultMsgLog = String.format("result msg[merged]: %s, clientIp: %s, vgroup: %s", resultMessage,
+                    NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
+                BatchLogHandler.INSTANCE.writeLog(resultMsgLog);
+            }
+        } finally {
+            if (remaining == null || remaining.decrementAndGet() == 0) {
+                responseQueue.flush();
             }
-            ClientRequestRpcInfo that = (ClientRequestRpcInfo) o;
-            return rpcMessageId == that.rpcMessageId && codec == that.codec
-                && compressor == that.compressor && headMap.equals(that.headMap);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(rpcMessageId, codec, compressor, headMap);
-        }
-    }
-
-    /**
-     * the queue item
-     *
-     * @see ServerOnRequestProcessor#basketMap
-     */
-    private static class QueueItem {
-
-        /**
-         * the result message
-         */
-        private AbstractResultMessage resultMessage;
-
-        /**
-         * result message id
-         */
-        private Integer msgId;
-
-        /**
-         * the Outer layer rpcMessage
-         */
-        private RpcMessage rpcMessage;
-
-        public QueueItem(AbstractResultMessage resultMessage, int msgId, RpcMessage rpcMessage) {
-            this.resultMessage = resultMessage;
-            this.msgId = msgId;
-            this.rpcMessage = rpcMessage;
-        }
-
-        public AbstractResultMessage getResultMessage() {
-            return resultMessage;
-        }
-
-        public void setResultMessage(AbstractResultMessage resultMessage) {
-            this.resultMessage = resultMessage;
-        }
-
-        public Integer getMsgId() {
-            return msgId;
-        }
-
-        public void setMsgId(Integer msgId) {
-            this.msgId = msgId;
-        }
-
-        public RpcMessage getRpcMessage() {
-            return rpcMessage;
-        }
-
-        public void setRpcMessage(RpcMessage rpcMessage) {
-            this.rpcMessage = rpcMessage;
         }
     }
-
 }
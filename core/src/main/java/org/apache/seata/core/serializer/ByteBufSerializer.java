@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.serializer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The codec reads and writes the netty buffers directly.
+ * <p>
+ * The protocol encodes the body straight into the outbound frame, and decodes it from a slice of the inbound frame,
+ * both the pooled and the direct buffers are supported, no intermediate byte[] is created.
+ * </p>
+ *
+ */
+public interface ByteBufSerializer extends Serializer {
+
+    /**
+     * Encode object into the buffer, from its writer index.
+     *
+     * @param <T> the type parameter
+     * @param t   the t
+     * @param out the buffer
+     */
+    <T> void serialize(T t, ByteBuf out);
+
+    /**
+     * Decode t from all the readable bytes of the buffer.
+     *
+     * @param <T> the type parameter
+     * @param in  the buffer
+     * @return the t
+     */
+    <T> T deserialize(ByteBuf in);
+}
@@ -17,6 +17,7 @@
 package org.apache.seata.core.store.db.sql.lock;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.seata.common.exception.NotSupportYetException;
@@ -105,6 +106,12 @@ public class AbstractLockStoreSql implements LockStoreSql {
         + " where " + ServerTableColumnsName.LOCK_TABLE_XID + " = ? ";
 
 
+    /**
+     * The constant BATCH_DELETE_LOCK_BY_CONDITION_SQL.
+     */
+    private static final String BATCH_DELETE_LOCK_BY_CONDITION_SQL = "delete from " + LOCK_TABLE_PLACE_HOLD
+        + " where " + LOCK_TABLE_PK_WHERE_CONDITION_PLACE_HOLD;
+
     /**
      * The constant QUERY_LOCK_SQL.
      */
@@ -134,6 +141,11 @@ public class AbstractLockStoreSql implements LockStoreSql {
         throw new NotSupportYetException("unknown dbType:" + CONFIG.getConfig(ConfigurationKeys.STORE_DB_TYPE));
     }
 
+    @Override
+    public boolean isBatchInsertLockCountExact() {
+        return true;
+    }
+
     @Override
     public String getDeleteLockSql(String lockTable) {
         return DELETE_LOCK_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
@@ -157,6 +169,27 @@ public class AbstractLockStoreSql implements LockStoreSql {
         return BATCH_DELETE_LOCK_BY_BRANCHS_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getBatchDeleteLockSqlByXids(String lockTable, int xidSize) {
+        String whereCondition = buildWhereConditionByPKs(Collections.singletonList(ServerTableColumnsName.LOCK_TABLE_XID),
+            xidSize, MAX_IN_SIZE);
+        return BATCH_DELETE_LOCK_BY_CONDITION_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            .replace(LOCK_TABLE_PK_WHERE_CONDITION_PLACE_HOLD, whereCondition);
+    }
+
+    @Override
+    public String getBatchDeleteLockSqlByBranchIds(String lockTable, int branchIdSize) {
+        String whereCondition = buildWhereConditionByPKs(
+            Collections.singletonList(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID), branchIdSize, MAX_IN_SIZE);
+        return BATCH_DELETE_LOCK_BY_CONDITION_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            .replace(LOCK_TABLE_PK_WHERE_CONDITION_PLACE_HOLD, whereCondition);
+    }
+
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        throw new NotSupportYetException("unknown dbType:" + CONFIG.getConfig(ConfigurationKeys.STORE_DB_TYPE));
+    }
+
     @Override
     public String getQueryLockSql(String lockTable) {
         return QUERY_LOCK_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
@@ -175,6 +208,25 @@ public class AbstractLockStoreSql implements LockStoreSql {
         return BATCH_UPDATE_STATUS_LOCK_BY_GLOBAL_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    /**
+     * Build the values of a multi-row insert, each row is the row template, the rows are joined by the separator.
+     *
+     * @param rowTemplate the row template
+     * @param separator   the separator
+     * @param rowSize     the row size
+     * @return the values sql string
+     */
+    protected String buildRows(String rowTemplate, String separator, int rowSize) {
+        StringBuilder rows = new StringBuilder(rowSize * (rowTemplate.length() + separator.length()));
+        for (int i = 0; i < rowSize; i++) {
+            if (i > 0) {
+                rows.append(separator);
+            }
+            rows.append(rowTemplate);
+        }
+        return rows.toString();
+    }
+
     /**
      * each pk is a condition.the result will like :" (id,userCode) in ((?,?),(?,?)) or (id,userCode) in ((?,?),(?,?)
      * ) or (id,userCode) in ((?,?))"
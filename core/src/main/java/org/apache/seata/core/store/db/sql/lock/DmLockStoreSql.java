@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.store.db.sql.lock;
 
+import org.apache.seata.common.exception.NotSupportYetException;
 import org.apache.seata.common.loader.LoadLevel;
 
 /**
@@ -25,4 +26,9 @@ import org.apache.seata.common.loader.LoadLevel;
  */
 @LoadLevel(name = "dm")
 public class DmLockStoreSql extends MysqlLockStoreSql {
+
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        throw new NotSupportYetException("batch insert ignore lock is not supported by dm");
+    }
 }
@@ -73,6 +73,43 @@ public interface LockStoreSql {
      */
     String getBatchDeleteLockSqlByXid(String lockTable);
 
+    /**
+     * Get batch delete lock sql string of several global transactions.
+     *
+     * @param lockTable the lock table
+     * @param xidSize   the size of xid
+     * @return the string
+     */
+    String getBatchDeleteLockSqlByXids(String lockTable, int xidSize);
+
+    /**
+     * Get batch delete lock sql string of several branches.
+     *
+     * @param lockTable    the lock table
+     * @param branchIdSize the size of branch id
+     * @return the string
+     */
+    String getBatchDeleteLockSqlByBranchIds(String lockTable, int branchIdSize);
+
+    /**
+     * Get batch insert lock sql string, the rows already in the lock table are skipped instead of failing the
+     * statement.
+     *
+     * @param lockTable the lock table
+     * @param rowSize   the size of rows
+     * @return the string
+     * @see #isBatchInsertLockCountExact()
+     */
+    String getBatchInsertLockIgnoreSql(String lockTable, int rowSize);
+
+    /**
+     * Whether the update count of the batch insert lock sql is exactly the number of rows locked by the statement,
+     * if not the locked rows must be queried to know whether all of them are locked.
+     *
+     * @return the boolean
+     */
+    boolean isBatchInsertLockCountExact();
+
     /**
      * Get query lock sql string.
      *
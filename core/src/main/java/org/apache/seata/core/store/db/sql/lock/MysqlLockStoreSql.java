@@ -17,6 +17,7 @@
 package org.apache.seata.core.store.db.sql.lock;
 
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.constants.ServerTableColumnsName;
 
 /**
  * the database lock store mysql sql
@@ -32,9 +33,39 @@ public class MysqlLockStoreSql extends AbstractLockStoreSql {
     private static final String INSERT_LOCK_SQL_MYSQL = "insert into " + LOCK_TABLE_PLACE_HOLD + "(" + ALL_COLUMNS + ")"
         + " values (?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
 
+    /**
+     * The constant BATCH_INSERT_LOCK_IGNORE_SQL_MYSQL.
+     */
+    private static final String BATCH_INSERT_LOCK_IGNORE_SQL_MYSQL = "insert into " + LOCK_TABLE_PLACE_HOLD
+        + "(" + ALL_COLUMNS + ") values ";
+
+    /**
+     * The constant ON_DUPLICATE_KEY_IGNORE_MYSQL, unlike insert ignore it only skips the duplicate row keys, the
+     * other errors of the rows still fail the statement.
+     */
+    private static final String ON_DUPLICATE_KEY_IGNORE_MYSQL = " on duplicate key update "
+        + ServerTableColumnsName.LOCK_TABLE_XID + " = " + ServerTableColumnsName.LOCK_TABLE_XID;
+
+    /**
+     * The constant INSERT_ROW_MYSQL.
+     */
+    private static final String INSERT_ROW_MYSQL = "(?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
+
     @Override
     public String getInsertLockSQL(String lockTable) {
         return INSERT_LOCK_SQL_MYSQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        return BATCH_INSERT_LOCK_IGNORE_SQL_MYSQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            + buildRows(INSERT_ROW_MYSQL, ", ", rowSize) + ON_DUPLICATE_KEY_IGNORE_MYSQL;
+    }
+
+    @Override
+    public boolean isBatchInsertLockCountExact() {
+        // the duplicate row keys are counted as well when the client sets CLIENT_FOUND_ROWS
+        return false;
+    }
+
 }
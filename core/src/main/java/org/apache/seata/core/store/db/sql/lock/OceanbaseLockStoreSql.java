@@ -17,6 +17,7 @@
 package org.apache.seata.core.store.db.sql.lock;
 
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.constants.ServerTableColumnsName;
 
 /**
  * the database lock store oceanbase sql
@@ -32,8 +33,38 @@ public class OceanbaseLockStoreSql extends AbstractLockStoreSql {
     private static final String INSERT_LOCK_SQL_OCEANBASE = "insert into " + LOCK_TABLE_PLACE_HOLD + "(" + ALL_COLUMNS + ")"
         + " values (?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
 
+    /**
+     * The constant BATCH_INSERT_LOCK_IGNORE_SQL_OCEANBASE.
+     */
+    private static final String BATCH_INSERT_LOCK_IGNORE_SQL_OCEANBASE = "insert into " + LOCK_TABLE_PLACE_HOLD
+        + "(" + ALL_COLUMNS + ") values ";
+
+    /**
+     * The constant ON_DUPLICATE_KEY_IGNORE_OCEANBASE, unlike insert ignore it only skips the duplicate row keys, the
+     * other errors of the rows still fail the statement.
+     */
+    private static final String ON_DUPLICATE_KEY_IGNORE_OCEANBASE = " on duplicate key update "
+        + ServerTableColumnsName.LOCK_TABLE_XID + " = " + ServerTableColumnsName.LOCK_TABLE_XID;
+
+    /**
+     * The constant INSERT_ROW_OCEANBASE.
+     */
+    private static final String INSERT_ROW_OCEANBASE = "(?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
+
     @Override
     public String getInsertLockSQL(String lockTable) {
         return INSERT_LOCK_SQL_OCEANBASE.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
+
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        return BATCH_INSERT_LOCK_IGNORE_SQL_OCEANBASE.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            + buildRows(INSERT_ROW_OCEANBASE, ", ", rowSize) + ON_DUPLICATE_KEY_IGNORE_OCEANBASE;
+    }
+
+    @Override
+    public boolean isBatchInsertLockCountExact() {
+        // the duplicate row keys are counted as well when the client sets CLIENT_FOUND_ROWS
+        return false;
+    }
 }
@@ -32,9 +32,33 @@ public class OracleLockStoreSql extends AbstractLockStoreSql {
     private static final String INSERT_LOCK_SQL_ORACLE = "insert into " + LOCK_TABLE_PLACE_HOLD + "(" + ALL_COLUMNS + ")"
         + " values (?, ?, ?, ?, ?, ?, ?, sysdate, sysdate, ?)";
 
+    /**
+     * The constant BATCH_MERGE_LOCK_SQL_ORACLE_PREFIX.
+     */
+    private static final String BATCH_MERGE_LOCK_SQL_ORACLE_PREFIX = "merge into " + LOCK_TABLE_PLACE_HOLD + " t using (";
+
+    /**
+     * The constant BATCH_MERGE_LOCK_SQL_ORACLE_SUFFIX.
+     */
+    private static final String BATCH_MERGE_LOCK_SQL_ORACLE_SUFFIX = ") s on (t.row_key = s.row_key)"
+        + " when not matched then insert (" + ALL_COLUMNS + ")"
+        + " values (s.xid, s.transaction_id, s.branch_id, s.resource_id, s.table_name, s.pk, s.row_key, sysdate, sysdate, s.status)";
+
+    /**
+     * The constant MERGE_SOURCE_ROW_ORACLE.
+     */
+    private static final String MERGE_SOURCE_ROW_ORACLE = "select ? xid, ? transaction_id, ? branch_id, ? resource_id,"
+        + " ? table_name, ? pk, ? row_key, ? status from dual";
+
     @Override
     public String getInsertLockSQL(String lockTable) {
         return INSERT_LOCK_SQL_ORACLE.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        return BATCH_MERGE_LOCK_SQL_ORACLE_PREFIX.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            + buildRows(MERGE_SOURCE_ROW_ORACLE, " union all ", rowSize) + BATCH_MERGE_LOCK_SQL_ORACLE_SUFFIX;
+    }
+
 }
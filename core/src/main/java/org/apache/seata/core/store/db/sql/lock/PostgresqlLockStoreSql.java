@@ -17,6 +17,7 @@
 package org.apache.seata.core.store.db.sql.lock;
 
 import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.core.constants.ServerTableColumnsName;
 
 /**
  * the database lock store postgre sql
@@ -32,9 +33,32 @@ public class PostgresqlLockStoreSql extends AbstractLockStoreSql {
     private static final String INSERT_LOCK_SQL_POSTGRESQL = "insert into " + LOCK_TABLE_PLACE_HOLD + "(" + ALL_COLUMNS + ")"
         + " values (?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
 
+    /**
+     * The constant BATCH_INSERT_LOCK_IGNORE_SQL_POSTGRESQL.
+     */
+    private static final String BATCH_INSERT_LOCK_IGNORE_SQL_POSTGRESQL = "insert into " + LOCK_TABLE_PLACE_HOLD
+        + "(" + ALL_COLUMNS + ") values ";
+
+    /**
+     * The constant INSERT_ROW_POSTGRESQL.
+     */
+    private static final String INSERT_ROW_POSTGRESQL = "(?, ?, ?, ?, ?, ?, ?, now(), now(), ?)";
+
+    /**
+     * The constant ON_CONFLICT_DO_NOTHING_POSTGRESQL.
+     */
+    private static final String ON_CONFLICT_DO_NOTHING_POSTGRESQL = " on conflict ("
+        + ServerTableColumnsName.LOCK_TABLE_ROW_KEY + ") do nothing";
+
     @Override
     public String getInsertLockSQL(String lockTable) {
         return INSERT_LOCK_SQL_POSTGRESQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        return BATCH_INSERT_LOCK_IGNORE_SQL_POSTGRESQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            + buildRows(INSERT_ROW_POSTGRESQL, ", ", rowSize) + ON_CONFLICT_DO_NOTHING_POSTGRESQL;
+    }
+
 }
@@ -37,11 +37,37 @@ public class SqlServerLockStoreSql extends AbstractLockStoreSql {
     private static final String QUERY_ALL_LOCK_SQLSERVER = "select " + ALL_COLUMNS + " from " + LOCK_TABLE_PLACE_HOLD
             + WHERE_PLACE_HOLD;
 
+    /**
+     * The constant BATCH_MERGE_LOCK_SQL_SQLSERVER_PREFIX.
+     * The target is held by HOLDLOCK, otherwise concurrent merges of the same row key may both miss the match.
+     */
+    private static final String BATCH_MERGE_LOCK_SQL_SQLSERVER_PREFIX = "merge into " + LOCK_TABLE_PLACE_HOLD
+            + " with (holdlock) as t using (values ";
+
+    /**
+     * The constant BATCH_MERGE_LOCK_SQL_SQLSERVER_SUFFIX.
+     */
+    private static final String BATCH_MERGE_LOCK_SQL_SQLSERVER_SUFFIX = ") as s (xid, transaction_id, branch_id,"
+            + " resource_id, table_name, pk, row_key, status) on t.row_key = s.row_key"
+            + " when not matched then insert (" + ALL_COLUMNS + ") values (s.xid, s.transaction_id, s.branch_id,"
+            + " s.resource_id, s.table_name, s.pk, s.row_key, SYSDATETIME(), SYSDATETIME(), s.status);";
+
+    /**
+     * The constant MERGE_SOURCE_ROW_SQLSERVER.
+     */
+    private static final String MERGE_SOURCE_ROW_SQLSERVER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Override
     public String getInsertLockSQL(String lockTable) {
         return INSERT_LOCK_SQL_SQLSERVER.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getBatchInsertLockIgnoreSql(String lockTable, int rowSize) {
+        return BATCH_MERGE_LOCK_SQL_SQLSERVER_PREFIX.replace(LOCK_TABLE_PLACE_HOLD, lockTable)
+            + buildRows(MERGE_SOURCE_ROW_SQLSERVER, ", ", rowSize) + BATCH_MERGE_LOCK_SQL_SQLSERVER_SUFFIX;
+    }
+
     @Override
     public String getAllLockSql(String lockTable, String whereCondition) {
         return QUERY_ALL_LOCK_SQLSERVER.replace(LOCK_TABLE_PLACE_HOLD, lockTable).replace(WHERE_PLACE_HOLD, whereCondition);
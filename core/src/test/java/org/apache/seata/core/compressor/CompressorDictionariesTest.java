@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.compressor;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.seata.common.exception.FrameworkException;
+import org.apache.seata.core.protocol.RegisterTMRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompressorDictionariesTest {
+
+    @Test
+    public void testParseDictionaryId() {
+        Assertions.assertEquals(0, CompressorDictionaries.parseDictionaryId(null));
+        Assertions.assertEquals(0, CompressorDictionaries.parseDictionaryId("ak=a\ndigest=b\n"));
+        Assertions.assertEquals(123456, CompressorDictionaries.parseDictionaryId("ak=a\nzstdDictionaryId=123456\n"));
+        Assertions.assertThrows(FrameworkException.class,
+            () -> CompressorDictionaries.parseDictionaryId("zstdDictionaryId=abc\n"));
+    }
+
+    @Test
+    public void testCheckRegisterExtraData() {
+        // no dictionary declared by default
+        Assertions.assertEquals("", CompressorDictionaries.getRegisterExtraData());
+        RegisterTMRequest request = new RegisterTMRequest("app", "default_tx_group", "ak=a\n");
+        CompressorDictionaries.checkRegisterExtraData(request.getExtraData());
+        // the zstd compressor is not on the classpath of the core
+        Assertions.assertThrows(FrameworkException.class,
+            () -> CompressorDictionaries.checkRegisterExtraData("zstdDictionaryId=1\n"));
+    }
+
+    @Test
+    public void testGetChannelCompressor() {
+        RecordingDictionaryCompressor compressor = new RecordingDictionaryCompressor(7);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        // the client is not registered yet
+        CompressorDictionaries.getChannelCompressor(channel, compressor).compress(new byte[] {1});
+        Assertions.assertEquals(0, compressor.compressedWith);
+        CompressorDictionaries.getChannelCompressor(null, compressor).compress(new byte[] {1});
+        Assertions.assertEquals(0, compressor.compressedWith);
+        // the client declared no dictionary, the active one of the server is not used
+        CompressorDictionaries.registerChannelDictionary(channel, "ak=a\n");
+        CompressorDictionaries.getChannelCompressor(channel, compressor).compress(new byte[] {1});
+        Assertions.assertEquals(0, compressor.compressedWith);
+
+        Compressor none = new CompressorFactory.NoneCompressor();
+        Assertions.assertSame(none, CompressorDictionaries.getChannelCompressor(channel, none));
+        channel.finishAndReleaseAll();
+    }
+
+    private static class RecordingDictionaryCompressor implements DictionaryCompressor {
+
+        private final long activeDictionaryId;
+
+        private long compressedWith = -1;
+
+        RecordingDictionaryCompressor(long activeDictionaryId) {
+            this.activeDictionaryId = activeDictionaryId;
+        }
+
+        @Override
+        public long getActiveDictionaryId() {
+            return activeDictionaryId;
+        }
+
+        @Override
+        public byte[] compress(byte[] bytes, long dictionaryId) {
+            compressedWith = dictionaryId;
+            return bytes;
+        }
+
+        @Override
+        public boolean hasDictionary(long dictionaryId) {
+            return dictionaryId == activeDictionaryId;
+        }
+
+        @Override
+        public byte[] compress(byte[] bytes) {
+            return compress(bytes, activeDictionaryId);
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) {
+            return bytes;
+        }
+    }
+}
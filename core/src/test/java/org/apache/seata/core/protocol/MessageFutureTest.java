@@ -17,11 +17,15 @@
 package org.apache.seata.core.protocol;
 
 import com.alibaba.fastjson.JSON;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -186,6 +190,49 @@ public class MessageFutureTest {
         }
     }
 
+    /**
+     * Test to completable future.
+     */
+    @Test
+    public void testToCompletableFuture() throws Exception {
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(buildRepcMessage());
+        CompletableFuture<Object> future = messageFuture.toCompletableFuture();
+        Assertions.assertFalse(future.isDone());
+        messageFuture.setResultMessage(BODY_FIELD);
+        Assertions.assertEquals(BODY_FIELD, future.get(TIME_OUT_FIELD, TimeUnit.MILLISECONDS));
+
+        MessageFuture failedFuture = new MessageFuture();
+        TimeoutException timeoutException = new TimeoutException("test_timeout");
+        failedFuture.setResultMessage(timeoutException);
+        CompletableFuture<Object> failed = failedFuture.toCompletableFuture();
+        Assertions.assertTrue(failed.isCompletedExceptionally());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, failed::get);
+        Assertions.assertSame(timeoutException, e.getCause());
+    }
+
+    /**
+     * Test the timeout check task is cancelled by the result.
+     */
+    @Test
+    public void testTimeoutCheckTaskCancelled() {
+        HashedWheelTimer timer = new HashedWheelTimer();
+        try {
+            MessageFuture messageFuture = new MessageFuture();
+            Timeout timeout = timer.newTimeout(t -> { }, 1, TimeUnit.MINUTES);
+            messageFuture.setTimeoutCheckTask(timeout);
+            messageFuture.setResultMessage(BODY_FIELD);
+            Assertions.assertTrue(timeout.isCancelled());
+
+            // the result is set before the task
+            Timeout lateTimeout = timer.newTimeout(t -> { }, 1, TimeUnit.MINUTES);
+            messageFuture.setTimeoutCheckTask(lateTimeout);
+            Assertions.assertTrue(lateTimeout.isCancelled());
+        } finally {
+            timer.stop();
+        }
+    }
+
     private RpcMessage buildRepcMessage() {
         RpcMessage rpcMessage = new RpcMessage();
         rpcMessage.setId(ID_FIELD);
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.seata.common.exception.FrameworkErrorCode;
+import org.apache.seata.common.exception.FrameworkException;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AbstractNettyRemotingTest {
+
+    @Test
+    public void sendAsyncWithNullChannelTest() {
+        assertChannelIsNotWritable(new TestNettyRemoting().sendAsync(null, newRequest(), 1000L));
+    }
+
+    @Test
+    public void sendAsyncWithNotWritableChannelTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.close();
+        assertChannelIsNotWritable(new TestNettyRemoting().sendAsync(channel, newRequest(), 1000L));
+    }
+
+    private static void assertChannelIsNotWritable(CompletableFuture<Object> future) {
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(e.getCause() instanceof FrameworkException);
+        Assertions.assertEquals(FrameworkErrorCode.ChannelIsNotWritable,
+            ((FrameworkException) e.getCause()).getErrcode());
+    }
+
+    private static RpcMessage newRequest() {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        return rpcMessage;
+    }
+
+    private static class TestNettyRemoting extends AbstractNettyRemoting {
+
+        TestNettyRemoting() {
+            super(null);
+        }
+
+        @Override
+        public void destroyChannel(String serverAddress, Channel channel) {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchReportRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MergedSendQueueTest {
+
+    private static final long MAX_WAIT_MICROS = TimeUnit.MILLISECONDS.toMicros(20);
+
+    @Test
+    public void flushAtOnceUnderLightLoadTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        MergedSendQueue queue = new MergedSendQueue(channel, flusher, 8, MAX_WAIT_MICROS);
+        queue.offer(newRequest(1));
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+        Assertions.assertEquals(0, queue.pending());
+
+        // the former drain sent one request only, still no wait
+        queue.offer(newRequest(2));
+        queue.offer(newRequest(3));
+        channel.runPendingTasks();
+        Assertions.assertEquals(2, flusher.flushed.size());
+        Assertions.assertEquals(2, flusher.flushed.get(1).msgIds.size());
+    }
+
+    @Test
+    public void flushOnSizeOrTimeTest() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        MergedSendQueue queue = new MergedSendQueue(channel, flusher, 3, MAX_WAIT_MICROS);
+        queue.offer(newRequest(1));
+        queue.offer(newRequest(2));
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+
+        // the former drain merged two requests, wait for more
+        queue.offer(newRequest(3));
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+        Assertions.assertEquals(1, queue.pending());
+        // flushed by the size
+        queue.offer(newRequest(4));
+        queue.offer(newRequest(5));
+        channel.runPendingTasks();
+        Assertions.assertEquals(2, flusher.flushed.size());
+        Assertions.assertEquals(3, flusher.flushed.get(1).msgIds.size());
+
+        // flushed by the time
+        queue.offer(newRequest(6));
+        channel.runPendingTasks();
+        Assertions.assertEquals(2, flusher.flushed.size());
+        TimeUnit.MICROSECONDS.sleep(MAX_WAIT_MICROS * 2);
+        channel.runPendingTasks();
+        Assertions.assertEquals(3, flusher.flushed.size());
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    @Test
+    public void failOnInactiveChannelTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        MergedSendQueue queue = new MergedSendQueue(channel, flusher, 8, MAX_WAIT_MICROS);
+        channel.close();
+        queue.offer(newRequest(1));
+        queue.offer(newRequest(2));
+        channel.runPendingTasks();
+        Assertions.assertTrue(flusher.flushed.isEmpty());
+        Assertions.assertEquals(1, flusher.failed.size());
+        Assertions.assertEquals(2, flusher.failed.get(0).msgIds.size());
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    @Test
+    public void concurrentOfferTest() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        MergedSendQueue queue = new MergedSendQueue(channel, flusher, 16, 0);
+        int producers = 4;
+        int perProducer = 500;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(newRequest(base + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        channel.runPendingTasks();
+        int sent = 0;
+        for (MergedWarpMessage mergeMessage : flusher.flushed) {
+            Assertions.assertTrue(mergeMessage.msgIds.size() <= 16);
+            sent += mergeMessage.msgIds.size();
+        }
+        Assertions.assertEquals(producers * perProducer, sent);
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    private static RpcMessage newRequest(int id) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        rpcMessage.setBody(new BranchReportRequest());
+        return rpcMessage;
+    }
+
+    private static class RecordingFlusher implements MergedSendQueue.Flusher {
+
+        private final List<MergedWarpMessage> flushed = new ArrayList<>();
+
+        private final List<MergedWarpMessage> failed = new ArrayList<>();
+
+        @Override
+        public void flush(Channel channel, MergedWarpMessage mergeMessage) {
+            flushed.add(mergeMessage);
+        }
+
+        @Override
+        public void fail(Channel channel, MergedWarpMessage mergeMessage, Throwable cause) {
+            failed.add(mergeMessage);
+        }
+    }
+}
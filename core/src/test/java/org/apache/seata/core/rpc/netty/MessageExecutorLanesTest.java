@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.netty;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.seata.core.protocol.MessageType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MessageExecutorLanesTest {
+
+    @Test
+    public void disabledByDefaultTest() {
+        MessageExecutorLanes lanes = new MessageExecutorLanes();
+        Assertions.assertTrue(lanes.getLanes().isEmpty());
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertSame(shared, lanes.executorOf(MessageType.TYPE_GLOBAL_COMMIT, shared));
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void laneOfTypeTest() {
+        MessageExecutorLane phaseEnd = newLane(MessageExecutorLanes.Lane.PHASE_END, 1, 4);
+        MessageExecutorLane lockQuery = newLane(MessageExecutorLanes.Lane.LOCK_QUERY, 1, 4);
+        Map<MessageExecutorLanes.Lane, MessageExecutorLane> executors = new EnumMap<>(MessageExecutorLanes.Lane.class);
+        executors.put(MessageExecutorLanes.Lane.PHASE_END, phaseEnd);
+        executors.put(MessageExecutorLanes.Lane.LOCK_QUERY, lockQuery);
+        MessageExecutorLanes lanes = new MessageExecutorLanes(executors);
+        ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertSame(phaseEnd, lanes.executorOf(MessageType.TYPE_GLOBAL_COMMIT, shared));
+            Assertions.assertSame(phaseEnd, lanes.executorOf(MessageType.TYPE_GLOBAL_ROLLBACK, shared));
+            Assertions.assertSame(phaseEnd, lanes.executorOf(MessageType.TYPE_GLOBAL_REPORT, shared));
+            Assertions.assertSame(lockQuery, lanes.executorOf(MessageType.TYPE_GLOBAL_LOCK_QUERY, shared));
+            // the branch lane is disabled
+            Assertions.assertSame(shared, lanes.executorOf(MessageType.TYPE_BRANCH_REGISTER, shared));
+            Assertions.assertSame(shared, lanes.executorOf(MessageType.TYPE_SEATA_MERGE, shared));
+            Assertions.assertNull(lanes.laneOf(MessageType.TYPE_GLOBAL_BEGIN));
+            Assertions.assertEquals(2, lanes.getLanes().size());
+        } finally {
+            shared.shutdown();
+            lanes.shutdown();
+        }
+        Assertions.assertTrue(phaseEnd.isShutdown());
+        Assertions.assertTrue(lockQuery.isShutdown());
+    }
+
+    @Test
+    public void isolationAndWaitTimeTest() throws InterruptedException {
+        MessageExecutorLane phaseEnd = newLane(MessageExecutorLanes.Lane.PHASE_END, 1, 4);
+        MessageExecutorLane lockQuery = newLane(MessageExecutorLanes.Lane.LOCK_QUERY, 1, 4);
+        AtomicLong maxWaitNanos = new AtomicLong();
+        lockQuery.setWaitTimeListener(nanos -> maxWaitNanos.accumulateAndGet(nanos, Math::max));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch lockQueryDone = new CountDownLatch(3);
+        try {
+            // a burst of lock queries holds its lane
+            for (int i = 0; i < 3; i++) {
+                lockQuery.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                    lockQueryDone.countDown();
+                });
+            }
+            Assertions.assertEquals(2, lockQuery.getQueueDepth());
+
+            CountDownLatch committed = new CountDownLatch(1);
+            phaseEnd.execute(committed::countDown);
+            Assertions.assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+            TimeUnit.MILLISECONDS.sleep(20);
+            release.countDown();
+            Assertions.assertTrue(lockQueryDone.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, lockQuery.getQueueDepth());
+            Assertions.assertTrue(maxWaitNanos.get() >= TimeUnit.MILLISECONDS.toNanos(20));
+        } finally {
+            phaseEnd.shutdown();
+            lockQuery.shutdown();
+        }
+    }
+
+    @Test
+    public void fullLaneRunsInCallerTest() throws InterruptedException {
+        MessageExecutorLane lane = newLane(MessageExecutorLanes.Lane.BRANCH, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            lane.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignore) {
+                }
+            });
+            lane.execute(() -> { });
+            Thread caller = Thread.currentThread();
+            AtomicLong ranIn = new AtomicLong();
+            lane.execute(() -> ranIn.set(Thread.currentThread().getId()));
+            Assertions.assertEquals(caller.getId(), ranIn.get());
+        } finally {
+            release.countDown();
+            lane.shutdown();
+        }
+    }
+
+    private static MessageExecutorLane newLane(MessageExecutorLanes.Lane lane, int poolSize, int queueSize) {
+        return new MessageExecutorLane(lane.getLaneName(), poolSize, queueSize, 60,
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.seata.core.rpc.netty;
 
 import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -27,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
@@ -146,6 +148,63 @@ class NettyClientChannelManagerTest {
         verify(keyedObjectPool).returnObject(nettyPoolKey, channel);
     }
     
+    @Test
+    @SuppressWarnings("unchecked")
+    void assertAcquireChannelOfMultiChannels() throws Exception {
+        String serverAddress = "127.0.0.1:8091";
+        channelManager = new NettyClientChannelManager(poolableFactory, poolKeyFunction, nettyClientConfig, 3);
+        setNettyClientKeyPool();
+        Channel primary = new EmbeddedChannel();
+        Channel extra1 = new EmbeddedChannel();
+        Channel extra2 = new EmbeddedChannel();
+        channelManager.getChannels().put(serverAddress, primary);
+        when(poolKeyFunction.apply(anyString())).thenReturn(nettyPoolKey);
+        when(keyedObjectPool.borrowObject(nettyPoolKey)).thenReturn(extra1, extra2);
+        channelManager.acquireExtraChannels(serverAddress);
+        List<Channel> all = channelManager.getChannels(serverAddress);
+        assertEquals(3, all.size());
+
+        // the requests without xid go to the channel with the least pending requests
+        assertEquals(primary, channelManager.acquireChannel(serverAddress, null));
+        channelManager.onRequestSent(primary);
+        assertEquals(extra1, channelManager.acquireChannel(serverAddress, null));
+        channelManager.onRequestSent(extra1);
+        assertEquals(extra2, channelManager.acquireChannel(serverAddress, null));
+        channelManager.onRequestDone(primary);
+        assertEquals(primary, channelManager.acquireChannel(serverAddress, null));
+        assertEquals(1, NettyClientChannelManager.getPendingRequests(extra1));
+
+        // the requests of a transaction stay on one channel
+        for (int i = 0; i < 10; i++) {
+            String xid = "127.0.0.1:8091:" + i;
+            Channel expected = all.get((xid.hashCode() & Integer.MAX_VALUE) % 3);
+            assertEquals(expected, channelManager.acquireChannel(serverAddress, xid));
+            assertEquals(expected, channelManager.acquireChannel(serverAddress, xid));
+        }
+
+        // a released extra channel falls back to the primary channel
+        channelManager.releaseChannel(extra1, serverAddress);
+        verify(keyedObjectPool).returnObject(nettyPoolKey, extra1);
+        assertEquals(2, channelManager.getChannels(serverAddress).size());
+        for (int i = 0; i < 10; i++) {
+            String xid = "127.0.0.1:8091:" + i;
+            if ((xid.hashCode() & Integer.MAX_VALUE) % 3 == 1) {
+                assertEquals(primary, channelManager.acquireChannel(serverAddress, xid));
+            }
+        }
+    }
+
+    @Test
+    void assertAcquireChannelOfSingleChannel() {
+        Channel primary = new EmbeddedChannel();
+        channelManager.getChannels().put("127.0.0.1:8091", primary);
+        channelManager.acquireExtraChannels("127.0.0.1:8091");
+        assertEquals(primary, channelManager.acquireChannel("127.0.0.1:8091", "127.0.0.1:8091:1"));
+        channelManager.onRequestSent(primary);
+        assertEquals(0, NettyClientChannelManager.getPendingRequests(primary));
+        assertEquals(1, channelManager.getChannels("127.0.0.1:8091").size());
+    }
+
     @SuppressWarnings("unchecked")
     private void setUpReleaseChannel() {
         ConcurrentMap<String, Object> channelLocks =
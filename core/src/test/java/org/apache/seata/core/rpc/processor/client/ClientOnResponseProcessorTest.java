@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.processor.client;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.seata.core.protocol.BatchResultMessage;
+import org.apache.seata.core.protocol.MergeMessage;
+import org.apache.seata.core.protocol.MergedWarpMessage;
+import org.apache.seata.core.protocol.MessageFuture;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchRegisterResponse;
+import org.apache.seata.core.protocol.transaction.GlobalBeginResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClientOnResponseProcessorTest {
+
+    @Test
+    public void streamedBatchResultTest() throws Exception {
+        Map<Integer, MergeMessage> mergeMsgMap = new ConcurrentHashMap<>();
+        ConcurrentHashMap<Integer, MessageFuture> futures = new ConcurrentHashMap<>();
+        Map<Integer, Integer> childToParentMap = new ConcurrentHashMap<>();
+        MergedWarpMessage mergeMessage = new MergedWarpMessage();
+        mergeMessage.msgIds.addAll(Arrays.asList(1, 2, 3));
+        mergeMsgMap.put(100, mergeMessage);
+        Map<Integer, MessageFuture> requests = new HashMap<>();
+        for (Integer msgId : mergeMessage.msgIds) {
+            MessageFuture future = new MessageFuture();
+            futures.put(msgId, future);
+            requests.put(msgId, future);
+            childToParentMap.put(msgId, 100);
+        }
+        ClientOnResponseProcessor processor =
+            new ClientOnResponseProcessor(mergeMsgMap, futures, childToParentMap, null);
+
+        // the fast sub messages are answered first, before the slow one
+        BatchResultMessage first = new BatchResultMessage();
+        GlobalBeginResponse beginResponse = new GlobalBeginResponse();
+        first.getResultMessages().add(beginResponse);
+        first.getMsgIds().add(3);
+        first.getResultMessages().add(new GlobalBeginResponse());
+        first.getMsgIds().add(1);
+        processor.process(null, newResponse(100, first));
+        Assertions.assertTrue(requests.get(3).toCompletableFuture().isDone());
+        Assertions.assertTrue(requests.get(1).toCompletableFuture().isDone());
+        Assertions.assertFalse(requests.get(2).toCompletableFuture().isDone());
+        Assertions.assertSame(beginResponse, requests.get(3).toCompletableFuture().get());
+
+        BatchResultMessage second = new BatchResultMessage();
+        BranchRegisterResponse registerResponse = new BranchRegisterResponse();
+        second.getResultMessages().add(registerResponse);
+        second.getMsgIds().add(2);
+        processor.process(null, newResponse(100, second));
+        Assertions.assertSame(registerResponse, requests.get(2).toCompletableFuture().get());
+        Assertions.assertTrue(futures.isEmpty());
+        Assertions.assertTrue(childToParentMap.isEmpty());
+        Assertions.assertTrue(mergeMsgMap.isEmpty());
+    }
+
+    private static RpcMessage newResponse(int id, Object body) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        rpcMessage.setBody(body);
+        return rpcMessage;
+    }
+}
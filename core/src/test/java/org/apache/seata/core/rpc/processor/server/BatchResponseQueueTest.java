@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.core.rpc.processor.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.seata.core.protocol.BatchResultMessage;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.BranchReportResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BatchResponseQueueTest {
+
+    @Test
+    public void flushOnBatchEndTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        BatchResponseQueue queue = BatchResponseQueue.computeIfAbsent(channel, flusher, 8);
+        Assertions.assertSame(queue, BatchResponseQueue.computeIfAbsent(channel, flusher, 8));
+        RpcMessage request = newRequest(1);
+        queue.offer(request, new BranchReportResponse(), 11);
+        queue.offer(request, new BranchReportResponse(), 12);
+        channel.runPendingTasks();
+        // no sweep, the results wait for the end of the inbound batch
+        Assertions.assertTrue(flusher.flushed.isEmpty());
+        Assertions.assertEquals(2, queue.pending());
+
+        queue.flush();
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+        Assertions.assertEquals(1, flusher.requests.get(0).getId());
+        Assertions.assertEquals(2, flusher.flushed.get(0).getMsgIds().size());
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    @Test
+    public void groupByRequestTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        BatchResponseQueue queue = new BatchResponseQueue(channel, flusher, 8);
+        RpcMessage request1 = newRequest(1);
+        RpcMessage request2 = newRequest(2);
+        queue.offer(request1, new BranchReportResponse(), 11);
+        queue.offer(request2, new BranchReportResponse(), 21);
+        queue.offer(request1, new BranchReportResponse(), 12);
+        queue.flush();
+        channel.runPendingTasks();
+        Assertions.assertEquals(2, flusher.flushed.size());
+        Assertions.assertEquals(1, flusher.requests.get(0).getId());
+        Assertions.assertEquals(2, flusher.flushed.get(0).getMsgIds().size());
+        Assertions.assertEquals(2, flusher.requests.get(1).getId());
+        Assertions.assertEquals(1, flusher.flushed.get(1).getMsgIds().size());
+    }
+
+    @Test
+    public void flushOnSizeTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        RecordingFlusher flusher = new RecordingFlusher();
+        BatchResponseQueue queue = new BatchResponseQueue(channel, flusher, 3);
+        RpcMessage request = newRequest(1);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(request, new BranchReportResponse(), i);
+        }
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+        Assertions.assertEquals(3, flusher.flushed.get(0).getMsgIds().size());
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    @Test
+    public void boundedDrainTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        int maxBatchSize = 2;
+        List<Integer> flushedBeforeNextTask = new ArrayList<>();
+        RecordingFlusher flusher = new RecordingFlusher() {
+            @Override
+            public void flush(Channel channel, RpcMessage rpcMessage, BatchResultMessage batchResultMessage) {
+                super.flush(channel, rpcMessage, batchResultMessage);
+                if (flushed.size() == 1) {
+                    // queued behind the running drain, runs before the drain of the rest
+                    channel.eventLoop().execute(() -> flushedBeforeNextTask.add(flushed.size()));
+                }
+            }
+        };
+        BatchResponseQueue queue = new BatchResponseQueue(channel, flusher, maxBatchSize);
+        RpcMessage request = newRequest(1);
+        int results = maxBatchSize * BatchResponseQueue.MAX_POLLS_PER_DRAIN * 3;
+        for (int i = 0; i < results; i++) {
+            queue.offer(request, new BranchReportResponse(), i);
+        }
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flushedBeforeNextTask.size());
+        Assertions.assertEquals(BatchResponseQueue.MAX_POLLS_PER_DRAIN, flushedBeforeNextTask.get(0));
+        Assertions.assertEquals(results / maxBatchSize, flusher.flushed.size());
+        Assertions.assertEquals(0, queue.pending());
+    }
+
+    @Test
+    public void resumeWhenWritableTest() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 2));
+        RecordingFlusher flusher = new RecordingFlusher();
+        BatchResponseQueue queue = BatchResponseQueue.computeIfAbsent(channel, flusher, 8);
+        channel.write(Unpooled.wrappedBuffer(new byte[16]));
+        Assertions.assertFalse(channel.isWritable());
+
+        queue.offer(newRequest(1), new BranchReportResponse(), 11);
+        queue.flush();
+        channel.runPendingTasks();
+        // kept while the channel is not writable
+        Assertions.assertTrue(flusher.flushed.isEmpty());
+        Assertions.assertEquals(1, queue.pending());
+
+        channel.flush();
+        Assertions.assertTrue(channel.isWritable());
+        BatchResponseQueue.resume(channel);
+        channel.runPendingTasks();
+        Assertions.assertEquals(1, flusher.flushed.size());
+        Assertions.assertEquals(0, queue.pending());
+        channel.finishAndReleaseAll();
+    }
+
+    private static RpcMessage newRequest(int id) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(id);
+        return rpcMessage;
+    }
+
+    private static class RecordingFlusher implements BatchResponseQueue.Flusher {
+
+        final List<RpcMessage> requests = new ArrayList<>();
+
+        final List<BatchResultMessage> flushed = new ArrayList<>();
+
+        @Override
+        public void flush(Channel channel, RpcMessage rpcMessage, BatchResultMessage batchResultMessage) {
+            requests.add(rpcMessage);
+            flushed.add(batchResultMessage);
+        }
+    }
+}
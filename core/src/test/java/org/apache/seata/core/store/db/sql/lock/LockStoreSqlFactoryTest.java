@@ -16,6 +16,7 @@
  */
 package org.apache.seata.core.store.db.sql.lock;
 
+import org.apache.seata.common.exception.NotSupportYetException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -42,6 +43,8 @@ public class LockStoreSqlFactoryTest {
 
     private static LockStoreSql OSCAR_LOCK_STORE = LockStoreSqlFactory.getLogStoreSql("oscar");
 
+    private static LockStoreSql SQLSERVER_LOCK_STORE = LockStoreSqlFactory.getLogStoreSql("sqlserver");
+
     private static String GLOBAL_TABLE = "global_table";
 
     private static String BRANCH_TABLE = "branch_table";
@@ -428,4 +431,40 @@ public class LockStoreSqlFactoryTest {
         sql = OSCAR_LOCK_STORE.getCheckLockableSql(BRANCH_TABLE, 3);
         Assertions.assertEquals(EXPECT_CHECK_BRANCH_LOCKABLE_SQL,sql);
     }
+
+    @Test
+    public void batchLockSqlTest() {
+        Assertions.assertEquals("delete from " + GLOBAL_TABLE + " where xid in ( ?,?,? )",
+            MYSQL_LOCK_STORE.getBatchDeleteLockSqlByXids(GLOBAL_TABLE, 3));
+        Assertions.assertEquals("delete from " + GLOBAL_TABLE + " where branch_id in ( ?,? )",
+            ORACLE_LOCK_STORE.getBatchDeleteLockSqlByBranchIds(GLOBAL_TABLE, 2));
+
+        Assertions.assertEquals("insert into " + GLOBAL_TABLE + "(xid, transaction_id, branch_id, resource_id,"
+            + " table_name, pk, row_key, gmt_create, gmt_modified,status) values (?, ?, ?, ?, ?, ?, ?, now(), now(), ?),"
+            + " (?, ?, ?, ?, ?, ?, ?, now(), now(), ?) on duplicate key update xid = xid",
+            MYSQL_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+        Assertions.assertFalse(MYSQL_LOCK_STORE.isBatchInsertLockCountExact());
+        Assertions.assertFalse(OCEANBASE_LOCK_STORE.isBatchInsertLockCountExact());
+        Assertions.assertTrue(POSTGRESQL_LOCK_STORE.isBatchInsertLockCountExact());
+        Assertions.assertTrue(ORACLE_LOCK_STORE.isBatchInsertLockCountExact());
+        Assertions.assertEquals(MYSQL_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2),
+            MARIADB_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+        Assertions.assertEquals(MYSQL_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2),
+            OCEANBASE_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+        Assertions.assertTrue(POSTGRESQL_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2)
+            .endsWith("(?, ?, ?, ?, ?, ?, ?, now(), now(), ?) on conflict (row_key) do nothing"));
+
+        String sql = ORACLE_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2);
+        Assertions.assertTrue(sql.startsWith("merge into " + GLOBAL_TABLE + " t using (select ? xid,"));
+        Assertions.assertEquals(1, sql.split(" union all ").length - 1);
+        Assertions.assertEquals(16, sql.chars().filter(c -> c == '?').count());
+
+        sql = SQLSERVER_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2);
+        Assertions.assertTrue(sql.startsWith("merge into " + GLOBAL_TABLE + " with (holdlock) as t using (values "));
+        Assertions.assertEquals(16, sql.chars().filter(c -> c == '?').count());
+
+        Assertions.assertThrows(NotSupportYetException.class, () -> H2_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+        Assertions.assertThrows(NotSupportYetException.class, () -> DM_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+        Assertions.assertThrows(NotSupportYetException.class, () -> OSCAR_LOCK_STORE.getBatchInsertLockIgnoreSql(GLOBAL_TABLE, 2));
+    }
 }
@@ -27,6 +27,8 @@ public interface IdConstants {
 
     String SEATA_RATE_LIMIT = "seata.rate.limit";
 
+    String SEATA_MESSAGE_LANE = "seata.message.lane";
+
     String APP_ID_KEY = "applicationId";
     
     String GROUP_KEY = "group";
@@ -86,4 +88,6 @@ public interface IdConstants {
     String CLIENT_ID_KEY = "clientId";
 
     String HOST_AND_PORT = "hostAndPort";
+
+    String LANE_KEY = "lane";
 }
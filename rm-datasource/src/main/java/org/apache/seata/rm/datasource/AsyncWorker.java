@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -34,23 +35,32 @@ import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.Lists;
 import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.thread.VirtualThreads;
 import org.apache.seata.common.util.IOUtil;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.rpc.Disposable;
+import org.apache.seata.core.rpc.ShutdownHook;
 import org.apache.seata.rm.datasource.undo.UndoLogManager;
 import org.apache.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS;
 import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_RM_ENABLE_VIRTUAL_THREAD;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY;
+import static org.apache.seata.core.constants.ConfigurationKeys.CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS;
 
 /**
  * The type Async worker.
  *
  */
-public class AsyncWorker {
+public class AsyncWorker implements Disposable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWorker.class);
 
@@ -67,6 +77,11 @@ public class AsyncWorker {
 
     private final ScheduledExecutorService scheduledExecutor;
 
+    /**
+     * the executor of the resource groups, null unless the virtual threads are enabled
+     */
+    private final ExecutorService groupExecutor;
+
     public AsyncWorker(DataSourceManager dataSourceManager) {
         this.dataSourceManager = dataSourceManager;
 
@@ -76,6 +91,27 @@ public class AsyncWorker {
         ThreadFactory threadFactory = new NamedThreadFactory("AsyncWorker", 2, true);
         scheduledExecutor = new ScheduledThreadPoolExecutor(2, threadFactory);
         scheduledExecutor.scheduleAtFixedRate(this::doBranchCommitSafely, 10, 1000, TimeUnit.MILLISECONDS);
+
+        if (ConfigurationFactory.getInstance().getBoolean(CLIENT_RM_ENABLE_VIRTUAL_THREAD,
+            DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD)) {
+            groupExecutor = VirtualThreads.newExecutorIfSupported("AsyncWorkerVirtual",
+                ConfigurationFactory.getInstance().getInt(CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY,
+                    DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY),
+                ConfigurationFactory.getInstance().getInt(CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS,
+                    DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS));
+        } else {
+            groupExecutor = null;
+        }
+        ShutdownHook.getInstance().addDisposable(this);
+    }
+
+    @Override
+    public void destroy() {
+        // stop the scheduled commits first, they are the only users of the group executor
+        scheduledExecutor.shutdown();
+        if (groupExecutor != null) {
+            groupExecutor.shutdown();
+        }
     }
 
     public BranchStatus branchCommit(String xid, long branchId, String resourceId) {
@@ -122,7 +158,16 @@ public class AsyncWorker {
         // group context by their resourceId
         Map<String, List<Phase2Context>> groupedContexts = groupedByResourceId(allContexts);
 
-        groupedContexts.forEach(this::dealWithGroupedContexts);
+        if (groupExecutor == null) {
+            groupedContexts.forEach(this::dealWithGroupedContexts);
+            return;
+        }
+        // the undo logs of the resources are deleted at the same time, each blocks on its own database only
+        CompletableFuture<?>[] futures = groupedContexts.entrySet().stream()
+            .map(entry -> CompletableFuture.runAsync(
+                () -> dealWithGroupedContexts(entry.getKey(), entry.getValue()), groupExecutor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
     }
 
     Map<String, List<Phase2Context>> groupedByResourceId(List<Phase2Context> contexts) {
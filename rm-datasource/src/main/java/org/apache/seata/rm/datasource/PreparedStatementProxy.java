@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Map;
 
 import org.apache.seata.rm.datasource.exec.ExecuteTemplate;
+import org.apache.seata.rm.datasource.exec.ExecuteUpdateCallback;
 import org.apache.seata.sqlparser.ParametersHolder;
 
 /**
@@ -62,6 +63,7 @@ public class PreparedStatementProxy extends AbstractPreparedStatementProxy
 
     @Override
     public int executeUpdate() throws SQLException {
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.executeUpdate());
+        ExecuteUpdateCallback<PreparedStatement> callback = (statement, args) -> statement.executeUpdate();
+        return ExecuteTemplate.execute(this, callback);
     }
 }
@@ -25,6 +25,7 @@ import java.util.StringJoiner;
 
 import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.sqlparser.util.ColumnUtils;
+import org.apache.seata.sqlparser.util.JdbcConstants;
 
 /**
  * generate sql and set value to sql
@@ -34,6 +35,18 @@ public class SqlGenerateUtils {
 
     private static final int MAX_IN_SIZE = 1000;
 
+    /**
+     * the max parameters of a sql server statement is 2100, a few are kept for the driver
+     */
+    private static final int SQLSERVER_MAX_PARAMETERS = 2000;
+
+    /**
+     * the max parameters of a postgresql statement, the bind message counts them in a short
+     */
+    private static final int POSTGRESQL_MAX_PARAMETERS = Short.MAX_VALUE;
+
+    private static final int DEFAULT_MAX_PARAMETERS = 65535;
+
     private SqlGenerateUtils() {
 
     }
@@ -115,6 +128,34 @@ public class SqlGenerateUtils {
         return whereSqls;
     }
 
+    /**
+     * The max parameters of a statement of the db type.
+     *
+     * @param dbType the db type
+     * @return the max parameters
+     */
+    public static int getMaxParameters(String dbType) {
+        if (JdbcConstants.SQLSERVER.equalsIgnoreCase(dbType)) {
+            return SQLSERVER_MAX_PARAMETERS;
+        }
+        if (JdbcConstants.POSTGRESQL.equalsIgnoreCase(dbType) || JdbcConstants.KINGBASE.equalsIgnoreCase(dbType)) {
+            return POSTGRESQL_MAX_PARAMETERS;
+        }
+        return DEFAULT_MAX_PARAMETERS;
+    }
+
+    /**
+     * The max rows selected by one statement, so neither the in list nor the parameters of the statement exceed the
+     * limits of the db type.
+     *
+     * @param dbType       the db type
+     * @param paramsPerRow the parameters of each row
+     * @return the max rows
+     */
+    public static int getMaxRowsPerSelect(String dbType, int paramsPerRow) {
+        return Math.max(1, Math.min(MAX_IN_SIZE, getMaxParameters(dbType) / Math.max(1, paramsPerRow)));
+    }
+
     /**
      * set parameter for PreparedStatement, this is only used in pk sql.
      *
@@ -22,6 +22,7 @@ import java.sql.Statement;
 
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.rm.datasource.exec.ExecuteTemplate;
+import org.apache.seata.rm.datasource.exec.ExecuteUpdateCallback;
 
 /**
  * The type Statement proxy.
@@ -68,7 +69,8 @@ public class StatementProxy<T extends Statement> extends AbstractStatementProxy<
     @Override
     public int executeUpdate(String sql) throws SQLException {
         this.targetSQL = sql;
-        return ExecuteTemplate.execute(this, (statement, args) -> statement.executeUpdate((String) args[0]), sql);
+        ExecuteUpdateCallback<T> callback = (statement, args) -> statement.executeUpdate((String) args[0]);
+        return ExecuteTemplate.execute(this, callback, sql);
     }
 
     @Override
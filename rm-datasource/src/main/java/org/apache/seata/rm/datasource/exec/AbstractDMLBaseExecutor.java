@@ -96,7 +96,7 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
     protected T executeAutoCommitFalse(Object[] args) throws Exception {
         try {
             TableRecords beforeImage = beforeImage();
-            T result = statementCallback.execute(statementProxy.getTargetStatement(), args);
+            T result = executeStatement(args);
             TableRecords afterImage = afterImage(beforeImage);
             prepareUndoLog(beforeImage, afterImage);
             return result;
@@ -108,6 +108,17 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
         }
     }
 
+    /**
+     * Execute the statement between the before image and the after image.
+     *
+     * @param args the args
+     * @return the t
+     * @throws SQLException the sql exception
+     */
+    protected T executeStatement(Object[] args) throws SQLException {
+        return statementCallback.execute(statementProxy.getTargetStatement(), args);
+    }
+
     private boolean isMultiPk() {
         if (null != sqlRecognizer) {
             return getTableMeta().getPrimaryKeyOnlyName().size() > 1;
@@ -21,11 +21,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,6 +46,7 @@ import org.apache.seata.rm.datasource.ConnectionProxy;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
 import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
@@ -51,6 +56,7 @@ import org.apache.seata.sqlparser.SQLInsertRecognizer;
 import org.apache.seata.sqlparser.SQLRecognizer;
 import org.apache.seata.sqlparser.SQLType;
 import org.apache.seata.sqlparser.WhereRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
 
 
 import static org.apache.seata.rm.datasource.exec.AbstractDMLBaseExecutor.WHERE;
@@ -86,8 +92,17 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
      */
     protected List<SQLRecognizer> sqlRecognizers;
 
+    private static final Pattern AND = Pattern.compile("\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern COLUMN_EQUALS_PLACEHOLDER = Pattern.compile("([^\\s=<>!()?']+)\\s*=\\s*\\?");
+
     private TableMeta tableMeta;
 
+    /**
+     * the parameters of the rows of the batch the image is selected for, null for the whole statement
+     */
+    private ParametersHolder batchRowsParametersHolder;
+
     /**
      * Instantiates a new Base transactional executor.
      *
@@ -146,13 +161,18 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
      */
     protected String buildWhereCondition(WhereRecognizer recognizer, ArrayList<List<Object>> paramAppenderList) {
         String whereCondition = null;
-        if (statementProxy instanceof ParametersHolder) {
-            whereCondition = recognizer.getWhereCondition((ParametersHolder) statementProxy, paramAppenderList);
+        ParametersHolder parametersHolder = getParametersHolder();
+        if (parametersHolder != null) {
+            whereCondition = recognizer.getWhereCondition(parametersHolder, paramAppenderList);
         } else {
             whereCondition = recognizer.getWhereCondition();
         }
         //process batch operation
         if (StringUtils.isNotBlank(whereCondition) && CollectionUtils.isNotEmpty(paramAppenderList) && paramAppenderList.size() > 1) {
+            String inCondition = buildBatchInCondition(whereCondition, paramAppenderList);
+            if (inCondition != null) {
+                return inCondition;
+            }
             StringBuilder whereConditionSb = new StringBuilder();
             whereConditionSb.append(" ( ").append(whereCondition).append(" ) ");
             for (int i = 1; i < paramAppenderList.size(); i++) {
@@ -163,6 +183,60 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         return whereCondition;
     }
 
+    /**
+     * Build the where condition of a batch as "(c1, c2) in ((?, ?), (?, ?))" instead of the or'ed conditions of the
+     * rows, if the condition of a row only compares the columns to the placeholders, e.g. "id = ?". The parameters of
+     * the rows are bound in the same order as the or'ed conditions.
+     *
+     * @param whereCondition    the where condition of a row
+     * @param paramAppenderList the param appender list of the rows
+     * @return the in condition, or null if the condition of a row is not such one
+     */
+    private String buildBatchInCondition(String whereCondition, ArrayList<List<Object>> paramAppenderList) {
+        String[] terms = AND.split(whereCondition.trim());
+        List<String> columns = new ArrayList<>(terms.length);
+        for (String term : terms) {
+            Matcher matcher = COLUMN_EQUALS_PLACEHOLDER.matcher(term.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            columns.add(matcher.group(1));
+        }
+        if (paramAppenderList.get(0).size() != columns.size()) {
+            // the order by or limit has its own parameters
+            return null;
+        }
+        if (columns.size() > 1 && JdbcConstants.SQLSERVER.equalsIgnoreCase(getDbType())) {
+            // no row value constructor in sql server
+            return null;
+        }
+        String row = "?";
+        String inColumns = columns.get(0);
+        if (columns.size() > 1) {
+            StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+            columns.forEach(column -> placeholders.add("?"));
+            row = placeholders.toString();
+            inColumns = "(" + String.join(", ", columns) + ")";
+        }
+        StringJoiner rows = new StringJoiner(", ", inColumns + " IN (", ")");
+        for (int i = 0; i < paramAppenderList.size(); i++) {
+            rows.add(row);
+        }
+        return rows.toString();
+    }
+
+    /**
+     * Get the parameters of the statement, or of the rows of the batch the image is selected for.
+     *
+     * @return the parameters holder, null if the statement is not a prepared statement
+     */
+    protected ParametersHolder getParametersHolder() {
+        if (batchRowsParametersHolder != null) {
+            return batchRowsParametersHolder;
+        }
+        return statementProxy instanceof ParametersHolder ? (ParametersHolder) statementProxy : null;
+    }
+
     /**
      * build buildOrderCondition
      * @param recognizer
@@ -171,8 +245,9 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
      */
     protected String buildOrderCondition(WhereRecognizer recognizer, ArrayList<List<Object>> paramAppenderList) {
         String orderByCondition = null;
-        if (statementProxy instanceof ParametersHolder) {
-            orderByCondition = recognizer.getOrderByCondition((ParametersHolder) statementProxy, paramAppenderList);
+        ParametersHolder parametersHolder = getParametersHolder();
+        if (parametersHolder != null) {
+            orderByCondition = recognizer.getOrderByCondition(parametersHolder, paramAppenderList);
         } else {
             orderByCondition = recognizer.getOrderByCondition();
         }
@@ -187,8 +262,9 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
      */
     protected String buildLimitCondition(WhereRecognizer recognizer, ArrayList<List<Object>> paramAppenderList) {
         String limitCondition = null;
-        if (statementProxy instanceof ParametersHolder) {
-            limitCondition = recognizer.getLimitCondition((ParametersHolder) statementProxy, paramAppenderList);
+        ParametersHolder parametersHolder = getParametersHolder();
+        if (parametersHolder != null) {
+            limitCondition = recognizer.getLimitCondition(parametersHolder, paramAppenderList);
         } else {
             limitCondition = recognizer.getLimitCondition();
         }
@@ -505,6 +581,49 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
         }
     }
 
+    /**
+     * build a BeforeImage of a batch, a few rows of the batch at a time, so neither the in list nor the parameters
+     * of a select exceed the limits of the db. The rows selected by several of them are kept once.
+     *
+     * @param tableMeta        the tableMeta
+     * @param selectSQLBuilder builds the select sql of the rows, and their params into the param appender list
+     * @return a tableRecords
+     * @throws SQLException the sql exception
+     */
+    protected TableRecords buildBatchTableRecords(TableMeta tableMeta,
+        Function<ArrayList<List<Object>>, String> selectSQLBuilder) throws SQLException {
+        ParametersHolder parametersHolder = getParametersHolder();
+        Map<Integer, ArrayList<Object>> parameters = parametersHolder == null ? null : parametersHolder.getParameters();
+        int rowSize = CollectionUtils.isEmpty(parameters) ? 1 : parameters.values().iterator().next().size();
+        int rowsPerSelect = CollectionUtils.isEmpty(parameters) ? 1
+            : SqlGenerateUtils.getMaxRowsPerSelect(getDbType(), parameters.size());
+        if (rowSize <= rowsPerSelect) {
+            ArrayList<List<Object>> paramAppenderList = new ArrayList<>();
+            String selectSQL = selectSQLBuilder.apply(paramAppenderList);
+            return buildTableRecords(tableMeta, selectSQL, paramAppenderList);
+        }
+        TableRecords tableRecords = new TableRecords(tableMeta);
+        Set<List<Object>> selectedPkValues = new HashSet<>();
+        for (int fromRow = 0; fromRow < rowSize; fromRow += rowsPerSelect) {
+            TableRecords rowsRecords;
+            batchRowsParametersHolder = new BatchRowsParametersHolder(parameters, fromRow, fromRow + rowsPerSelect);
+            try {
+                ArrayList<List<Object>> paramAppenderList = new ArrayList<>();
+                String selectSQL = selectSQLBuilder.apply(paramAppenderList);
+                rowsRecords = buildTableRecords(tableMeta, selectSQL, paramAppenderList);
+            } finally {
+                batchRowsParametersHolder = null;
+            }
+            for (Row row : rowsRecords.getRows()) {
+                List<Object> pkValues = row.primaryKeys().stream().map(Field::getValue).collect(Collectors.toList());
+                if (selectedPkValues.add(pkValues)) {
+                    tableRecords.add(row);
+                }
+            }
+        }
+        return tableRecords;
+    }
+
     /**
      * build TableRecords
      *
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.seata.sqlparser.ParametersHolder;
+
+/**
+ * The parameters of a range of the rows of a batch, so the images of a large batch are selected a few rows at a time.
+ */
+final class BatchRowsParametersHolder implements ParametersHolder {
+
+    private final Map<Integer, ArrayList<Object>> parameters;
+
+    /**
+     * Instantiates the parameters of the rows.
+     *
+     * @param parameters the parameters of the whole batch
+     * @param fromRow    the first row, inclusive
+     * @param toRow      the last row, exclusive
+     */
+    BatchRowsParametersHolder(Map<Integer, ArrayList<Object>> parameters, int fromRow, int toRow) {
+        this.parameters = new HashMap<>(parameters.size() * 2);
+        parameters.forEach((index, values) -> this.parameters.put(index,
+            new ArrayList<>(values.subList(Math.min(fromRow, values.size()), Math.min(toRow, values.size())))));
+    }
+
+    @Override
+    public Map<Integer, ArrayList<Object>> getParameters() {
+        return parameters;
+    }
+}
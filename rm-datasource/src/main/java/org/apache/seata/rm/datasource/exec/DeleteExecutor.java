@@ -55,9 +55,7 @@ public class DeleteExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
     protected TableRecords beforeImage() throws SQLException {
         SQLDeleteRecognizer visitor = (SQLDeleteRecognizer) sqlRecognizer;
         TableMeta tmeta = getTableMeta(visitor.getTableName());
-        ArrayList<List<Object>> paramAppenderList = new ArrayList<>();
-        String selectSQL = buildBeforeImageSQL(visitor, tmeta, paramAppenderList);
-        return buildTableRecords(tmeta, selectSQL, paramAppenderList);
+        return buildBatchTableRecords(tmeta, paramAppenderList -> buildBeforeImageSQL(visitor, tmeta, paramAppenderList));
     }
 
     protected String buildBeforeImageSQL(SQLDeleteRecognizer visitor, TableMeta tableMeta, ArrayList<List<Object>> paramAppenderList) {
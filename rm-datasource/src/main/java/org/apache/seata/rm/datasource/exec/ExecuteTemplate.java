@@ -32,6 +32,7 @@ import org.apache.seata.rm.datasource.exec.mysql.MySQLInsertOnDuplicateUpdateExe
 import org.apache.seata.rm.datasource.exec.mysql.MySQLUpdateJoinExecutor;
 import org.apache.seata.rm.datasource.exec.polardbx.PolarDBXInsertOnDuplicateUpdateExecutor;
 import org.apache.seata.rm.datasource.exec.polardbx.PolarDBXUpdateJoinExecutor;
+import org.apache.seata.rm.datasource.exec.postgresql.PostgresqlUpdateExecutor;
 import org.apache.seata.rm.datasource.exec.sqlserver.SqlServerDeleteExecutor;
 import org.apache.seata.rm.datasource.exec.sqlserver.SqlServerSelectForUpdateExecutor;
 import org.apache.seata.rm.datasource.exec.sqlserver.SqlServerUpdateExecutor;
@@ -105,6 +106,8 @@ public class ExecuteTemplate {
                     case UPDATE:
                         if (JdbcConstants.SQLSERVER.equalsIgnoreCase(dbType)) {
                             executor = new SqlServerUpdateExecutor<>(statementProxy, statementCallback, sqlRecognizer);
+                        } else if (JdbcConstants.POSTGRESQL.equalsIgnoreCase(dbType)) {
+                            executor = new PostgresqlUpdateExecutor<>(statementProxy, statementCallback, sqlRecognizer);
                         } else {
                             executor = new UpdateExecutor<>(statementProxy, statementCallback, sqlRecognizer);
                         }
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec;
+
+import java.sql.Statement;
+
+/**
+ * The callback of the executeUpdate of the statement, which only returns the update count.
+ * <p>
+ * The executor may run another sql of the same effect instead of it, e.g. the update with a RETURNING clause, because
+ * nothing of the original statement is read after the execution.
+ * </p>
+ *
+ * @param <S> the type parameter
+ */
+@FunctionalInterface
+public interface ExecuteUpdateCallback<S extends Statement> extends StatementCallback<Integer, S> {
+}
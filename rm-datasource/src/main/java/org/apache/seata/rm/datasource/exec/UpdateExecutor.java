@@ -22,6 +22,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 
 import org.apache.seata.common.util.IOUtil;
@@ -32,6 +33,7 @@ import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.rm.datasource.SqlGenerateUtils;
 import org.apache.seata.rm.datasource.StatementProxy;
+import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
 import org.apache.seata.sqlparser.SQLRecognizer;
@@ -64,10 +66,8 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
 
     @Override
     protected TableRecords beforeImage() throws SQLException {
-        ArrayList<List<Object>> paramAppenderList = new ArrayList<>();
         TableMeta tmeta = getTableMeta();
-        String selectSQL = buildBeforeImageSQL(tmeta, paramAppenderList);
-        return buildTableRecords(tmeta, selectSQL, paramAppenderList);
+        return buildBatchTableRecords(tmeta, paramAppenderList -> buildBeforeImageSQL(tmeta, paramAppenderList));
     }
 
     protected String buildBeforeImageSQL(TableMeta tableMeta, ArrayList<List<Object>> paramAppenderList) {
@@ -99,12 +99,28 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         if (beforeImage == null || beforeImage.size() == 0) {
             return TableRecords.empty(getTableMeta());
         }
-        String selectSQL = buildAfterImageSQL(tmeta, beforeImage);
+        List<Map<String, Field>> pkRows = beforeImage.pkRows();
+        List<String> pkNameList = tmeta.getPrimaryKeyOnlyName();
+        int rowsPerSelect = SqlGenerateUtils.getMaxRowsPerSelect(getDbType(), pkNameList.size());
+        if (pkRows.size() <= rowsPerSelect) {
+            return buildAfterImageRecords(tmeta, pkRows);
+        }
+        // a large batch is selected a few rows at a time, within the limits of the db
+        TableRecords afterImage = new TableRecords(tmeta);
+        for (int fromRow = 0; fromRow < pkRows.size(); fromRow += rowsPerSelect) {
+            List<Map<String, Field>> rows = pkRows.subList(fromRow, Math.min(fromRow + rowsPerSelect, pkRows.size()));
+            buildAfterImageRecords(tmeta, rows).getRows().forEach(afterImage::add);
+        }
+        return afterImage;
+    }
+
+    private TableRecords buildAfterImageRecords(TableMeta tmeta, List<Map<String, Field>> pkRows) throws SQLException {
+        String selectSQL = buildAfterImageSQL(tmeta, pkRows.size());
         PreparedStatement pst = null;
         ResultSet rs = null;
         try {
             pst = statementProxy.getConnection().prepareStatement(selectSQL);
-            SqlGenerateUtils.setParamForPk(beforeImage.pkRows(), getTableMeta().getPrimaryKeyOnlyName(), pst);
+            SqlGenerateUtils.setParamForPk(pkRows, tmeta.getPrimaryKeyOnlyName(), pst);
             rs = pst.executeQuery();
             return TableRecords.buildRecords(tmeta, rs);
         } finally {
@@ -112,13 +128,13 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         }
     }
 
-    private String buildAfterImageSQL(TableMeta tableMeta, TableRecords beforeImage) throws SQLException {
+    private String buildAfterImageSQL(TableMeta tableMeta, int rowSize) throws SQLException {
         StringJoiner selectSQLJoiner = new StringJoiner(", ", "SELECT "
                 , " FROM " + getFromTableInSQL() + " WHERE ");
         SQLUpdateRecognizer recognizer = (SQLUpdateRecognizer) sqlRecognizer;
         List<String> needUpdateColumns = getNeedColumns(tableMeta.getTableName(), sqlRecognizer.getTableAlias(), recognizer.getUpdateColumnsUnEscape());
         needUpdateColumns.forEach(selectSQLJoiner::add);
-        return SqlGenerateUtils.buildSQLByPKs(selectSQLJoiner.toString(), "", tableMeta.getPrimaryKeyOnlyName(), beforeImage.pkRows().size(), getDbType());
+        return SqlGenerateUtils.buildSQLByPKs(selectSQLJoiner.toString(), "", tableMeta.getPrimaryKeyOnlyName(), rowSize, getDbType());
     }
 
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec.postgresql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+import org.apache.seata.common.DefaultValues;
+import org.apache.seata.common.util.IOUtil;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.constants.ConfigurationKeys;
+import org.apache.seata.rm.datasource.StatementProxy;
+import org.apache.seata.rm.datasource.exec.ExecuteUpdateCallback;
+import org.apache.seata.rm.datasource.exec.StatementCallback;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.sqlparser.ParametersHolder;
+import org.apache.seata.sqlparser.struct.Null;
+import org.apache.seata.sqlparser.struct.TableMeta;
+
+/**
+ * The utils of the RETURNING clause of postgresql, which takes the image of the rows by the update or delete itself,
+ * instead of another select round trip.
+ */
+final class PostgresqlReturningUtils {
+
+    private static final boolean RETURNING_IMAGE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.TRANSACTION_UNDO_RETURNING_IMAGE, DefaultValues.DEFAULT_TRANSACTION_UNDO_RETURNING_IMAGE);
+
+    private static final Pattern RETURNING = Pattern.compile("\\breturning\\b", Pattern.CASE_INSENSITIVE);
+
+    private PostgresqlReturningUtils() {
+    }
+
+    /**
+     * Whether the images are taken by the RETURNING clause, see client.undo.returningImage.
+     *
+     * @return the boolean
+     */
+    static boolean isReturningImageEnabled() {
+        return RETURNING_IMAGE;
+    }
+
+    /**
+     * Whether the sql can be run with a RETURNING clause instead: only the executeUpdate whose statement is not read
+     * afterwards, a single execution but not a batch, without a RETURNING clause of its own and without any stream
+     * parameter, which can not be bound twice.
+     *
+     * @param statementProxy    the statement proxy
+     * @param statementCallback the statement callback
+     * @return the boolean
+     */
+    static boolean canReturn(StatementProxy<?> statementProxy, StatementCallback<?, ?> statementCallback) {
+        if (!(statementCallback instanceof ExecuteUpdateCallback)) {
+            return false;
+        }
+        String sql = statementProxy.getTargetSQL();
+        if (sql == null || RETURNING.matcher(sql).find()) {
+            return false;
+        }
+        if (statementProxy instanceof ParametersHolder) {
+            for (ArrayList<Object> values : ((ParametersHolder) statementProxy).getParameters().values()) {
+                if (values.size() != 1) {
+                    return false;
+                }
+                Object value = values.get(0);
+                if (value instanceof InputStream || value instanceof Reader) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append the RETURNING clause of the columns to the sql.
+     *
+     * @param sql     the update or delete sql
+     * @param columns the columns in sql
+     * @return the sql
+     */
+    static String buildReturningSQL(String sql, List<String> columns) {
+        int end = sql.length();
+        while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+            end--;
+        }
+        // the line break ends a trailing line comment
+        StringJoiner returningSQL = new StringJoiner(", ", sql.substring(0, end) + "\nRETURNING ", "");
+        columns.forEach(returningSQL::add);
+        return returningSQL.toString();
+    }
+
+    /**
+     * Run the sql with the RETURNING clause on the target connection, with the parameters of the statement.
+     *
+     * @param statementProxy the statement proxy
+     * @param tableMeta      the table meta
+     * @param returningSQL   the sql with the RETURNING clause
+     * @return the returned rows, one for each updated or deleted row
+     * @throws SQLException the sql exception
+     */
+    static TableRecords executeReturning(StatementProxy<?> statementProxy, TableMeta tableMeta, String returningSQL)
+        throws SQLException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = statementProxy.getConnection().prepareStatement(returningSQL);
+            if (statementProxy instanceof ParametersHolder) {
+                for (Map.Entry<Integer, ArrayList<Object>> entry : ((ParametersHolder) statementProxy).getParameters().entrySet()) {
+                    Object value = entry.getValue().get(0);
+                    ps.setObject(entry.getKey(), value instanceof Null ? null : value);
+                }
+            }
+            rs = ps.executeQuery();
+            return TableRecords.buildRecords(tableMeta, rs);
+        } finally {
+            IOUtil.close(rs, ps);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec.postgresql;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.apache.seata.rm.datasource.StatementProxy;
+import org.apache.seata.rm.datasource.exec.StatementCallback;
+import org.apache.seata.rm.datasource.exec.UpdateExecutor;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.SQLUpdateRecognizer;
+import org.apache.seata.sqlparser.struct.TableMeta;
+
+/**
+ * The type Postgresql update executor.
+ * <p>
+ * If client.undo.returningImage is enabled, the executeUpdate is run with a RETURNING clause of the columns of the
+ * after image, so the after image is taken by the update itself instead of another select by the primary keys.
+ * </p>
+ *
+ * @param <T> the type parameter
+ * @param <S> the type parameter
+ */
+public class PostgresqlUpdateExecutor<T, S extends Statement> extends UpdateExecutor<T, S> {
+
+    /**
+     * the after image returned by the update, null if the update is not run with a RETURNING clause
+     */
+    private TableRecords returnedImage;
+
+    /**
+     * Instantiates a new Postgresql update executor.
+     *
+     * @param statementProxy    the statement proxy
+     * @param statementCallback the statement callback
+     * @param sqlRecognizer     the sql recognizer
+     */
+    public PostgresqlUpdateExecutor(StatementProxy<S> statementProxy, StatementCallback<T, S> statementCallback,
+        SQLRecognizer sqlRecognizer) {
+        super(statementProxy, statementCallback, sqlRecognizer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T executeStatement(Object[] args) throws SQLException {
+        returnedImage = null;
+        if (!isReturningImageEnabled() || !PostgresqlReturningUtils.canReturn(statementProxy, statementCallback)) {
+            return super.executeStatement(args);
+        }
+        TableMeta tmeta = getTableMeta();
+        SQLUpdateRecognizer recognizer = (SQLUpdateRecognizer) sqlRecognizer;
+        List<String> needUpdateColumns = getNeedColumns(tmeta.getTableName(), sqlRecognizer.getTableAlias(),
+            recognizer.getUpdateColumnsUnEscape());
+        String returningSQL = PostgresqlReturningUtils.buildReturningSQL(statementProxy.getTargetSQL(),
+            needUpdateColumns);
+        returnedImage = executeReturning(tmeta, returningSQL);
+        // the callback of the executeUpdate returns the update count
+        return (T) Integer.valueOf(returnedImage.size());
+    }
+
+    @Override
+    protected TableRecords afterImage(TableRecords beforeImage) throws SQLException {
+        TableRecords afterImage = returnedImage;
+        if (afterImage != null) {
+            returnedImage = null;
+            return afterImage;
+        }
+        return super.afterImage(beforeImage);
+    }
+
+    /**
+     * Run the update with the RETURNING clause instead of the statement.
+     *
+     * @param tableMeta    the table meta
+     * @param returningSQL the update with the RETURNING clause
+     * @return the after image
+     * @throws SQLException the sql exception
+     */
+    protected TableRecords executeReturning(TableMeta tableMeta, String returningSQL) throws SQLException {
+        return PostgresqlReturningUtils.executeReturning(statementProxy, tableMeta, returningSQL);
+    }
+
+    /**
+     * Whether the after image is taken by the RETURNING clause.
+     *
+     * @return the boolean
+     */
+    protected boolean isReturningImageEnabled() {
+        return PostgresqlReturningUtils.isReturningImageEnabled();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.seata.sqlparser.SQLRecognizer;
+
+/**
+ * The bounded cache of the sql recognizers, keyed by the db type and the sql text.
+ * <p>
+ * The recognizers only read their parsed statement, the parameters are passed in on every call, so the recognizers of
+ * a prepared statement are shared by all its executions. The sql with literals and without any placeholder is taken
+ * as ad-hoc sql, which is parsed every time and skips the cache, so it can not evict the prepared statements.
+ * </p>
+ */
+public class SQLRecognizerCache {
+
+    /**
+     * the sql longer than it is parsed every time
+     */
+    static final int MAX_CACHEABLE_SQL_LENGTH = 8192;
+
+    /**
+     * the sql with more literals than it is parsed every time, even if bound by the parameters
+     */
+    static final int MAX_CACHEABLE_LITERALS = 16;
+
+    /**
+     * the cached result of the sql without any recognizer, a cache can not hold the null
+     */
+    private static final List<SQLRecognizer> NONE = Collections.emptyList();
+
+    private final Cache<Key, List<SQLRecognizer>> cache;
+
+    private final LongAdder skipCount = new LongAdder();
+
+    /**
+     * Instantiates a new sql recognizer cache.
+     *
+     * @param maximumSize the max count of the cached sql
+     */
+    public SQLRecognizerCache(int maximumSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).executor(Runnable::run).recordStats().build();
+    }
+
+    /**
+     * Get the recognizers of the sql from the cache, or parse and cache them.
+     *
+     * @param sql    the sql
+     * @param dbType the db type
+     * @param parser the parser of the sql on a miss
+     * @return the unmodifiable recognizers, or null if the sql has no recognizer
+     */
+    public List<SQLRecognizer> get(String sql, String dbType, BiFunction<String, String, List<SQLRecognizer>> parser) {
+        if (!isCacheable(sql)) {
+            skipCount.increment();
+            return parser.apply(sql, dbType);
+        }
+        List<SQLRecognizer> recognizers = cache.get(new Key(dbType, sql), key -> {
+            List<SQLRecognizer> parsed = parser.apply(sql, dbType);
+            return parsed == null || parsed.isEmpty() ? NONE : Collections.unmodifiableList(parsed);
+        });
+        return recognizers == NONE ? null : recognizers;
+    }
+
+    /**
+     * Whether the recognizers of the sql are cached: the sql without literals, or bound by the parameters and with a
+     * few literals only.
+     *
+     * @param sql the sql
+     * @return the boolean
+     */
+    static boolean isCacheable(String sql) {
+        if (sql == null || sql.length() > MAX_CACHEABLE_SQL_LENGTH) {
+            return false;
+        }
+        int literals = 0;
+        int placeholders = 0;
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                literals++;
+                i = skipQuoted(sql, i, '\'');
+            } else if (c == '"' || c == '`') {
+                // quoted identifiers
+                i = skipQuoted(sql, i, c);
+            } else if (c == '?') {
+                placeholders++;
+                i++;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (Character.isDigit(c)) {
+                literals++;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                // identifiers and keywords, including their digits
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+                    || sql.charAt(i) == '$')) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        return literals == 0 || placeholders > 0 && literals <= MAX_CACHEABLE_LITERALS;
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < length && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * The count of the lookups answered by the cache.
+     *
+     * @return the count
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * The count of the lookups which parsed the sql and cached the recognizers.
+     *
+     * @return the count
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * The count of the sql evicted by the size bound.
+     *
+     * @return the count
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * The count of the lookups of the ad-hoc sql, which skipped the cache.
+     *
+     * @return the count
+     */
+    public long getSkipCount() {
+        return skipCount.sum();
+    }
+
+    /**
+     * The approximate count of the cached sql.
+     *
+     * @return the count
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Discard all the cached recognizers.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static final class Key {
+
+        private final String dbType;
+
+        private final String sql;
+
+        private final int hash;
+
+        Key(String dbType, String sql) {
+            this.dbType = dbType;
+            this.sql = sql;
+            this.hash = 31 * Objects.hashCode(dbType) + sql.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key)o;
+            return hash == that.hash && sql.equals(that.sql) && Objects.equals(dbType, that.dbType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.seata.rm.datasource.sql;
 
+import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
@@ -32,20 +33,40 @@ public class SQLVisitorFactory {
      */
     private final static SQLRecognizerFactory SQL_RECOGNIZER_FACTORY;
 
+    /**
+     * The cache of the recognizers, null if disabled.
+     */
+    private final static SQLRecognizerCache SQL_RECOGNIZER_CACHE;
+
     static {
         String sqlParserType = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.SQL_PARSER_TYPE, SqlParserType.SQL_PARSER_TYPE_DRUID);
         SQL_RECOGNIZER_FACTORY = EnhancedServiceLoader.load(SQLRecognizerFactory.class, sqlParserType);
+        int cacheSize = ConfigurationFactory.getInstance().getInt(ConfigurationKeys.SQL_RECOGNIZER_CACHE_SIZE,
+            DefaultValues.DEFAULT_SQL_RECOGNIZER_CACHE_SIZE);
+        SQL_RECOGNIZER_CACHE = cacheSize > 0 ? new SQLRecognizerCache(cacheSize) : null;
     }
 
     /**
-     * Get sql recognizer.
+     * Get sql recognizer, the recognizers of the prepared statements are cached and shared.
      *
      * @param sql    the sql
      * @param dbType the db type
      * @return the sql recognizer
      */
     public static List<SQLRecognizer> get(String sql, String dbType) {
-        return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        if (SQL_RECOGNIZER_CACHE == null) {
+            return SQL_RECOGNIZER_FACTORY.create(sql, dbType);
+        }
+        return SQL_RECOGNIZER_CACHE.get(sql, dbType, SQL_RECOGNIZER_FACTORY::create);
+    }
+
+    /**
+     * Get the cache of the recognizers, for its hit, miss and eviction metrics.
+     *
+     * @return the cache, or null if disabled
+     */
+    public static SQLRecognizerCache getRecognizerCache() {
+        return SQL_RECOGNIZER_CACHE;
     }
 
 
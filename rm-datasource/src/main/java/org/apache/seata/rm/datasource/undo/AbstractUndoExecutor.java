@@ -71,6 +71,11 @@ public abstract class AbstractUndoExecutor {
      */
     private static final String CHECK_SQL_TEMPLATE = "SELECT * FROM %s WHERE %s FOR UPDATE";
 
+    /**
+     * the max rows undone by one jdbc batch
+     */
+    public static final int UNDO_BATCH_SIZE = 1000;
+
     /**
      * Switch of undo data validation
      */
@@ -123,6 +128,9 @@ public abstract class AbstractUndoExecutor {
             String undoSQL = buildUndoSQL();
             undoPST = conn.prepareStatement(undoSQL);
             TableRecords undoRows = getUndoRows();
+            // the rows are undone by the same statement, several rows are sent as jdbc batches
+            boolean batch = undoRows.size() > 1;
+            int batchedRows = 0;
             for (Row undoRow : undoRows.getRows()) {
                 ArrayList<Field> undoValues = new ArrayList<>();
                 List<Field> pkValueList = getOrderedPkList(undoRows, undoRow, connectionProxy.getDbType());
@@ -134,7 +142,18 @@ public abstract class AbstractUndoExecutor {
 
                 undoPrepare(undoPST, undoValues, pkValueList);
 
-                undoPST.executeUpdate();
+                if (!batch) {
+                    undoPST.executeUpdate();
+                } else {
+                    undoPST.addBatch();
+                    if (++batchedRows == UNDO_BATCH_SIZE) {
+                        undoPST.executeBatch();
+                        batchedRows = 0;
+                    }
+                }
+            }
+            if (batchedRows > 0) {
+                undoPST.executeBatch();
             }
 
         } catch (Exception ex) {
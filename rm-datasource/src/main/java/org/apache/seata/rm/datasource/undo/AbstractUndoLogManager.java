@@ -359,9 +359,10 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
                             TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(dataSourceProxy.getDbType()).getTableMeta(
                                     conn, sqlUndoLog.getTableName(), dataSourceProxy.getResourceId());
                             sqlUndoLog.setTableMeta(tableMeta);
-                            AbstractUndoExecutor undoExecutor = UndoExecutorFactory.getUndoExecutor(
-                                    dataSourceProxy.getDbType(), sqlUndoLog);
-                            undoExecutor.executeOn(connectionProxy);
+                        }
+                        for (List<SQLUndoLog> group : SQLUndoLogMerger.group(sqlUndoLogs,
+                                AbstractUndoExecutor.UNDO_BATCH_SIZE)) {
+                            executeUndo(dataSourceProxy.getDbType(), connectionProxy, group);
                         }
                     } finally {
                         // remove serializer name
@@ -439,6 +440,34 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         }
     }
 
+    /**
+     * Undo a group of the adjacent sql undo logs merged into one, see {@link SQLUndoLogMerger}. The merged log is
+     * checked as a whole, so if it has any dirty rows, the logs of the group are undone one by one, to skip the rows
+     * which are already the same as their before image just like they are not merged.
+     *
+     * @param dbType          the db type
+     * @param connectionProxy the connection proxy
+     * @param group           the group of sql undo logs
+     * @throws SQLException the sql exception
+     */
+    protected void executeUndo(String dbType, ConnectionProxy connectionProxy, List<SQLUndoLog> group)
+        throws SQLException {
+        if (group.size() > 1) {
+            try {
+                UndoExecutorFactory.getUndoExecutor(dbType, SQLUndoLogMerger.merge(group)).executeOn(connectionProxy);
+                return;
+            } catch (SQLUndoDirtyException e) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("merged undo of {} sql undo logs on table {} has dirty records, undo them one by one",
+                        group.size(), group.get(0).getTableName());
+                }
+            }
+        }
+        for (SQLUndoLog sqlUndoLog : group) {
+            UndoExecutorFactory.getUndoExecutor(dbType, sqlUndoLog).executeOn(connectionProxy);
+        }
+    }
+
     /**
      * Construct a lock query sql
      *
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+
+/**
+ * Merges the adjacent sql undo logs of a branch which are undone by the same statement, so they are checked by one
+ * keyed query and undone by one jdbc batch instead of one statement each.
+ * <p>
+ * The sql undo logs are merged only if they have the same table, sql type and columns, and touch different rows, so
+ * undoing the merged log in one go is the same as undoing them one by one.
+ * </p>
+ */
+final class SQLUndoLogMerger {
+
+    private SQLUndoLogMerger() {
+    }
+
+    /**
+     * Split the sql undo logs, in the order to undo them, into the groups of the adjacent mergeable logs.
+     *
+     * @param sqlUndoLogs the sql undo logs, with their table meta
+     * @param maxRows     the max rows of a group
+     * @return the groups
+     */
+    static List<List<SQLUndoLog>> group(List<SQLUndoLog> sqlUndoLogs, int maxRows) {
+        List<List<SQLUndoLog>> groups = new ArrayList<>();
+        List<SQLUndoLog> group = null;
+        Set<List<Object>> groupKeys = new HashSet<>();
+        int groupRows = 0;
+        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+            Set<List<Object>> keys = primaryKeysOf(sqlUndoLog);
+            if (group != null && keys != null && groupRows + keys.size() <= maxRows
+                && canMerge(group.get(0), sqlUndoLog) && Collections.disjoint(groupKeys, keys)) {
+                group.add(sqlUndoLog);
+            } else {
+                group = new ArrayList<>();
+                groups.add(group);
+                group.add(sqlUndoLog);
+                groupKeys.clear();
+                groupRows = 0;
+                if (keys == null) {
+                    // never merged with the next one
+                    group = null;
+                    continue;
+                }
+            }
+            groupKeys.addAll(keys);
+            groupRows += keys.size();
+        }
+        return groups;
+    }
+
+    /**
+     * Merge a group of sql undo logs into one.
+     *
+     * @param group the group
+     * @return the merged sql undo log
+     */
+    static SQLUndoLog merge(List<SQLUndoLog> group) {
+        if (group.size() == 1) {
+            return group.get(0);
+        }
+        SQLUndoLog first = group.get(0);
+        SQLUndoLog merged = new SQLUndoLog();
+        merged.setSqlType(first.getSqlType());
+        merged.setTableName(first.getTableName());
+        merged.setBeforeImage(mergeImages(group, true));
+        merged.setAfterImage(mergeImages(group, false));
+        return merged;
+    }
+
+    private static TableRecords mergeImages(List<SQLUndoLog> group, boolean before) {
+        TableRecords first = imageOf(group.get(0), before);
+        if (first instanceof TableRecords.EmptyTableRecords) {
+            // the table meta of an empty image can not be read
+            TableRecords merged = new TableRecords.EmptyTableRecords();
+            merged.setTableName(first.getTableName());
+            return merged;
+        }
+        TableRecords merged = new TableRecords(first.getTableMeta());
+        merged.setTableName(first.getTableName());
+        for (SQLUndoLog sqlUndoLog : group) {
+            merged.getRows().addAll(imageOf(sqlUndoLog, before).getRows());
+        }
+        return merged;
+    }
+
+    private static TableRecords imageOf(SQLUndoLog sqlUndoLog, boolean before) {
+        return before ? sqlUndoLog.getBeforeImage() : sqlUndoLog.getAfterImage();
+    }
+
+    private static boolean canMerge(SQLUndoLog first, SQLUndoLog other) {
+        return first.getSqlType() == other.getSqlType()
+            && Objects.equals(first.getTableName(), other.getTableName())
+            && sameShape(first.getBeforeImage(), other.getBeforeImage())
+            && sameShape(first.getAfterImage(), other.getAfterImage());
+    }
+
+    private static boolean sameShape(TableRecords first, TableRecords other) {
+        boolean firstEmpty = first instanceof TableRecords.EmptyTableRecords;
+        if (firstEmpty || other instanceof TableRecords.EmptyTableRecords) {
+            return firstEmpty == other instanceof TableRecords.EmptyTableRecords;
+        }
+        if (first.getTableMeta() != other.getTableMeta() || first.getRows().isEmpty() || other.getRows().isEmpty()) {
+            return false;
+        }
+        return sameColumns(first.getRows().get(0), other.getRows().get(0));
+    }
+
+    private static boolean sameColumns(Row first, Row other) {
+        List<Field> firstFields = first.getFields();
+        List<Field> otherFields = other.getFields();
+        if (firstFields.size() != otherFields.size()) {
+            return false;
+        }
+        for (int i = 0; i < firstFields.size(); i++) {
+            Field firstField = firstFields.get(i);
+            Field otherField = otherFields.get(i);
+            if (!Objects.equals(firstField.getName(), otherField.getName())
+                || firstField.getKeyType() != otherField.getKeyType()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The primary key values of the rows touched by the sql undo log.
+     *
+     * @return the primary key values, or null if the sql undo log can not be merged
+     */
+    private static Set<List<Object>> primaryKeysOf(SQLUndoLog sqlUndoLog) {
+        TableRecords beforeImage = sqlUndoLog.getBeforeImage();
+        TableRecords afterImage = sqlUndoLog.getAfterImage();
+        if (beforeImage == null || afterImage == null) {
+            return null;
+        }
+        Set<List<Object>> keys = new HashSet<>();
+        if (!addPrimaryKeys(beforeImage, keys) || !addPrimaryKeys(afterImage, keys)) {
+            return null;
+        }
+        return keys;
+    }
+
+    private static boolean addPrimaryKeys(TableRecords image, Set<List<Object>> keys) {
+        if (image instanceof TableRecords.EmptyTableRecords) {
+            return true;
+        }
+        if (image.getRows() == null || image.getRows().isEmpty()) {
+            return false;
+        }
+        for (Row row : image.getRows()) {
+            List<Field> primaryKeys = row.primaryKeys();
+            if (primaryKeys.isEmpty()) {
+                return false;
+            }
+            List<Object> key = new ArrayList<>(primaryKeys.size());
+            for (Field field : primaryKeys) {
+                if (field.getValue() == null || field.getValue().getClass().isArray()) {
+                    // the arrays are not equal by their content
+                    return false;
+                }
+                key.add(field.getValue());
+            }
+            keys.add(key);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,626 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.rm.datasource.undo.UndoLogParserFactory;
+import org.apache.seata.sqlparser.SQLType;
+
+/**
+ * The undo log parser of a compact columnar binary layout.
+ * <p>
+ * The columns of an image, their names, key types and jdbc types, are written once instead of on every field of every
+ * row, and once only for the before and after image of a sql undo log if they are the same. The values are written
+ * column by column: a null bitmap, then the non-null values in the encoding of the type of the column, the integers as
+ * zigzag varints and the repeated strings in a dictionary. The values of the types not known here are kept by the
+ * {@link JacksonUndoLogParser}, so any value the other parsers keep is kept too.
+ * </p>
+ */
+@LoadLevel(name = ColumnarUndoLogParser.NAME)
+public class ColumnarUndoLogParser implements UndoLogParser {
+
+    public static final String NAME = "columnar";
+
+    private static final int VERSION = 1;
+
+    private static final int IMAGE_NULL = 0;
+    private static final int IMAGE_EMPTY = 1;
+    private static final int IMAGE_COLUMNS = 2;
+    /**
+     * the image has the same columns as the before image of the sql undo log
+     */
+    private static final int IMAGE_SHARED_COLUMNS = 3;
+    /**
+     * the rows of the image do not have the same columns, each field is written as a whole
+     */
+    private static final int IMAGE_ROWS = 4;
+
+    private static final int ENCODING_PLAIN = 1;
+    private static final int ENCODING_DICTIONARY = 2;
+    private static final int ENCODING_MIXED = 3;
+    private static final int ENCODING_NULL_BITMAP = 0x80;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_INT = 1;
+    private static final int TAG_LONG = 2;
+    private static final int TAG_SHORT = 3;
+    private static final int TAG_BYTE = 4;
+    private static final int TAG_BOOLEAN = 5;
+    private static final int TAG_FLOAT = 6;
+    private static final int TAG_DOUBLE = 7;
+    private static final int TAG_BIG_DECIMAL = 8;
+    private static final int TAG_BIG_INTEGER = 9;
+    private static final int TAG_STRING = 10;
+    private static final int TAG_BYTES = 11;
+    private static final int TAG_TIMESTAMP = 12;
+    private static final int TAG_SQL_DATE = 13;
+    private static final int TAG_SQL_TIME = 14;
+    private static final int TAG_DATE = 15;
+    private static final int TAG_LOCAL_DATE_TIME = 16;
+    private static final int TAG_LOCAL_DATE = 17;
+    private static final int TAG_LOCAL_TIME = 18;
+    private static final int TAG_BLOB = 19;
+    private static final int TAG_CLOB = 20;
+    private static final int TAG_OTHER = 0x7F;
+
+    /**
+     * the strings of a column are kept in a dictionary if there are at least so many of them
+     */
+    private static final int DICTIONARY_MIN_VALUES = 4;
+
+    private static final Map<Class<?>, Integer> TAGS = new HashMap<>();
+
+    static {
+        TAGS.put(Integer.class, TAG_INT);
+        TAGS.put(Long.class, TAG_LONG);
+        TAGS.put(Short.class, TAG_SHORT);
+        TAGS.put(Byte.class, TAG_BYTE);
+        TAGS.put(Boolean.class, TAG_BOOLEAN);
+        TAGS.put(Float.class, TAG_FLOAT);
+        TAGS.put(Double.class, TAG_DOUBLE);
+        TAGS.put(BigDecimal.class, TAG_BIG_DECIMAL);
+        TAGS.put(BigInteger.class, TAG_BIG_INTEGER);
+        TAGS.put(String.class, TAG_STRING);
+        TAGS.put(byte[].class, TAG_BYTES);
+        TAGS.put(Timestamp.class, TAG_TIMESTAMP);
+        TAGS.put(java.sql.Date.class, TAG_SQL_DATE);
+        TAGS.put(Time.class, TAG_SQL_TIME);
+        TAGS.put(Date.class, TAG_DATE);
+        TAGS.put(LocalDateTime.class, TAG_LOCAL_DATE_TIME);
+        TAGS.put(LocalDate.class, TAG_LOCAL_DATE);
+        TAGS.put(LocalTime.class, TAG_LOCAL_TIME);
+        TAGS.put(SerialBlob.class, TAG_BLOB);
+        TAGS.put(SerialClob.class, TAG_CLOB);
+    }
+
+    private volatile JacksonUndoLogParser jacksonParser;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] getDefaultContent() {
+        return encode(new BranchUndoLog());
+    }
+
+    @Override
+    public byte[] encode(BranchUndoLog branchUndoLog) {
+        ColumnarOutput out = new ColumnarOutput(512);
+        out.writeByte(VERSION);
+        out.writeString(branchUndoLog.getXid());
+        out.writeZigZagLong(branchUndoLog.getBranchId());
+        List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
+        if (sqlUndoLogs == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(sqlUndoLogs.size() + 1);
+            for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+                SQLType sqlType = sqlUndoLog.getSqlType();
+                out.writeVarInt(sqlType == null ? 0 : sqlType.value() + 1);
+                out.writeString(sqlUndoLog.getTableName());
+                List<Field> columns = writeImage(out, sqlUndoLog.getBeforeImage(), null);
+                writeImage(out, sqlUndoLog.getAfterImage(), columns);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public BranchUndoLog decode(byte[] bytes) {
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        if (bytes.length == 0) {
+            return branchUndoLog;
+        }
+        ColumnarInput in = new ColumnarInput(bytes);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported columnar undo log version: " + version);
+        }
+        branchUndoLog.setXid(in.readString());
+        branchUndoLog.setBranchId(in.readZigZagLong());
+        int size = in.readVarInt() - 1;
+        if (size >= 0) {
+            List<SQLUndoLog> sqlUndoLogs = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                SQLUndoLog sqlUndoLog = new SQLUndoLog();
+                int sqlType = in.readVarInt();
+                sqlUndoLog.setSqlType(sqlType == 0 ? null : SQLType.valueOf(sqlType - 1));
+                sqlUndoLog.setTableName(in.readString());
+                List<Field> columns = new ArrayList<>();
+                sqlUndoLog.setBeforeImage(readImage(in, columns));
+                sqlUndoLog.setAfterImage(readImage(in, columns));
+                sqlUndoLogs.add(sqlUndoLog);
+            }
+            branchUndoLog.setSqlUndoLogs(sqlUndoLogs);
+        }
+        return branchUndoLog;
+    }
+
+    /**
+     * Write an image.
+     *
+     * @param out           the output
+     * @param image         the image
+     * @param sharedColumns the columns of the before image, or null
+     * @return the columns of the image, or null if the rows do not have the same columns
+     */
+    private List<Field> writeImage(ColumnarOutput out, TableRecords image, List<Field> sharedColumns) {
+        if (image == null) {
+            out.writeByte(IMAGE_NULL);
+            return null;
+        }
+        if (image instanceof TableRecords.EmptyTableRecords) {
+            out.writeByte(IMAGE_EMPTY);
+            out.writeString(image.getTableName());
+            return null;
+        }
+        List<Row> rows = image.getRows() == null ? new ArrayList<>() : image.getRows();
+        List<Field> columns = columnsOf(rows);
+        if (columns == null) {
+            out.writeByte(IMAGE_ROWS);
+            out.writeString(image.getTableName());
+            out.writeVarInt(rows.size());
+            for (Row row : rows) {
+                List<Field> fields = row.getFields() == null ? new ArrayList<>() : row.getFields();
+                out.writeVarInt(fields.size());
+                for (Field field : fields) {
+                    writeColumnMeta(out, field);
+                    writeTaggedValue(out, field.getValue());
+                }
+            }
+            return null;
+        }
+        if (sameColumns(columns, sharedColumns)) {
+            out.writeByte(IMAGE_SHARED_COLUMNS);
+        } else {
+            out.writeByte(IMAGE_COLUMNS);
+            out.writeVarInt(columns.size());
+            columns.forEach(column -> writeColumnMeta(out, column));
+        }
+        out.writeString(image.getTableName());
+        out.writeVarInt(rows.size());
+        for (int column = 0; column < columns.size(); column++) {
+            writeColumn(out, rows, column);
+        }
+        return columns;
+    }
+
+    private TableRecords readImage(ColumnarInput in, List<Field> sharedColumns) {
+        int kind = in.readByte();
+        switch (kind) {
+            case IMAGE_NULL:
+                return null;
+            case IMAGE_EMPTY: {
+                TableRecords image = new TableRecords.EmptyTableRecords();
+                image.setTableName(in.readString());
+                return image;
+            }
+            case IMAGE_ROWS: {
+                TableRecords image = new TableRecords();
+                image.setTableName(in.readString());
+                int rowSize = in.readVarInt();
+                List<Row> rows = new ArrayList<>(rowSize);
+                for (int r = 0; r < rowSize; r++) {
+                    int fieldSize = in.readVarInt();
+                    List<Field> fields = new ArrayList<>(fieldSize);
+                    for (int f = 0; f < fieldSize; f++) {
+                        Field field = readColumnMeta(in);
+                        field.setValue(readTaggedValue(in));
+                        fields.add(field);
+                    }
+                    Row row = new Row();
+                    row.setFields(fields);
+                    rows.add(row);
+                }
+                image.setRows(rows);
+                return image;
+            }
+            case IMAGE_COLUMNS:
+                sharedColumns.clear();
+                int columnSize = in.readVarInt();
+                for (int c = 0; c < columnSize; c++) {
+                    sharedColumns.add(readColumnMeta(in));
+                }
+                return readColumns(in, sharedColumns);
+            case IMAGE_SHARED_COLUMNS:
+                return readColumns(in, sharedColumns);
+            default:
+                throw new IllegalArgumentException("unknown image kind of columnar undo log: " + kind);
+        }
+    }
+
+    private TableRecords readColumns(ColumnarInput in, List<Field> columns) {
+        TableRecords image = new TableRecords();
+        image.setTableName(in.readString());
+        int rowSize = in.readVarInt();
+        List<Row> rows = new ArrayList<>(rowSize);
+        for (int r = 0; r < rowSize; r++) {
+            Row row = new Row();
+            row.setFields(new ArrayList<>(columns.size()));
+            rows.add(row);
+        }
+        for (Field column : columns) {
+            readColumn(in, column, rows);
+        }
+        image.setRows(rows);
+        return image;
+    }
+
+    /**
+     * The columns shared by all the rows, the fields of the first row.
+     *
+     * @param rows the rows
+     * @return the columns, or null if the rows do not have the same columns
+     */
+    private static List<Field> columnsOf(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Field> columns = rows.get(0).getFields();
+        if (columns == null) {
+            return null;
+        }
+        for (int r = 1; r < rows.size(); r++) {
+            if (!sameColumns(rows.get(r).getFields(), columns)) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    private static boolean sameColumns(List<Field> fields, List<Field> columns) {
+        if (fields == null || columns == null || fields.size() != columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Field column = columns.get(i);
+            if (field.getType() != column.getType() || field.getKeyType() != column.getKeyType()
+                || !Objects.equals(field.getName(), column.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeColumnMeta(ColumnarOutput out, Field column) {
+        out.writeString(column.getName());
+        out.writeVarInt(column.getKeyType() == null ? 0 : column.getKeyType().ordinal() + 1);
+        out.writeZigZagLong(column.getType());
+    }
+
+    private static Field readColumnMeta(ColumnarInput in) {
+        Field column = new Field();
+        column.setName(in.readString());
+        int keyType = in.readVarInt();
+        column.setKeyType(keyType == 0 ? null : KeyType.values()[keyType - 1]);
+        column.setType((int) in.readZigZagLong());
+        return column;
+    }
+
+    private void writeColumn(ColumnarOutput out, List<Row> rows, int column) {
+        int rowSize = rows.size();
+        byte[] nullBitmap = null;
+        int valueSize = 0;
+        Class<?> valueClass = null;
+        boolean mixed = false;
+        for (int r = 0; r < rowSize; r++) {
+            Object value = rows.get(r).getFields().get(column).getValue();
+            if (value == null) {
+                if (nullBitmap == null) {
+                    nullBitmap = new byte[(rowSize + 7) >>> 3];
+                }
+                nullBitmap[r >>> 3] |= (byte) (1 << (r & 7));
+                continue;
+            }
+            valueSize++;
+            if (valueClass == null) {
+                valueClass = value.getClass();
+            } else if (valueClass != value.getClass()) {
+                mixed = true;
+            }
+        }
+        int tag = valueClass == null ? TAG_NULL : TAGS.getOrDefault(valueClass, TAG_OTHER);
+        Map<String, Integer> dictionary = tag == TAG_STRING && !mixed ? buildDictionary(rows, column, valueSize) : null;
+        int encoding = mixed || tag == TAG_OTHER ? ENCODING_MIXED
+            : dictionary != null ? ENCODING_DICTIONARY : ENCODING_PLAIN;
+        out.writeByte(encoding | (nullBitmap != null ? ENCODING_NULL_BITMAP : 0));
+        if (nullBitmap != null) {
+            out.writeBytes(nullBitmap, 0, nullBitmap.length);
+        }
+        if (encoding == ENCODING_PLAIN) {
+            out.writeByte(tag);
+        } else if (encoding == ENCODING_DICTIONARY) {
+            out.writeVarInt(dictionary.size());
+            dictionary.keySet().forEach(out::writeString);
+        }
+        for (int r = 0; r < rowSize; r++) {
+            Object value = rows.get(r).getFields().get(column).getValue();
+            if (value == null) {
+                continue;
+            }
+            if (encoding == ENCODING_PLAIN) {
+                writeValue(out, tag, value);
+            } else if (encoding == ENCODING_DICTIONARY) {
+                out.writeVarInt(dictionary.get(value));
+            } else {
+                writeTaggedValue(out, value);
+            }
+        }
+    }
+
+    private void readColumn(ColumnarInput in, Field column, List<Row> rows) {
+        int rowSize = rows.size();
+        int encoding = in.readByte() & 0xFF;
+        byte[] nullBitmap = (encoding & ENCODING_NULL_BITMAP) != 0 ? in.readBytes((rowSize + 7) >>> 3) : null;
+        encoding &= ~ENCODING_NULL_BITMAP;
+        int tag = TAG_NULL;
+        String[] dictionary = null;
+        if (encoding == ENCODING_PLAIN) {
+            tag = in.readByte();
+        } else if (encoding == ENCODING_DICTIONARY) {
+            dictionary = new String[in.readVarInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readString();
+            }
+        } else if (encoding != ENCODING_MIXED) {
+            throw new IllegalArgumentException("unknown column encoding of columnar undo log: " + encoding);
+        }
+        for (int r = 0; r < rowSize; r++) {
+            Object value = null;
+            if (nullBitmap == null || (nullBitmap[r >>> 3] & (1 << (r & 7))) == 0) {
+                if (encoding == ENCODING_PLAIN) {
+                    value = readValue(in, tag);
+                } else if (encoding == ENCODING_DICTIONARY) {
+                    value = dictionary[in.readVarInt()];
+                } else {
+                    value = readTaggedValue(in);
+                }
+            }
+            Field field = new Field(column.getName(), column.getType(), value);
+            field.setKeyType(column.getKeyType());
+            rows.get(r).getFields().add(field);
+        }
+    }
+
+    /**
+     * Build the dictionary of the strings of a column, if they repeat enough.
+     *
+     * @return the index of each distinct string, or null if the strings are mostly distinct
+     */
+    private static Map<String, Integer> buildDictionary(List<Row> rows, int column, int valueSize) {
+        if (valueSize < DICTIONARY_MIN_VALUES) {
+            return null;
+        }
+        int maxSize = valueSize >>> 1;
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Row row : rows) {
+            String value = (String) row.getFields().get(column).getValue();
+            if (value != null && dictionary.putIfAbsent(value, dictionary.size()) == null
+                && dictionary.size() > maxSize) {
+                return null;
+            }
+        }
+        return dictionary;
+    }
+
+    private void writeTaggedValue(ColumnarOutput out, Object value) {
+        int tag = value == null ? TAG_NULL : TAGS.getOrDefault(value.getClass(), TAG_OTHER);
+        out.writeByte(tag);
+        if (tag != TAG_NULL) {
+            writeValue(out, tag, value);
+        }
+    }
+
+    private Object readTaggedValue(ColumnarInput in) {
+        int tag = in.readByte();
+        return tag == TAG_NULL ? null : readValue(in, tag);
+    }
+
+    private void writeValue(ColumnarOutput out, int tag, Object value) {
+        switch (tag) {
+            case TAG_INT:
+            case TAG_LONG:
+            case TAG_SHORT:
+            case TAG_BYTE:
+                out.writeZigZagLong(((Number) value).longValue());
+                break;
+            case TAG_BOOLEAN:
+                out.writeByte((Boolean) value ? 1 : 0);
+                break;
+            case TAG_FLOAT:
+                out.writeFixedInt(Float.floatToIntBits((Float) value));
+                break;
+            case TAG_DOUBLE:
+                out.writeFixedLong(Double.doubleToLongBits((Double) value));
+                break;
+            case TAG_BIG_DECIMAL:
+                out.writeZigZagLong(((BigDecimal) value).scale());
+                out.writeLengthBytes(((BigDecimal) value).unscaledValue().toByteArray());
+                break;
+            case TAG_BIG_INTEGER:
+                out.writeLengthBytes(((BigInteger) value).toByteArray());
+                break;
+            case TAG_STRING:
+                out.writeString((String) value);
+                break;
+            case TAG_BYTES:
+                out.writeLengthBytes((byte[]) value);
+                break;
+            case TAG_TIMESTAMP:
+                out.writeZigZagLong(((Timestamp) value).getTime());
+                out.writeVarInt(((Timestamp) value).getNanos());
+                break;
+            case TAG_SQL_DATE:
+            case TAG_SQL_TIME:
+            case TAG_DATE:
+                out.writeZigZagLong(((Date) value).getTime());
+                break;
+            case TAG_LOCAL_DATE_TIME:
+                out.writeZigZagLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+                out.writeVarLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+                break;
+            case TAG_LOCAL_DATE:
+                out.writeZigZagLong(((LocalDate) value).toEpochDay());
+                break;
+            case TAG_LOCAL_TIME:
+                out.writeVarLong(((LocalTime) value).toNanoOfDay());
+                break;
+            case TAG_BLOB:
+                try {
+                    SerialBlob blob = (SerialBlob) value;
+                    out.writeLengthBytes(blob.length() == 0 ? new byte[0] : blob.getBytes(1, (int) blob.length()));
+                } catch (SQLException e) {
+                    throw new RuntimeException("columnar encode blob exception", e);
+                }
+                break;
+            case TAG_CLOB:
+                try {
+                    SerialClob clob = (SerialClob) value;
+                    out.writeString(clob.length() == 0 ? "" : clob.getSubString(1, (int) clob.length()));
+                } catch (SQLException e) {
+                    throw new RuntimeException("columnar encode clob exception", e);
+                }
+                break;
+            default:
+                out.writeLengthBytes(getJacksonParser().encodeField(new Field(null, 0, value)));
+                break;
+        }
+    }
+
+    private Object readValue(ColumnarInput in, int tag) {
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INT:
+                return (int) in.readZigZagLong();
+            case TAG_LONG:
+                return in.readZigZagLong();
+            case TAG_SHORT:
+                return (short) in.readZigZagLong();
+            case TAG_BYTE:
+                return (byte) in.readZigZagLong();
+            case TAG_BOOLEAN:
+                return in.readByte() != 0;
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(in.readFixedInt());
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case TAG_BIG_DECIMAL: {
+                int scale = (int) in.readZigZagLong();
+                return new BigDecimal(new BigInteger(in.readLengthBytes()), scale);
+            }
+            case TAG_BIG_INTEGER:
+                return new BigInteger(in.readLengthBytes());
+            case TAG_STRING:
+                return in.readString();
+            case TAG_BYTES:
+                return in.readLengthBytes();
+            case TAG_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readZigZagLong());
+                timestamp.setNanos(in.readVarInt());
+                return timestamp;
+            }
+            case TAG_SQL_DATE:
+                return new java.sql.Date(in.readZigZagLong());
+            case TAG_SQL_TIME:
+                return new Time(in.readZigZagLong());
+            case TAG_DATE:
+                return new Date(in.readZigZagLong());
+            case TAG_LOCAL_DATE_TIME: {
+                LocalDate date = LocalDate.ofEpochDay(in.readZigZagLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+            }
+            case TAG_LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readZigZagLong());
+            case TAG_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            case TAG_BLOB:
+                try {
+                    return new SerialBlob(in.readLengthBytes());
+                } catch (SQLException e) {
+                    throw new RuntimeException("columnar decode blob exception", e);
+                }
+            case TAG_CLOB:
+                try {
+                    return new SerialClob(in.readString().toCharArray());
+                } catch (SQLException e) {
+                    throw new RuntimeException("columnar decode clob exception", e);
+                }
+            case TAG_OTHER:
+                return getJacksonParser().decodeField(in.readLengthBytes()).getValue();
+            default:
+                throw new IllegalArgumentException("unknown value tag of columnar undo log: " + tag);
+        }
+    }
+
+    private JacksonUndoLogParser getJacksonParser() {
+        JacksonUndoLogParser parser = jacksonParser;
+        if (parser == null) {
+            parser = (JacksonUndoLogParser) UndoLogParserFactory.getInstance(JacksonUndoLogParser.NAME);
+            jacksonParser = parser;
+        }
+        return parser;
+    }
+}
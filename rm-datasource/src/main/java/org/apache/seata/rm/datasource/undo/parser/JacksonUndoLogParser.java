@@ -56,6 +56,7 @@ import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.common.loader.EnhancedServiceNotFoundException;
 import org.apache.seata.common.loader.LoadLevel;
 import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.rm.datasource.sql.struct.Field;
 import org.apache.seata.rm.datasource.undo.BranchUndoLog;
 import org.apache.seata.rm.datasource.undo.UndoLogParser;
 import org.apache.seata.rm.datasource.undo.parser.spi.JacksonSerializer;
@@ -223,6 +224,36 @@ public class JacksonUndoLogParser implements UndoLogParser, Initialize {
         }
     }
 
+    /**
+     * Encode a single field, the {@link ColumnarUndoLogParser} keeps the values of the types it does not know in it.
+     *
+     * @param field the field
+     * @return the byte array
+     */
+    byte[] encodeField(Field field) {
+        try {
+            return mapper.writeValueAsBytes(field);
+        } catch (JsonProcessingException e) {
+            LOGGER.error("json encode exception, {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Decode a single field encoded by {@link #encodeField(Field)}.
+     *
+     * @param bytes the byte array
+     * @return the field
+     */
+    Field decodeField(byte[] bytes) {
+        try {
+            return mapper.readValue(bytes, Field.class);
+        } catch (IOException e) {
+            LOGGER.error("json decode exception, {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * if necessary
      * extend {@link ArraySerializerBase}
@@ -48,6 +48,14 @@ class AsyncWorkerTest {
         Assertions.assertDoesNotThrow(worker::doBranchCommitSafely, "this method should never throw anything");
     }
 
+    @Test
+    void destroy() {
+        AsyncWorker asyncWorker = new AsyncWorker(null);
+        asyncWorker.branchCommit("test", 0, "resource");
+        asyncWorker.destroy();
+        Assertions.assertDoesNotThrow(asyncWorker::doBranchCommitSafely, "the pending commits are still handled");
+    }
+
     @Test
     void groupedByResourceId() {
         List<AsyncWorker.Phase2Context> contexts = getRandomContexts();
@@ -61,4 +61,12 @@ class SqlGenerateUtilsTest {
         whereList.forEach(whereSql -> sqlJoiner.add(sqlPrefix + " " + whereSql.getSql()));
         Assertions.assertEquals("select id,name from t_order where  (id,name) in ( (?,?),(?,?) ) union select id,name from t_order where  (id,name) in ( (?,?),(?,?) )", sqlJoiner.toString());
     }
+
+    @Test
+    void testGetMaxRowsPerSelect() {
+        Assertions.assertEquals(1000, SqlGenerateUtils.getMaxRowsPerSelect("mysql", 1));
+        Assertions.assertEquals(1000, SqlGenerateUtils.getMaxRowsPerSelect("postgresql", 30));
+        Assertions.assertEquals(666, SqlGenerateUtils.getMaxRowsPerSelect("sqlserver", 3));
+        Assertions.assertEquals(1, SqlGenerateUtils.getMaxRowsPerSelect("sqlserver", 5000));
+    }
 }
@@ -21,18 +21,27 @@ import org.apache.seata.core.model.GlobalLockConfig;
 import org.apache.seata.rm.GlobalLockExecutor;
 import org.apache.seata.rm.GlobalLockTemplate;
 import org.apache.seata.rm.datasource.ConnectionProxy;
+import org.apache.seata.rm.datasource.PreparedStatementProxy;
 import org.apache.seata.rm.datasource.StatementProxy;
 import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
 import org.apache.seata.sqlparser.struct.TableMeta;
 import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.sqlparser.ParametersHolder;
 import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.WhereRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -168,4 +177,93 @@ public class BaseTransactionalExecutorTest {
         assertThat(executor.buildLockKey(tableRecords)).isEqualTo(buildLockKeyExpect);
     }
 
+
+    @Test
+    public void testBuildWhereConditionOfBatch() {
+        BaseTransactionalExecutor<Object, PreparedStatement> executor = newBatchExecutor(JdbcConstants.MYSQL, 3, null);
+        Assertions.assertEquals("id IN (?, ?, ?)",
+            executor.buildWhereCondition(mockWhereRecognizer("id = ?", 1), new ArrayList<>()));
+        Assertions.assertEquals("(t.id, `name`) IN ((?, ?), (?, ?), (?, ?))",
+            executor.buildWhereCondition(mockWhereRecognizer("t.id = ? AND `name` = ?", 2), new ArrayList<>()));
+        Assertions.assertEquals(" ( id > ? )  or ( id > ? )  or ( id > ? ) ",
+            executor.buildWhereCondition(mockWhereRecognizer("id > ?", 1), new ArrayList<>()));
+        Assertions.assertEquals(" ( id = ? OR name = ? )  or ( id = ? OR name = ? )  or ( id = ? OR name = ? ) ",
+            executor.buildWhereCondition(mockWhereRecognizer("id = ? OR name = ?", 2), new ArrayList<>()));
+
+        // no row value constructor in sql server
+        executor = newBatchExecutor(JdbcConstants.SQLSERVER, 2, null);
+        Assertions.assertEquals("id IN (?, ?)",
+            executor.buildWhereCondition(mockWhereRecognizer("id = ?", 1), new ArrayList<>()));
+        Assertions.assertEquals(" ( id = ? and name = ? )  or ( id = ? and name = ? ) ",
+            executor.buildWhereCondition(mockWhereRecognizer("id = ? and name = ?", 2), new ArrayList<>()));
+    }
+
+    @Test
+    public void testBuildBatchTableRecords() throws Exception {
+        List<String> selectSQLs = new ArrayList<>();
+        // 2500 rows of 2000 distinct ids, selected 1000 rows at a time within the parameters limit of sql server
+        BaseTransactionalExecutor<Object, PreparedStatement> executor = newBatchExecutor(JdbcConstants.SQLSERVER, 2500, selectSQLs);
+        TableMeta tableMeta = mock(TableMeta.class);
+        TableRecords tableRecords = executor.buildBatchTableRecords(tableMeta, paramAppenderList -> {
+            executor.getParametersHolder().getParameters().get(1).forEach(id -> paramAppenderList.add(Collections.singletonList(id)));
+            return "rows " + paramAppenderList.size();
+        });
+        Assertions.assertEquals(Arrays.asList("rows 1000", "rows 1000", "rows 500"), selectSQLs);
+        Assertions.assertEquals(2000, tableRecords.size());
+        // the holder of the whole batch again
+        Assertions.assertEquals(2500, executor.getParametersHolder().getParameters().get(1).size());
+
+        selectSQLs.clear();
+        newBatchExecutor(JdbcConstants.MYSQL, 1000, selectSQLs).buildBatchTableRecords(tableMeta, paramAppenderList -> "rows");
+        Assertions.assertEquals(Collections.singletonList("rows"), selectSQLs);
+    }
+
+    private WhereRecognizer mockWhereRecognizer(String whereCondition, int paramsPerRow) {
+        WhereRecognizer recognizer = mock(WhereRecognizer.class);
+        when(recognizer.getWhereCondition(any(), any())).thenAnswer(invocation -> {
+            ParametersHolder parametersHolder = invocation.getArgument(0);
+            ArrayList<List<Object>> paramAppenderList = invocation.getArgument(1);
+            for (Object id : parametersHolder.getParameters().get(1)) {
+                paramAppenderList.add(new ArrayList<>(Collections.nCopies(paramsPerRow, id)));
+            }
+            return whereCondition;
+        });
+        return recognizer;
+    }
+
+    private BaseTransactionalExecutor<Object, PreparedStatement> newBatchExecutor(String dbType, int rowSize,
+                                                                                  List<String> selectSQLs) {
+        ConnectionProxy connectionProxy = mock(ConnectionProxy.class);
+        when(connectionProxy.getDbType()).thenReturn(dbType);
+        PreparedStatementProxy statementProxy = mock(PreparedStatementProxy.class);
+        when(statementProxy.getConnectionProxy()).thenReturn(connectionProxy);
+        ArrayList<Object> ids = new ArrayList<>();
+        for (int i = 0; i < rowSize; i++) {
+            ids.add(i % 2000);
+        }
+        Map<Integer, ArrayList<Object>> parameters = new HashMap<>();
+        parameters.put(1, ids);
+        when(statementProxy.getParameters()).thenReturn(parameters);
+        return new BaseTransactionalExecutor<Object, PreparedStatement>(statementProxy, null, (SQLRecognizer) null) {
+            @Override
+            protected Object doExecute(Object... args) {
+                return null;
+            }
+
+            @Override
+            protected TableRecords buildTableRecords(TableMeta tableMeta, String selectSQL,
+                                                     ArrayList<List<Object>> paramAppenderList) {
+                selectSQLs.add(selectSQL);
+                TableRecords tableRecords = new TableRecords(tableMeta);
+                for (List<Object> params : paramAppenderList) {
+                    Field pk = new Field("id", Types.INTEGER, params.get(0));
+                    pk.setKeyType(KeyType.PRIMARY_KEY);
+                    Row row = new Row();
+                    row.add(pk);
+                    tableRecords.add(row);
+                }
+                return tableRecords;
+            }
+        };
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.exec.postgresql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.seata.rm.datasource.ConnectionProxy;
+import org.apache.seata.rm.datasource.PreparedStatementProxy;
+import org.apache.seata.rm.datasource.exec.ExecuteUpdateCallback;
+import org.apache.seata.rm.datasource.exec.StatementCallback;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.sqlparser.SQLUpdateRecognizer;
+import org.apache.seata.sqlparser.struct.ColumnMeta;
+import org.apache.seata.sqlparser.struct.Null;
+import org.apache.seata.sqlparser.struct.TableMeta;
+import org.apache.seata.sqlparser.util.JdbcConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PostgresqlUpdateExecutorTest {
+
+    private static final String SQL = "update t set name = ? where id = ?;";
+
+    private PreparedStatementProxy statementProxy;
+
+    private SQLUpdateRecognizer recognizer;
+
+    private TableMeta tableMeta;
+
+    private TableRecords returnedImage;
+
+    private Map<Integer, ArrayList<Object>> parameters;
+
+    private List<String> returningSQLs;
+
+    @BeforeEach
+    public void init() {
+        ConnectionProxy connectionProxy = mock(ConnectionProxy.class);
+        when(connectionProxy.getDbType()).thenReturn(JdbcConstants.POSTGRESQL);
+        statementProxy = mock(PreparedStatementProxy.class);
+        when(statementProxy.getConnectionProxy()).thenReturn(connectionProxy);
+        when(statementProxy.getTargetSQL()).thenReturn(SQL);
+        parameters = new HashMap<>();
+        parameters.put(1, new ArrayList<>(Collections.singletonList("WILL")));
+        parameters.put(2, new ArrayList<>(Collections.singletonList(1)));
+        when(statementProxy.getParameters()).thenReturn(parameters);
+
+        recognizer = mock(SQLUpdateRecognizer.class);
+        when(recognizer.getUpdateColumnsUnEscape()).thenReturn(Collections.singletonList("name"));
+        tableMeta = mock(TableMeta.class);
+        when(tableMeta.getTableName()).thenReturn("t");
+        returnedImage = mock(TableRecords.class);
+        when(returnedImage.size()).thenReturn(2);
+        returningSQLs = new ArrayList<>();
+    }
+
+    @Test
+    public void testExecuteReturning() throws Exception {
+        ExecuteUpdateCallback<PreparedStatement> callback = mock(ExecuteUpdateCallback.class);
+        PostgresqlUpdateExecutor<Integer, PreparedStatement> executor = newExecutor(callback, true);
+
+        Assertions.assertEquals(2, executor.executeStatement(new Object[0]));
+        Assertions.assertEquals(Collections.singletonList("update t set name = ? where id = ?\nRETURNING id, name"),
+            returningSQLs);
+        verify(callback, never()).execute(any(), any());
+        Assertions.assertSame(returnedImage, executor.afterImage(mock(TableRecords.class)));
+    }
+
+    @Test
+    public void testFallbackToSelect() throws Exception {
+        ExecuteUpdateCallback<PreparedStatement> callback = mock(ExecuteUpdateCallback.class);
+        when(callback.execute(any(), any())).thenReturn(1);
+
+        // disabled
+        Assertions.assertEquals(1, newExecutor(callback, false).executeStatement(new Object[0]));
+
+        // the statement is read after the execute
+        StatementCallback<Integer, PreparedStatement> executeCallback = mock(StatementCallback.class);
+        when(executeCallback.execute(any(), any())).thenReturn(1);
+        Assertions.assertEquals(1, newExecutor(executeCallback, true).executeStatement(new Object[0]));
+
+        // the batch
+        parameters.get(2).add(2);
+        Assertions.assertEquals(1, newExecutor(callback, true).executeStatement(new Object[0]));
+        parameters.get(2).remove(1);
+
+        // the sql has its own RETURNING clause
+        when(statementProxy.getTargetSQL()).thenReturn("update t set name = ? where id = ? returning id");
+        Assertions.assertEquals(1, newExecutor(callback, true).executeStatement(new Object[0]));
+
+        Assertions.assertTrue(returningSQLs.isEmpty());
+    }
+
+    @Test
+    public void testExecuteReturningBindsAndBuildsRecords() throws Exception {
+        parameters.put(1, new ArrayList<>(Collections.singletonList(Null.get())));
+        Connection connection = mock(Connection.class);
+        when(statementProxy.getConnection()).thenReturn(connection);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        String returningSQL = "update t set name = ? where id = ?\nRETURNING id, name";
+        when(connection.prepareStatement(returningSQL)).thenReturn(ps);
+        ResultSet rs = mock(ResultSet.class);
+        when(ps.executeQuery()).thenReturn(rs);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnName(2)).thenReturn("name");
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getObject(1)).thenReturn(1, 2);
+        when(rs.getObject(2)).thenReturn(null, "WILL");
+        when(tableMeta.getColumnMeta("id")).thenReturn(columnMeta("id", Types.INTEGER));
+        when(tableMeta.getColumnMeta("name")).thenReturn(columnMeta("name", Types.VARCHAR));
+        Set<String> pks = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        pks.add("id");
+        when(tableMeta.getCaseInsensitivePKs()).thenReturn(pks);
+
+        TableRecords records = PostgresqlReturningUtils.executeReturning(statementProxy, tableMeta, returningSQL);
+
+        // the Null parameter is bound as the sql null
+        verify(ps).setObject(1, null);
+        verify(ps).setObject(2, 1);
+        verify(rs).close();
+        verify(ps).close();
+        Assertions.assertEquals(2, records.size());
+        List<Field> first = records.getRows().get(0).getFields();
+        Assertions.assertEquals(KeyType.PRIMARY_KEY, first.get(0).getKeyType());
+        Assertions.assertEquals(1, first.get(0).getValue());
+        Assertions.assertNull(first.get(1).getValue());
+        List<Field> second = records.getRows().get(1).getFields();
+        Assertions.assertEquals(2, second.get(0).getValue());
+        Assertions.assertEquals("name", second.get(1).getName());
+        Assertions.assertEquals(Types.VARCHAR, second.get(1).getType());
+        Assertions.assertEquals("WILL", second.get(1).getValue());
+    }
+
+    @Test
+    public void testBuildReturningSQL() {
+        Assertions.assertEquals("update t set a = 1\nRETURNING id, a",
+            PostgresqlReturningUtils.buildReturningSQL("update t set a = 1 ; \n", Arrays.asList("id", "a")));
+        Assertions.assertEquals("update t set a = 1 -- comment\nRETURNING id",
+            PostgresqlReturningUtils.buildReturningSQL("update t set a = 1 -- comment", Collections.singletonList("id")));
+    }
+
+    private static ColumnMeta columnMeta(String name, int dataType) {
+        ColumnMeta columnMeta = new ColumnMeta();
+        columnMeta.setColumnName(name);
+        columnMeta.setDataType(dataType);
+        return columnMeta;
+    }
+
+    private PostgresqlUpdateExecutor<Integer, PreparedStatement> newExecutor(
+        StatementCallback<Integer, PreparedStatement> callback, boolean returningImageEnabled) {
+        return new PostgresqlUpdateExecutor<Integer, PreparedStatement>(statementProxy, callback, recognizer) {
+
+            @Override
+            protected TableMeta getTableMeta() {
+                return tableMeta;
+            }
+
+            @Override
+            protected List<String> getNeedColumns(String table, String tableAlias, List<String> unescapeColumns) {
+                return Arrays.asList("id", "name");
+            }
+
+            @Override
+            protected TableRecords executeReturning(TableMeta tableMeta, String returningSQL) throws SQLException {
+                returningSQLs.add(returningSQL);
+                return returnedImage;
+            }
+
+            @Override
+            protected boolean isReturningImageEnabled() {
+                return returningImageEnabled;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.apache.seata.sqlparser.SQLRecognizer;
+import org.apache.seata.sqlparser.util.JdbcConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class SQLRecognizerCacheTest {
+
+    @Test
+    public void hitAndMissTest() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(16);
+        CountingParser parser = new CountingParser();
+        String sql = "update t set a = ? where id = ?";
+        List<SQLRecognizer> first = cache.get(sql, JdbcConstants.MYSQL, parser);
+        List<SQLRecognizer> second = cache.get(sql, JdbcConstants.MYSQL, parser);
+        Assertions.assertSame(first, second);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+        // another db type is parsed again
+        cache.get(sql, JdbcConstants.ORACLE, parser);
+        Assertions.assertEquals(2, parser.count.get());
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void noneRecognizerTest() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(16);
+        AtomicInteger count = new AtomicInteger();
+        BiFunction<String, String, List<SQLRecognizer>> parser = (sql, dbType) -> {
+            count.incrementAndGet();
+            return null;
+        };
+        Assertions.assertNull(cache.get("select * from t where id = ?", JdbcConstants.MYSQL, parser));
+        Assertions.assertNull(cache.get("select * from t where id = ?", JdbcConstants.MYSQL, parser));
+        Assertions.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void failureNotCachedTest() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(16);
+        AtomicInteger count = new AtomicInteger();
+        BiFunction<String, String, List<SQLRecognizer>> parser = (sql, dbType) -> {
+            count.incrementAndGet();
+            throw new UnsupportedOperationException("Unsupported SQL: " + sql);
+        };
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> cache.get("merge into t", JdbcConstants.MYSQL, parser));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> cache.get("merge into t", JdbcConstants.MYSQL, parser));
+        Assertions.assertEquals(2, count.get());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void adHocSqlSkippedTest() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(16);
+        CountingParser parser = new CountingParser();
+        String sql = "update t set a = 'x' where id = 1";
+        cache.get(sql, JdbcConstants.MYSQL, parser);
+        cache.get(sql, JdbcConstants.MYSQL, parser);
+        Assertions.assertEquals(2, parser.count.get());
+        Assertions.assertEquals(2, cache.getSkipCount());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictionTest() {
+        SQLRecognizerCache cache = new SQLRecognizerCache(4);
+        CountingParser parser = new CountingParser();
+        for (int i = 0; i < 32; i++) {
+            cache.get("delete from t" + i + " where id = ?", JdbcConstants.MYSQL, parser);
+        }
+        Assertions.assertTrue(cache.size() <= 4);
+        Assertions.assertTrue(cache.getEvictionCount() >= 28);
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void isCacheableTest() {
+        Assertions.assertTrue(SQLRecognizerCache.isCacheable("delete from t"));
+        Assertions.assertTrue(SQLRecognizerCache.isCacheable("insert into t1 (id, c2) values (?, ?)"));
+        Assertions.assertTrue(SQLRecognizerCache.isCacheable("update t set status = 1 where id = ?"));
+        Assertions.assertTrue(SQLRecognizerCache.isCacheable("update `t` set \"a\" = ? where id = ? -- 1"));
+        Assertions.assertTrue(SQLRecognizerCache.isCacheable("update t /* 'x' 1 */ set a = ? where id = ?"));
+        Assertions.assertFalse(SQLRecognizerCache.isCacheable("delete from t where id = 1"));
+        Assertions.assertFalse(SQLRecognizerCache.isCacheable("update t set a = 'it''s ?' where b = 'c'"));
+        StringBuilder inList = new StringBuilder("delete from t where a = ? and id in (1");
+        for (int i = 2; i <= SQLRecognizerCache.MAX_CACHEABLE_LITERALS + 1; i++) {
+            inList.append(", ").append(i);
+        }
+        Assertions.assertFalse(SQLRecognizerCache.isCacheable(inList.append(')').toString()));
+        Assertions.assertFalse(SQLRecognizerCache.isCacheable(null));
+    }
+
+    private static class CountingParser implements BiFunction<String, String, List<SQLRecognizer>> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public List<SQLRecognizer> apply(String sql, String dbType) {
+            count.incrementAndGet();
+            return new ArrayList<>(Collections.singletonList(Mockito.mock(SQLRecognizer.class)));
+        }
+    }
+}
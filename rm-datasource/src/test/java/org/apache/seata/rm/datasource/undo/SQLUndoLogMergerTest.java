@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.sqlparser.SQLType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SQLUndoLogMergerTest extends BaseH2Test {
+
+    @Test
+    public void testGroup() throws SQLException {
+        execSQL("INSERT INTO table_name(id, name) VALUES (1,'aaa'), (2,'aaa'), (3,'aaa');");
+        SQLUndoLog update1 = newUpdateUndoLog(1, "xxx");
+        SQLUndoLog update2 = newUpdateUndoLog(2, "xxx");
+        // the same row as update1
+        SQLUndoLog update3 = newUpdateUndoLog(1, "yyy");
+        SQLUndoLog update4 = newUpdateUndoLog(3, "yyy");
+        SQLUndoLog delete = new SQLUndoLog();
+        delete.setSqlType(SQLType.DELETE);
+        delete.setTableName("table_name");
+        delete.setBeforeImage(queryImage(2));
+        delete.setAfterImage(TableRecords.empty(tableMeta));
+        SQLUndoLog noImage = new SQLUndoLog();
+        noImage.setSqlType(SQLType.DELETE);
+        noImage.setTableName("table_name");
+
+        List<List<SQLUndoLog>> groups = SQLUndoLogMerger.group(
+            Arrays.asList(update1, update2, update3, update4, delete, noImage, update1), 1000);
+        Assertions.assertEquals(5, groups.size());
+        Assertions.assertEquals(Arrays.asList(update1, update2), groups.get(0));
+        Assertions.assertEquals(Arrays.asList(update3, update4), groups.get(1));
+        Assertions.assertEquals(Arrays.asList(delete), groups.get(2));
+        Assertions.assertEquals(Arrays.asList(noImage), groups.get(3));
+        Assertions.assertEquals(Arrays.asList(update1), groups.get(4));
+
+        // the max rows of a group
+        groups = SQLUndoLogMerger.group(Arrays.asList(update1, update2, update4), 2);
+        Assertions.assertEquals(2, groups.size());
+        Assertions.assertEquals(Arrays.asList(update4), groups.get(1));
+    }
+
+    @Test
+    public void testMergeAndUndo() throws SQLException {
+        execSQL("INSERT INTO table_name(id, name) VALUES (1,'aaa'), (2,'bbb'), (3,'ccc');");
+        List<SQLUndoLog> sqlUndoLogs = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            sqlUndoLogs.add(newUpdateUndoLog(id, "xxx"));
+        }
+        SQLUndoLog merged = SQLUndoLogMerger.merge(sqlUndoLogs);
+        Assertions.assertEquals(SQLType.UPDATE, merged.getSqlType());
+        Assertions.assertEquals(3, merged.getBeforeImage().size());
+        Assertions.assertEquals(3, merged.getAfterImage().size());
+
+        // the rows are checked by one query and undone by one jdbc batch
+        new BatchUpdateUndoExecutor(merged).executeOn(connection);
+        TableRecords current = execQuery(tableMeta, "SELECT * FROM table_name ORDER BY id");
+        Assertions.assertEquals(Arrays.asList("aaa", "bbb", "ccc"), namesOf(current));
+
+        // the merged log is dirty as a whole
+        for (int id = 1; id <= 2; id++) {
+            execSQL("update table_name set name = 'xxx' where id = " + id);
+        }
+        Assertions.assertThrows(SQLUndoDirtyException.class,
+            () -> new BatchUpdateUndoExecutor(merged).executeOn(connection));
+    }
+
+    private static SQLUndoLog newUpdateUndoLog(int id, String name) throws SQLException {
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableName("table_name");
+        sqlUndoLog.setBeforeImage(queryImage(id));
+        execSQL("update table_name set name = '" + name + "' where id = " + id);
+        sqlUndoLog.setAfterImage(queryImage(id));
+        return sqlUndoLog;
+    }
+
+    private static TableRecords queryImage(int id) throws SQLException {
+        TableRecords image = execQuery(tableMeta, "SELECT * FROM table_name WHERE id = " + id);
+        // the mocked table meta has no primary key map
+        for (Row row : image.getRows()) {
+            row.getFields().stream().filter(f -> f.getName().equalsIgnoreCase("id"))
+                .forEach(f -> f.setKeyType(KeyType.PRIMARY_KEY));
+        }
+        return image;
+    }
+
+    private static List<Object> namesOf(TableRecords records) {
+        List<Object> names = new ArrayList<>();
+        for (Row row : records.getRows()) {
+            names.add(row.getFields().stream().filter(f -> f.getName().equalsIgnoreCase("name")).findFirst().get()
+                .getValue());
+        }
+        return names;
+    }
+
+    static class BatchUpdateUndoExecutor extends AbstractUndoExecutor {
+
+        BatchUpdateUndoExecutor(SQLUndoLog sqlUndoLog) {
+            super(sqlUndoLog);
+        }
+
+        @Override
+        protected String buildUndoSQL() {
+            return "UPDATE table_name SET name = ? WHERE id = ?";
+        }
+
+        @Override
+        protected TableRecords getUndoRows() {
+            return sqlUndoLog.getBeforeImage();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.rm.datasource.undo.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.apache.seata.common.loader.EnhancedServiceLoader;
+import org.apache.seata.rm.datasource.sql.struct.Field;
+import org.apache.seata.rm.datasource.sql.struct.KeyType;
+import org.apache.seata.rm.datasource.sql.struct.Row;
+import org.apache.seata.rm.datasource.sql.struct.TableRecords;
+import org.apache.seata.rm.datasource.undo.BaseUndoLogParserTest;
+import org.apache.seata.rm.datasource.undo.BranchUndoLog;
+import org.apache.seata.rm.datasource.undo.SQLUndoLog;
+import org.apache.seata.rm.datasource.undo.UndoLogParser;
+import org.apache.seata.sqlparser.SQLType;
+import org.apache.seata.sqlparser.struct.TableMeta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarUndoLogParserTest extends BaseUndoLogParserTest {
+
+    ColumnarUndoLogParser parser = (ColumnarUndoLogParser) EnhancedServiceLoader.load(UndoLogParser.class, ColumnarUndoLogParser.NAME);
+
+    @Override
+    public UndoLogParser getParser() {
+        return parser;
+    }
+
+    @Test
+    public void testColumnEncodings() throws SQLException {
+        TableRecords beforeImage = new TableRecords();
+        beforeImage.setTableName("t_order");
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Row row = new Row();
+            Field id = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), (long) i - 5);
+            id.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(id);
+            // repeated strings in a dictionary, with nulls
+            row.add(new Field("status", JDBCType.VARCHAR.getVendorTypeNumber(), i % 3 == 0 ? null : "status" + i % 2));
+            row.add(new Field("amount", JDBCType.DECIMAL.getVendorTypeNumber(), new BigDecimal("-12.5").movePointLeft(i)));
+            // the values of different types in the same column
+            row.add(new Field("mixed", JDBCType.OTHER.getVendorTypeNumber(), i % 2 == 0 ? Integer.valueOf(i) : "s" + i));
+            row.add(new Field("nothing", JDBCType.VARCHAR.getVendorTypeNumber(), null));
+            rows.add(row);
+        }
+        beforeImage.setRows(rows);
+
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t_order");
+        Row row = new Row();
+        Field id = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), 1L);
+        id.setKeyType(KeyType.PRIMARY_KEY);
+        row.add(id);
+        row.add(new Field("status", JDBCType.VARCHAR.getVendorTypeNumber(), "status1"));
+        row.add(new Field("amount", JDBCType.DECIMAL.getVendorTypeNumber(), BigDecimal.ZERO));
+        row.add(new Field("mixed", JDBCType.OTHER.getVendorTypeNumber(), new ArrayList<>(Arrays.asList(1, 2))));
+        row.add(new Field("nothing", JDBCType.VARCHAR.getVendorTypeNumber(), null));
+        afterImage.setRows(new ArrayList<>(Arrays.asList(row)));
+
+        BranchUndoLog decoded = encodeAndDecode(beforeImage, afterImage);
+        SQLUndoLog sqlUndoLog = decoded.getSqlUndoLogs().get(0);
+        assertImageEquals(beforeImage, sqlUndoLog.getBeforeImage());
+        assertImageEquals(afterImage, sqlUndoLog.getAfterImage());
+    }
+
+    @Test
+    public void testValueTypes() throws SQLException {
+        Timestamp timestamp = new Timestamp(1621329802111L);
+        timestamp.setNanos(111222333);
+        Object[] values = new Object[] {Integer.MIN_VALUE, Long.MAX_VALUE, (short) -3, (byte) 7, true, 1.5f, -2.25d,
+            new BigDecimal("55555555555555555555.55555555555555555555"), new BigInteger("-123456789012345678901234567890"),
+            "中文", new byte[] {1, 2, 3}, timestamp, new java.sql.Date(1621296000000L), new java.sql.Time(3600000L),
+            new java.util.Date(1621329802111L), LocalDateTime.of(2021, 5, 18, 17, 23, 22, 123456789),
+            LocalDate.of(1960, 1, 1), LocalDateTime.of(2021, 5, 18, 17, 23).toLocalTime(),
+            new SerialBlob(new byte[] {4, 5}), new SerialClob("clob".toCharArray()), new SerialBlob(new byte[0])};
+        TableRecords image = new TableRecords();
+        image.setTableName("t_types");
+        Row row = new Row();
+        for (int i = 0; i < values.length; i++) {
+            row.add(new Field("c" + i, JDBCType.OTHER.getVendorTypeNumber(), values[i]));
+        }
+        image.setRows(new ArrayList<>(Arrays.asList(row)));
+
+        BranchUndoLog decoded = encodeAndDecode(image, TableRecords.empty(new TableMeta()));
+        List<Field> fields = decoded.getSqlUndoLogs().get(0).getBeforeImage().getRows().get(0).getFields();
+        for (int i = 0; i < values.length; i++) {
+            Object value = fields.get(i).getValue();
+            Assertions.assertEquals(values[i].getClass(), value.getClass());
+            if (values[i] instanceof byte[]) {
+                Assertions.assertArrayEquals((byte[]) values[i], (byte[]) value);
+            } else if (values[i] instanceof SerialBlob) {
+                SerialBlob blob = (SerialBlob) value;
+                Assertions.assertEquals(((SerialBlob) values[i]).length(), blob.length());
+            } else if (values[i] instanceof SerialClob) {
+                Assertions.assertEquals("clob", ((SerialClob) value).getSubString(1, 4));
+            } else {
+                Assertions.assertEquals(values[i], value);
+            }
+        }
+        Assertions.assertEquals(timestamp.getNanos(), ((Timestamp) fields.get(11).getValue()).getNanos());
+    }
+
+    @Test
+    public void testImageKinds() {
+        TableRecords beforeImage = TableRecords.empty(new TableMeta());
+        beforeImage.setTableName("t_empty");
+        // the rows do not have the same columns
+        TableRecords afterImage = new TableRecords();
+        afterImage.setTableName("t_rows");
+        Row row1 = new Row();
+        row1.add(new Field("id", JDBCType.INTEGER.getVendorTypeNumber(), 1));
+        Row row2 = new Row();
+        row2.add(new Field("id", JDBCType.INTEGER.getVendorTypeNumber(), 2));
+        row2.add(new Field("name", JDBCType.VARCHAR.getVendorTypeNumber(), null));
+        afterImage.setRows(new ArrayList<>(Arrays.asList(row1, row2)));
+
+        BranchUndoLog decoded = encodeAndDecode(beforeImage, afterImage);
+        SQLUndoLog sqlUndoLog = decoded.getSqlUndoLogs().get(0);
+        Assertions.assertTrue(sqlUndoLog.getBeforeImage() instanceof TableRecords.EmptyTableRecords);
+        Assertions.assertEquals("t_empty", sqlUndoLog.getBeforeImage().getTableName());
+        assertImageEquals(afterImage, sqlUndoLog.getAfterImage());
+
+        decoded = encodeAndDecode(null, null);
+        Assertions.assertNull(decoded.getSqlUndoLogs().get(0).getBeforeImage());
+        Assertions.assertNull(decoded.getSqlUndoLogs().get(0).getAfterImage());
+    }
+
+    @Test
+    public void testSmallerThanJackson() {
+        TableRecords beforeImage = new TableRecords();
+        beforeImage.setTableName("t_order");
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Row row = new Row();
+            Field id = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), 10000L + i);
+            id.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(id);
+            row.add(new Field("status", JDBCType.VARCHAR.getVendorTypeNumber(), "PAID"));
+            row.add(new Field("count", JDBCType.INTEGER.getVendorTypeNumber(), i));
+            rows.add(row);
+        }
+        beforeImage.setRows(rows);
+        BranchUndoLog branchUndoLog = newBranchUndoLog(beforeImage, beforeImage);
+
+        byte[] columnar = parser.encode(branchUndoLog);
+        byte[] jackson = EnhancedServiceLoader.load(UndoLogParser.class, JacksonUndoLogParser.NAME).encode(branchUndoLog);
+        Assertions.assertTrue(columnar.length * 10 < jackson.length, columnar.length + " vs " + jackson.length);
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] bytes = parser.getDefaultContent();
+        bytes[0] = 99;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parser.decode(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> parser.decode(Arrays.copyOf(parser.encode(newBranchUndoLog(null, null)), 3)));
+    }
+
+    private BranchUndoLog encodeAndDecode(TableRecords beforeImage, TableRecords afterImage) {
+        BranchUndoLog decoded = parser.decode(parser.encode(newBranchUndoLog(beforeImage, afterImage)));
+        Assertions.assertEquals("127.0.0.1:8091:123", decoded.getXid());
+        Assertions.assertEquals(-1L, decoded.getBranchId());
+        Assertions.assertEquals(SQLType.UPDATE, decoded.getSqlUndoLogs().get(0).getSqlType());
+        Assertions.assertEquals("t_order", decoded.getSqlUndoLogs().get(0).getTableName());
+        return decoded;
+    }
+
+    private static BranchUndoLog newBranchUndoLog(TableRecords beforeImage, TableRecords afterImage) {
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableName("t_order");
+        sqlUndoLog.setBeforeImage(beforeImage);
+        sqlUndoLog.setAfterImage(afterImage);
+        BranchUndoLog branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("127.0.0.1:8091:123");
+        branchUndoLog.setBranchId(-1L);
+        branchUndoLog.setSqlUndoLogs(new ArrayList<>(Arrays.asList(sqlUndoLog)));
+        return branchUndoLog;
+    }
+
+    private static void assertImageEquals(TableRecords expected, TableRecords actual) {
+        Assertions.assertEquals(expected.getTableName(), actual.getTableName());
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int r = 0; r < expected.size(); r++) {
+            List<Field> expectedFields = expected.getRows().get(r).getFields();
+            List<Field> actualFields = actual.getRows().get(r).getFields();
+            Assertions.assertEquals(expectedFields.size(), actualFields.size());
+            for (int c = 0; c < expectedFields.size(); c++) {
+                Field expectedField = expectedFields.get(c);
+                Field actualField = actualFields.get(c);
+                Assertions.assertEquals(expectedField.getName(), actualField.getName());
+                Assertions.assertEquals(expectedField.getKeyType(), actualField.getKeyType());
+                Assertions.assertEquals(expectedField.getType(), actualField.getType());
+                Assertions.assertEquals(expectedField.getValue(), actualField.getValue());
+            }
+        }
+    }
+}
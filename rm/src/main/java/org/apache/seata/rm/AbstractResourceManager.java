@@ -16,16 +16,21 @@
  */
 package org.apache.seata.rm;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 import org.apache.seata.common.ConfigurationKeys;
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.exception.NotSupportYetException;
+import org.apache.seata.common.util.FutureUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.exception.RmTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.model.AsyncResourceManagerOutbound;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -46,7 +51,7 @@ import org.slf4j.LoggerFactory;
  * abstract ResourceManager
  *
  */
-public abstract class AbstractResourceManager implements ResourceManager {
+public abstract class AbstractResourceManager implements ResourceManager, AsyncResourceManagerOutbound {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractResourceManager.class);
 
@@ -129,6 +134,106 @@ public abstract class AbstractResourceManager implements ResourceManager {
         }
     }
 
+    /**
+     * registry branch record without blocking
+     *
+     * @param branchType the branch type
+     * @param resourceId the resource id
+     * @param clientId   the client id
+     * @param xid        the xid
+     * @param lockKeys   the lock keys
+     * @return the stage of the branchId
+     */
+    @Override
+    public CompletionStage<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId, String xid, String applicationData, String lockKeys) {
+        CompletionStage<Object> stage;
+        try {
+            StringUtils.checkDataSize(applicationData, "applicationData", appDataErrSize, throwDataSizeExp);
+
+            BranchRegisterRequest request = new BranchRegisterRequest();
+            request.setXid(xid);
+            request.setLockKey(lockKeys);
+            request.setResourceId(resourceId);
+            request.setBranchType(branchType);
+            request.setApplicationData(applicationData);
+
+            stage = RmNettyRemotingClient.getInstance().sendAsyncRequest(request);
+        } catch (RuntimeException rex) {
+            stage = FutureUtils.failedStage(rex);
+        }
+        return handleAsync(stage, TransactionExceptionCode.BranchRegisterFailed, "branch register", xid).thenApply(r -> {
+            BranchRegisterResponse response = (BranchRegisterResponse) r;
+            if (response.getResultCode() == ResultCode.Failed) {
+                throw new CompletionException(new RmTransactionException(response.getTransactionExceptionCode(),
+                    String.format("branch register failed, xid: %s, errMsg: %s ", xid, response.getMsg())));
+            }
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("branch register success, xid:{}, branchId:{}, lockKeys:{}", xid, response.getBranchId(), lockKeys);
+            }
+            return response.getBranchId();
+        });
+    }
+
+    /**
+     * report branch status without blocking
+     *
+     * @param branchType      the branch type
+     * @param xid             the xid
+     * @param branchId        the branch id
+     * @param status          the status
+     * @param applicationData the application data
+     * @return the stage completed once reported
+     */
+    @Override
+    public CompletionStage<Void> branchReportAsync(BranchType branchType, String xid, long branchId, BranchStatus status, String applicationData) {
+        CompletionStage<Object> stage;
+        try {
+            StringUtils.checkDataSize(applicationData, "applicationData", appDataErrSize, throwDataSizeExp);
+            BranchReportRequest request = new BranchReportRequest();
+            request.setXid(xid);
+            request.setBranchId(branchId);
+            request.setStatus(status);
+            request.setApplicationData(applicationData);
+
+            stage = RmNettyRemotingClient.getInstance().sendAsyncRequest(request);
+        } catch (RuntimeException rex) {
+            stage = FutureUtils.failedStage(rex);
+        }
+        return handleAsync(stage, TransactionExceptionCode.BranchReportFailed, "branch report", xid).thenApply(r -> {
+            BranchReportResponse response = (BranchReportResponse) r;
+            if (response.getResultCode() == ResultCode.Failed) {
+                throw new CompletionException(new RmTransactionException(response.getTransactionExceptionCode(),
+                    String.format("branch report failed, xid: %s, errMsg: %s ", xid, response.getMsg())));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Wrap the failures of the request like the blocking ones: the timeout with the io code, the others with the
+     * code of the request.
+     */
+    private static CompletionStage<Object> handleAsync(CompletionStage<Object> stage, TransactionExceptionCode code,
+                                                       String action, String xid) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        stage.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+            if (cause instanceof TimeoutException) {
+                result.completeExceptionally(
+                    new RmTransactionException(TransactionExceptionCode.IO, action + " timeout, xid:" + xid, cause));
+            } else {
+                result.completeExceptionally(
+                    new RmTransactionException(code, action + " exception, xid:" + xid, cause));
+            }
+        });
+        return result;
+    }
+
     @Override
     public boolean lockQuery(BranchType branchType, String resourceId, String xid, String lockKeys) throws TransactionException {
         return false;
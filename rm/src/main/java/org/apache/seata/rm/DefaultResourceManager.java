@@ -19,12 +19,15 @@ package org.apache.seata.rm;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.seata.common.exception.FrameworkException;
 import org.apache.seata.common.loader.EnhancedServiceLoader;
 import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.common.util.FutureUtils;
 import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.AsyncResourceManagerOutbound;
 import org.apache.seata.core.model.BranchStatus;
 import org.apache.seata.core.model.BranchType;
 import org.apache.seata.core.model.GlobalStatus;
@@ -35,7 +38,7 @@ import org.apache.seata.core.model.ResourceManager;
  * default resource manager, adapt all resource managers
  *
  */
-public class DefaultResourceManager implements ResourceManager {
+public class DefaultResourceManager implements ResourceManager, AsyncResourceManagerOutbound {
 
     /**
      * all resource managers
@@ -110,6 +113,55 @@ public class DefaultResourceManager implements ResourceManager {
         return getResourceManager(branchType).lockQuery(branchType, resourceId, xid, lockKeys);
     }
 
+    @Override
+    public CompletionStage<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId,
+                                                     String xid, String applicationData, String lockKeys) {
+        ResourceManager rm;
+        try {
+            rm = getResourceManager(branchType);
+        } catch (FrameworkException e) {
+            return FutureUtils.failedStage(e);
+        }
+        if (rm instanceof AsyncResourceManagerOutbound) {
+            return ((AsyncResourceManagerOutbound)rm).branchRegisterAsync(branchType, resourceId, clientId, xid,
+                applicationData, lockKeys);
+        }
+        return AsyncResourceManagerOutbound.super.branchRegisterAsync(branchType, resourceId, clientId, xid,
+            applicationData, lockKeys);
+    }
+
+    @Override
+    public CompletionStage<Void> branchReportAsync(BranchType branchType, String xid, long branchId,
+                                                   BranchStatus status, String applicationData) {
+        ResourceManager rm;
+        try {
+            rm = getResourceManager(branchType);
+        } catch (FrameworkException e) {
+            return FutureUtils.failedStage(e);
+        }
+        if (rm instanceof AsyncResourceManagerOutbound) {
+            return ((AsyncResourceManagerOutbound)rm).branchReportAsync(branchType, xid, branchId, status,
+                applicationData);
+        }
+        return AsyncResourceManagerOutbound.super.branchReportAsync(branchType, xid, branchId, status,
+            applicationData);
+    }
+
+    @Override
+    public CompletionStage<Boolean> lockQueryAsync(BranchType branchType, String resourceId, String xid,
+                                                   String lockKeys) {
+        ResourceManager rm;
+        try {
+            rm = getResourceManager(branchType);
+        } catch (FrameworkException e) {
+            return FutureUtils.failedStage(e);
+        }
+        if (rm instanceof AsyncResourceManagerOutbound) {
+            return ((AsyncResourceManagerOutbound)rm).lockQueryAsync(branchType, resourceId, xid, lockKeys);
+        }
+        return AsyncResourceManagerOutbound.super.lockQueryAsync(branchType, resourceId, xid, lockKeys);
+    }
+
     @Override
     public void registerResource(Resource resource) {
         getResourceManager(resource.getBranchType()).registerResource(resource);
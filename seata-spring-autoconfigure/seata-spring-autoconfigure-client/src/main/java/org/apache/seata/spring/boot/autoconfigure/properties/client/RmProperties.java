@@ -23,11 +23,15 @@ import org.springframework.stereotype.Component;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
+import static org.apache.seata.common.DefaultValues.DEFAULT_SQL_RECOGNIZER_CACHE_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TABLE_META_CHECKER_INTERVAL;
 import static org.apache.seata.common.DefaultValues.TCC_ACTION_INTERCEPTOR_ORDER;
 import static org.apache.seata.common.DefaultValues.DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
@@ -52,10 +56,15 @@ public class RmProperties {
     private int branchExecutionTimeoutXA = DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
     private int connectionTwoPhaseHoldTimeoutXA = DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT;
     private String sqlParserType = SqlParserType.SQL_PARSER_TYPE_DRUID;
+    private int sqlRecognizerCacheSize = DEFAULT_SQL_RECOGNIZER_CACHE_SIZE;
 
     private Boolean applicationDataLimitCheck = false;
     private Integer applicationDataLimit = DEFAULT_APPLICATION_DATA_SIZE_LIMIT;
 
+    private boolean enableVirtualThread = DEFAULT_CLIENT_RM_ENABLE_VIRTUAL_THREAD;
+    private int virtualThreadMaxConcurrency = DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_CONCURRENCY;
+    private int virtualThreadMaxPendingTasks = DEFAULT_CLIENT_RM_VIRTUAL_THREAD_MAX_PENDING_TASKS;
+
     public int getAsyncCommitBufferLimit() {
         return asyncCommitBufferLimit;
     }
@@ -151,6 +160,15 @@ public class RmProperties {
         return this;
     }
 
+    public int getSqlRecognizerCacheSize() {
+        return sqlRecognizerCacheSize;
+    }
+
+    public RmProperties setSqlRecognizerCacheSize(int sqlRecognizerCacheSize) {
+        this.sqlRecognizerCacheSize = sqlRecognizerCacheSize;
+        return this;
+    }
+
     public int getBranchExecutionTimeoutXA() {
         return branchExecutionTimeoutXA;
     }
@@ -182,4 +200,31 @@ public class RmProperties {
     public void setApplicationDataLimit(Integer applicationDataLimit) {
         this.applicationDataLimit = applicationDataLimit;
     }
+
+    public boolean isEnableVirtualThread() {
+        return enableVirtualThread;
+    }
+
+    public RmProperties setEnableVirtualThread(boolean enableVirtualThread) {
+        this.enableVirtualThread = enableVirtualThread;
+        return this;
+    }
+
+    public int getVirtualThreadMaxConcurrency() {
+        return virtualThreadMaxConcurrency;
+    }
+
+    public RmProperties setVirtualThreadMaxConcurrency(int virtualThreadMaxConcurrency) {
+        this.virtualThreadMaxConcurrency = virtualThreadMaxConcurrency;
+        return this;
+    }
+
+    public int getVirtualThreadMaxPendingTasks() {
+        return virtualThreadMaxPendingTasks;
+    }
+
+    public RmProperties setVirtualThreadMaxPendingTasks(int virtualThreadMaxPendingTasks) {
+        this.virtualThreadMaxPendingTasks = virtualThreadMaxPendingTasks;
+        return this;
+    }
 }
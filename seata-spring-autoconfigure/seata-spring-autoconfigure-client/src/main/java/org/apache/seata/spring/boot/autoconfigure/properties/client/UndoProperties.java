@@ -23,6 +23,7 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COL
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_RETURNING_IMAGE;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.UNDO_PREFIX;
 
 
@@ -33,6 +34,7 @@ public class UndoProperties {
     private String logSerialization = DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
     private String logTable = DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
     private boolean onlyCareUpdateColumns = DEFAULT_ONLY_CARE_UPDATE_COLUMNS;
+    private boolean returningImage = DEFAULT_TRANSACTION_UNDO_RETURNING_IMAGE;
 
     public boolean isDataValidation() {
         return dataValidation;
@@ -69,4 +71,13 @@ public class UndoProperties {
         this.onlyCareUpdateColumns = onlyCareUpdateColumns;
         return this;
     }
+
+    public boolean isReturningImage() {
+        return returningImage;
+    }
+
+    public UndoProperties setReturningImage(boolean returningImage) {
+        this.returningImage = returningImage;
+        return this;
+    }
 }
@@ -57,6 +57,9 @@ public class RmPropertiesTest {
         rmProperties.setSqlParserType("type");
         Assertions.assertEquals("type", rmProperties.getSqlParserType());
 
+        rmProperties.setSqlRecognizerCacheSize(16);
+        Assertions.assertEquals(16, rmProperties.getSqlRecognizerCacheSize());
+
         rmProperties.setBranchExecutionTimeoutXA(1);
         Assertions.assertEquals(1, rmProperties.getBranchExecutionTimeoutXA());
 
@@ -68,5 +71,14 @@ public class RmPropertiesTest {
 
         rmProperties.setApplicationDataLimit(1);
         Assertions.assertEquals(1, rmProperties.getApplicationDataLimit());
+
+        rmProperties.setEnableVirtualThread(true);
+        Assertions.assertTrue(rmProperties.isEnableVirtualThread());
+
+        rmProperties.setVirtualThreadMaxConcurrency(100);
+        Assertions.assertEquals(100, rmProperties.getVirtualThreadMaxConcurrency());
+
+        rmProperties.setVirtualThreadMaxPendingTasks(1000);
+        Assertions.assertEquals(1000, rmProperties.getVirtualThreadMaxPendingTasks());
     }
 }
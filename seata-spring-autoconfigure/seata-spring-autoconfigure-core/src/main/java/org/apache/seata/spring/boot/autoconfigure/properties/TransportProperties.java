@@ -19,14 +19,20 @@ package org.apache.seata.spring.boot.autoconfigure.properties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_CLIENT_CHANNELS_PER_SERVER;
+import static org.apache.seata.common.DefaultValues.DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TC_SERVER_MESSAGE_LANE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_REQUEST;
 import static org.apache.seata.common.DefaultValues.DEFAULT_PROTOCOL;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_TC_REQUEST_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_RPC_TM_REQUEST_TIMEOUT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.TRANSPORT_PREFIX;
 
@@ -55,6 +61,16 @@ public class TransportProperties {
      */
     private String compressor = "none";
 
+    /**
+     * the zstd dictionary files or directories, separated by comma
+     */
+    private String compressorZstdDictionaryPath;
+
+    /**
+     * the id of the zstd dictionary to compress with, 0 for none
+     */
+    private long compressorZstdDictionaryId = DEFAULT_COMPRESSOR_ZSTD_DICTIONARY_ID;
+
     private String protocol = DEFAULT_PROTOCOL;
 
     /**
@@ -72,11 +88,36 @@ public class TransportProperties {
      */
     private boolean enableRmClientBatchSendRequest = DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST;
 
+    /**
+     * the max requests merged into one message of the client batch send
+     */
+    private int clientBatchSendMaxSize = DEFAULT_CLIENT_BATCH_SEND_MAX_SIZE;
+
+    /**
+     * the max wait of the first pending request of the client batch send, in microseconds
+     */
+    private long clientBatchSendMaxWait = DEFAULT_CLIENT_BATCH_SEND_MAX_WAIT;
+
+    /**
+     * the channels connected to each TC address, the requests of a transaction stay on one of them
+     */
+    private int clientChannelsPerServer = DEFAULT_CLIENT_CHANNELS_PER_SERVER;
+
     /**
      * enable TC server batch send response
      */
     private boolean enableTcServerBatchSendResponse = DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
 
+    /**
+     * the max responses coalesced into one batch result message of a channel
+     */
+    private int tcServerBatchSendResponseMaxSize = DEFAULT_TC_SERVER_BATCH_SEND_RESPONSE_MAX_SIZE;
+
+    /**
+     * enable TC server message lanes, which handle the requests on the executors of their types
+     */
+    private boolean enableTcServerMessageLane = DEFAULT_ENABLE_TC_SERVER_MESSAGE_LANE;
+
     /**
      * rpcRmRequestTimeout
      */
@@ -138,6 +179,24 @@ public class TransportProperties {
         return this;
     }
 
+    public String getCompressorZstdDictionaryPath() {
+        return compressorZstdDictionaryPath;
+    }
+
+    public TransportProperties setCompressorZstdDictionaryPath(String compressorZstdDictionaryPath) {
+        this.compressorZstdDictionaryPath = compressorZstdDictionaryPath;
+        return this;
+    }
+
+    public long getCompressorZstdDictionaryId() {
+        return compressorZstdDictionaryId;
+    }
+
+    public TransportProperties setCompressorZstdDictionaryId(long compressorZstdDictionaryId) {
+        this.compressorZstdDictionaryId = compressorZstdDictionaryId;
+        return this;
+    }
+
     public boolean isEnableClientBatchSendRequest() {
         return enableClientBatchSendRequest;
     }
@@ -165,6 +224,33 @@ public class TransportProperties {
         return this;
     }
 
+    public int getClientBatchSendMaxSize() {
+        return clientBatchSendMaxSize;
+    }
+
+    public TransportProperties setClientBatchSendMaxSize(int clientBatchSendMaxSize) {
+        this.clientBatchSendMaxSize = clientBatchSendMaxSize;
+        return this;
+    }
+
+    public long getClientBatchSendMaxWait() {
+        return clientBatchSendMaxWait;
+    }
+
+    public TransportProperties setClientBatchSendMaxWait(long clientBatchSendMaxWait) {
+        this.clientBatchSendMaxWait = clientBatchSendMaxWait;
+        return this;
+    }
+
+    public int getClientChannelsPerServer() {
+        return clientChannelsPerServer;
+    }
+
+    public TransportProperties setClientChannelsPerServer(int clientChannelsPerServer) {
+        this.clientChannelsPerServer = clientChannelsPerServer;
+        return this;
+    }
+
     public boolean isEnableTcServerBatchSendResponse() {
         return enableTcServerBatchSendResponse;
     }
@@ -173,6 +259,22 @@ public class TransportProperties {
         this.enableTcServerBatchSendResponse = enableTcServerBatchSendResponse;
     }
 
+    public int getTcServerBatchSendResponseMaxSize() {
+        return tcServerBatchSendResponseMaxSize;
+    }
+
+    public void setTcServerBatchSendResponseMaxSize(int tcServerBatchSendResponseMaxSize) {
+        this.tcServerBatchSendResponseMaxSize = tcServerBatchSendResponseMaxSize;
+    }
+
+    public boolean isEnableTcServerMessageLane() {
+        return enableTcServerMessageLane;
+    }
+
+    public void setEnableTcServerMessageLane(boolean enableTcServerMessageLane) {
+        this.enableTcServerMessageLane = enableTcServerMessageLane;
+    }
+
     public long getRpcRmRequestTimeout() {
         return rpcRmRequestTimeout;
     }
@@ -28,11 +28,18 @@ public class TransportPropertiesTest {
         transportProperties.setType("type");
         transportProperties.setSerialization("serialization");
         transportProperties.setCompressor("compressor");
+        transportProperties.setCompressorZstdDictionaryPath("/dict");
+        transportProperties.setCompressorZstdDictionaryId(100);
         transportProperties.setHeartbeat(true);
         transportProperties.setEnableClientBatchSendRequest(true);
         transportProperties.setEnableRmClientBatchSendRequest(true);
         transportProperties.setEnableTmClientBatchSendRequest(true);
         transportProperties.setEnableTcServerBatchSendResponse(true);
+        transportProperties.setTcServerBatchSendResponseMaxSize(64);
+        transportProperties.setEnableTcServerMessageLane(true);
+        transportProperties.setClientBatchSendMaxSize(16);
+        transportProperties.setClientBatchSendMaxWait(500);
+        transportProperties.setClientChannelsPerServer(4);
         transportProperties.setRpcRmRequestTimeout(1);
         transportProperties.setRpcTmRequestTimeout(1);
         transportProperties.setRpcTcRequestTimeout(1);
@@ -41,11 +48,18 @@ public class TransportPropertiesTest {
         Assertions.assertEquals("type", transportProperties.getType());
         Assertions.assertEquals("serialization", transportProperties.getSerialization());
         Assertions.assertEquals("compressor", transportProperties.getCompressor());
+        Assertions.assertEquals("/dict", transportProperties.getCompressorZstdDictionaryPath());
+        Assertions.assertEquals(100, transportProperties.getCompressorZstdDictionaryId());
         Assertions.assertTrue(transportProperties.isHeartbeat());
         Assertions.assertTrue(transportProperties.isEnableClientBatchSendRequest());
         Assertions.assertTrue(transportProperties.isEnableRmClientBatchSendRequest());
         Assertions.assertTrue(transportProperties.isEnableTmClientBatchSendRequest());
         Assertions.assertTrue(transportProperties.isEnableTcServerBatchSendResponse());
+        Assertions.assertEquals(64, transportProperties.getTcServerBatchSendResponseMaxSize());
+        Assertions.assertTrue(transportProperties.isEnableTcServerMessageLane());
+        Assertions.assertEquals(16, transportProperties.getClientBatchSendMaxSize());
+        Assertions.assertEquals(500, transportProperties.getClientBatchSendMaxWait());
+        Assertions.assertEquals(4, transportProperties.getClientChannelsPerServer());
         Assertions.assertEquals(1, transportProperties.getRpcRmRequestTimeout());
         Assertions.assertEquals(1, transportProperties.getRpcTmRequestTimeout());
         Assertions.assertEquals(1, transportProperties.getRpcTcRequestTimeout());
@@ -31,6 +31,10 @@ public class ServerProperties {
     private Boolean enableCheckAuth = true;
     private Boolean enableParallelRequestHandle = true;
     private Boolean enableParallelHandleBranch = false;
+    private Integer parallelHandleBranchThreads = 64;
+    private Boolean enableVirtualThread = false;
+    private Integer virtualThreadMaxConcurrency = 2000;
+    private Integer virtualThreadMaxPendingTasks = 20000;
     private Integer retryDeadThreshold = 130000;
     private Integer servicePort;
     private Integer xaerNotaRetryTimeout = 60000;
@@ -116,6 +120,38 @@ public class ServerProperties {
         this.enableParallelHandleBranch = enableParallelHandleBranch;
     }
 
+    public Integer getParallelHandleBranchThreads() {
+        return parallelHandleBranchThreads;
+    }
+
+    public void setParallelHandleBranchThreads(Integer parallelHandleBranchThreads) {
+        this.parallelHandleBranchThreads = parallelHandleBranchThreads;
+    }
+
+    public Boolean getEnableVirtualThread() {
+        return enableVirtualThread;
+    }
+
+    public void setEnableVirtualThread(Boolean enableVirtualThread) {
+        this.enableVirtualThread = enableVirtualThread;
+    }
+
+    public Integer getVirtualThreadMaxConcurrency() {
+        return virtualThreadMaxConcurrency;
+    }
+
+    public void setVirtualThreadMaxConcurrency(Integer virtualThreadMaxConcurrency) {
+        this.virtualThreadMaxConcurrency = virtualThreadMaxConcurrency;
+    }
+
+    public Integer getVirtualThreadMaxPendingTasks() {
+        return virtualThreadMaxPendingTasks;
+    }
+
+    public void setVirtualThreadMaxPendingTasks(Integer virtualThreadMaxPendingTasks) {
+        this.virtualThreadMaxPendingTasks = virtualThreadMaxPendingTasks;
+    }
+
     public Boolean getApplicationDataLimitCheck() {
         return applicationDataLimitCheck;
     }
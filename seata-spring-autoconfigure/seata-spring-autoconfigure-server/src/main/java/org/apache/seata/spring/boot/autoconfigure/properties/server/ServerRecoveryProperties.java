@@ -21,6 +21,8 @@ import org.springframework.stereotype.Component;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_COMMITING_RETRY_PERIOD;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_PARTITIONS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
 import static org.apache.seata.spring.boot.autoconfigure.StarterConstants.SERVER_RECOVERY_PREFIX;
@@ -34,6 +36,8 @@ public class ServerRecoveryProperties {
     private long asyncCommittingRetryPeriod = DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
     private long rollbackingRetryPeriod = DEFAULT_ROLLBACKING_RETRY_PERIOD;
     private long timeoutRetryPeriod = DEFAULT_TIMEOUT_RETRY_PERIOD;
+    private int partitions = DEFAULT_RECOVERY_PARTITIONS;
+    private int partitionQueueSize = DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE;
 
     public long getCommittingRetryPeriod() {
         return committingRetryPeriod;
@@ -70,4 +74,22 @@ public class ServerRecoveryProperties {
         this.timeoutRetryPeriod = timeoutRetryPeriod;
         return this;
     }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public ServerRecoveryProperties setPartitions(int partitions) {
+        this.partitions = partitions;
+        return this;
+    }
+
+    public int getPartitionQueueSize() {
+        return partitionQueueSize;
+    }
+
+    public ServerRecoveryProperties setPartitionQueueSize(int partitionQueueSize) {
+        this.partitionQueueSize = partitionQueueSize;
+        return this;
+    }
 }
@@ -43,6 +43,9 @@ public class StoreDBProperties {
     private String vgroupTable = "vgroup_table";
     private Integer queryLimit = DEFAULT_QUERY_LIMIT;
     private Long maxWait = 5000L;
+    private Boolean lockBatchAcquireEnabled = false;
+    private Boolean unlockBatchEnabled = false;
+    private Long unlockBatchWindow = 0L;
 
     public String getDatasource() {
         return datasource;
@@ -169,6 +172,33 @@ public class StoreDBProperties {
         return this;
     }
 
+    public Boolean getLockBatchAcquireEnabled() {
+        return lockBatchAcquireEnabled;
+    }
+
+    public StoreDBProperties setLockBatchAcquireEnabled(Boolean lockBatchAcquireEnabled) {
+        this.lockBatchAcquireEnabled = lockBatchAcquireEnabled;
+        return this;
+    }
+
+    public Boolean getUnlockBatchEnabled() {
+        return unlockBatchEnabled;
+    }
+
+    public StoreDBProperties setUnlockBatchEnabled(Boolean unlockBatchEnabled) {
+        this.unlockBatchEnabled = unlockBatchEnabled;
+        return this;
+    }
+
+    public Long getUnlockBatchWindow() {
+        return unlockBatchWindow;
+    }
+
+    public StoreDBProperties setUnlockBatchWindow(Long unlockBatchWindow) {
+        this.unlockBatchWindow = unlockBatchWindow;
+        return this;
+    }
+
     public String getVgroupTable() {
         return vgroupTable;
     }
@@ -32,6 +32,10 @@ public class StoreFileProperties {
     private Integer fileWriteBufferCacheSize = 16384;
     private Integer sessionReloadReadSize = DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
     private String flushDiskMode = "async";
+    private Boolean segmentEnabled = false;
+    private Integer segmentSize = 67108864;
+    private Boolean hashedLockTableEnabled = false;
+    private Boolean sessionFormatV2Enabled = false;
 
     public String getDir() {
         return dir;
@@ -86,4 +90,40 @@ public class StoreFileProperties {
         this.flushDiskMode = flushDiskMode;
         return this;
     }
+
+    public Boolean getSegmentEnabled() {
+        return segmentEnabled;
+    }
+
+    public StoreFileProperties setSegmentEnabled(Boolean segmentEnabled) {
+        this.segmentEnabled = segmentEnabled;
+        return this;
+    }
+
+    public Integer getSegmentSize() {
+        return segmentSize;
+    }
+
+    public StoreFileProperties setSegmentSize(Integer segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    public Boolean getHashedLockTableEnabled() {
+        return hashedLockTableEnabled;
+    }
+
+    public StoreFileProperties setHashedLockTableEnabled(Boolean hashedLockTableEnabled) {
+        this.hashedLockTableEnabled = hashedLockTableEnabled;
+        return this;
+    }
+
+    public Boolean getSessionFormatV2Enabled() {
+        return sessionFormatV2Enabled;
+    }
+
+    public StoreFileProperties setSessionFormatV2Enabled(Boolean sessionFormatV2Enabled) {
+        this.sessionFormatV2Enabled = sessionFormatV2Enabled;
+        return this;
+    }
 }
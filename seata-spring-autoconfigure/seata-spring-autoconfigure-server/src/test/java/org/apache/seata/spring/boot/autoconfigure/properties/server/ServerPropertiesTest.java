@@ -31,6 +31,10 @@ public class ServerPropertiesTest {
         serverProperties.setEnableCheckAuth(true);
         serverProperties.setApplicationDataLimitCheck(true);
         serverProperties.setEnableParallelHandleBranch(true);
+        serverProperties.setParallelHandleBranchThreads(16);
+        serverProperties.setEnableVirtualThread(true);
+        serverProperties.setVirtualThreadMaxConcurrency(100);
+        serverProperties.setVirtualThreadMaxPendingTasks(1000);
         serverProperties.setEnableParallelRequestHandle(true);
         serverProperties.setRollbackRetryTimeoutUnlockEnable(true);
         serverProperties.setMaxCommitRetryTimeout(1L);
@@ -43,6 +47,10 @@ public class ServerPropertiesTest {
         Assertions.assertTrue(serverProperties.getEnableCheckAuth());
         Assertions.assertTrue(serverProperties.getApplicationDataLimitCheck());
         Assertions.assertTrue(serverProperties.getEnableParallelHandleBranch());
+        Assertions.assertEquals(16, serverProperties.getParallelHandleBranchThreads());
+        Assertions.assertTrue(serverProperties.getEnableVirtualThread());
+        Assertions.assertEquals(100, serverProperties.getVirtualThreadMaxConcurrency());
+        Assertions.assertEquals(1000, serverProperties.getVirtualThreadMaxPendingTasks());
         Assertions.assertTrue(serverProperties.getEnableParallelRequestHandle());
         Assertions.assertTrue(serverProperties.getRollbackRetryTimeoutUnlockEnable());
         Assertions.assertEquals(1L, serverProperties.getMaxCommitRetryTimeout());
@@ -28,10 +28,14 @@ public class ServerRecoveryPropertiesTest {
         serverRecoveryProperties.setCommittingRetryPeriod(1L);
         serverRecoveryProperties.setRollbackingRetryPeriod(1L);
         serverRecoveryProperties.setTimeoutRetryPeriod(1L);
+        serverRecoveryProperties.setPartitions(4);
+        serverRecoveryProperties.setPartitionQueueSize(16);
 
         Assertions.assertEquals(1L, serverRecoveryProperties.getAsyncCommittingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getCommittingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getRollbackingRetryPeriod());
         Assertions.assertEquals(1L, serverRecoveryProperties.getTimeoutRetryPeriod());
+        Assertions.assertEquals(4, serverRecoveryProperties.getPartitions());
+        Assertions.assertEquals(16, serverRecoveryProperties.getPartitionQueueSize());
     }
 }
@@ -30,6 +30,10 @@ public class StoreFilePropertiesTest {
         storeFileProperties.setMaxBranchSessionSize(1);
         storeFileProperties.setMaxGlobalSessionSize(1);
         storeFileProperties.setSessionReloadReadSize(1);
+        storeFileProperties.setSegmentEnabled(true);
+        storeFileProperties.setSegmentSize(1);
+        storeFileProperties.setHashedLockTableEnabled(true);
+        storeFileProperties.setSessionFormatV2Enabled(true);
 
         Assertions.assertEquals("dir", storeFileProperties.getDir());
         Assertions.assertEquals("disk", storeFileProperties.getFlushDiskMode());
@@ -37,5 +41,9 @@ public class StoreFilePropertiesTest {
         Assertions.assertEquals(1, storeFileProperties.getMaxGlobalSessionSize());
         Assertions.assertEquals(1, storeFileProperties.getMaxBranchSessionSize());
         Assertions.assertEquals(1, storeFileProperties.getSessionReloadReadSize());
+        Assertions.assertTrue(storeFileProperties.getSegmentEnabled());
+        Assertions.assertEquals(1, storeFileProperties.getSegmentSize());
+        Assertions.assertTrue(storeFileProperties.getHashedLockTableEnabled());
+        Assertions.assertTrue(storeFileProperties.getSessionFormatV2Enabled());
     }
 }
@@ -20,10 +20,9 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.apache.seata.common.loader.LoadLevel;
 import org.apache.seata.common.loader.Scope;
-import org.apache.seata.common.util.BufferUtils;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.ProtocolConstants;
-import org.apache.seata.core.serializer.Serializer;
+import org.apache.seata.core.serializer.ByteBufSerializer;
 
 import java.nio.ByteBuffer;
 
@@ -31,8 +30,8 @@ import java.nio.ByteBuffer;
  * The Seata codec.
  */
 @LoadLevel(name = "SEATA", scope = Scope.PROTOTYPE)
-public class SeataSerializer implements Serializer {
-    Serializer versionSeataSerializer;
+public class SeataSerializer implements ByteBufSerializer {
+    ByteBufSerializer versionSeataSerializer;
 
     public SeataSerializer(Byte version) {
         if (version == ProtocolConstants.VERSION_0) {
@@ -55,8 +54,18 @@ public class SeataSerializer implements Serializer {
         return versionSeataSerializer.deserialize(bytes);
     }
 
+    @Override
+    public <T> void serialize(T t, ByteBuf out) {
+        versionSeataSerializer.serialize(t, out);
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in) {
+        return versionSeataSerializer.deserialize(in);
+    }
 
-    static class SeataSerializerV1 implements Serializer {
+
+    static class SeataSerializerV1 implements ByteBufSerializer {
 
         private static volatile SeataSerializerV1 instance;
 
@@ -76,40 +85,32 @@ public class SeataSerializer implements Serializer {
 
         @Override
         public <T> byte[] serialize(T t) {
-            if (!(t instanceof AbstractMessage)) {
-                throw new IllegalArgumentException("AbstractMessage isn't available.");
-            }
-            AbstractMessage abstractMessage = (AbstractMessage) t;
+            return toBytes(this, t);
+        }
+
+        @Override
+        public <T> void serialize(T t, ByteBuf out) {
+            AbstractMessage abstractMessage = checkMessage(t);
             //type code
             short typecode = abstractMessage.getTypeCode();
             //msg codec
             MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, ProtocolConstants.VERSION_1);
-            //get empty ByteBuffer
-            ByteBuf out = Unpooled.buffer(1024);
-            //msg encode
-            messageCodec.encode(t, out);
-            byte[] body = new byte[out.readableBytes()];
-            out.readBytes(body);
-
-            ByteBuffer byteBuffer;
-
             //typecode + body
-            byteBuffer = ByteBuffer.allocate(2 + body.length);
-            byteBuffer.putShort(typecode);
-            byteBuffer.put(body);
-
-            BufferUtils.flip(byteBuffer);
-            byte[] content = new byte[byteBuffer.limit()];
-            byteBuffer.get(content);
-            return content;
+            out.writeShort(typecode);
+            messageCodec.encode(t, out);
         }
 
         @Override
         public <T> T deserialize(byte[] bytes) {
-            return deserializeByVersion(bytes, ProtocolConstants.VERSION_1);
+            return deserialize(toBuffer(bytes));
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf in) {
+            return deserializeByVersion(in, ProtocolConstants.VERSION_1);
         }
     }
-    static class SeataSerializerV0 implements Serializer {
+    static class SeataSerializerV0 implements ByteBufSerializer {
 
         private static volatile SeataSerializerV0 instance;
 
@@ -129,56 +130,73 @@ public class SeataSerializer implements Serializer {
 
         @Override
         public <T> byte[] serialize(T t) {
-            if (!(t instanceof AbstractMessage)) {
-                throw new IllegalArgumentException("AbstractMessage isn't available.");
-            }
-            AbstractMessage abstractMessage = (AbstractMessage) t;
+            return toBytes(this, t);
+        }
+
+        @Override
+        public <T> void serialize(T t, ByteBuf out) {
+            AbstractMessage abstractMessage = checkMessage(t);
             //type code
             short typecode = abstractMessage.getTypeCode();
             //msg codec
             MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, ProtocolConstants.VERSION_0);
-            //get empty ByteBuffer
-            ByteBuf out = Unpooled.buffer(1024);
             //msg encode
             messageCodec.encode(t, out);
-            byte[] body = new byte[out.readableBytes()];
-            out.readBytes(body);
-
-            ByteBuffer byteBuffer;
-            byteBuffer = ByteBuffer.allocate(body.length);
-
-            byteBuffer.put(body);
-
-            BufferUtils.flip(byteBuffer);
-            byte[] content = new byte[byteBuffer.limit()];
-            byteBuffer.get(content);
-            return content;
         }
 
         @Override
         public <T> T deserialize(byte[] bytes) {
-            return deserializeByVersion(bytes, ProtocolConstants.VERSION_0);
+            return deserialize(toBuffer(bytes));
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf in) {
+            return deserializeByVersion(in, ProtocolConstants.VERSION_0);
         }
 
     }
 
-    private static <T> T deserializeByVersion(byte[] bytes, byte version) {
+    private static AbstractMessage checkMessage(Object t) {
+        if (!(t instanceof AbstractMessage)) {
+            throw new IllegalArgumentException("AbstractMessage isn't available.");
+        }
+        return (AbstractMessage) t;
+    }
+
+    private static <T> byte[] toBytes(ByteBufSerializer serializer, T t) {
+        //get empty ByteBuffer
+        ByteBuf out = Unpooled.buffer(1024);
+        serializer.serialize(t, out);
+        byte[] content = new byte[out.readableBytes()];
+        out.readBytes(content);
+        return content;
+    }
+
+    private static ByteBuf toBuffer(byte[] bytes) {
         if (bytes == null || bytes.length == 0) {
             throw new IllegalArgumentException("Nothing to decode.");
         }
-        if (bytes.length < 2) {
+        return Unpooled.wrappedBuffer(bytes);
+    }
+
+    private static <T> T deserializeByVersion(ByteBuf buf, byte version) {
+        if (!buf.isReadable()) {
+            throw new IllegalArgumentException("Nothing to decode.");
+        }
+        if (buf.readableBytes() < 2) {
             throw new IllegalArgumentException("The byte[] isn't available for decode.");
         }
-        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
         //typecode
-        short typecode = byteBuffer.getShort();
-        ByteBuffer in = byteBuffer.slice();
+        short typecode = buf.readShort();
+        // a view of the readable bytes, without copying for the heap and the direct buffers
+        ByteBuffer in = buf.nioBuffer();
         //new message
         AbstractMessage abstractMessage = MessageCodecFactory.getMessage(typecode);
         //get messageCodec
         MessageSeataCodec messageCodec = MessageCodecFactory.getMessageCodec(typecode, version);
         //decode
         messageCodec.decode(abstractMessage, in);
+        buf.skipBytes(buf.readableBytes());
         return (T) abstractMessage;
     }
 }
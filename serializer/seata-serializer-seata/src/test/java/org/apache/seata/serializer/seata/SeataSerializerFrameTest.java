@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.serializer.seata;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.seata.core.compressor.CompressorType;
+import org.apache.seata.core.protocol.ProtocolConstants;
+import org.apache.seata.core.protocol.RpcMessage;
+import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
+import org.apache.seata.core.rpc.netty.v1.ProtocolDecoderV1;
+import org.apache.seata.core.rpc.netty.v1.ProtocolEncoderV1;
+import org.apache.seata.core.serializer.SerializerType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The body is encoded into and decoded from the frame buffers directly.
+ */
+public class SeataSerializerFrameTest {
+
+    @Test
+    public void test_frame_codec() {
+        GlobalBeginRequest request = new GlobalBeginRequest();
+        request.setTransactionName("frame");
+        request.setTimeout(3000);
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(7);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(SerializerType.SEATA.getCode());
+        rpcMessage.setCompressor(CompressorType.NONE.getCode());
+        rpcMessage.setBody(request);
+
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolEncoderV1());
+        assertThat(encoder.writeOutbound(rpcMessage)).isTrue();
+        ByteBuf frame = encoder.readOutbound();
+        byte[] body = new SeataSerializer(ProtocolConstants.VERSION_1).serialize(request);
+        assertThat(frame.readableBytes()).isEqualTo(ProtocolConstants.V1_HEAD_LENGTH + body.length);
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolDecoderV1());
+        assertThat(decoder.writeInbound(frame)).isTrue();
+        RpcMessage decoded = decoder.readInbound();
+        assertThat(decoded.getId()).isEqualTo(7);
+        GlobalBeginRequest decodedRequest = (GlobalBeginRequest) decoded.getBody();
+        assertThat(decodedRequest.getTransactionName()).isEqualTo("frame");
+        assertThat(decodedRequest.getTimeout()).isEqualTo(3000);
+        assertThat(frame.refCnt()).isZero();
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.seata.serializer.seata.protocol;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.seata.core.protocol.AbstractMessage;
 import org.apache.seata.core.protocol.MergedWarpMessage;
 import org.apache.seata.core.protocol.transaction.GlobalBeginRequest;
@@ -77,6 +79,35 @@ public class MergedWarpMessageSerializerTest {
 
     }
 
+    /**
+     * Test codec with the direct buffer.
+     */
+    @Test
+    public void test_codec_byteBuf() {
+        MergedWarpMessage mergedWarpMessage = new MergedWarpMessage();
+        mergedWarpMessage.msgs.add(buildGlobalBeginRequest("x1"));
+        mergedWarpMessage.msgIds.add(1);
+        mergedWarpMessage.msgs.add(buildGlobalBeginRequest("x2"));
+        mergedWarpMessage.msgIds.add(2);
+
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            // the body follows the header in the frame
+            buf.writeInt(0xCAFE);
+            seataSerializer.serialize(mergedWarpMessage, buf);
+            byte[] body = seataSerializer.serialize(mergedWarpMessage);
+            assertThat(buf.readableBytes()).isEqualTo(4 + body.length);
+
+            buf.skipBytes(4);
+            MergedWarpMessage mergedWarpMessage2 = seataSerializer.deserialize(buf);
+            assertThat(buf.isReadable()).isFalse();
+            assertThat(mergedWarpMessage2.msgIds).containsExactly(1, 2);
+            assertThat(((GlobalBeginRequest) mergedWarpMessage2.msgs.get(1)).getTransactionName()).isEqualTo("x2");
+        } finally {
+            buf.release();
+        }
+    }
+
     private GlobalBeginRequest buildGlobalBeginRequest(String name) {
         final GlobalBeginRequest globalBeginRequest = new GlobalBeginRequest();
         globalBeginRequest.setTransactionName(name);
@@ -86,6 +86,7 @@ public class Server {
             }
         }
         NettyRemotingServer nettyRemotingServer = new NettyRemotingServer(workingThreads);
+        MetricsManager.get().registerMessageLanes(nettyRemotingServer.getMessageLanes());
         XID.setPort(nettyRemotingServer.getListenPort());
         UUIDGenerator.init(parameterParser.getServerNode());
         ConfigurableListableBeanFactory beanFactory =
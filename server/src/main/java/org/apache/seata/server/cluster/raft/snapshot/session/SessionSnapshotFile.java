@@ -90,6 +90,7 @@ public class SessionSnapshotFile implements Serializable,StoreSnapshotFile {
             LockerManagerFactory.getLockManager().cleanAllLocks();
             rootSessionMap.clear();
             rootSessionMap.putAll(sessionSnapshot.convert2GlobalSession());
+            raftSessionManager.reindexSessions();
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("on snapshot load end index: {}", reader.load().getLastIncludedIndex());
             }
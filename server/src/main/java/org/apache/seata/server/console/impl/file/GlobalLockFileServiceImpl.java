@@ -79,7 +79,8 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
      * @return the RowLock list
      */
     private Stream<RowLock> filterAndMap(GlobalLockParam param, BranchSession branchSession) {
-        if (CollectionUtils.isEmpty(branchSession.getLockHolder())) {
+        if (CollectionUtils.isEmpty(branchSession.getLockHolder())
+            && (branchSession.getHeldRowLocks() == null || branchSession.getHeldRowLocks().size() == 0)) {
             return Stream.empty();
         }
 
@@ -19,6 +19,7 @@ package org.apache.seata.server.coordinator;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -70,6 +71,8 @@ import org.apache.seata.server.limit.LimitRequestDecorator;
 import org.apache.seata.server.metrics.MetricsPublisher;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.GlobalSessionHandler;
+import org.apache.seata.server.session.PartitionedSessionDispatcher;
 import org.apache.seata.server.session.SessionCondition;
 import org.apache.seata.server.session.SessionHelper;
 import org.apache.seata.server.session.SessionHolder;
@@ -92,6 +95,8 @@ import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_BRANCH_ASYNC_
 import static org.apache.seata.common.DefaultValues.DEFAULT_MAX_COMMIT_RETRY_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_MAX_ROLLBACK_RETRY_TIMEOUT;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_PARTITIONS;
+import static org.apache.seata.common.DefaultValues.DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_ROLLBACK_FAILED_UNLOCK_ENABLE;
 import static org.apache.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
 import static org.apache.seata.common.DefaultValues.DEFAULT_UNDO_LOG_DELETE_PERIOD;
@@ -198,6 +203,11 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
 
     private final ThreadPoolExecutor branchRemoveExecutor;
 
+    /**
+     * the partitioned dispatchers of the recovery tasks, empty if the recovery sessions are not partitioned
+     */
+    private final Map<String, PartitionedSessionDispatcher> recoveryDispatchers = new HashMap<>();
+
     private RemotingServer remotingServer;
 
     private final DefaultCore core;
@@ -228,6 +238,14 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         } else {
             branchRemoveExecutor = null;
         }
+        int recoveryPartitions = CONFIG.getInt(ConfigurationKeys.RECOVERY_PARTITIONS, DEFAULT_RECOVERY_PARTITIONS);
+        if (recoveryPartitions > 0) {
+            int queueSize = CONFIG.getInt(ConfigurationKeys.RECOVERY_PARTITION_QUEUE_SIZE,
+                DEFAULT_RECOVERY_PARTITION_QUEUE_SIZE);
+            for (String task : new String[] {TX_TIMEOUT_CHECK, RETRY_ROLLBACKING, RETRY_COMMITTING, ASYNC_COMMITTING}) {
+                recoveryDispatchers.put(task, new PartitionedSessionDispatcher(task, recoveryPartitions, queueSize));
+            }
+        }
     }
 
     public static DefaultCoordinator getInstance(RemotingServer remotingServer) {
@@ -344,17 +362,15 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
      * Timeout check.
      */
     protected void timeoutCheck() {
-        SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
-        sessionCondition.setLazyLoadBranch(true);
         Collection<GlobalSession> beginGlobalSessions =
-            SessionHolder.getRootSessionManager().findGlobalSessions(sessionCondition);
+            SessionHolder.getRootSessionManager().findTimeoutCandidates();
         if (CollectionUtils.isEmpty(beginGlobalSessions)) {
             return;
         }
         if (!beginGlobalSessions.isEmpty() && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Global transaction timeout check begin, size: {}", beginGlobalSessions.size());
         }
-        SessionHelper.forEach(beginGlobalSessions, globalSession -> {
+        recoveryForEach(TX_TIMEOUT_CHECK, beginGlobalSessions, globalSession -> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(
                         globalSession.getXid() + " " + globalSession.getStatus() + " " + globalSession.getBeginTime() + " "
@@ -396,7 +412,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             return;
         }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(rollbackingSessions, rollbackingSession -> {
+        recoveryForEach(RETRY_ROLLBACKING, rollbackingSessions, rollbackingSession -> {
             try {
                 if (isRetryTimeout(now, MAX_ROLLBACK_RETRY_TIMEOUT, rollbackingSession.getBeginTime())) {
                     if (ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE || ROLLBACK_FAILED_UNLOCK_ENABLE) {
@@ -427,7 +443,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             return;
         }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(committingSessions, committingSession -> {
+        recoveryForEach(RETRY_COMMITTING, committingSessions, committingSession -> {
             try {
                 if (isRetryTimeout(now, MAX_COMMIT_RETRY_TIMEOUT, committingSession.getBeginTime())) {
 
@@ -458,7 +474,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         if (CollectionUtils.isEmpty(asyncCommittingSessions)) {
             return;
         }
-        SessionHelper.forEach(asyncCommittingSessions, asyncCommittingSession -> {
+        recoveryForEach(ASYNC_COMMITTING, asyncCommittingSessions, asyncCommittingSession -> {
             try {
                 core.doGlobalCommit(asyncCommittingSession, true);
             } catch (TransactionException ex) {
@@ -467,6 +483,22 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         });
     }
 
+    /**
+     * Handle the sessions of the recovery task, in the partitions of the task if the recovery sessions are partitioned.
+     *
+     * @param task     the recovery task
+     * @param sessions the global sessions
+     * @param handler  the handler
+     */
+    private void recoveryForEach(String task, Collection<GlobalSession> sessions, GlobalSessionHandler handler) {
+        PartitionedSessionDispatcher dispatcher = recoveryDispatchers.get(task);
+        if (dispatcher != null) {
+            dispatcher.forEach(sessions, handler);
+        } else {
+            SessionHelper.forEach(sessions, handler);
+        }
+    }
+
     /**
      * Undo log delete.
      */
@@ -667,6 +699,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         if (branchRemoveExecutor != null) {
             branchRemoveExecutor.shutdown();
         }
+        recoveryDispatchers.values().forEach(PartitionedSessionDispatcher::shutdown);
         try {
             retryRollbacking.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             retryCommitting.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
@@ -676,6 +709,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             if (branchRemoveExecutor != null) {
                 branchRemoveExecutor.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             }
+            for (PartitionedSessionDispatcher dispatcher : recoveryDispatchers.values()) {
+                dispatcher.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
+            }
         } catch (InterruptedException ignore) {
 
         }
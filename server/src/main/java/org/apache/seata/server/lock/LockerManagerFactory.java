@@ -21,6 +21,7 @@ import org.apache.seata.common.store.LockMode;
 import org.apache.seata.common.store.StoreMode;
 import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.server.storage.file.lock.HashedFileLockManager;
 import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,7 +68,11 @@ public class LockerManagerFactory {
                     LOGGER.info("use lock store mode: {}", lockMode.getName());
                     //if not exist the lock mode, throw exception
                     if (null != StoreMode.get(lockMode.name())) {
-                        LOCK_MANAGER = EnhancedServiceLoader.load(LockManager.class, lockMode.getName());
+                        String lockManagerName = lockMode.getName();
+                        if (lockMode == LockMode.FILE && StoreConfig.isFileHashedLockTableEnabled()) {
+                            lockManagerName = HashedFileLockManager.NAME;
+                        }
+                        LOCK_MANAGER = EnhancedServiceLoader.load(LockManager.class, lockManagerName);
                     }
                 }
             }
@@ -113,4 +113,12 @@ public interface MeterIdConstants {
     Id SUMMARY_RATE_LIMIT = new Id(IdConstants.SEATA_RATE_LIMIT)
             .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
             .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_SUMMARY);
+
+    Id GAUGE_MESSAGE_LANE_QUEUE = new Id(IdConstants.SEATA_MESSAGE_LANE)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE);
+
+    Id TIMER_MESSAGE_LANE_WAIT = new Id(IdConstants.SEATA_MESSAGE_LANE)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER);
 }
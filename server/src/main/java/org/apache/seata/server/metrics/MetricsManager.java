@@ -17,9 +17,13 @@
 package org.apache.seata.server.metrics;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
+import org.apache.seata.core.rpc.netty.MessageExecutorLane;
+import org.apache.seata.core.rpc.netty.MessageExecutorLanes;
+import org.apache.seata.metrics.Timer;
 import org.apache.seata.metrics.exporter.Exporter;
 import org.apache.seata.metrics.exporter.ExporterFactory;
 import org.apache.seata.metrics.registry.Registry;
@@ -27,6 +31,7 @@ import org.apache.seata.metrics.registry.RegistryFactory;
 import org.apache.seata.server.event.EventBusManager;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_METRICS_ENABLED;
+import static org.apache.seata.metrics.IdConstants.LANE_KEY;
 
 /**
  * Metrics manager for init
@@ -62,4 +67,22 @@ public class MetricsManager {
             }
         }
     }
+
+    /**
+     * Register the queue depth and the wait time of the message lanes, if the metrics is enabled.
+     *
+     * @param messageLanes the message lanes
+     */
+    public void registerMessageLanes(MessageExecutorLanes messageLanes) {
+        if (registry == null) {
+            return;
+        }
+        for (MessageExecutorLane lane : messageLanes.getLanes()) {
+            registry.getGauge(MeterIdConstants.GAUGE_MESSAGE_LANE_QUEUE.withTag(LANE_KEY, lane.getLaneName()),
+                lane::getQueueDepth);
+            Timer waitTimer = registry.getTimer(
+                MeterIdConstants.TIMER_MESSAGE_LANE_WAIT.withTag(LANE_KEY, lane.getLaneName()));
+            lane.setWaitTimeListener(nanos -> waitTimer.record(nanos, TimeUnit.NANOSECONDS));
+        }
+    }
 }
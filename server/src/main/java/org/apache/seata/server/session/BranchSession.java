@@ -18,12 +18,12 @@ package org.apache.seata.server.session;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.seata.common.util.BufferUtils;
 import org.apache.seata.common.util.CompressUtil;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.BranchStatus;
@@ -32,6 +32,8 @@ import org.apache.seata.core.model.LockStatus;
 import org.apache.seata.server.lock.LockManager;
 import org.apache.seata.server.lock.LockerManagerFactory;
 import org.apache.seata.server.storage.file.lock.FileLocker;
+import org.apache.seata.server.storage.file.lock.HashedFileLocker;
+import org.apache.seata.server.store.SessionCodec;
 import org.apache.seata.server.store.SessionStorable;
 import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
@@ -49,8 +51,7 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private static final int MAX_BRANCH_SESSION_SIZE = StoreConfig.getMaxBranchSessionSize();
 
-    private static ThreadLocal<ByteBuffer> byteBufferThreadLocal = ThreadLocal.withInitial(() -> ByteBuffer.allocate(
-        MAX_BRANCH_SESSION_SIZE));
+    private static final byte FLAG_LOCK_KEY_COMPRESSED = 0x01;
 
     private String xid;
 
@@ -76,8 +77,15 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private final Map<FileLocker.BucketLockMap, Set<String>> lockHolder;
 
+    private volatile HashedFileLocker.HeldRowLocks heldRowLocks;
+
     private final LockManager lockManager = LockerManagerFactory.getLockManager();
 
+    /**
+     * The last compressed oversize lock key, one write sizes and encodes the session several times.
+     */
+    private volatile CompressedLockKey compressedLockKey;
+
     public BranchSession() {
         lockHolder = new ConcurrentHashMap<>(2);
     }
@@ -290,6 +298,33 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
         return lockHolder;
     }
 
+    /**
+     * Gets the row locks held in the hashed file lock table.
+     *
+     * @return the held row locks, null if the branch never locked
+     */
+    public HashedFileLocker.HeldRowLocks getHeldRowLocks() {
+        return heldRowLocks;
+    }
+
+    /**
+     * Gets or create the row locks held in the hashed file lock table.
+     *
+     * @return the held row locks
+     */
+    public HashedFileLocker.HeldRowLocks getOrCreateHeldRowLocks() {
+        HashedFileLocker.HeldRowLocks rowLocks = heldRowLocks;
+        if (rowLocks == null) {
+            synchronized (this) {
+                rowLocks = heldRowLocks;
+                if (rowLocks == null) {
+                    heldRowLocks = rowLocks = new HashedFileLocker.HeldRowLocks();
+                }
+            }
+        }
+        return rowLocks;
+    }
+
     @Override
     public boolean lock() throws TransactionException {
         return this.lock(true, false);
@@ -324,117 +359,192 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     @Override
     public byte[] encode() {
+        int plainSize = plainEncodedSize();
+        byte[] compressedLockKey = compressOversizeLockKey(plainSize);
+        byte[] result = new byte[encodedSize(plainSize, compressedLockKey)];
+        encode(ByteBuffer.wrap(result), compressedLockKey);
+        return result;
+    }
 
-        byte[] resourceIdBytes = resourceId != null ? resourceId.getBytes() : null;
-
-        byte[] lockKeyBytes = lockKey != null ? lockKey.getBytes() : null;
-
-        byte[] clientIdBytes = clientId != null ? clientId.getBytes() : null;
-
-        byte[] applicationDataBytes = applicationData != null ? applicationData.getBytes() : null;
-
-        byte[] xidBytes = xid != null ? xid.getBytes() : null;
-
-        byte branchTypeByte = branchType != null ? (byte) branchType.ordinal() : -1;
-
-        int size = calBranchSessionSize(resourceIdBytes, lockKeyBytes, clientIdBytes, applicationDataBytes, xidBytes);
+    @Override
+    public int encodedSize() {
+        int plainSize = plainEncodedSize();
+        return encodedSize(plainSize, compressOversizeLockKey(plainSize));
+    }
 
-        if (size > MAX_BRANCH_SESSION_SIZE) {
-            if (lockKeyBytes == null) {
-                throw new RuntimeException("branch session size exceeded, size : " + size + " maxBranchSessionSize : "
-                    + MAX_BRANCH_SESSION_SIZE);
-            }
-            // try compress lockkey
-            try {
-                size -= lockKeyBytes.length;
-                lockKeyBytes = CompressUtil.compress(lockKeyBytes);
-            } catch (IOException e) {
-                LOGGER.error("compress lockKey error", e);
-            } finally {
-                size += lockKeyBytes.length;
-            }
+    @Override
+    public void encode(ByteBuffer dst) {
+        encode(dst, compressOversizeLockKey(plainEncodedSize()));
+    }
 
-            if (size > MAX_BRANCH_SESSION_SIZE) {
-                throw new RuntimeException(
-                    "compress branch session size exceeded, compressSize : " + size + " maxBranchSessionSize : "
-                        + MAX_BRANCH_SESSION_SIZE);
-            }
+    private void encode(ByteBuffer dst, byte[] compressedLockKey) {
+        if (!SessionCodec.isFormatV2Enabled()) {
+            encodeLegacy(dst, compressedLockKey);
+            return;
         }
-
-        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
-        //recycle
-        byteBuffer.clear();
-
-        byteBuffer.putLong(transactionId);
-        byteBuffer.putLong(branchId);
-
-        if (resourceIdBytes != null) {
-            byteBuffer.putInt(resourceIdBytes.length);
-            byteBuffer.put(resourceIdBytes);
+        // the fixed fields first, so they can be read without decoding the strings
+        dst.put(SessionCodec.FORMAT_V2);
+        dst.putLong(transactionId);
+        dst.putLong(branchId);
+        dst.put(branchType != null ? (byte)branchType.ordinal() : -1);
+        dst.put((byte)status.getCode());
+        dst.put((byte)lockStatus.getCode());
+        dst.put(compressedLockKey != null ? FLAG_LOCK_KEY_COMPRESSED : 0);
+        SessionCodec.putString(dst, xid);
+        SessionCodec.putString(dst, resourceId);
+        SessionCodec.putString(dst, clientId);
+        SessionCodec.putString(dst, applicationData);
+        if (compressedLockKey != null) {
+            SessionCodec.putBytes(dst, compressedLockKey);
         } else {
-            byteBuffer.putInt(0);
+            SessionCodec.putString(dst, lockKey);
         }
+    }
 
-        if (lockKeyBytes != null) {
-            byteBuffer.putInt(lockKeyBytes.length);
-            byteBuffer.put(lockKeyBytes);
+    private void encodeLegacy(ByteBuffer dst, byte[] compressedLockKey) {
+        dst.putLong(transactionId);
+        dst.putLong(branchId);
+        SessionCodec.putLegacyString(dst, resourceId);
+        if (compressedLockKey != null) {
+            SessionCodec.putBytes(dst, compressedLockKey);
         } else {
-            byteBuffer.putInt(0);
+            SessionCodec.putLegacyString(dst, lockKey);
         }
-
-        if (clientIdBytes != null) {
-            byteBuffer.putShort((short)clientIdBytes.length);
-            byteBuffer.put(clientIdBytes);
-        } else {
-            byteBuffer.putShort((short)0);
+        SessionCodec.putLegacyShortString(dst, clientId);
+        SessionCodec.putLegacyString(dst, applicationData);
+        SessionCodec.putLegacyString(dst, xid);
+        dst.put(branchType != null ? (byte)branchType.ordinal() : -1);
+        dst.put((byte)status.getCode());
+        dst.put((byte)lockStatus.getCode());
+    }
+
+    private int plainEncodedSize() {
+        if (!SessionCodec.isFormatV2Enabled()) {
+            return 8 // transactionId
+                + 8 // branchId
+                + 4 // resourceIdBytes.length
+                + 4 // lockKeyBytes.length
+                + 2 // clientIdBytes.length
+                + 4 // applicationDataBytes.length
+                + 4 // xidBytes.length
+                + 1 // branchType
+                + 1 // statusCode
+                + 1 // lockStatus
+                + SessionCodec.legacySizeOf(resourceId)
+                + SessionCodec.legacySizeOf(lockKey)
+                + SessionCodec.legacySizeOf(clientId)
+                + SessionCodec.legacySizeOf(applicationData)
+                + SessionCodec.legacySizeOf(xid);
         }
-
-        if (applicationDataBytes != null) {
-            byteBuffer.putInt(applicationDataBytes.length);
-            byteBuffer.put(applicationDataBytes);
-        } else {
-            byteBuffer.putInt(0);
+        return 1 // format
+            + 8 // transactionId
+            + 8 // branchId
+            + 1 // branchType
+            + 1 // statusCode
+            + 1 // lockStatus
+            + 1 // flags
+            + SessionCodec.sizeOf(xid)
+            + SessionCodec.sizeOf(resourceId)
+            + SessionCodec.sizeOf(clientId)
+            + SessionCodec.sizeOf(applicationData)
+            + SessionCodec.sizeOf(lockKey);
+    }
+
+    private int encodedSize(int plainSize, byte[] compressedLockKey) {
+        if (compressedLockKey == null) {
+            return plainSize;
         }
+        int lockKeySize = SessionCodec.isFormatV2Enabled() ? SessionCodec.sizeOf(lockKey) - 4
+            : SessionCodec.legacySizeOf(lockKey);
+        return plainSize - lockKeySize + compressedLockKey.length;
+    }
 
-        if (xidBytes != null) {
-            byteBuffer.putInt(xidBytes.length);
-            byteBuffer.put(xidBytes);
-        } else {
-            byteBuffer.putInt(0);
+    /**
+     * Compress the lock key if the branch session is oversize.
+     *
+     * @param plainSize the size without compression
+     * @return the compressed lock key, or null if the branch session is not oversize
+     */
+    private byte[] compressOversizeLockKey(int plainSize) {
+        if (plainSize <= MAX_BRANCH_SESSION_SIZE) {
+            return null;
+        }
+        if (lockKey == null) {
+            throw new RuntimeException("branch session size exceeded, size : " + plainSize + " maxBranchSessionSize : "
+                + MAX_BRANCH_SESSION_SIZE);
+        }
+        CompressedLockKey cached = this.compressedLockKey;
+        if (cached != null && cached.lockKey == lockKey) {
+            return cached.bytes;
+        }
+        byte[] compressedLockKey;
+        try {
+            compressedLockKey = CompressUtil.compress(lockKey.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("compress lockKey error", e);
+        }
+        int size = encodedSize(plainSize, compressedLockKey);
+        if (size > MAX_BRANCH_SESSION_SIZE) {
+            throw new RuntimeException(
+                "compress branch session size exceeded, compressSize : " + size + " maxBranchSessionSize : "
+                    + MAX_BRANCH_SESSION_SIZE);
         }
+        this.compressedLockKey = new CompressedLockKey(lockKey, compressedLockKey);
+        return compressedLockKey;
+    }
+
+    /**
+     * The compressed bytes of a lock key, only valid while the lock key of the session is the same instance.
+     */
+    private static final class CompressedLockKey {
 
-        byteBuffer.put(branchTypeByte);
+        private final String lockKey;
 
-        byteBuffer.put((byte)status.getCode());
-        byteBuffer.put((byte)lockStatus.getCode());
-        BufferUtils.flip(byteBuffer);
-        byte[] result = new byte[byteBuffer.limit()];
-        byteBuffer.get(result);
-        return result;
-    }
+        private final byte[] bytes;
 
-    private int calBranchSessionSize(byte[] resourceIdBytes, byte[] lockKeyBytes, byte[] clientIdBytes,
-                                     byte[] applicationDataBytes, byte[] xidBytes) {
-        final int size = 8 // trascationId
-            + 8 // branchId
-            + 4 // resourceIdBytes.length
-            + 4 // lockKeyBytes.length
-            + 2 // clientIdBytes.length
-            + 4 // applicationDataBytes.length
-            + 4 // xidBytes.size
-            + 1 // statusCode
-            + (resourceIdBytes == null ? 0 : resourceIdBytes.length)
-            + (lockKeyBytes == null ? 0 : lockKeyBytes.length)
-            + (clientIdBytes == null ? 0 : clientIdBytes.length)
-            + (applicationDataBytes == null ? 0 : applicationDataBytes.length)
-            + (xidBytes == null ? 0 : xidBytes.length)
-            + 1; //branchType
-        return size;
+        CompressedLockKey(String lockKey, byte[] bytes) {
+            this.lockKey = lockKey;
+            this.bytes = bytes;
+        }
     }
 
     @Override
     public void decode(byte[] a) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(a);
+        decode(ByteBuffer.wrap(a));
+    }
+
+    @Override
+    public void decode(ByteBuffer src) {
+        if (!SessionCodec.isVersioned(src)) {
+            decodeLegacy(src);
+            return;
+        }
+        src.get();
+        this.transactionId = src.getLong();
+        this.branchId = src.getLong();
+        int branchTypeId = src.get();
+        if (branchTypeId >= 0) {
+            this.branchType = BranchType.values()[branchTypeId];
+        }
+        this.status = BranchStatus.get(src.get());
+        this.lockStatus = LockStatus.get(src.get());
+        byte flags = src.get();
+        this.xid = SessionCodec.getString(src);
+        this.resourceId = SessionCodec.getString(src);
+        this.clientId = SessionCodec.getString(src);
+        this.applicationData = SessionCodec.getString(src);
+        if ((flags & FLAG_LOCK_KEY_COMPRESSED) != 0) {
+            try {
+                this.lockKey = new String(CompressUtil.uncompress(SessionCodec.getBytes(src)), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("decompress lockKey error", e);
+            }
+        } else {
+            this.lockKey = SessionCodec.getString(src);
+        }
+    }
+
+    private void decodeLegacy(ByteBuffer byteBuffer) {
         this.transactionId = byteBuffer.getLong();
         this.branchId = byteBuffer.getLong();
         int resourceLen = byteBuffer.getInt();
@@ -32,7 +32,6 @@ import org.apache.seata.common.Constants;
 import org.apache.seata.common.DefaultValues;
 import org.apache.seata.common.XID;
 import org.apache.seata.common.lock.ResourceLock;
-import org.apache.seata.common.util.BufferUtils;
 import org.apache.seata.common.util.StringUtils;
 import org.apache.seata.common.util.UUIDGenerator;
 import org.apache.seata.config.ConfigurationFactory;
@@ -45,6 +44,7 @@ import org.apache.seata.core.model.GlobalStatus;
 import org.apache.seata.core.model.LockStatus;
 import org.apache.seata.server.cluster.raft.RaftServerManager;
 import org.apache.seata.server.lock.LockerManagerFactory;
+import org.apache.seata.server.store.SessionCodec;
 import org.apache.seata.server.store.SessionStorable;
 import org.apache.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
@@ -64,8 +64,6 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     private static final int MAX_GLOBAL_SESSION_SIZE = StoreConfig.getMaxGlobalSessionSize();
 
-    private static ThreadLocal<ByteBuffer> byteBufferThreadLocal = ThreadLocal.withInitial(() -> ByteBuffer.allocate(
-        MAX_GLOBAL_SESSION_SIZE));
 
     /**
      * ThreadLocal should be optimize.
@@ -610,69 +608,56 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     @Override
     public byte[] encode() {
-        byte[] byApplicationIdBytes = applicationId != null ? applicationId.getBytes() : null;
-
-        byte[] byServiceGroupBytes = transactionServiceGroup != null ? transactionServiceGroup.getBytes() : null;
-
-        byte[] byTxNameBytes = transactionName != null ? transactionName.getBytes() : null;
-
-        byte[] xidBytes = xid != null ? xid.getBytes() : null;
-
-        byte[] applicationDataBytes = applicationData != null ? applicationData.getBytes() : null;
-
-        int size = calGlobalSessionSize(byApplicationIdBytes, byServiceGroupBytes, byTxNameBytes, xidBytes,
-            applicationDataBytes);
+        byte[] result = new byte[encodedSize()];
+        encode(ByteBuffer.wrap(result));
+        return result;
+    }
 
+    @Override
+    public int encodedSize() {
+        // checked before anything is written, so a frame is never left half encoded in a shared buffer
+        int size = SessionCodec.isFormatV2Enabled() ? formatV2EncodedSize() : legacyEncodedSize();
         if (size > MAX_GLOBAL_SESSION_SIZE) {
             throw new RuntimeException("global session size exceeded, size : " + size + " byte, maxGlobalSessionSize : " +
                 MAX_GLOBAL_SESSION_SIZE + " byte");
         }
-        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
-        //recycle
-        byteBuffer.clear();
+        return size;
+    }
 
-        byteBuffer.putLong(transactionId);
-        byteBuffer.putInt(timeout);
-        if (byApplicationIdBytes != null) {
-            byteBuffer.putShort((short)byApplicationIdBytes.length);
-            byteBuffer.put(byApplicationIdBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (byServiceGroupBytes != null) {
-            byteBuffer.putShort((short)byServiceGroupBytes.length);
-            byteBuffer.put(byServiceGroupBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (byTxNameBytes != null) {
-            byteBuffer.putShort((short)byTxNameBytes.length);
-            byteBuffer.put(byTxNameBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (xidBytes != null) {
-            byteBuffer.putInt(xidBytes.length);
-            byteBuffer.put(xidBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-        if (applicationDataBytes != null) {
-            byteBuffer.putInt(applicationDataBytes.length);
-            byteBuffer.put(applicationDataBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-        byteBuffer.putLong(beginTime);
-        byteBuffer.put((byte)status.getCode());
-        BufferUtils.flip(byteBuffer);
-        byte[] result = new byte[byteBuffer.limit()];
-        byteBuffer.get(result);
-        return result;
+    @Override
+    public void encode(ByteBuffer dst) {
+        // the size is checked by encodedSize(), which the callers use to reserve the buffer
+        if (!SessionCodec.isFormatV2Enabled()) {
+            encodeLegacy(dst);
+            return;
+        }
+        // the fixed fields first, so they can be read without decoding the strings
+        dst.put(SessionCodec.FORMAT_V2);
+        dst.putLong(transactionId);
+        dst.putInt(timeout);
+        dst.putLong(beginTime);
+        dst.put((byte)status.getCode());
+        SessionCodec.putString(dst, xid);
+        SessionCodec.putString(dst, applicationId);
+        SessionCodec.putString(dst, transactionServiceGroup);
+        SessionCodec.putString(dst, transactionName);
+        SessionCodec.putString(dst, applicationData);
+    }
+
+    private int formatV2EncodedSize() {
+        return 1 // format
+            + 8 // transactionId
+            + 4 // timeout
+            + 8 // beginTime
+            + 1 // statusCode
+            + SessionCodec.sizeOf(xid)
+            + SessionCodec.sizeOf(applicationId)
+            + SessionCodec.sizeOf(transactionServiceGroup)
+            + SessionCodec.sizeOf(transactionName)
+            + SessionCodec.sizeOf(applicationData);
     }
 
-    private int calGlobalSessionSize(byte[] byApplicationIdBytes, byte[] byServiceGroupBytes, byte[] byTxNameBytes,
-        byte[] xidBytes, byte[] applicationDataBytes) {
+    private int legacyEncodedSize() {
         return 8 // transactionId
             + 4 // timeout
             + 2 // byApplicationIdBytes.length
@@ -682,17 +667,50 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
             + 4 // applicationDataBytes.length
             + 8 // beginTime
             + 1 // statusCode
-            + (byApplicationIdBytes == null ? 0 : byApplicationIdBytes.length)
-            + (byServiceGroupBytes == null ? 0 : byServiceGroupBytes.length)
-            + (byTxNameBytes == null ? 0 : byTxNameBytes.length)
-            + (xidBytes == null ? 0 : xidBytes.length)
-            + (applicationDataBytes == null ? 0 : applicationDataBytes.length);
+            + SessionCodec.legacySizeOf(applicationId)
+            + SessionCodec.legacySizeOf(transactionServiceGroup)
+            + SessionCodec.legacySizeOf(transactionName)
+            + SessionCodec.legacySizeOf(xid)
+            + SessionCodec.legacySizeOf(applicationData);
+    }
+
+    private void encodeLegacy(ByteBuffer dst) {
+        dst.putLong(transactionId);
+        dst.putInt(timeout);
+        SessionCodec.putLegacyShortString(dst, applicationId);
+        SessionCodec.putLegacyShortString(dst, transactionServiceGroup);
+        SessionCodec.putLegacyShortString(dst, transactionName);
+        SessionCodec.putLegacyString(dst, xid);
+        SessionCodec.putLegacyString(dst, applicationData);
+        dst.putLong(beginTime);
+        dst.put((byte)status.getCode());
     }
 
     @Override
     public void decode(byte[] a) {
+        decode(ByteBuffer.wrap(a));
+    }
+
+    @Override
+    public void decode(ByteBuffer src) {
         this.branchSessions = new ArrayList<>();
-        ByteBuffer byteBuffer = ByteBuffer.wrap(a);
+        if (!SessionCodec.isVersioned(src)) {
+            decodeLegacy(src);
+            return;
+        }
+        src.get();
+        this.transactionId = src.getLong();
+        this.timeout = src.getInt();
+        this.beginTime = src.getLong();
+        this.status = GlobalStatus.get(src.get());
+        this.xid = SessionCodec.getString(src);
+        this.applicationId = SessionCodec.getString(src);
+        this.transactionServiceGroup = SessionCodec.getString(src);
+        this.transactionName = SessionCodec.getString(src);
+        this.applicationData = SessionCodec.getString(src);
+    }
+
+    private void decodeLegacy(ByteBuffer byteBuffer) {
         this.transactionId = byteBuffer.getLong();
         this.timeout = byteBuffer.getInt();
         short applicationIdLen = byteBuffer.getShort();
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.common.util.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches the global sessions of a recovery pass to partitions by the hash of the xid.
+ * <p>
+ * Each partition is a single thread, so the sessions of the same xid are always handled in order by the same thread,
+ * while the partitions run concurrently. A partition accepts at most {@code queueSize} pending sessions, the dispatching
+ * thread blocks when the partition is full. {@link #forEach(Collection, GlobalSessionHandler)} returns after all the
+ * sessions of the pass are handled, so the passes of a recovery loop never overlap.
+ * </p>
+ */
+public class PartitionedSessionDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedSessionDispatcher.class);
+
+    private static final long KEEP_ALIVE_TIME = 60 * 1000L;
+
+    private final String name;
+
+    private final Partition[] partitions;
+
+    /**
+     * Instantiates a new partitioned session dispatcher.
+     *
+     * @param name       the name, the prefix of the thread names
+     * @param partitions the count of partitions
+     * @param queueSize  the max pending sessions of a partition
+     */
+    public PartitionedSessionDispatcher(String name, int partitions, int queueSize) {
+        if (partitions <= 0 || queueSize <= 0) {
+            throw new IllegalArgumentException("partitions and queueSize must be positive");
+        }
+        this.name = name;
+        this.partitions = new Partition[partitions];
+        NamedThreadFactory threadFactory = new NamedThreadFactory(name + "Partition", partitions);
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(threadFactory, queueSize);
+        }
+    }
+
+    /**
+     * Handle the sessions in the partitions, and wait for all of them.
+     *
+     * @param sessions the global sessions
+     * @param handler  the handler
+     */
+    public void forEach(Collection<GlobalSession> sessions, GlobalSessionHandler handler) {
+        if (CollectionUtils.isEmpty(sessions)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        CountDownLatch done = new CountDownLatch(sessions.size());
+        try {
+            for (GlobalSession globalSession : sessions) {
+                partitions[partitionOf(globalSession.getXid())].submit(globalSession, handler, done);
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("{} pass is interrupted, {} sessions are not handled", name, done.getCount());
+            return;
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("{} is shut down, {} sessions are not handled", name, done.getCount());
+            return;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("{} pass handled {} sessions in {} ms, handled by partitions: {}", name, sessions.size(),
+                System.currentTimeMillis() - start, handledCounts());
+        }
+    }
+
+    /**
+     * The partition of the xid.
+     *
+     * @param xid the xid
+     * @return the index of the partition
+     */
+    int partitionOf(String xid) {
+        int h = xid == null ? 0 : xid.hashCode();
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % partitions.length;
+    }
+
+    /**
+     * The count of the sessions handled by each partition since started.
+     *
+     * @return the counts
+     */
+    public long[] handledCounts() {
+        long[] counts = new long[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            counts[i] = partitions[i].handled.get();
+        }
+        return counts;
+    }
+
+    /**
+     * Shutdown the partitions.
+     */
+    public void shutdown() {
+        for (Partition partition : partitions) {
+            partition.executor.shutdown();
+        }
+    }
+
+    /**
+     * Wait for the partitions to terminate after shutdown.
+     *
+     * @param timeout the timeout
+     * @param unit    the unit
+     * @throws InterruptedException the interrupted exception
+     */
+    public void awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Partition partition : partitions) {
+            partition.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class Partition {
+
+        private final ThreadPoolExecutor executor;
+
+        private final Semaphore pending;
+
+        private final AtomicLong handled = new AtomicLong();
+
+        Partition(NamedThreadFactory threadFactory, int queueSize) {
+            this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+            this.executor.allowCoreThreadTimeOut(true);
+            this.pending = new Semaphore(queueSize);
+        }
+
+        void submit(GlobalSession globalSession, GlobalSessionHandler handler, CountDownLatch done)
+            throws InterruptedException {
+            // backpressure, wait for the partition to catch up
+            pending.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        SessionHelper.handle(globalSession, handler);
+                        handled.incrementAndGet();
+                    } finally {
+                        pending.release();
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pending.release();
+                throw e;
+            }
+        }
+    }
+}
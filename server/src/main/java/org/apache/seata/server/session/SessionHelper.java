@@ -18,17 +18,23 @@ package org.apache.seata.server.session;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.seata.common.ConfigurationKeys;
 import org.apache.seata.common.store.SessionMode;
+import org.apache.seata.common.thread.NamedThreadFactory;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.config.Configuration;
 import org.apache.seata.config.ConfigurationFactory;
@@ -48,6 +54,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE;
+import static org.apache.seata.common.DefaultValues.DEFAULT_PARALLEL_HANDLE_BRANCH_THREADS;
 import static org.apache.seata.common.DefaultValues.DEFAULT_SEATA_GROUP;
 
 /**
@@ -73,6 +80,8 @@ public class SessionHelper {
      */
     private static final DefaultCoordinator COORDINATOR = DefaultCoordinator.getInstance();
 
+    private static final long KEEP_ALIVE_TIME = 60 * 1000L;
+
     private static final boolean DELAY_HANDLE_SESSION = !(Objects.equals(StoreConfig.getSessionMode(), SessionMode.FILE)
         || Objects.equals(StoreConfig.getSessionMode(), SessionMode.RAFT));
 
@@ -298,18 +307,26 @@ public class SessionHelper {
         }
 
         Stream<GlobalSession> stream = StreamSupport.stream(sessions.spliterator(), parallel);
-        stream.forEach(globalSession -> {
-            SeataClusterContext.bindGroup(GROUP);
-            try {
-                MDC.put(RootContext.MDC_KEY_XID, globalSession.getXid());
-                handler.handle(globalSession);
-            } catch (Throwable th) {
-                LOGGER.error("handle global session failed: {}", globalSession.getXid(), th);
-            } finally {
-                SeataClusterContext.unbindGroup();
-                MDC.remove(RootContext.MDC_KEY_XID);
-            }
-        });
+        stream.forEach(globalSession -> handle(globalSession, handler));
+    }
+
+    /**
+     * Handle one global session in the raft group and the xid MDC, the errors are logged.
+     *
+     * @param globalSession the global session
+     * @param handler       the handler
+     */
+    static void handle(GlobalSession globalSession, GlobalSessionHandler handler) {
+        SeataClusterContext.bindGroup(GROUP);
+        try {
+            MDC.put(RootContext.MDC_KEY_XID, globalSession.getXid());
+            handler.handle(globalSession);
+        } catch (Throwable th) {
+            LOGGER.error("handle global session failed: {}", globalSession.getXid(), th);
+        } finally {
+            SeataClusterContext.unbindGroup();
+            MDC.remove(RootContext.MDC_KEY_XID);
+        }
     }
 
     /**
@@ -334,46 +351,64 @@ public class SessionHelper {
 
     /**
      * Foreach branch sessions.
+     * <p>
+     * In parallel, the branches are grouped by resource, each group is handled in order on its own thread, and the
+     * results of all the groups are merged after all of them are done.
+     * </p>
      *
      * @param sessions the branch session
      * @param handler  the handler
+     * @param parallel the parallel
      */
     public static Boolean forEach(Collection<BranchSession> sessions, BranchSessionHandler handler, boolean parallel) throws TransactionException {
         if (CollectionUtils.isNotEmpty(sessions)) {
             Boolean result;
             if (parallel) {
-                Map<String, List<BranchSession>> map = new HashMap<>(4);
+                Map<String, List<BranchSession>> map = new LinkedHashMap<>(4);
                 for (BranchSession session : sessions) {
                     map.computeIfAbsent(session.getResourceId(), k -> new ArrayList<>()).add(session);
                 }
-                List<CompletableFuture<Boolean>> completableFutures = new ArrayList<>(map.size());
-                map.forEach((k, v) -> completableFutures.add(CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return SessionHelper.forEach(v, handler, false);
-                    } catch (TransactionException e) {
-                        throw new RuntimeException(e);
-                    }
-                })));
+                if (map.size() == 1) {
+                    return SessionHelper.forEach(sessions, handler, false);
+                }
+                // the branches of the same resource keep their order, the resources are handled concurrently
+                String xid = MDC.get(RootContext.MDC_KEY_XID);
+                Iterator<List<BranchSession>> groups = map.values().iterator();
+                List<BranchSession> callerGroup = groups.next();
+                List<CompletableFuture<Boolean>> completableFutures = new ArrayList<>(map.size() - 1);
+                while (groups.hasNext()) {
+                    List<BranchSession> group = groups.next();
+                    completableFutures.add(CompletableFuture.supplyAsync(() -> forEachInGroup(xid, group, handler),
+                        ParallelHandleBranchExecutorHolder.EXECUTOR));
+                }
+                Throwable failure = null;
+                result = null;
                 try {
-                    for (CompletableFuture<Boolean> completableFuture : completableFutures) {
-                        result = completableFuture.get();
-                        if (result == null) {
-                            continue;
+                    result = SessionHelper.forEach(callerGroup, handler, false);
+                } catch (TransactionException e) {
+                    failure = e;
+                }
+                // wait for all the resources, so no branch is still being handled when the caller goes on
+                for (CompletableFuture<Boolean> completableFuture : completableFutures) {
+                    try {
+                        result = mergeResult(result, completableFuture.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new TransactionException(e);
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause();
                         }
-                        return result;
                     }
-                } catch (InterruptedException e) {
-                    throw new TransactionException(e);
-                } catch (ExecutionException e) {
-                    Throwable throwable = e.getCause();
-                    if (throwable instanceof RuntimeException) {
-                        Throwable cause = throwable.getCause();
-                        if (cause instanceof TransactionException) {
-                            throw (TransactionException)cause;
-                        }
+                }
+                if (failure != null) {
+                    if (failure instanceof CompletionException && failure.getCause() != null) {
+                        failure = failure.getCause();
                     }
-                    throw new TransactionException(e);
+                    throw failure instanceof TransactionException ? (TransactionException)failure
+                        : new TransactionException(failure);
                 }
+                return result;
             } else {
                 for (BranchSession branchSession : sessions) {
                     try {
@@ -392,6 +427,32 @@ public class SessionHelper {
         return null;
     }
 
+    private static Boolean forEachInGroup(String xid, List<BranchSession> group, BranchSessionHandler handler) {
+        if (xid != null) {
+            MDC.put(RootContext.MDC_KEY_XID, xid);
+        }
+        try {
+            return SessionHelper.forEach(group, handler, false);
+        } catch (TransactionException e) {
+            throw new CompletionException(e);
+        } finally {
+            MDC.remove(RootContext.MDC_KEY_XID);
+        }
+    }
+
+    /**
+     * Merge the results of the resources handled concurrently, false of any resource wins, then true.
+     */
+    private static Boolean mergeResult(Boolean result, Boolean other) {
+        if (result == null) {
+            return other;
+        }
+        if (other == null) {
+            return result;
+        }
+        return result && other;
+    }
+
     /**
      * Single foreach branch sessions.
      *
@@ -454,6 +515,24 @@ public class SessionHelper {
         }
     }
 
+    /**
+     * The executor of the branches handled in parallel, the caller handles the branches itself when all the threads
+     * are busy.
+     */
+    private static class ParallelHandleBranchExecutorHolder {
+
+        private static final int THREADS = Math.max(1,
+            CONFIG.getInt(ConfigurationKeys.PARALLEL_HANDLE_BRANCH_THREADS_KEY, DEFAULT_PARALLEL_HANDLE_BRANCH_THREADS));
+
+        private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS,
+            KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+            new NamedThreadFactory("ParallelHandleBranch", THREADS), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        static {
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+
     /**
      * if true, enable delete the branch asynchronously
      *
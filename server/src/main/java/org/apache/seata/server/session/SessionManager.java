@@ -113,6 +113,18 @@ public interface SessionManager extends Disposable {
      */
     List<GlobalSession> findGlobalSessions(SessionCondition condition);
 
+    /**
+     * Find the global sessions in Begin status which may be timeout, the branch sessions are lazy loaded.
+     * The caller should check the status and the timeout of the sessions again.
+     *
+     * @return the global sessions
+     */
+    default List<GlobalSession> findTimeoutCandidates() {
+        SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
+        sessionCondition.setLazyLoadBranch(true);
+        return findGlobalSessions(sessionCondition);
+    }
+
     /**
      * lock and execute
      *
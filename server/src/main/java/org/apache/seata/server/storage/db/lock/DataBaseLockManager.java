@@ -24,7 +24,9 @@ import org.apache.seata.config.ConfigurationFactory;
 import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.lock.Locker;
+import org.apache.seata.core.rpc.Disposable;
 import org.apache.seata.core.store.db.DataSourceProvider;
+import org.apache.seata.server.ServerRunner;
 import org.apache.seata.server.lock.AbstractLockManager;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
@@ -34,12 +36,12 @@ import org.apache.seata.server.session.GlobalSession;
  *
  */
 @LoadLevel(name = "db")
-public class DataBaseLockManager extends AbstractLockManager implements Initialize {
+public class DataBaseLockManager extends AbstractLockManager implements Initialize, Disposable {
 
     /**
      * The locker.
      */
-    private Locker locker;
+    private DataBaseLocker locker;
 
     @Override
     public void init() {
@@ -47,6 +49,14 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
         String datasourceType = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.STORE_DB_DATASOURCE_TYPE);
         DataSource lockStoreDataSource = EnhancedServiceLoader.load(DataSourceProvider.class, datasourceType).provide();
         locker = new DataBaseLocker(lockStoreDataSource);
+        ServerRunner.addDisposable(this);
+    }
+
+    @Override
+    public void destroy() {
+        if (locker != null) {
+            locker.destroy();
+        }
     }
 
     @Override
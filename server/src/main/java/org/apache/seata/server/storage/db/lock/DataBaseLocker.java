@@ -24,13 +24,14 @@ import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.core.lock.AbstractLocker;
 import org.apache.seata.core.lock.RowLock;
 import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.rpc.Disposable;
 import org.apache.seata.core.store.LockStore;
 
 /**
  * The type Data base locker.
  *
  */
-public class DataBaseLocker extends AbstractLocker {
+public class DataBaseLocker extends AbstractLocker implements Disposable {
 
     private LockStore lockStore;
 
@@ -49,6 +50,13 @@ public class DataBaseLocker extends AbstractLocker {
         lockStore = new LockStoreDataBaseDAO(logStoreDataSource);
     }
 
+    @Override
+    public void destroy() {
+        if (lockStore instanceof Disposable) {
+            ((Disposable) lockStore).destroy();
+        }
+    }
+
     @Override
     public boolean acquireLock(List<RowLock> locks) {
         return acquireLock(locks, true, false);
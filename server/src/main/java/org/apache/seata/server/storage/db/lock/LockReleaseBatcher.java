@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.db.lock;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the lock releases of many global transactions and branches into one batched delete.
+ * <p>
+ * The releases queue up while the previous delete is running, the flusher drains all of them, waits for more up to
+ * the flush window if it is set, and deletes them with at most one statement by xid and one by branch id. The callers
+ * block until the delete containing their release is done. After the shutdown the pending releases are still
+ * flushed, the new ones are refused and left to the caller.
+ * </p>
+ */
+class LockReleaseBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockReleaseBatcher.class);
+
+    /**
+     * Max releases of one flush, keeps the in-list of the delete statements bounded.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Max wait of the shutdown for the pending releases to be flushed.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLS = 10000L;
+
+    /**
+     * Enqueued by the shutdown after all the accepted releases, the flusher stops once it is taken.
+     */
+    private static final ReleaseRequest SHUTDOWN = new ReleaseRequest(null, null);
+
+    private final BlockingQueue<ReleaseRequest> requests = new LinkedBlockingQueue<>();
+
+    private final Thread flusher;
+
+    private boolean shutdown;
+
+    private final long windowNanos;
+
+    private final FlushHandler flushHandler;
+
+    /**
+     * Instantiates a new lock release batcher.
+     *
+     * @param windowMills  the flush window in milliseconds, 0 means flush as soon as the previous flush is done
+     * @param flushHandler the flush handler
+     */
+    LockReleaseBatcher(long windowMills, FlushHandler flushHandler) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMills));
+        this.flushHandler = flushHandler;
+        this.flusher = new NamedThreadFactory("LockReleaseBatcher", 1, true).newThread(this::flushLoop);
+        this.flusher.start();
+    }
+
+    /**
+     * Refuse the new releases, wait for the pending ones to be flushed and stop the flusher.
+     */
+    void shutdown() {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            requests.add(SHUTDOWN);
+        }
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MILLS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            LOGGER.warn("lock release batcher is not stopped in {} ms", SHUTDOWN_TIMEOUT_MILLS);
+        }
+    }
+
+    /**
+     * Release the locks of the global transaction.
+     *
+     * @param xid the xid
+     * @return true if released, false if the batcher is shut down and the locks are not released
+     */
+    boolean unLock(String xid) {
+        return release(new ReleaseRequest(xid, null));
+    }
+
+    /**
+     * Release the locks of the branch.
+     *
+     * @param branchId the branch id
+     * @return true if released, false if the batcher is shut down and the locks are not released
+     */
+    boolean unLock(Long branchId) {
+        return release(new ReleaseRequest(null, branchId));
+    }
+
+    private boolean release(ReleaseRequest request) {
+        synchronized (this) {
+            if (shutdown) {
+                return false;
+            }
+            requests.add(request);
+        }
+        try {
+            request.future.get();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof StoreException ? (StoreException)cause : new StoreException(cause);
+        }
+    }
+
+    private void flushLoop() {
+        List<ReleaseRequest> batch = new ArrayList<>();
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(requests.take());
+                requests.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+                if (windowNanos > 0) {
+                    long deadline = System.nanoTime() + windowNanos;
+                    long remaining;
+                    while (!isShutdownTaken(batch) && batch.size() < MAX_BATCH_SIZE
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                        ReleaseRequest request = requests.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (request == null) {
+                            break;
+                        }
+                        batch.add(request);
+                        requests.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+                    }
+                }
+                // nothing is enqueued after the shutdown, so it can only be the last one of the batch
+                if (isShutdownTaken(batch)) {
+                    batch.remove(batch.size() - 1);
+                    stopped = true;
+                }
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("lock release batcher is interrupted");
+                batch.forEach(request -> request.future.completeExceptionally(e));
+                return;
+            } catch (Throwable t) {
+                LOGGER.error("lock release batcher flush error: {}", t.getMessage(), t);
+                batch.forEach(request -> request.future.completeExceptionally(t));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static boolean isShutdownTaken(List<ReleaseRequest> batch) {
+        return batch.get(batch.size() - 1) == SHUTDOWN;
+    }
+
+    private void flush(List<ReleaseRequest> batch) throws SQLException {
+        Set<String> xids = new LinkedHashSet<>();
+        Set<Long> branchIds = new LinkedHashSet<>();
+        for (ReleaseRequest request : batch) {
+            if (request.xid != null) {
+                xids.add(request.xid);
+            } else {
+                branchIds.add(request.branchId);
+            }
+        }
+        flushHandler.flush(new ArrayList<>(xids), new ArrayList<>(branchIds));
+        batch.forEach(request -> request.future.complete(null));
+    }
+
+    /**
+     * Deletes the locks of a flush.
+     */
+    @FunctionalInterface
+    interface FlushHandler {
+
+        /**
+         * Delete the locks of the global transactions and the branches.
+         *
+         * @param xids      the xids, may be empty
+         * @param branchIds the branch ids, may be empty
+         * @throws SQLException the sql exception
+         */
+        void flush(List<String> xids, List<Long> branchIds) throws SQLException;
+    }
+
+    private static final class ReleaseRequest {
+
+        private final String xid;
+
+        private final Long branchId;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        ReleaseRequest(String xid, Long branchId) {
+            this.xid = xid;
+            this.branchId = branchId;
+        }
+    }
+}
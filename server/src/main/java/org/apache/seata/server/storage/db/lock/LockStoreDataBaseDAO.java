@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.seata.common.exception.DataAccessException;
+import org.apache.seata.common.exception.NotSupportYetException;
 import org.apache.seata.common.exception.StoreException;
 import org.apache.seata.common.util.CollectionUtils;
 import org.apache.seata.common.util.IOUtil;
@@ -40,6 +41,7 @@ import org.apache.seata.core.constants.ConfigurationKeys;
 import org.apache.seata.core.constants.ServerTableColumnsName;
 import org.apache.seata.core.exception.BranchTransactionException;
 import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.rpc.Disposable;
 import org.apache.seata.core.store.LockDO;
 import org.apache.seata.core.store.LockStore;
 import org.apache.seata.core.store.db.sql.lock.LockStoreSqlFactory;
@@ -54,7 +56,7 @@ import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyCo
  * The type Data base lock store.
  *
  */
-public class LockStoreDataBaseDAO implements LockStore {
+public class LockStoreDataBaseDAO implements LockStore, Disposable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LockStoreDataBaseDAO.class);
 
@@ -63,6 +65,28 @@ public class LockStoreDataBaseDAO implements LockStore {
      */
     protected static final Configuration CONFIG = ConfigurationFactory.getInstance();
 
+    /**
+     * Max rows of one batch insert statement, keeps the bind parameters under the limits of the databases.
+     */
+    private static final int BATCH_INSERT_MAX_ROWS = 200;
+
+    /**
+     * Max inserts of the locks skipped by the batch insert but released by their holders before the check.
+     */
+    private static final int BATCH_ACQUIRE_MAX_RETRIES = 1;
+
+    /**
+     * The SQLState of an integrity constraint violation, used by the drivers not throwing
+     * SQLIntegrityConstraintViolationException on a duplicate key, e.g. ms-sqlserver.
+     */
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE = "23000";
+
+    /**
+     * The ms-sqlserver error codes of a duplicate key in a unique constraint and in a unique index.
+     */
+    private static final int SQLSERVER_DUPLICATE_KEY_CONSTRAINT = 2627;
+    private static final int SQLSERVER_DUPLICATE_KEY_INDEX = 2601;
+
     /**
      * The Lock store data source.
      */
@@ -78,6 +102,21 @@ public class LockStoreDataBaseDAO implements LockStore {
      */
     protected String dbType;
 
+    /**
+     * Whether the locks are acquired by one insert statement that skips the rows already locked.
+     */
+    protected boolean batchAcquireEnabled;
+
+    /**
+     * The lock release batcher, null if the releases are not coalesced.
+     */
+    protected LockReleaseBatcher releaseBatcher;
+
+    /**
+     * Whether the db type supports the batch insert ignore lock sql, null if not checked yet.
+     */
+    private volatile Boolean batchAcquireSupported;
+
     /**
      * Instantiates a new Data base lock store dao.
      *
@@ -93,6 +132,21 @@ public class LockStoreDataBaseDAO implements LockStore {
         if (lockStoreDataSource == null) {
             throw new StoreException("there must be lockStoreDataSource.");
         }
+        batchAcquireEnabled = CONFIG.getBoolean(ConfigurationKeys.LOCK_DB_BATCH_ACQUIRE_ENABLED, false);
+        if (CONFIG.getBoolean(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_ENABLED, false)) {
+            releaseBatcher = new LockReleaseBatcher(CONFIG.getLong(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_WINDOW, 0L),
+                this::doBatchUnLock);
+        }
+    }
+
+    /**
+     * Stop the lock release batcher, the pending releases are flushed and the later ones are deleted directly.
+     */
+    @Override
+    public void destroy() {
+        if (releaseBatcher != null) {
+            releaseBatcher.shutdown();
+        }
     }
 
     @Override
@@ -115,6 +169,9 @@ public class LockStoreDataBaseDAO implements LockStore {
         if (lockDOs.size() > 1) {
             lockDOs = lockDOs.stream().filter(LambdaUtils.distinctByKey(LockDO::getRowKey)).collect(Collectors.toList());
         }
+        if (batchAcquireEnabled && isBatchAcquireSupported()) {
+            return acquireLockInBatch(lockDOs, autoCommit);
+        }
         try {
             conn = lockStoreDataSource.getConnection();
             originalAutoCommit = conn.getAutoCommit();
@@ -244,6 +301,9 @@ public class LockStoreDataBaseDAO implements LockStore {
 
     @Override
     public boolean unLock(String xid) {
+        if (releaseBatcher != null && releaseBatcher.unLock(xid)) {
+            return true;
+        }
         Connection conn = null;
         PreparedStatement ps = null;
         try {
@@ -264,6 +324,9 @@ public class LockStoreDataBaseDAO implements LockStore {
 
     @Override
     public boolean unLock(Long branchId) {
+        if (releaseBatcher != null && releaseBatcher.unLock(branchId)) {
+            return true;
+        }
         Connection conn = null;
         PreparedStatement ps = null;
         try {
@@ -314,6 +377,223 @@ public class LockStoreDataBaseDAO implements LockStore {
         }
     }
 
+    /**
+     * Acquire the locks with one insert statement that skips the rows already locked, the lock table is only queried
+     * when some rows may have been skipped, to tell the rows locked by the transaction itself from the conflicts.
+     *
+     * @param lockDOs    the lock do list, distinct by row key
+     * @param autoCommit the auto commit
+     * @return the boolean
+     */
+    protected boolean acquireLockInBatch(List<LockDO> lockDOs, boolean autoCommit) {
+        Connection conn = null;
+        boolean originalAutoCommit = true;
+        try {
+            conn = lockStoreDataSource.getConnection();
+            originalAutoCommit = conn.getAutoCommit();
+            if (originalAutoCommit) {
+                conn.setAutoCommit(false);
+            }
+            if (doAcquireLocksIgnoreExisted(conn, lockDOs) == lockDOs.size()
+                && LockStoreSqlFactory.getLogStoreSql(dbType).isBatchInsertLockCountExact()) {
+                conn.commit();
+                return true;
+            }
+            for (int retries = 0; ; retries++) {
+                List<LockDO> unlocked = checkLockedInBatch(conn, lockDOs, autoCommit);
+                if (unlocked == null) {
+                    conn.rollback();
+                    return false;
+                }
+                if (unlocked.isEmpty()) {
+                    conn.commit();
+                    return true;
+                }
+                if (retries >= BATCH_ACQUIRE_MAX_RETRIES) {
+                    conn.rollback();
+                    return false;
+                }
+                // the rows were skipped by the insert but released by their holders before the check
+                doAcquireLocksIgnoreExisted(conn, unlocked);
+            }
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            if (isDuplicateKey(e)) {
+                // a concurrent transaction inserted the same row first
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Global lock batch acquire failed, xid {} branchId {}: {}", lockDOs.get(0).getXid(),
+                        lockDOs.get(0).getBranchId(), e.getMessage());
+                }
+                return false;
+            }
+            throw new StoreException(e);
+        } finally {
+            if (conn != null) {
+                try {
+                    if (originalAutoCommit) {
+                        conn.setAutoCommit(true);
+                    }
+                    conn.close();
+                } catch (SQLException e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Query the rows of the locks and find the locks the transaction does not hold yet.
+     *
+     * @param conn       the conn
+     * @param lockDOs    the lock do list, distinct by row key
+     * @param autoCommit the auto commit
+     * @return the locks not held by the transaction, null if some row is locked by another transaction
+     * @throws SQLException the sql exception
+     */
+    protected List<LockDO> checkLockedInBatch(Connection conn, List<LockDO> lockDOs, boolean autoCommit) throws SQLException {
+        String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckLockableSql(lockTable, lockDOs.size());
+        String currentXID = lockDOs.get(0).getXid();
+        Set<String> lockedRowKeys = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement(checkLockSQL)) {
+            for (int i = 0; i < lockDOs.size(); i++) {
+                ps.setString(i + 1, lockDOs.get(i).getRowKey());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String dbXID = rs.getString(ServerTableColumnsName.LOCK_TABLE_XID);
+                    if (StringUtils.equals(dbXID, currentXID)) {
+                        lockedRowKeys.add(rs.getString(ServerTableColumnsName.LOCK_TABLE_ROW_KEY));
+                        continue;
+                    }
+                    if (LOGGER.isInfoEnabled()) {
+                        String dbPk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
+                        String dbTableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
+                        long dbBranchId = rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID);
+                        LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", dbTableName, dbPk, dbXID, dbBranchId);
+                    }
+                    if (!autoCommit && rs.getInt(ServerTableColumnsName.LOCK_TABLE_STATUS) == LockStatus.Rollbacking.getCode()) {
+                        conn.rollback();
+                        throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
+                    }
+                    return null;
+                }
+            }
+        }
+        if (lockedRowKeys.size() == lockDOs.size()) {
+            return Collections.emptyList();
+        }
+        return lockDOs.stream().filter(lockDO -> !lockedRowKeys.contains(lockDO.getRowKey())).collect(Collectors.toList());
+    }
+
+    /**
+     * Insert the locks, the rows already locked are skipped.
+     *
+     * @param conn    the conn
+     * @param lockDOs the lock do list
+     * @return the count of the rows locked by the insert
+     * @throws SQLException the sql exception
+     */
+    protected int doAcquireLocksIgnoreExisted(Connection conn, List<LockDO> lockDOs) throws SQLException {
+        int locked = 0;
+        for (int from = 0; from < lockDOs.size(); from += BATCH_INSERT_MAX_ROWS) {
+            List<LockDO> rows = lockDOs.subList(from, Math.min(from + BATCH_INSERT_MAX_ROWS, lockDOs.size()));
+            String insertLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getBatchInsertLockIgnoreSql(lockTable, rows.size());
+            try (PreparedStatement ps = conn.prepareStatement(insertLockSQL)) {
+                int index = 1;
+                for (LockDO lockDO : rows) {
+                    ps.setString(index++, lockDO.getXid());
+                    ps.setLong(index++, lockDO.getTransactionId());
+                    ps.setLong(index++, lockDO.getBranchId());
+                    ps.setString(index++, lockDO.getResourceId());
+                    ps.setString(index++, lockDO.getTableName());
+                    ps.setString(index++, lockDO.getPk());
+                    ps.setString(index++, lockDO.getRowKey());
+                    ps.setInt(index++, lockDO.getStatus());
+                }
+                locked += ps.executeUpdate();
+            }
+        }
+        return locked;
+    }
+
+    /**
+     * Delete the locks of the global transactions and the branches, the flush of the {@link LockReleaseBatcher}.
+     *
+     * @param xids      the xids
+     * @param branchIds the branch ids
+     * @throws SQLException the sql exception
+     */
+    protected void doBatchUnLock(List<String> xids, List<Long> branchIds) throws SQLException {
+        try (Connection conn = lockStoreDataSource.getConnection()) {
+            conn.setAutoCommit(true);
+            if (!xids.isEmpty()) {
+                String batchDeleteSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getBatchDeleteLockSqlByXids(lockTable, xids.size());
+                try (PreparedStatement ps = conn.prepareStatement(batchDeleteSQL)) {
+                    for (int i = 0; i < xids.size(); i++) {
+                        ps.setString(i + 1, xids.get(i));
+                    }
+                    ps.executeUpdate();
+                }
+            }
+            if (!branchIds.isEmpty()) {
+                String batchDeleteSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getBatchDeleteLockSqlByBranchIds(lockTable, branchIds.size());
+                try (PreparedStatement ps = conn.prepareStatement(batchDeleteSQL)) {
+                    for (int i = 0; i < branchIds.size(); i++) {
+                        ps.setLong(i + 1, branchIds.get(i));
+                    }
+                    ps.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                LOGGER.warn("rollback lock connection failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether the exception is caused by a duplicate key, classified by the SQLState and the vendor code as well
+     * since not every driver throws SQLIntegrityConstraintViolationException for it.
+     *
+     * @param e the exception
+     * @return the boolean
+     */
+    protected boolean isDuplicateKey(Throwable e) {
+        if (e instanceof SQLIntegrityConstraintViolationException) {
+            return true;
+        }
+        if (!(e instanceof SQLException)) {
+            return false;
+        }
+        SQLException sqlException = (SQLException) e;
+        if (INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+            return true;
+        }
+        return "sqlserver".equalsIgnoreCase(dbType)
+            && (sqlException.getErrorCode() == SQLSERVER_DUPLICATE_KEY_CONSTRAINT
+            || sqlException.getErrorCode() == SQLSERVER_DUPLICATE_KEY_INDEX);
+    }
+
+    private boolean isBatchAcquireSupported() {
+        Boolean supported = batchAcquireSupported;
+        if (supported == null) {
+            try {
+                LockStoreSqlFactory.getLogStoreSql(dbType).getBatchInsertLockIgnoreSql(lockTable, 1);
+                supported = true;
+            } catch (NotSupportYetException e) {
+                LOGGER.warn("batch lock acquire is not supported by {}, fall back to check and insert", dbType);
+                supported = false;
+            }
+            batchAcquireSupported = supported;
+        }
+        return supported;
+    }
+
     /**
      * Do acquire lock boolean.
      *
@@ -337,7 +617,7 @@ public class LockStoreDataBaseDAO implements LockStore {
             ps.setInt(8, LockStatus.Locked.getCode());
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
-            if (e instanceof SQLIntegrityConstraintViolationException) {
+            if (isDuplicateKey(e)) {
                 return false;
             }
             throw new StoreException(e);
@@ -378,7 +658,7 @@ public class LockStoreDataBaseDAO implements LockStore {
         } catch (BatchUpdateException e) {
             Throwable cause = e.getCause();
             if (cause != null) {
-                if (cause instanceof SQLIntegrityConstraintViolationException) {
+                if (isDuplicateKey(cause)) {
                     return false;
                 }
                 throw e;
@@ -386,7 +666,7 @@ public class LockStoreDataBaseDAO implements LockStore {
             SQLException nextException = e.getNextException();
             if (nextException == null) {
                 throw e;
-            } else if (nextException instanceof SQLIntegrityConstraintViolationException) {
+            } else if (isDuplicateKey(nextException)) {
                 return false;
             }
             throw nextException;
@@ -443,6 +723,16 @@ public class LockStoreDataBaseDAO implements LockStore {
      */
     public void setDbType(String dbType) {
         this.dbType = dbType;
+        this.batchAcquireSupported = null;
+    }
+
+    /**
+     * Sets whether the locks are acquired by one insert statement that skips the rows already locked.
+     *
+     * @param batchAcquireEnabled the batch acquire enabled
+     */
+    public void setBatchAcquireEnabled(boolean batchAcquireEnabled) {
+        this.batchAcquireEnabled = batchAcquireEnabled;
     }
 
     /**
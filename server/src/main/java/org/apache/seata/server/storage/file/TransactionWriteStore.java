@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import org.apache.seata.common.exception.ShouldNeverHappenException;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.store.SessionCodec;
 import org.apache.seata.server.store.SessionStorable;
 import org.apache.seata.server.store.TransactionStoreManager.LogOperation;
 
@@ -86,26 +87,57 @@ public class TransactionWriteStore implements SessionStorable {
 
     @Override
     public byte[] encode() {
-        byte[] bySessionRequest = this.sessionRequest.encode();
-        byte byOpCode = this.getOperate().getCode();
-        int len = bySessionRequest.length + 1;
-        byte[] byResult = new byte[len];
-        ByteBuffer byteBuffer = ByteBuffer.wrap(byResult);
-        byteBuffer.put(bySessionRequest);
-        byteBuffer.put(byOpCode);
+        byte[] byResult = new byte[encodedSize()];
+        encode(ByteBuffer.wrap(byResult));
         return byResult;
     }
 
+    @Override
+    public int encodedSize() {
+        return this.sessionRequest.encodedSize() + 1;
+    }
+
+    @Override
+    public void encode(ByteBuffer dst) {
+        this.sessionRequest.encode(dst);
+        dst.put(this.getOperate().getCode());
+    }
+
     @Override
     public void decode(byte[] src) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(src);
-        byte[] bySessionRequest = new byte[src.length - 1];
-        byteBuffer.get(bySessionRequest);
-        byte byOpCode = byteBuffer.get();
-        this.operate = LogOperation.getLogOperationByCode(byOpCode);
+        decode(ByteBuffer.wrap(src));
+    }
+
+    @Override
+    public void decode(ByteBuffer src) {
+        this.operate = readOperation(src);
+        ByteBuffer bySessionRequest = src.duplicate();
+        bySessionRequest.limit(src.limit() - 1);
         SessionStorable tmpSessionStorable = getSessionInstanceByOperation(this.operate);
         tmpSessionStorable.decode(bySessionRequest);
         this.sessionRequest = tmpSessionStorable;
+        src.position(src.limit());
+    }
+
+    /**
+     * Read the operation of the encoded record without decoding the session.
+     *
+     * @param src the encoded record between the position and the limit, the position is not changed
+     * @return the log operation
+     */
+    public static LogOperation readOperation(ByteBuffer src) {
+        return LogOperation.getLogOperationByCode(src.get(src.limit() - 1));
+    }
+
+    /**
+     * Read the transaction id of the encoded record without decoding the session.
+     *
+     * @param src the encoded record between the position and the limit, the position is not changed
+     * @return the transaction id
+     */
+    public static long readTransactionId(ByteBuffer src) {
+        int offset = SessionCodec.isVersioned(src) ? 1 : 0;
+        return src.getLong(src.position() + offset);
     }
 
     private SessionStorable getSessionInstanceByOperation(LogOperation logOperation) {
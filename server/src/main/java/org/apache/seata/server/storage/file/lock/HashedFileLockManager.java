@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import org.apache.seata.common.XID;
+import org.apache.seata.common.loader.LoadLevel;
+import org.apache.seata.common.util.StringUtils;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.lock.Locker;
+import org.apache.seata.server.session.BranchSession;
+
+/**
+ * The file lock manager backed by the striped open-addressing {@link RowLockTable},
+ * enabled by {@code store.file.hashedLockTableEnabled=true}.
+ *
+ */
+@LoadLevel(name = HashedFileLockManager.NAME)
+public class HashedFileLockManager extends FileLockManager {
+
+    /**
+     * The spi name.
+     */
+    public static final String NAME = "hashedFile";
+
+    @Override
+    public Locker getLocker(BranchSession branchSession) {
+        return new HashedFileLocker(branchSession);
+    }
+
+    @Override
+    public boolean acquireLock(BranchSession branchSession, boolean autoCommit, boolean skipCheckLock)
+        throws TransactionException {
+        if (branchSession == null) {
+            throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
+        }
+        String lockKey = branchSession.getLockKey();
+        if (StringUtils.isBlank(lockKey)) {
+            // no lock
+            return true;
+        }
+        return new HashedFileLocker(branchSession).acquireLock(lockKey, autoCommit);
+    }
+
+    @Override
+    public boolean releaseLock(BranchSession branchSession) throws TransactionException {
+        if (branchSession == null) {
+            throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
+        }
+        try {
+            return new HashedFileLocker(branchSession).releaseLock();
+        } catch (Exception t) {
+            LOGGER.error("unLock error, branchSession:{}", branchSession, t);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isLockable(String xid, String resourceId, String lockKey) throws TransactionException {
+        if (StringUtils.isBlank(lockKey)) {
+            // no lock
+            return true;
+        }
+        try {
+            return new HashedFileLocker(null).isLockable(resourceId, XID.getTransactionId(xid), lockKey);
+        } catch (Exception t) {
+            LOGGER.error("isLockable error, xid:{} resourceId:{}, lockKey:{}", xid, resourceId, lockKey, t);
+            return false;
+        }
+    }
+}
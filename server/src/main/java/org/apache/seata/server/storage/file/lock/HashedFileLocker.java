@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.CollectionUtils;
+import org.apache.seata.core.exception.BranchTransactionException;
+import org.apache.seata.core.lock.AbstractLocker;
+import org.apache.seata.core.lock.RowLock;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.session.BranchSession;
+
+import static org.apache.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
+
+/**
+ * The file locker backed by the {@link RowLockTable}.
+ * <p>
+ * The lock key of the branch is scanned in place, no row lock object or pk string is created for the rows, and the
+ * branch only remembers the 64-bit hashes of the rows it holds.
+ * </p>
+ */
+public class HashedFileLocker extends AbstractLocker {
+
+    private static final RowLockTable LOCK_TABLE = new RowLockTable();
+
+    /**
+     * The Branch session.
+     */
+    protected BranchSession branchSession;
+
+    /**
+     * Instantiates a new hashed file locker.
+     *
+     * @param branchSession the branch session
+     */
+    public HashedFileLocker(BranchSession branchSession) {
+        this.branchSession = branchSession;
+    }
+
+    /**
+     * Acquire the locks of the lock key for the branch session.
+     *
+     * @param lockKey    the lock key
+     * @param autoCommit the auto commit
+     * @return true if all the rows were locked
+     */
+    public boolean acquireLock(String lockKey, boolean autoCommit) {
+        String resourceId = branchSession.getResourceId();
+        long transactionId = branchSession.getTransactionId();
+        HeldRowLocks heldRowLocks = branchSession.getOrCreateHeldRowLocks();
+        int[] result = new int[1];
+        forEachRow(lockKey, (tableStart, tableEnd, pkStart, pkEnd) -> {
+            long hash = RowLockTable.hash(resourceId, lockKey, tableStart, tableEnd, pkStart, pkEnd);
+            BranchSession previousLockBranchSession = LOCK_TABLE.putIfAbsent(hash, branchSession, lockKey,
+                tableStart, tableEnd, pkStart, pkEnd);
+            if (previousLockBranchSession == null) {
+                // No existing lock, and now locked by myself
+                heldRowLocks.add(hash);
+                return true;
+            } else if (previousLockBranchSession.getTransactionId() == transactionId) {
+                // Locked by me before
+                return true;
+            }
+            LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}",
+                lockKey.substring(tableStart, tableEnd), lockKey.substring(pkStart, pkEnd),
+                previousLockBranchSession.getXid(), previousLockBranchSession.getBranchId());
+            // Release all acquired locks.
+            releaseLock();
+            result[0] = !autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking ? 2 : 1;
+            return false;
+        });
+        if (result[0] == 2) {
+            throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
+        }
+        return result[0] == 0;
+    }
+
+    /**
+     * Whether the rows of the lock key can be locked by the transaction.
+     *
+     * @param resourceId    the resource id
+     * @param transactionId the transaction id
+     * @param lockKey       the lock key
+     * @return the boolean
+     */
+    public boolean isLockable(String resourceId, long transactionId, String lockKey) {
+        boolean[] lockable = {true};
+        forEachRow(lockKey, (tableStart, tableEnd, pkStart, pkEnd) -> {
+            long hash = RowLockTable.hash(resourceId, lockKey, tableStart, tableEnd, pkStart, pkEnd);
+            BranchSession lockBranchSession = LOCK_TABLE.get(hash, resourceId, lockKey, tableStart, tableEnd,
+                pkStart, pkEnd);
+            if (lockBranchSession == null || lockBranchSession.getTransactionId() == transactionId) {
+                return true;
+            }
+            LOGGER.info("Global lock on [{}:{}] is holding by {}", lockKey.substring(tableStart, tableEnd),
+                lockKey.substring(pkStart, pkEnd), lockBranchSession.getTransactionId());
+            lockable[0] = false;
+            return false;
+        });
+        return lockable[0];
+    }
+
+    /**
+     * Release all the locks held by the branch session.
+     *
+     * @return the boolean
+     */
+    public boolean releaseLock() {
+        HeldRowLocks heldRowLocks = branchSession.getHeldRowLocks();
+        if (heldRowLocks != null) {
+            heldRowLocks.release(LOCK_TABLE, branchSession);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks) {
+        return acquireLock(rowLocks, true, false);
+    }
+
+    @Override
+    public boolean acquireLock(List<RowLock> rowLocks, boolean autoCommit, boolean skipCheckLock) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            // no lock
+            return true;
+        }
+        return acquireLock(toLockKey(rowLocks), autoCommit);
+    }
+
+    @Override
+    public boolean releaseLock(List<RowLock> rowLock) {
+        return releaseLock();
+    }
+
+    @Override
+    public boolean isLockable(List<RowLock> rowLocks) {
+        if (CollectionUtils.isEmpty(rowLocks)) {
+            //no lock
+            return true;
+        }
+        return isLockable(rowLocks.get(0).getResourceId(), rowLocks.get(0).getTransactionId(), toLockKey(rowLocks));
+    }
+
+    @Override
+    public void updateLockStatus(String xid, LockStatus lockStatus) {
+    }
+
+    @Override
+    public void cleanAllLocks() {
+        LOCK_TABLE.clear();
+    }
+
+    private static String toLockKey(List<RowLock> rowLocks) {
+        StringBuilder lockKey = new StringBuilder();
+        for (RowLock rowLock : rowLocks) {
+            if (lockKey.length() > 0) {
+                lockKey.append(';');
+            }
+            lockKey.append(rowLock.getTableName()).append(':').append(rowLock.getPk());
+        }
+        return lockKey.toString();
+    }
+
+    /**
+     * Scan the rows of the lock key in the same way as
+     * {@link org.apache.seata.server.lock.AbstractLockManager#collectRowLocks(BranchSession)}.
+     */
+    static void forEachRow(String lockKey, RowVisitor visitor) {
+        int length = lockKey.length();
+        int tableStart = 0;
+        while (tableStart < length) {
+            int tableGroupEnd = lockKey.indexOf(';', tableStart);
+            if (tableGroupEnd < 0) {
+                tableGroupEnd = length;
+            }
+            int tableEnd = lockKey.indexOf(':', tableStart);
+            if (tableEnd < 0 || tableEnd >= tableGroupEnd) {
+                return;
+            }
+            if (isBlank(lockKey, tableEnd + 1, tableGroupEnd)) {
+                return;
+            }
+            int pkStart = tableEnd + 1;
+            while (pkStart < tableGroupEnd) {
+                int pkEnd = lockKey.indexOf(',', pkStart);
+                if (pkEnd < 0 || pkEnd > tableGroupEnd) {
+                    pkEnd = tableGroupEnd;
+                }
+                if (!isBlank(lockKey, pkStart, pkEnd) && !visitor.visit(tableStart, tableEnd, pkStart, pkEnd)) {
+                    return;
+                }
+                pkStart = pkEnd + 1;
+            }
+            tableStart = tableGroupEnd + 1;
+        }
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The visitor of the rows in a lock key.
+     */
+    @FunctionalInterface
+    interface RowVisitor {
+
+        /**
+         * Visit one row.
+         *
+         * @return false to stop the scan
+         */
+        boolean visit(int tableStart, int tableEnd, int pkStart, int pkEnd);
+    }
+
+    /**
+     * The hashes of the rows locked by one branch session.
+     */
+    public static class HeldRowLocks {
+
+        private static final int INIT_CAPACITY = 8;
+
+        private long[] hashes = new long[INIT_CAPACITY];
+
+        private int size;
+
+        synchronized void add(long hash) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size << 1);
+            }
+            hashes[size++] = hash;
+        }
+
+        synchronized void release(RowLockTable lockTable, BranchSession owner) {
+            for (int i = 0; i < size; i++) {
+                // remove lock only if it locked by myself
+                lockTable.remove(hashes[i], owner);
+            }
+            size = 0;
+            if (hashes.length > INIT_CAPACITY) {
+                hashes = new long[INIT_CAPACITY];
+            }
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.lock;
+
+import org.apache.seata.server.session.BranchSession;
+
+/**
+ * The row lock table of {@link HashedFileLocker}.
+ * <p>
+ * The table is split into stripes, each stripe is an open-addressing table with linear probing, keyed by the 64-bit
+ * hash of (resourceId, table, pk). The row key is not copied: a slot keeps the lock key string of the owner branch
+ * together with the ranges of the table name and the pk in it, which are compared on every hash match, so colliding
+ * rows never share a slot.
+ * </p>
+ */
+public class RowLockTable {
+
+    private static final int STRIPE_SHIFT = 6;
+
+    private static final int STRIPES = 1 << STRIPE_SHIFT;
+
+    private static final int INIT_STRIPE_CAPACITY = 64;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public RowLockTable() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Hash of the row, the table name and the pk are the ranges of the source string.
+     *
+     * @param resourceId the resource id
+     * @param source     the source string, usually the lock key of the branch
+     * @param tableStart the start of the table name, inclusive
+     * @param tableEnd   the end of the table name, exclusive
+     * @param pkStart    the start of the pk, inclusive
+     * @param pkEnd      the end of the pk, exclusive
+     * @return the 64-bit hash
+     */
+    public static long hash(String resourceId, String source, int tableStart, int tableEnd, int pkStart, int pkEnd) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0, len = resourceId.length(); i < len; i++) {
+            h = (h ^ resourceId.charAt(i)) * FNV_PRIME;
+        }
+        h = (h ^ ';') * FNV_PRIME;
+        for (int i = tableStart; i < tableEnd; i++) {
+            h = (h ^ source.charAt(i)) * FNV_PRIME;
+        }
+        h = (h ^ ':') * FNV_PRIME;
+        for (int i = pkStart; i < pkEnd; i++) {
+            h = (h ^ source.charAt(i)) * FNV_PRIME;
+        }
+        // the final mix of murmur3, spreads the bits used by the stripe and the slot
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Lock the row if it is not locked.
+     *
+     * @return null if the row was locked by the owner now, or the branch session holding the row
+     */
+    public BranchSession putIfAbsent(long hash, BranchSession owner, String source, int tableStart, int tableEnd,
+                                     int pkStart, int pkEnd) {
+        return stripe(hash).putIfAbsent(hash, owner, source, tableStart, tableEnd, pkStart, pkEnd);
+    }
+
+    /**
+     * Get the branch session holding the row.
+     *
+     * @return the branch session, or null if the row is not locked
+     */
+    public BranchSession get(long hash, String resourceId, String source, int tableStart, int tableEnd, int pkStart,
+                             int pkEnd) {
+        return stripe(hash).get(hash, resourceId, source, tableStart, tableEnd, pkStart, pkEnd);
+    }
+
+    /**
+     * Unlock the row with the hash, only if it is locked by the owner.
+     *
+     * @param hash  the hash
+     * @param owner the owner
+     * @return true if unlocked
+     */
+    public boolean remove(long hash, BranchSession owner) {
+        return stripe(hash).remove(hash, owner);
+    }
+
+    /**
+     * Count of the locked rows.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Unlock all the rows.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes[(int)(hash >>> (Long.SIZE - STRIPE_SHIFT))];
+    }
+
+    private static boolean regionEquals(String a, int aStart, int aEnd, String b, int bStart, int bEnd) {
+        int len = aEnd - aStart;
+        return len == bEnd - bStart && a.regionMatches(aStart, b, bStart, len);
+    }
+
+    private static final class Stripe {
+
+        private long[] hashes;
+
+        private BranchSession[] owners;
+
+        private String[] sources;
+
+        /**
+         * tableStart, tableEnd, pkStart, pkEnd of each slot
+         */
+        private int[] ranges;
+
+        private int mask;
+
+        private int size;
+
+        Stripe() {
+            init(INIT_STRIPE_CAPACITY);
+        }
+
+        private void init(int capacity) {
+            hashes = new long[capacity];
+            owners = new BranchSession[capacity];
+            sources = new String[capacity];
+            ranges = new int[capacity << 2];
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        synchronized BranchSession putIfAbsent(long hash, BranchSession owner, String source, int tableStart,
+                                               int tableEnd, int pkStart, int pkEnd) {
+            int index = find(hash, owner.getResourceId(), source, tableStart, tableEnd, pkStart, pkEnd);
+            if (index >= 0) {
+                return owners[index];
+            }
+            if ((size + 1) * 3 > owners.length * 2) {
+                rehash(owners.length << 1);
+                index = find(hash, owner.getResourceId(), source, tableStart, tableEnd, pkStart, pkEnd);
+            }
+            index = ~index;
+            hashes[index] = hash;
+            owners[index] = owner;
+            sources[index] = source;
+            int r = index << 2;
+            ranges[r] = tableStart;
+            ranges[r + 1] = tableEnd;
+            ranges[r + 2] = pkStart;
+            ranges[r + 3] = pkEnd;
+            size++;
+            return null;
+        }
+
+        synchronized BranchSession get(long hash, String resourceId, String source, int tableStart, int tableEnd,
+                                       int pkStart, int pkEnd) {
+            int index = find(hash, resourceId, source, tableStart, tableEnd, pkStart, pkEnd);
+            return index >= 0 ? owners[index] : null;
+        }
+
+        synchronized boolean remove(long hash, BranchSession owner) {
+            int index = (int)hash & mask;
+            while (owners[index] != null) {
+                if (hashes[index] == hash && owners[index] == owner) {
+                    delete(index);
+                    if (owners.length > INIT_STRIPE_CAPACITY && size << 3 < owners.length) {
+                        rehash(owners.length >>> 1);
+                    }
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            init(INIT_STRIPE_CAPACITY);
+        }
+
+        /**
+         * @return the index of the row, or the bitwise complement of the free slot to insert it
+         */
+        private int find(long hash, String resourceId, String source, int tableStart, int tableEnd, int pkStart,
+                         int pkEnd) {
+            int index = (int)hash & mask;
+            BranchSession owner;
+            while ((owner = owners[index]) != null) {
+                if (hashes[index] == hash) {
+                    int r = index << 2;
+                    String slotSource = sources[index];
+                    if (regionEquals(slotSource, ranges[r + 2], ranges[r + 3], source, pkStart, pkEnd)
+                        && regionEquals(slotSource, ranges[r], ranges[r + 1], source, tableStart, tableEnd)
+                        && owner.getResourceId().equals(resourceId)) {
+                        return index;
+                    }
+                }
+                index = (index + 1) & mask;
+            }
+            return ~index;
+        }
+
+        /**
+         * backward shift deletion, keeps the probe sequences without tombstones
+         */
+        private void delete(int index) {
+            int hole = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (owners[next] == null) {
+                    break;
+                }
+                int home = (int)hashes[next] & mask;
+                // move the slot into the hole unless its home lies cyclically in (hole, next]
+                boolean stay = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!stay) {
+                    move(next, hole);
+                    hole = next;
+                }
+            }
+            owners[hole] = null;
+            sources[hole] = null;
+            size--;
+        }
+
+        private void move(int from, int to) {
+            hashes[to] = hashes[from];
+            owners[to] = owners[from];
+            sources[to] = sources[from];
+            System.arraycopy(ranges, from << 2, ranges, to << 2, 4);
+        }
+
+        private void rehash(int capacity) {
+            long[] oldHashes = hashes;
+            BranchSession[] oldOwners = owners;
+            String[] oldSources = sources;
+            int[] oldRanges = ranges;
+            int oldSize = size;
+            init(capacity);
+            for (int i = 0; i < oldOwners.length; i++) {
+                if (oldOwners[i] == null) {
+                    continue;
+                }
+                int index = (int)oldHashes[i] & mask;
+                while (owners[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                hashes[index] = oldHashes[i];
+                owners[index] = oldOwners[i];
+                sources[index] = oldSources[i];
+                System.arraycopy(oldRanges, i << 2, ranges, index << 2, 4);
+            }
+            size = oldSize;
+        }
+    }
+}
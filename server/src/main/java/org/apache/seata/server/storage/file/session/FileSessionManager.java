@@ -18,7 +18,9 @@ package org.apache.seata.server.storage.file.session;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -27,7 +29,6 @@ import java.util.Set;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 import org.apache.seata.common.exception.ShouldNeverHappenException;
 import org.apache.seata.common.loader.LoadLevel;
@@ -46,8 +47,10 @@ import org.apache.seata.server.session.SessionCondition;
 import org.apache.seata.server.storage.file.ReloadableStore;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
+import org.apache.seata.server.storage.file.store.SegmentedTransactionStoreManager;
 import org.apache.seata.server.store.AbstractTransactionStoreManager;
 import org.apache.seata.server.store.SessionStorable;
+import org.apache.seata.server.store.StoreConfig;
 import org.apache.seata.server.store.TransactionStoreManager;
 
 import static org.apache.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
@@ -63,11 +66,25 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     private static final int READ_SIZE = ConfigurationFactory.getInstance().getInt(
         ConfigurationKeys.SERVICE_SESSION_RELOAD_READ_SIZE, DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE);
 
+    private static final long TIMEOUT_WHEEL_TICK_MILLS = 100L;
+
+    private static final int TIMEOUT_WHEEL_SIZE = 512;
+
     /**
      * The Session map.
      */
     protected Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>(64);
 
+    /**
+     * The deadlines of the global sessions in Begin status.
+     */
+    private final SessionTimeoutWheel timeoutWheel = new SessionTimeoutWheel(TIMEOUT_WHEEL_TICK_MILLS,
+        TIMEOUT_WHEEL_SIZE);
+
+    /**
+     * The indexes of the global sessions by status and by begin time.
+     */
+    private final GlobalSessionIndex sessionIndex = new GlobalSessionIndex();
 
     /**
      * Instantiates a new File based session manager.
@@ -94,8 +111,10 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     public FileSessionManager(String name, String sessionStoreFilePath) throws IOException {
         super(name);
         if (StringUtils.isNotBlank(sessionStoreFilePath)) {
-            transactionStoreManager =
-                new FileTransactionStoreManager(sessionStoreFilePath + File.separator + name, this);
+            String fullFileName = sessionStoreFilePath + File.separator + name;
+            transactionStoreManager = StoreConfig.isFileSegmentEnabled()
+                ? new SegmentedTransactionStoreManager(fullFileName, this)
+                : new FileTransactionStoreManager(fullFileName, this);
         } else {
             transactionStoreManager = new AbstractTransactionStoreManager() {
                 @Override
@@ -109,6 +128,7 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void reload() {
         restoreSessions();
+        reindexSessions();
     }
 
     @Override
@@ -121,6 +141,12 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
             }
             return session;
         });
+        if (sessionMap.get(session.getXid()) == session) {
+            sessionIndex.index(session);
+            if (session.getStatus() == GlobalStatus.Begin) {
+                timeoutWheel.add(session.getXid(), session.getBeginTime() + session.getTimeout());
+            }
+        }
     }
 
     @Override
@@ -137,10 +163,42 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
         if (sessionMap.remove(session.getXid()) != null) {
+            unindexGlobalSession(session.getXid());
             super.removeGlobalSession(session);
         }
     }
 
+    @Override
+    public void updateGlobalSessionStatus(GlobalSession session, GlobalStatus status) throws TransactionException {
+        super.updateGlobalSessionStatus(session, status);
+        reindexGlobalSession(session);
+    }
+
+    /**
+     * Update the indexes of the global session after its status is changed.
+     *
+     * @param session the global session
+     */
+    public void reindexGlobalSession(GlobalSession session) {
+        if (sessionMap.get(session.getXid()) != session) {
+            return;
+        }
+        sessionIndex.index(session);
+        if (session.getStatus() != GlobalStatus.Begin) {
+            timeoutWheel.cancel(session.getXid());
+        }
+    }
+
+    /**
+     * Remove the indexes of the global session after it is removed.
+     *
+     * @param xid the xid
+     */
+    protected void unindexGlobalSession(String xid) {
+        sessionIndex.remove(xid);
+        timeoutWheel.cancel(xid);
+    }
+
     @Override
     public Collection<GlobalSession> allSessions() {
         return sessionMap.values();
@@ -152,32 +210,80 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
         if (null != condition.getStatuses() && condition.getStatuses().length > 0) {
             globalStatuses = Arrays.asList(condition.getStatuses());
         }
-        Collection<GlobalSession> list = sessionMap.values();
-        List<GlobalStatus> finalGlobalStatuses = globalStatuses;
-        return list.parallelStream().filter(globalSession -> {
-
-            if (null != condition.getOverTimeAliveMills() && condition.getOverTimeAliveMills() > 0) {
-                if (System.currentTimeMillis() - globalSession.getBeginTime() <= condition.getOverTimeAliveMills()) {
-                    return false;
-                }
+        long now = System.currentTimeMillis();
+        boolean overTimeAlive = null != condition.getOverTimeAliveMills() && condition.getOverTimeAliveMills() > 0;
+        // only the sessions may match are checked, the indexes are preferred to the full scan
+        Collection<GlobalSession> candidates;
+        if (!StringUtils.isEmpty(condition.getXid())) {
+            GlobalSession globalSession = sessionMap.get(condition.getXid());
+            candidates = globalSession == null ? Collections.emptyList() : Collections.singletonList(globalSession);
+        } else if (null != condition.getTransactionId() && condition.getTransactionId() > 0) {
+            candidates = sessionMap.values();
+        } else if (null != globalStatuses) {
+            candidates = sessionIndex.findByStatuses(condition.getStatuses());
+        } else if (overTimeAlive) {
+            candidates = sessionIndex.findBeganBefore(now - condition.getOverTimeAliveMills());
+        } else {
+            candidates = sessionMap.values();
+        }
+        List<GlobalSession> globalSessions = new ArrayList<>();
+        for (GlobalSession globalSession : candidates) {
+            if (overTimeAlive && now - globalSession.getBeginTime() <= condition.getOverTimeAliveMills()) {
+                continue;
             }
-
             if (!StringUtils.isEmpty(condition.getXid())) {
                 // Only one will be found, just add and return
-                return Objects.equals(condition.getXid(), globalSession.getXid());
+                if (Objects.equals(condition.getXid(), globalSession.getXid())) {
+                    globalSessions.add(globalSession);
+                }
+                continue;
             }
-
             if (null != condition.getTransactionId() && condition.getTransactionId() > 0) {
                 // Only one will be found, just add and return
-                return Objects.equals(condition.getTransactionId(), globalSession.getTransactionId());
+                if (Objects.equals(condition.getTransactionId(), globalSession.getTransactionId())) {
+                    globalSessions.add(globalSession);
+                }
+                continue;
+            }
+            if (null != globalStatuses && !globalStatuses.contains(globalSession.getStatus())) {
+                continue;
+            }
+            // the index may be a little behind the removal of the session
+            if (sessionMap.get(globalSession.getXid()) == globalSession) {
+                globalSessions.add(globalSession);
+            }
+        }
+        return globalSessions;
+    }
+
+    @Override
+    public List<GlobalSession> findTimeoutCandidates() {
+        List<String> xids = timeoutWheel.pollExpired(System.currentTimeMillis());
+        List<GlobalSession> globalSessions = new ArrayList<>(xids.size());
+        for (String xid : xids) {
+            GlobalSession globalSession = sessionMap.get(xid);
+            if (globalSession == null || globalSession.getStatus() != GlobalStatus.Begin) {
+                // the status is changed without passing this manager, e.g. applied by raft
+                timeoutWheel.cancel(xid);
+            } else {
+                globalSessions.add(globalSession);
             }
+        }
+        return globalSessions;
+    }
 
-            if (null != finalGlobalStatuses) {
-                return finalGlobalStatuses.contains(globalSession.getStatus());
+    /**
+     * Rebuild the indexes and the deadlines of all the global sessions, after the sessions are reloaded.
+     */
+    public void reindexSessions() {
+        sessionIndex.clear();
+        timeoutWheel.clear();
+        sessionMap.values().forEach(globalSession -> {
+            sessionIndex.index(globalSession);
+            if (globalSession.getStatus() == GlobalStatus.Begin) {
+                timeoutWheel.add(globalSession.getXid(), globalSession.getBeginTime() + globalSession.getTimeout());
             }
-            // All test pass, add to resp
-            return true;
-        }).collect(Collectors.toList());
+        });
     }
 
     @Override
@@ -226,7 +332,13 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
         }
     }
 
-    private boolean checkSessionStatus(GlobalSession globalSession) {
+    /**
+     * Whether the global session is still alive after restore.
+     *
+     * @param globalSession the global session
+     * @return false if the global session has ended
+     */
+    public static boolean checkSessionStatus(GlobalSession globalSession) {
         GlobalStatus globalStatus = globalSession.getStatus();
         switch (globalStatus) {
             case UnKnown:
@@ -276,14 +388,14 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                     }
                     GlobalSession foundGlobalSession = sessionMap.get(globalSession.getXid());
                     if (foundGlobalSession == null) {
-                        if (this.checkSessionStatus(globalSession)) {
+                        if (checkSessionStatus(globalSession)) {
                             sessionMap.put(globalSession.getXid(), globalSession);
                         } else {
                             removedGlobalBuffer.add(globalSession.getXid());
                             unhandledBranchBuffer.remove(globalSession.getXid());
                         }
                     } else {
-                        if (this.checkSessionStatus(globalSession)) {
+                        if (checkSessionStatus(globalSession)) {
                             foundGlobalSession.setStatus(globalSession.getStatus());
                         } else {
                             sessionMap.remove(globalSession.getXid());
@@ -384,6 +496,7 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
 
     public void setSessionMap(Map<String, GlobalSession> sessionMap) {
         this.sessionMap = sessionMap;
+        reindexSessions();
     }
 
     @Override
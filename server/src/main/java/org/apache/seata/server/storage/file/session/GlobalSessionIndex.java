@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.session;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.session.GlobalSession;
+
+/**
+ * The secondary indexes of the in-memory global sessions, by status and by begin time.
+ * <p>
+ * The index of a session is updated as a whole under the lock of its xid, so a session is always in exactly one
+ * status bucket. The callers should check the status of the found sessions again, the status of a session may be
+ * changed after it is found.
+ * </p>
+ */
+class GlobalSessionIndex {
+
+    private final Map<GlobalStatus, Map<String, GlobalSession>> statusIndex = new EnumMap<>(GlobalStatus.class);
+
+    private final ConcurrentSkipListMap<BeginTimeKey, GlobalSession> beginTimeIndex = new ConcurrentSkipListMap<>();
+
+    private final Map<String, IndexedState> indexedStates = new ConcurrentHashMap<>();
+
+    GlobalSessionIndex() {
+        for (GlobalStatus status : GlobalStatus.values()) {
+            statusIndex.put(status, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Index the session by its current status and begin time, replaces the index before.
+     *
+     * @param globalSession the global session
+     */
+    void index(GlobalSession globalSession) {
+        indexedStates.compute(globalSession.getXid(), (xid, indexed) -> {
+            GlobalStatus status = globalSession.getStatus();
+            long beginTime = globalSession.getBeginTime();
+            if (indexed != null) {
+                if (indexed.session == globalSession && indexed.status == status && indexed.beginTime == beginTime) {
+                    return indexed;
+                }
+                unindex(indexed);
+            }
+            IndexedState state = new IndexedState(globalSession, status, beginTime);
+            if (status != null) {
+                statusIndex.get(status).put(xid, globalSession);
+            }
+            beginTimeIndex.put(state.beginTimeKey, globalSession);
+            return state;
+        });
+    }
+
+    /**
+     * Remove the index of the session.
+     *
+     * @param xid the xid
+     */
+    void remove(String xid) {
+        indexedStates.computeIfPresent(xid, (k, indexed) -> {
+            unindex(indexed);
+            return null;
+        });
+    }
+
+    /**
+     * Find the sessions indexed by the statuses.
+     *
+     * @param statuses the statuses
+     * @return the sessions
+     */
+    Collection<GlobalSession> findByStatuses(GlobalStatus... statuses) {
+        if (statuses.length == 1) {
+            return statuses[0] == null ? Collections.emptyList() : statusIndex.get(statuses[0]).values();
+        }
+        // a session moving between the statuses may be read twice
+        Set<GlobalSession> globalSessions = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GlobalStatus status : statuses) {
+            if (status != null) {
+                globalSessions.addAll(statusIndex.get(status).values());
+            }
+        }
+        return globalSessions;
+    }
+
+    /**
+     * Find the sessions began before the time.
+     *
+     * @param time the time in milliseconds, exclusive
+     * @return the sessions
+     */
+    Collection<GlobalSession> findBeganBefore(long time) {
+        return beginTimeIndex.headMap(new BeginTimeKey(time, ""), false).values();
+    }
+
+    /**
+     * Remove all the indexes.
+     */
+    void clear() {
+        indexedStates.clear();
+        statusIndex.values().forEach(Map::clear);
+        beginTimeIndex.clear();
+    }
+
+    private void unindex(IndexedState indexed) {
+        if (indexed.status != null) {
+            statusIndex.get(indexed.status).remove(indexed.session.getXid(), indexed.session);
+        }
+        beginTimeIndex.remove(indexed.beginTimeKey, indexed.session);
+    }
+
+    private static final class IndexedState {
+
+        private final GlobalSession session;
+
+        private final GlobalStatus status;
+
+        private final long beginTime;
+
+        private final BeginTimeKey beginTimeKey;
+
+        IndexedState(GlobalSession session, GlobalStatus status, long beginTime) {
+            this.session = session;
+            this.status = status;
+            this.beginTime = beginTime;
+            this.beginTimeKey = new BeginTimeKey(beginTime, session.getXid());
+        }
+    }
+
+    private static final class BeginTimeKey implements Comparable<BeginTimeKey> {
+
+        private final long beginTime;
+
+        private final String xid;
+
+        BeginTimeKey(long beginTime, String xid) {
+            this.beginTime = beginTime;
+            this.xid = xid;
+        }
+
+        @Override
+        public int compareTo(BeginTimeKey o) {
+            int result = Long.compare(beginTime, o.beginTime);
+            return result != 0 ? result : xid.compareTo(o.xid);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BeginTimeKey)) {
+                return false;
+            }
+            BeginTimeKey that = (BeginTimeKey)o;
+            return beginTime == that.beginTime && xid.equals(that.xid);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(beginTime) + xid.hashCode();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.session;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A two level timing wheel of the deadlines of the global sessions in Begin status.
+ * <p>
+ * The wheel is passive, it is advanced by {@link #pollExpired(long)} of the timeout check. The fine wheel has
+ * {@code wheelSize} slots of one tick, the coarse wheel has {@code wheelSize} slots of one revolution of the fine
+ * wheel, a coarse slot is cascaded into the fine wheel when the fine wheel reaches it. The deadlines beyond the coarse
+ * wheel stay in their coarse slot until their revolution comes. So advancing the wheel only touches the sessions that
+ * expire or cascade, instead of all the sessions in Begin status.
+ * </p>
+ * <p>
+ * An expired session is kept in the expired set and polled again by every later timeout check, until it is cancelled
+ * because its status is changed or it is removed.
+ * </p>
+ */
+public class SessionTimeoutWheel {
+
+    private final long tickMills;
+
+    private final int wheelSize;
+
+    private final int mask;
+
+    private final Set<Entry>[] fineSlots;
+
+    private final Set<Entry>[] coarseSlots;
+
+    private final Set<Entry> expired = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * add and cancel share the read lock, advancing the wheel takes the write lock
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long currentTick;
+
+    /**
+     * Instantiates a new session timeout wheel.
+     *
+     * @param tickMills the duration of a tick in milliseconds
+     * @param wheelSize the slots of each level, must be a power of 2
+     */
+    @SuppressWarnings("unchecked")
+    public SessionTimeoutWheel(long tickMills, int wheelSize) {
+        if (tickMills <= 0) {
+            throw new IllegalArgumentException("tickMills must be positive: " + tickMills);
+        }
+        if (wheelSize <= 0 || (wheelSize & (wheelSize - 1)) != 0) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2: " + wheelSize);
+        }
+        this.tickMills = tickMills;
+        this.wheelSize = wheelSize;
+        this.mask = wheelSize - 1;
+        this.fineSlots = new Set[wheelSize];
+        this.coarseSlots = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            fineSlots[i] = ConcurrentHashMap.newKeySet();
+            coarseSlots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = System.currentTimeMillis() / tickMills;
+    }
+
+    /**
+     * Track the deadline of the global session, replaces the deadline tracked before.
+     *
+     * @param xid      the xid
+     * @param deadline the deadline in milliseconds
+     */
+    public void add(String xid, long deadline) {
+        Entry entry = new Entry(xid, deadline / tickMills);
+        lock.readLock().lock();
+        try {
+            Entry previous = entries.put(xid, entry);
+            if (previous != null) {
+                previous.slot.remove(previous);
+            }
+            place(entry, currentTick);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stop tracking the global session.
+     *
+     * @param xid the xid
+     */
+    public void cancel(String xid) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.remove(xid);
+            if (entry != null) {
+                entry.slot.remove(entry);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Advance the wheel to now, and get the xids of all the expired sessions not cancelled yet.
+     * A session is expired once the tick of its deadline is reached, so it may be expired up to one tick earlier.
+     *
+     * @param now the current time in milliseconds
+     * @return the expired xids
+     */
+    public List<String> pollExpired(long now) {
+        long nowTick = now / tickMills;
+        lock.writeLock().lock();
+        try {
+            if (nowTick - currentTick >= wheelSize) {
+                sweep(nowTick);
+            } else {
+                for (long tick = currentTick + 1; tick <= nowTick; tick++) {
+                    if ((tick & mask) == 0) {
+                        cascade(tick);
+                    }
+                    expire(fineSlots[(int)(tick & mask)], tick);
+                }
+            }
+            if (nowTick > currentTick) {
+                currentTick = nowTick;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<String> xids = new ArrayList<>(expired.size());
+        for (Entry entry : expired) {
+            xids.add(entry.xid);
+        }
+        return xids;
+    }
+
+    /**
+     * The count of the tracked sessions, including the expired ones.
+     *
+     * @return the count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stop tracking all the sessions.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < wheelSize; i++) {
+                fineSlots[i].clear();
+                coarseSlots[i].clear();
+            }
+            expired.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void place(Entry entry, long tick) {
+        Set<Entry> slot;
+        if (entry.deadlineTick <= tick) {
+            slot = expired;
+        } else if (entry.deadlineTick - tick < wheelSize) {
+            slot = fineSlots[(int)(entry.deadlineTick & mask)];
+        } else {
+            slot = coarseSlots[(int)((entry.deadlineTick / wheelSize) & mask)];
+        }
+        entry.slot = slot;
+        slot.add(entry);
+    }
+
+    private void expire(Set<Entry> slot, long tick) {
+        for (Iterator<Entry> iterator = slot.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.deadlineTick <= tick) {
+                iterator.remove();
+                entry.slot = expired;
+                expired.add(entry);
+            }
+        }
+    }
+
+    private void cascade(long tick) {
+        long revolution = tick / wheelSize;
+        Set<Entry> slot = coarseSlots[(int)(revolution & mask)];
+        for (Iterator<Entry> iterator = slot.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            long entryRevolution = entry.deadlineTick / wheelSize;
+            if (entryRevolution > revolution) {
+                // beyond the coarse wheel, wait for the revolution of its own
+                continue;
+            }
+            iterator.remove();
+            Set<Entry> target = entryRevolution < revolution ? expired : fineSlots[(int)(entry.deadlineTick & mask)];
+            entry.slot = target;
+            target.add(entry);
+        }
+    }
+
+    private void sweep(long nowTick) {
+        List<Entry> all = new ArrayList<>();
+        for (int i = 0; i < wheelSize; i++) {
+            all.addAll(fineSlots[i]);
+            all.addAll(coarseSlots[i]);
+            fineSlots[i].clear();
+            coarseSlots[i].clear();
+        }
+        for (Entry entry : all) {
+            place(entry, nowTick);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String xid;
+
+        private final long deadlineTick;
+
+        private volatile Set<Entry> slot;
+
+        Entry(String xid, long deadlineTick) {
+            this.xid = xid;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -25,6 +25,8 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -128,6 +130,18 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     private static final int INT_BYTE_SIZE = 4;
 
+    private static final int GROUP_COMMIT_BUFFER_NUM = 8;
+
+    private final FlushDiskMode flushDiskMode;
+
+    private BlockingQueue<ByteBuffer> groupCommitBuffers;
+
+    private final ReentrantLock groupCommitLock = new ReentrantLock();
+
+    private GroupFlushRequest activeGroupFlush;
+
+    private volatile GroupFlushRequest lastGroupFlush;
+
     /**
      * Instantiates a new File transaction store manager.
      *
@@ -136,6 +150,26 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
      * @throws IOException the io exception
      */
     public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager) throws IOException {
+        this(fullFileName, sessionManager, FLUSH_DISK_MODE);
+    }
+
+    /**
+     * Instantiates a new File transaction store manager.
+     *
+     * @param fullFileName   the dir path
+     * @param sessionManager the session manager
+     * @param flushDiskMode  the flush disk mode
+     * @throws IOException the io exception
+     */
+    public FileTransactionStoreManager(String fullFileName, SessionManager sessionManager,
+                                       FlushDiskMode flushDiskMode) throws IOException {
+        this.flushDiskMode = flushDiskMode;
+        if (flushDiskMode == FlushDiskMode.GROUP_MODEL) {
+            groupCommitBuffers = new ArrayBlockingQueue<>(GROUP_COMMIT_BUFFER_NUM);
+            for (int i = 0; i < GROUP_COMMIT_BUFFER_NUM; i++) {
+                groupCommitBuffers.add(ByteBuffer.allocateDirect(MAX_WRITE_BUFFER_SIZE));
+            }
+        }
         initFile(fullFileName);
         fileWriteExecutor = new ThreadPoolExecutor(MAX_THREAD_WRITE, MAX_THREAD_WRITE, Integer.MAX_VALUE,
             TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
@@ -172,10 +206,13 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        if (flushDiskMode == FlushDiskMode.GROUP_MODEL) {
+            return groupCommitSession(logOperation, session);
+        }
         long curFileTrxNum;
         writeSessionLock.lock();
         try {
-            if (!writeDataFile(new TransactionWriteStore(session, logOperation).encode())) {
+            if (!writeDataFile(new TransactionWriteStore(session, logOperation))) {
                 return false;
             }
             lastModifiedTime = System.currentTimeMillis();
@@ -194,9 +231,96 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return true;
     }
 
+    /**
+     * append the session into the shared group commit buffer, the write thread writes all the pending
+     * buffers and forces the file channel once for the whole batch, then wakes up all the waiters.
+     */
+    private boolean groupCommitSession(LogOperation logOperation, SessionStorable session) {
+        GroupFlushRequest groupFlushRequest;
+        writeSessionLock.lock();
+        try {
+            TransactionWriteStore writeStore = new TransactionWriteStore(session, logOperation);
+            int dataLength = writeStore.encodedSize();
+            if (dataLength >= Integer.MAX_VALUE - 3) {
+                return false;
+            }
+            groupFlushRequest = appendGroupFlush(writeStore, dataLength);
+            lastModifiedTime = System.currentTimeMillis();
+            long curFileTrxNum = FILE_TRX_NUM.incrementAndGet();
+            if (curFileTrxNum % PER_FILE_BLOCK_SIZE == 0
+                && (System.currentTimeMillis() - trxStartTimeMills) > MAX_TRX_TIMEOUT_MILLS) {
+                return saveHistory();
+            }
+        } catch (Exception exx) {
+            LOGGER.error("writeSession error, {}", exx.getMessage(), exx);
+            return false;
+        } finally {
+            writeSessionLock.unlock();
+        }
+        return groupFlushRequest.waitForFlush(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
+    }
+
+    private GroupFlushRequest appendGroupFlush(TransactionWriteStore writeStore, int dataLength) {
+        groupCommitLock.lock();
+        try {
+            if (activeGroupFlush != null) {
+                if (activeGroupFlush.append(writeStore, dataLength)) {
+                    return activeGroupFlush;
+                }
+                activeGroupFlush.seal();
+                activeGroupFlush = null;
+            }
+        } finally {
+            groupCommitLock.unlock();
+        }
+        ByteBuffer buffer = INT_BYTE_SIZE + dataLength <= MAX_WRITE_BUFFER_SIZE ? groupCommitBuffers.poll() : null;
+        boolean pooled = buffer != null;
+        if (!pooled) {
+            // the data is too large, or all the buffers are waiting for flush, never block under the write lock
+            buffer = ByteBuffer.allocate(Math.max(MAX_WRITE_BUFFER_SIZE, INT_BYTE_SIZE + dataLength));
+        }
+        GroupFlushRequest groupFlushRequest = new GroupFlushRequest(currFileChannel, buffer, pooled);
+        try {
+            groupFlushRequest.append(writeStore, dataLength);
+        } catch (RuntimeException e) {
+            if (pooled) {
+                groupCommitBuffers.offer(buffer);
+            }
+            throw e;
+        }
+        groupCommitLock.lock();
+        try {
+            activeGroupFlush = groupFlushRequest;
+        } finally {
+            groupCommitLock.unlock();
+        }
+        lastGroupFlush = groupFlushRequest;
+        writeDataFileRunnable.putRequest(groupFlushRequest);
+        return groupFlushRequest;
+    }
+
+    /**
+     * wait until all the appended group commit buffers are written into the current file
+     */
+    private void waitForGroupFlush() {
+        groupCommitLock.lock();
+        try {
+            if (activeGroupFlush != null) {
+                activeGroupFlush.seal();
+                activeGroupFlush = null;
+            }
+        } finally {
+            groupCommitLock.unlock();
+        }
+        GroupFlushRequest groupFlushRequest = lastGroupFlush;
+        if (groupFlushRequest != null) {
+            groupFlushRequest.waitForFlush(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
+        }
+    }
+
     private void flushDisk(long curFileNum, FileChannel currFileChannel) {
 
-        if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+        if (flushDiskMode == FlushDiskMode.SYNC_MODEL) {
             SyncFlushRequest syncFlushRequest = new SyncFlushRequest(curFileNum, currFileChannel);
             writeDataFileRunnable.putRequest(syncFlushRequest);
             syncFlushRequest.waitForFlush(MAX_WAIT_FOR_FLUSH_TIME_MILLS);
@@ -214,6 +338,9 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
     private boolean saveHistory() throws IOException {
         boolean result;
         try {
+            if (flushDiskMode == FlushDiskMode.GROUP_MODEL) {
+                waitForGroupFlush();
+            }
             result = findTimeoutAndSave();
             CloseFileRequest request = new CloseFileRequest(currFileChannel, currRaf);
             writeDataFileRunnable.putRequest(request);
@@ -228,6 +355,32 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return result;
     }
 
+    /**
+     * write the data frame of the store, the store is encoded straight into the write buffer if it fits in,
+     * otherwise it is encoded into an array and written across the flushes of the write buffer.
+     */
+    private boolean writeDataFrame(SessionStorable writeStore) {
+        int dataLength = writeStore.encodedSize();
+        if (INT_BYTE_SIZE + dataLength > writeBuffer.capacity()) {
+            return writeDataFrame(writeStore.encode());
+        }
+        if (INT_BYTE_SIZE + dataLength > writeBuffer.remaining()) {
+            if (!flushWriteBuffer(writeBuffer)) {
+                return false;
+            }
+        }
+        int position = writeBuffer.position();
+        try {
+            writeBuffer.putInt(dataLength);
+            writeStore.encode(writeBuffer);
+        } catch (RuntimeException e) {
+            // drop the length and the partial body, they would corrupt the data file
+            writeBuffer.position(position);
+            throw e;
+        }
+        return true;
+    }
+
     private boolean writeDataFrame(byte[] data) {
         if (data == null || data.length <= 0) {
             return true;
@@ -280,8 +433,7 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
         for (GlobalSession globalSession : globalSessionsOverMaxTimeout) {
             TransactionWriteStore globalWriteStore = new TransactionWriteStore(globalSession, LogOperation.GLOBAL_ADD);
-            byte[] data = globalWriteStore.encode();
-            if (!writeDataFrame(data)) {
+            if (!writeDataFrame(globalWriteStore)) {
                 return false;
             }
             List<BranchSession> branchSessIonsOverMaXTimeout = globalSession.getSortedBranches();
@@ -291,8 +443,7 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
                         MDC.put(MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
                         TransactionWriteStore branchWriteStore = new TransactionWriteStore(branchSession,
                             LogOperation.BRANCH_ADD);
-                        data = branchWriteStore.encode();
-                        if (!writeDataFrame(data)) {
+                        if (!writeDataFrame(branchWriteStore)) {
                             return false;
                         }
                     } finally {
@@ -405,14 +556,14 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
                     }
                     BufferUtils.flip(buffSize);
                     int bodySize = buffSize.getInt();
-                    byte[] byBody = new byte[bodySize];
-                    ByteBuffer buffBody = ByteBuffer.wrap(byBody);
+                    ByteBuffer buffBody = ByteBuffer.allocate(bodySize);
                     avilReadSize = fileChannel.read(buffBody);
                     if (avilReadSize != bodySize) {
                         break;
                     }
                     TransactionWriteStore writeStore = new TransactionWriteStore();
-                    writeStore.decode(byBody);
+                    BufferUtils.flip(buffBody);
+                    writeStore.decode(buffBody);
                     transactionWriteStores.add(writeStore);
                     if (transactionWriteStores.size() == readSize) {
                         break;
@@ -453,21 +604,25 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
     }
 
-    private boolean writeDataFile(byte[] bs) {
-        if (bs == null || bs.length >= Integer.MAX_VALUE - 3) {
+    private boolean writeDataFile(TransactionWriteStore writeStore) {
+        if (writeStore.encodedSize() >= Integer.MAX_VALUE - 3) {
             return false;
         }
-        if (!writeDataFrame(bs)) {
+        if (!writeDataFrame(writeStore)) {
             return false;
         }
         return flushWriteBuffer(writeBuffer);
     }
 
     private boolean writeDataFileByBuffer(ByteBuffer byteBuffer) {
+        return writeDataFileByBuffer(currFileChannel, byteBuffer);
+    }
+
+    private boolean writeDataFileByBuffer(FileChannel fileChannel, ByteBuffer byteBuffer) {
         for (int retry = 0; retry < MAX_WRITE_RETRY; retry++) {
             try {
                 while (byteBuffer.hasRemaining()) {
-                    currFileChannel.write(byteBuffer);
+                    fileChannel.write(byteBuffer);
                 }
                 return true;
             } catch (Exception exx) {
@@ -530,6 +685,97 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     }
 
+    /**
+     * The group flush request, the records of concurrent writers are appended into one buffer
+     * and made durable by a single force.
+     */
+    class GroupFlushRequest implements StoreRequest {
+
+        private final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        private final FileChannel curFileChannel;
+
+        private final ByteBuffer buffer;
+
+        private final boolean pooled;
+
+        private int recordNum;
+
+        private boolean sealed;
+
+        private volatile boolean success;
+
+        public GroupFlushRequest(FileChannel curFileChannel, ByteBuffer buffer, boolean pooled) {
+            this.curFileChannel = curFileChannel;
+            this.buffer = buffer;
+            this.pooled = pooled;
+        }
+
+        /**
+         * append one data frame, must be called while holding the group commit lock
+         * or before the request is published.
+         *
+         * @param writeStore the store encoded straight into the buffer
+         * @param dataLength the encoded size of the store
+         * @return false if the request was sealed or has no room for the data
+         */
+        public boolean append(SessionStorable writeStore, int dataLength) {
+            if (sealed || buffer.remaining() < INT_BYTE_SIZE + dataLength) {
+                return false;
+            }
+            int position = buffer.position();
+            try {
+                buffer.putInt(dataLength);
+                writeStore.encode(buffer);
+            } catch (RuntimeException e) {
+                // drop the length and the partial body, the buffer is shared by the other writers
+                buffer.position(position);
+                throw e;
+            }
+            recordNum++;
+            return true;
+        }
+
+        public void seal() {
+            this.sealed = true;
+        }
+
+        public FileChannel getCurFileChannel() {
+            return curFileChannel;
+        }
+
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        public boolean isPooled() {
+            return pooled;
+        }
+
+        public int getRecordNum() {
+            return recordNum;
+        }
+
+        public void wakeup(boolean success) {
+            this.success = success;
+            this.countDownLatch.countDown();
+        }
+
+        public boolean waitForFlush(long timeout) {
+            try {
+                if (!this.countDownLatch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("wait for group flush timeout, records: {}", recordNum);
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                LOGGER.error("Interrupted", e);
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return success;
+        }
+    }
+
     static class CloseFileRequest implements StoreRequest {
         private final CountDownLatch countDownLatch = new CountDownLatch(1);
         private FileChannel fileChannel;
@@ -604,6 +850,8 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
                 syncFlush((SyncFlushRequest)storeRequest);
             } else if (storeRequest instanceof AsyncFlushRequest) {
                 async((AsyncFlushRequest)storeRequest);
+            } else if (storeRequest instanceof GroupFlushRequest) {
+                groupFlush((GroupFlushRequest)storeRequest);
             } else if (storeRequest instanceof CloseFileRequest) {
                 closeAndFlush((CloseFileRequest)storeRequest);
             }
@@ -631,8 +879,58 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
             req.wakeup();
         }
 
+        private void groupFlush(GroupFlushRequest req) {
+            // drain the group flush requests behind, they share one force
+            List<GroupFlushRequest> requests = new ArrayList<>();
+            requests.add(req);
+            while (storeRequests.peek() instanceof GroupFlushRequest) {
+                requests.add((GroupFlushRequest)storeRequests.poll());
+            }
+            boolean success = true;
+            FileChannel fileChannel = null;
+            long recordNum = 0;
+            for (GroupFlushRequest request : requests) {
+                groupCommitLock.lock();
+                try {
+                    request.seal();
+                    if (activeGroupFlush == request) {
+                        activeGroupFlush = null;
+                    }
+                } finally {
+                    groupCommitLock.unlock();
+                }
+                if (fileChannel != null && fileChannel != request.getCurFileChannel()) {
+                    success &= forceGroup(fileChannel);
+                }
+                fileChannel = request.getCurFileChannel();
+                ByteBuffer buffer = request.getBuffer();
+                BufferUtils.flip(buffer);
+                success &= writeDataFileByBuffer(fileChannel, buffer);
+                recordNum += request.getRecordNum();
+            }
+            success &= forceGroup(fileChannel);
+            FILE_FLUSH_NUM.addAndGet(recordNum);
+            for (GroupFlushRequest request : requests) {
+                if (request.isPooled()) {
+                    BufferUtils.clear(request.getBuffer());
+                    groupCommitBuffers.offer(request.getBuffer());
+                }
+                request.wakeup(success);
+            }
+        }
+
+        private boolean forceGroup(FileChannel fileChannel) {
+            try {
+                fileChannel.force(false);
+                return true;
+            } catch (IOException exx) {
+                LOGGER.error("group flush error: {}", exx.getMessage(), exx);
+                return false;
+            }
+        }
+
         private void flushOnCondition(FileChannel fileChannel) {
-            if (FLUSH_DISK_MODE == FlushDiskMode.SYNC_MODEL) {
+            if (flushDiskMode != FlushDiskMode.ASYNC_MODEL) {
                 return;
             }
             long diff = FILE_TRX_NUM.get() - FILE_FLUSH_NUM.get();
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.netty.util.internal.PlatformDependent;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.store.SessionStorable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed-size, memory-mapped segment of the session log.
+ * <p>
+ * Each frame is {@code [int bodyLength][long transactionId][byte flag][body]}, a zero length marks the end of the
+ * frames. When a segment is sealed its index, one {@code [long transactionId][int offset][byte flag]} entry per
+ * frame, is written into a sidecar file, so the recovery can skip the frames of the ended transactions without
+ * decoding them.
+ * </p>
+ */
+class LogSegment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogSegment.class);
+
+    static final int FRAME_HEADER_SIZE = 4 + 8 + 1;
+
+    static final byte FLAG_LIVE = 0;
+
+    static final byte FLAG_ENDED = 1;
+
+    private static final int INIT_INDEX_CAPACITY = 1024;
+
+    private final long sequence;
+
+    private final File file;
+
+    private final File indexFile;
+
+    private final RandomAccessFile raf;
+
+    private final MappedByteBuffer buffer;
+
+    private volatile int writePosition;
+
+    private volatile int flushedPosition;
+
+    private volatile boolean sealed;
+
+    private volatile long sealTimeMills;
+
+    private long[] indexTransactionIds = new long[INIT_INDEX_CAPACITY];
+
+    private int[] indexOffsets = new int[INIT_INDEX_CAPACITY];
+
+    private byte[] indexFlags = new byte[INIT_INDEX_CAPACITY];
+
+    private int indexSize;
+
+    private Set<Long> endedTransactionIds = new HashSet<>();
+
+    private long[] sortedEndedTransactionIds;
+
+    private LogSegment(long sequence, File file, File indexFile, RandomAccessFile raf, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.indexFile = indexFile;
+        this.raf = raf;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create a new writable segment.
+     *
+     * @param sequence  the sequence
+     * @param file      the segment file
+     * @param indexFile the index file
+     * @param size      the segment size
+     * @return the segment
+     * @throws IOException the io exception
+     */
+    static LogSegment create(long sequence, File file, File indexFile, int size) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new LogSegment(sequence, file, indexFile, raf, buffer);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open an existing segment as sealed, the index is rebuilt from the frames if it is missing or broken.
+     *
+     * @param sequence  the sequence
+     * @param file      the segment file
+     * @param indexFile the index file
+     * @return the segment
+     * @throws IOException the io exception
+     */
+    static LogSegment open(long sequence, File file, File indexFile) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            LogSegment segment = new LogSegment(sequence, file, indexFile, raf, buffer);
+            if (!segment.loadIndex()) {
+                segment.scanFrames();
+                segment.writeIndex();
+            }
+            segment.sealed = true;
+            segment.sealTimeMills = file.lastModified();
+            segment.buildSortedIndex();
+            return segment;
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append one frame, must be called by one writer at a time.
+     *
+     * @param transactionId the transaction id
+     * @param flag          the flag
+     * @param body          the transaction write store, encoded straight into the mapped buffer
+     * @param length        the encoded size of the body
+     * @return false if the segment has no room for the frame
+     */
+    boolean append(long transactionId, byte flag, SessionStorable body, int length) {
+        int position = writePosition;
+        // keep room for the zero length which marks the end of the frames
+        if (sealed || position + FRAME_HEADER_SIZE + length + 4 > buffer.capacity()) {
+            return false;
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position + 4);
+        slice.putLong(transactionId);
+        slice.put(flag);
+        body.encode(slice);
+        // write the length at last, a torn frame is seen as the end of the frames
+        slice.putInt(position, length);
+        addIndex(transactionId, position, flag);
+        writePosition = position + FRAME_HEADER_SIZE + length;
+        return true;
+    }
+
+    /**
+     * Force the appended frames onto the disk.
+     *
+     * @param position the position which must be durable
+     */
+    synchronized void flush(int position) {
+        if (flushedPosition >= position) {
+            return;
+        }
+        int current = writePosition;
+        buffer.force();
+        flushedPosition = current;
+    }
+
+    /**
+     * Seal the segment, no more frames can be appended.
+     *
+     * @throws IOException the io exception
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        sealed = true;
+        flush(writePosition);
+        writeIndex();
+        sealTimeMills = System.currentTimeMillis();
+        buildSortedIndex();
+    }
+
+    /**
+     * Read the frame of the index entry.
+     *
+     * @param entry the index entry
+     * @return the transaction write store
+     */
+    TransactionWriteStore read(int entry) {
+        ByteBuffer slice = buffer.duplicate();
+        int offset = indexOffsets[entry];
+        int length = slice.getInt(offset);
+        slice.position(offset + FRAME_HEADER_SIZE);
+        slice.limit(offset + FRAME_HEADER_SIZE + length);
+        TransactionWriteStore writeStore = new TransactionWriteStore();
+        writeStore.decode(slice);
+        return writeStore;
+    }
+
+    /**
+     * Whether the transaction was ended in this segment.
+     *
+     * @param transactionId the transaction id
+     * @return the boolean
+     */
+    boolean isEnded(long transactionId) {
+        if (sealed && sortedEndedTransactionIds != null) {
+            return Arrays.binarySearch(sortedEndedTransactionIds, transactionId) >= 0;
+        }
+        return endedTransactionIds.contains(transactionId);
+    }
+
+    /**
+     * Close and delete the segment files. The mapped memory is released at once instead of by the gc, the segment
+     * must not be read any more.
+     */
+    void delete() {
+        close();
+        PlatformDependent.freeDirectBuffer(buffer);
+        if (!file.delete() && file.exists()) {
+            LOGGER.warn("delete segment file failed: {}", file.getName());
+        }
+        if (!indexFile.delete() && indexFile.exists()) {
+            LOGGER.warn("delete segment index file failed: {}", indexFile.getName());
+        }
+    }
+
+    void close() {
+        try {
+            raf.close();
+        } catch (IOException e) {
+            LOGGER.error("segment close error: {}", e.getMessage(), e);
+        }
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getIndexSize() {
+        return indexSize;
+    }
+
+    long getTransactionId(int entry) {
+        return indexTransactionIds[entry];
+    }
+
+    byte getFlag(int entry) {
+        return indexFlags[entry];
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    long getSealTimeMills() {
+        return sealTimeMills;
+    }
+
+    private void addIndex(long transactionId, int offset, byte flag) {
+        if (indexSize == indexTransactionIds.length) {
+            int capacity = indexSize << 1;
+            indexTransactionIds = Arrays.copyOf(indexTransactionIds, capacity);
+            indexOffsets = Arrays.copyOf(indexOffsets, capacity);
+            indexFlags = Arrays.copyOf(indexFlags, capacity);
+        }
+        indexTransactionIds[indexSize] = transactionId;
+        indexOffsets[indexSize] = offset;
+        indexFlags[indexSize] = flag;
+        indexSize++;
+        if (flag == FLAG_ENDED) {
+            endedTransactionIds.add(transactionId);
+        }
+    }
+
+    private void scanFrames() {
+        int position = 0;
+        int limit = buffer.capacity();
+        while (position + FRAME_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + FRAME_HEADER_SIZE + length > limit) {
+                break;
+            }
+            addIndex(buffer.getLong(position + 4), position, buffer.get(position + 12));
+            position += FRAME_HEADER_SIZE + length;
+        }
+        writePosition = position;
+        flushedPosition = position;
+    }
+
+    private boolean loadIndex() {
+        if (!indexFile.exists()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            int size = in.readInt();
+            if ((long)size * (8 + 4 + 1) + 4 != indexFile.length()) {
+                LOGGER.warn("segment index file is broken, rebuild it: {}", indexFile.getName());
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                addIndex(in.readLong(), in.readInt(), in.readByte());
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("read segment index file failed, rebuild it: {}", indexFile.getName(), e);
+            indexSize = 0;
+            endedTransactionIds.clear();
+            return false;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(indexFile)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+            out.writeInt(indexSize);
+            for (int i = 0; i < indexSize; i++) {
+                out.writeLong(indexTransactionIds[i]);
+                out.writeInt(indexOffsets[i]);
+                out.writeByte(indexFlags[i]);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+    }
+
+    private void buildSortedIndex() {
+        sortedEndedTransactionIds = endedTransactionIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        endedTransactionIds = new HashSet<>();
+    }
+}
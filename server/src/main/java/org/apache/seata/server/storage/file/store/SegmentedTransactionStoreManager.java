@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.thread.NamedThreadFactory;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionCondition;
+import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
+import org.apache.seata.server.storage.file.ReloadableStore;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.storage.file.session.FileSessionManager;
+import org.apache.seata.server.store.AbstractTransactionStoreManager;
+import org.apache.seata.server.store.SessionStorable;
+import org.apache.seata.server.store.StoreConfig;
+import org.apache.seata.server.store.TransactionStoreManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The file transaction store manager based on a segmented, memory-mapped session log.
+ * <p>
+ * Sessions are appended into fixed-size segments. A full segment is sealed together with its index and a new one is
+ * started, so the writers never wait for the old data to be rewritten. A background compactor drops the oldest
+ * segment once all of its transactions have ended, a segment pinned by long-running transactions is released by
+ * appending the current state of those transactions to the log. On restart the sealed segments are replayed by their
+ * indexes, the frames of the ended transactions are skipped without being decoded.
+ * </p>
+ */
+public class SegmentedTransactionStoreManager extends AbstractTransactionStoreManager
+    implements TransactionStoreManager, ReloadableStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentedTransactionStoreManager.class);
+
+    private static final String SEGMENT_FILE_POSTFIX = ".seg";
+
+    private static final String INDEX_FILE_POSTFIX = ".idx";
+
+    private static final String HIS_DATA_FILENAME_POSTFIX = ".1";
+
+    private static final String MIGRATED_FILENAME_POSTFIX = ".migrated";
+
+    private static final int FLUSH_INTERVAL_MILLS = 1000;
+
+    private static final int COMPACT_INTERVAL_MILLS = 5 * 1000;
+
+    /**
+     * the sealed segment is not rewritten for the live transactions in this time, most of them end soon.
+     */
+    private static final long SEGMENT_PIN_TIME_MILLS = 60 * 1000;
+
+    private static final int MAX_SHUTDOWN_WAIT_MILLS = 3 * 1000;
+
+    private final File dir;
+
+    private final String fileNamePrefix;
+
+    private final int segmentSize;
+
+    private final FlushDiskMode flushDiskMode;
+
+    private final SessionManager sessionManager;
+
+    private final ReentrantLock writeSessionLock = new ReentrantLock();
+
+    private final ConcurrentLinkedDeque<LogSegment> sealedSegments = new ConcurrentLinkedDeque<>();
+
+    private volatile LogSegment activeSegment;
+
+    private long nextSequence;
+
+    private final ScheduledExecutorService scheduledExecutor;
+
+    private volatile boolean recovered;
+
+    private List<LogSegment> recoverSegments;
+
+    private Set<Long> recoverEndedTransactionIds;
+
+    private int recoverSegmentIndex;
+
+    private int recoverEntryIndex;
+
+    /**
+     * Instantiates a new segmented transaction store manager.
+     *
+     * @param fullFileName   the file name prefix of the segments
+     * @param sessionManager the session manager
+     * @throws IOException the io exception
+     */
+    public SegmentedTransactionStoreManager(String fullFileName, SessionManager sessionManager) throws IOException {
+        this(fullFileName, sessionManager, StoreConfig.getFileSegmentSize(), StoreConfig.getFlushDiskMode());
+    }
+
+    /**
+     * Instantiates a new segmented transaction store manager.
+     *
+     * @param fullFileName   the file name prefix of the segments
+     * @param sessionManager the session manager
+     * @param segmentSize    the segment size
+     * @param flushDiskMode  the flush disk mode
+     * @throws IOException the io exception
+     */
+    public SegmentedTransactionStoreManager(String fullFileName, SessionManager sessionManager, int segmentSize,
+                                            FlushDiskMode flushDiskMode) throws IOException {
+        File prefix = new File(fullFileName).getAbsoluteFile();
+        this.dir = prefix.getParentFile();
+        this.fileNamePrefix = prefix.getName();
+        this.segmentSize = segmentSize;
+        this.flushDiskMode = flushDiskMode;
+        this.sessionManager = sessionManager;
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("create session store dir failed: " + dir);
+        }
+        loadSegments();
+        activeSegment = newSegment();
+        migrateLegacyFiles(prefix);
+        recoverSegments = new ArrayList<>(sealedSegments);
+        recovered = recoverSegments.isEmpty();
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1,
+            new NamedThreadFactory("segmentedTransactionStore", 1, true));
+        if (flushDiskMode == FlushDiskMode.ASYNC_MODEL) {
+            scheduledExecutor.scheduleWithFixedDelay(this::flushActiveSegment, FLUSH_INTERVAL_MILLS,
+                FLUSH_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+        }
+        scheduledExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (Throwable e) {
+                LOGGER.error("compact segments error: {}", e.getMessage(), e);
+            }
+        }, COMPACT_INTERVAL_MILLS, COMPACT_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        LogSegment segment;
+        int position;
+        writeSessionLock.lock();
+        try {
+            if (!appendRecord(logOperation, session)) {
+                return false;
+            }
+            segment = activeSegment;
+            position = segment.getWritePosition();
+        } catch (Exception exx) {
+            LOGGER.error("writeSession error, {}", exx.getMessage(), exx);
+            return false;
+        } finally {
+            writeSessionLock.unlock();
+        }
+        if (flushDiskMode != FlushDiskMode.ASYNC_MODEL) {
+            // the concurrent writers share one force of the segment
+            segment.flush(position);
+        }
+        return true;
+    }
+
+    private boolean appendRecord(LogOperation logOperation, SessionStorable session) throws IOException {
+        TransactionWriteStore writeStore = new TransactionWriteStore(session, logOperation);
+        int dataLength = writeStore.encodedSize();
+        long transactionId;
+        byte flag = LogSegment.FLAG_LIVE;
+        if (session instanceof GlobalSession) {
+            GlobalSession globalSession = (GlobalSession)session;
+            transactionId = globalSession.getTransactionId();
+            if (logOperation == LogOperation.GLOBAL_REMOVE || !FileSessionManager.checkSessionStatus(globalSession)) {
+                flag = LogSegment.FLAG_ENDED;
+            }
+        } else {
+            transactionId = ((BranchSession)session).getTransactionId();
+        }
+        if (activeSegment.append(transactionId, flag, writeStore, dataLength)) {
+            return true;
+        }
+        rollSegment();
+        if (activeSegment.append(transactionId, flag, writeStore, dataLength)) {
+            return true;
+        }
+        LOGGER.error("session data size {} is larger than the segment size {}", dataLength, segmentSize);
+        return false;
+    }
+
+    private void rollSegment() throws IOException {
+        LogSegment segment = activeSegment;
+        segment.seal();
+        sealedSegments.addLast(segment);
+        activeSegment = newSegment();
+    }
+
+    private LogSegment newSegment() throws IOException {
+        long sequence = nextSequence++;
+        return LogSegment.create(sequence, segmentFile(sequence, SEGMENT_FILE_POSTFIX),
+            segmentFile(sequence, INDEX_FILE_POSTFIX), segmentSize);
+    }
+
+    private File segmentFile(long sequence, String postfix) {
+        return new File(dir, String.format("%s.%020d%s", fileNamePrefix, sequence, postfix));
+    }
+
+    private void loadSegments() throws IOException {
+        File[] files = dir.listFiles((d, name) -> name.startsWith(fileNamePrefix + ".")
+            && name.endsWith(SEGMENT_FILE_POSTFIX));
+        if (files == null) {
+            return;
+        }
+        List<Long> sequences = new ArrayList<>(files.length);
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                sequences.add(Long.parseLong(name.substring(fileNamePrefix.length() + 1,
+                    name.length() - SEGMENT_FILE_POSTFIX.length())));
+            } catch (NumberFormatException ignore) {
+                // not a segment of this store
+            }
+        }
+        Collections.sort(sequences);
+        for (Long sequence : sequences) {
+            sealedSegments.addLast(LogSegment.open(sequence, segmentFile(sequence, SEGMENT_FILE_POSTFIX),
+                segmentFile(sequence, INDEX_FILE_POSTFIX)));
+            nextSequence = sequence + 1;
+        }
+    }
+
+    /**
+     * append the sessions of the data files written by {@link FileTransactionStoreManager} into the segments
+     */
+    private void migrateLegacyFiles(File prefix) throws IOException {
+        File hisFile = new File(prefix.getPath() + HIS_DATA_FILENAME_POSTFIX);
+        boolean migrated = migrateLegacyFile(hisFile);
+        migrated |= migrateLegacyFile(prefix);
+        if (migrated) {
+            rollSegment();
+        }
+    }
+
+    private boolean migrateLegacyFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long remaining = file.length();
+            while (remaining > 4) {
+                int bodySize = in.readInt();
+                if (bodySize <= 0 || bodySize > remaining - 4) {
+                    break;
+                }
+                byte[] body = new byte[bodySize];
+                in.readFully(body);
+                remaining -= 4 + bodySize;
+                TransactionWriteStore writeStore = new TransactionWriteStore();
+                writeStore.decode(body);
+                if (!appendRecord(writeStore.getOperate(), writeStore.getSessionRequest())) {
+                    throw new StoreException("migrate data file failed: " + file.getName());
+                }
+            }
+        }
+        activeSegment.flush(activeSegment.getWritePosition());
+        File target = new File(file.getPath() + MIGRATED_FILENAME_POSTFIX);
+        if (!file.renameTo(target)) {
+            throw new StoreException("rename migrated data file failed: " + file.getName());
+        }
+        LOGGER.info("migrated data file {} into the segments", file.getName());
+        return true;
+    }
+
+    private void flushActiveSegment() {
+        LogSegment segment = activeSegment;
+        try {
+            segment.flush(segment.getWritePosition());
+        } catch (Exception e) {
+            LOGGER.error("flush segment error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop the oldest sealed segments whose transactions have all ended.
+     */
+    void compact() {
+        if (!recovered || sessionManager == null) {
+            return;
+        }
+        LogSegment head;
+        while ((head = sealedSegments.peekFirst()) != null) {
+            Set<Long> liveTransactionIds = findLiveTransactionIds(head);
+            List<GlobalSession> liveSessions = Collections.emptyList();
+            if (!liveTransactionIds.isEmpty()) {
+                if (System.currentTimeMillis() - head.getSealTimeMills() < SEGMENT_PIN_TIME_MILLS) {
+                    return;
+                }
+                liveSessions = findLiveSessions(liveTransactionIds);
+                if (!rewriteSessions(head, liveSessions)) {
+                    return;
+                }
+            }
+            sealedSegments.pollFirst();
+            head.delete();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("segment {} was compacted, rewritten sessions: {}", head.getSequence(),
+                    liveSessions.size());
+            }
+        }
+    }
+
+    /**
+     * The transactions which have frames in the segment but no end frame in it or any later segment. The liveness
+     * is taken from the log itself rather than the session map, a global session is logged before it is put into
+     * the map.
+     */
+    private Set<Long> findLiveTransactionIds(LogSegment segment) {
+        Set<Long> liveTransactionIds = new HashSet<>();
+        for (int i = 0; i < segment.getIndexSize(); i++) {
+            long transactionId = segment.getTransactionId(i);
+            if (!segment.isEnded(transactionId)) {
+                liveTransactionIds.add(transactionId);
+            }
+        }
+        if (liveTransactionIds.isEmpty()) {
+            return liveTransactionIds;
+        }
+        // the ended transactions of the active segment are written under the lock
+        writeSessionLock.lock();
+        try {
+            liveTransactionIds.removeIf(transactionId -> isEnded(segment, transactionId));
+        } finally {
+            writeSessionLock.unlock();
+        }
+        return liveTransactionIds;
+    }
+
+    /**
+     * The sessions of the live transactions to rewrite. It runs only after the segment has been sealed for the pin
+     * time, so a live transaction which is not in the session map any more has been removed from it.
+     */
+    private List<GlobalSession> findLiveSessions(Set<Long> liveTransactionIds) {
+        List<GlobalSession> liveSessions = new ArrayList<>();
+        for (GlobalSession globalSession : sessionManager.allSessions()) {
+            if (liveTransactionIds.contains(globalSession.getTransactionId())) {
+                liveSessions.add(globalSession);
+            }
+        }
+        return liveSessions;
+    }
+
+    private boolean rewriteSessions(LogSegment head, List<GlobalSession> liveSessions) {
+        for (GlobalSession globalSession : liveSessions) {
+            writeSessionLock.lock();
+            try {
+                // the session ended after it was found, its end frame has been appended already
+                if (isEnded(head, globalSession.getTransactionId())) {
+                    continue;
+                }
+                if (!appendRecord(LogOperation.GLOBAL_ADD, globalSession)) {
+                    return false;
+                }
+                for (BranchSession branchSession : globalSession.getSortedBranches()) {
+                    if (!appendRecord(LogOperation.BRANCH_ADD, branchSession)) {
+                        return false;
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.error("rewrite session error, xid: {}, {}", globalSession.getXid(), e.getMessage(), e);
+                return false;
+            } finally {
+                writeSessionLock.unlock();
+            }
+        }
+        flushActiveSegment();
+        return true;
+    }
+
+    private boolean isEnded(LogSegment head, long transactionId) {
+        for (LogSegment segment : sealedSegments) {
+            if (segment != head && segment.isEnded(transactionId)) {
+                return true;
+            }
+        }
+        return activeSegment.isEnded(transactionId);
+    }
+
+    @Override
+    public GlobalSession readSession(String xid) {
+        throw new StoreException("unsupport for read from file, xid:" + xid);
+    }
+
+    @Override
+    public List<GlobalSession> readSession(SessionCondition sessionCondition) {
+        throw new StoreException("unsupport for read from file");
+    }
+
+    @Override
+    public List<TransactionWriteStore> readWriteStore(int readSize, boolean isHistory) {
+        List<TransactionWriteStore> transactionWriteStores = new ArrayList<>(readSize);
+        if (!isHistory) {
+            // the sessions written before the restart are all in the sealed segments
+            return transactionWriteStores;
+        }
+        initRecover();
+        while (recoverSegmentIndex < recoverSegments.size() && transactionWriteStores.size() < readSize) {
+            LogSegment segment = recoverSegments.get(recoverSegmentIndex);
+            if (recoverEntryIndex >= segment.getIndexSize()) {
+                recoverSegmentIndex++;
+                recoverEntryIndex = 0;
+                continue;
+            }
+            int entry = recoverEntryIndex++;
+            if (recoverEndedTransactionIds.contains(segment.getTransactionId(entry))) {
+                continue;
+            }
+            try {
+                transactionWriteStores.add(segment.read(entry));
+            } catch (Exception ex) {
+                LOGGER.error("decode segment {} error:{}", segment.getSequence(), ex.getMessage(), ex);
+            }
+        }
+        if (recoverSegmentIndex >= recoverSegments.size()) {
+            finishRecover();
+        }
+        return transactionWriteStores;
+    }
+
+    @Override
+    public boolean hasRemaining(boolean isHistory) {
+        if (!isHistory || recovered) {
+            return false;
+        }
+        return recoverSegmentIndex < recoverSegments.size();
+    }
+
+    private void initRecover() {
+        if (recoverEndedTransactionIds != null) {
+            return;
+        }
+        recoverEndedTransactionIds = new HashSet<>();
+        for (LogSegment segment : recoverSegments) {
+            for (int i = 0; i < segment.getIndexSize(); i++) {
+                if (segment.getFlag(i) == LogSegment.FLAG_ENDED) {
+                    recoverEndedTransactionIds.add(segment.getTransactionId(i));
+                }
+            }
+        }
+    }
+
+    private void finishRecover() {
+        recoverSegments = Collections.emptyList();
+        recoverEndedTransactionIds = Collections.emptySet();
+        recovered = true;
+    }
+
+    @Override
+    public void shutdown() {
+        scheduledExecutor.shutdown();
+        try {
+            scheduledExecutor.awaitTermination(MAX_SHUTDOWN_WAIT_MILLS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignore) {
+        }
+        writeSessionLock.lock();
+        try {
+            LogSegment segment = activeSegment;
+            segment.flush(segment.getWritePosition());
+            segment.close();
+            for (LogSegment sealedSegment : sealedSegments) {
+                sealedSegment.close();
+            }
+        } finally {
+            writeSessionLock.unlock();
+        }
+    }
+}
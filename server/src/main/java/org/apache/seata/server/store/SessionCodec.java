@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The helpers of the versioned binary format of the session storables.
+ * <p>
+ * A versioned record starts with {@link #FORMAT_V2}, the legacy records start with the transaction id, which is
+ * always positive, so the first byte of them never has the high bit set. The strings are written as an int length,
+ * -1 for null, followed by the UTF-8 bytes, and are encoded straight into the destination buffer.
+ * </p>
+ * <p>
+ * Both formats are always read, but the sessions are written in the legacy format unless
+ * {@code store.file.sessionFormatV2Enabled} is true, since the servers of the former versions can't read the version 2
+ * records of the file store or of the raft snapshots. Enable it only once every node runs a version reading both.
+ * </p>
+ */
+public final class SessionCodec {
+
+    /**
+     * The first byte of the records in the version 2 format.
+     */
+    public static final byte FORMAT_V2 = (byte)0x82;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static volatile boolean formatV2Enabled = StoreConfig.isSessionFormatV2Enabled();
+
+    private SessionCodec() {
+    }
+
+    /**
+     * Whether the sessions are written in the version 2 format.
+     *
+     * @return the boolean
+     */
+    public static boolean isFormatV2Enabled() {
+        return formatV2Enabled;
+    }
+
+    /**
+     * Only for the tests.
+     *
+     * @param enabled whether the sessions are written in the version 2 format
+     */
+    static void setFormatV2Enabled(boolean enabled) {
+        formatV2Enabled = enabled;
+    }
+
+    /**
+     * Whether the record at the position of the buffer is in the versioned format.
+     *
+     * @param src the buffer
+     * @return the boolean
+     */
+    public static boolean isVersioned(ByteBuffer src) {
+        return src.remaining() > 0 && src.get(src.position()) == FORMAT_V2;
+    }
+
+    /**
+     * The encoded size of the string, including its length.
+     *
+     * @param value the string
+     * @return the size
+     */
+    public static int sizeOf(String value) {
+        return 4 + (value == null ? 0 : utf8Length(value));
+    }
+
+    /**
+     * Write the string into the buffer.
+     *
+     * @param dst   the buffer
+     * @param value the string
+     */
+    public static void putString(ByteBuffer dst, String value) {
+        if (value == null) {
+            dst.putInt(NULL_LENGTH);
+            return;
+        }
+        dst.putInt(utf8Length(value));
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                dst.put((byte)c);
+            } else if (c < 0x800) {
+                dst.put((byte)(0xC0 | (c >> 6)));
+                dst.put((byte)(0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    dst.put((byte)(0xF0 | (codePoint >> 18)));
+                    dst.put((byte)(0x80 | ((codePoint >> 12) & 0x3F)));
+                    dst.put((byte)(0x80 | ((codePoint >> 6) & 0x3F)));
+                    dst.put((byte)(0x80 | (codePoint & 0x3F)));
+                } else {
+                    // the same replacement as String#getBytes
+                    dst.put((byte)'?');
+                }
+            } else {
+                dst.put((byte)(0xE0 | (c >> 12)));
+                dst.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+                dst.put((byte)(0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Read the string from the buffer.
+     *
+     * @param src the buffer
+     * @return the string
+     */
+    public static String getString(ByteBuffer src) {
+        int length = src.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String value;
+        if (src.hasArray()) {
+            value = new String(src.array(), src.arrayOffset() + src.position(), length, StandardCharsets.UTF_8);
+            src.position(src.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            src.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Skip the string in the buffer.
+     *
+     * @param src the buffer
+     */
+    public static void skipString(ByteBuffer src) {
+        int length = src.getInt();
+        if (length > 0) {
+            src.position(src.position() + length);
+        }
+    }
+
+    /**
+     * Write the bytes into the buffer, in the same layout of the strings.
+     *
+     * @param dst   the buffer
+     * @param bytes the bytes
+     */
+    public static void putBytes(ByteBuffer dst, byte[] bytes) {
+        if (bytes == null) {
+            dst.putInt(NULL_LENGTH);
+            return;
+        }
+        dst.putInt(bytes.length);
+        dst.put(bytes);
+    }
+
+    /**
+     * Read the bytes from the buffer.
+     *
+     * @param src the buffer
+     * @return the bytes
+     */
+    public static byte[] getBytes(ByteBuffer src) {
+        int length = src.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        src.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * The size of the string in the legacy format, without its length.
+     *
+     * @param value the string
+     * @return the size
+     */
+    public static int legacySizeOf(String value) {
+        return value == null ? 0 : value.getBytes().length;
+    }
+
+    /**
+     * Write the string in the legacy format, a short length, 0 for null, followed by the bytes of the default charset.
+     *
+     * @param dst   the buffer
+     * @param value the string
+     */
+    public static void putLegacyShortString(ByteBuffer dst, String value) {
+        byte[] bytes = value == null ? null : value.getBytes();
+        dst.putShort((short)(bytes == null ? 0 : bytes.length));
+        if (bytes != null) {
+            dst.put(bytes);
+        }
+    }
+
+    /**
+     * Write the string in the legacy format, an int length, 0 for null, followed by the bytes of the default charset.
+     *
+     * @param dst   the buffer
+     * @param value the string
+     */
+    public static void putLegacyString(ByteBuffer dst, String value) {
+        byte[] bytes = value == null ? null : value.getBytes();
+        dst.putInt(bytes == null ? 0 : bytes.length);
+        if (bytes != null) {
+            dst.put(bytes);
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                size += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // two chars, four bytes
+                    size += 2;
+                    i++;
+                }
+            } else {
+                size += 2;
+            }
+        }
+        return size;
+    }
+}
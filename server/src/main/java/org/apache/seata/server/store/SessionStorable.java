@@ -16,6 +16,8 @@
  */
 package org.apache.seata.server.store;
 
+import java.nio.ByteBuffer;
+
 /**
  * The interface Session storable.
  *
@@ -35,4 +37,33 @@ public interface SessionStorable {
      * @param src the src
      */
     void decode(byte[] src);
+
+    /**
+     * The size of the encoded bytes.
+     *
+     * @return the size
+     */
+    default int encodedSize() {
+        return encode().length;
+    }
+
+    /**
+     * Encode into the buffer at its position, the buffer must have {@link #encodedSize()} bytes remaining.
+     *
+     * @param dst the dst
+     */
+    default void encode(ByteBuffer dst) {
+        dst.put(encode());
+    }
+
+    /**
+     * Decode from the position to the limit of the buffer.
+     *
+     * @param src the src
+     */
+    default void decode(ByteBuffer src) {
+        byte[] bytes = new byte[src.remaining()];
+        src.get(bytes);
+        decode(bytes);
+    }
 }
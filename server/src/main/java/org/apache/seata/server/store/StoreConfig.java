@@ -72,6 +72,11 @@ public class StoreConfig {
      */
     private static final int DEFAULT_WRITE_BUFFER_SIZE = 1024 * 16;
 
+    /**
+     * Default 64mb.
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024 * 64;
+
     public static int getMaxBranchSessionSize() {
         return CONFIGURATION.getInt(STORE_FILE_PREFIX + "maxBranchSessionSize", DEFAULT_MAX_BRANCH_SESSION_SIZE);
     }
@@ -84,6 +89,22 @@ public class StoreConfig {
         return CONFIGURATION.getInt(STORE_FILE_PREFIX + "fileWriteBufferCacheSize", DEFAULT_WRITE_BUFFER_SIZE);
     }
 
+    public static boolean isFileSegmentEnabled() {
+        return CONFIGURATION.getBoolean(STORE_FILE_PREFIX + "segmentEnabled", false);
+    }
+
+    public static int getFileSegmentSize() {
+        return CONFIGURATION.getInt(STORE_FILE_PREFIX + "segmentSize", DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static boolean isSessionFormatV2Enabled() {
+        return CONFIGURATION.getBoolean(STORE_FILE_PREFIX + "sessionFormatV2Enabled", false);
+    }
+
+    public static boolean isFileHashedLockTableEnabled() {
+        return CONFIGURATION.getBoolean(STORE_FILE_PREFIX + "hashedLockTableEnabled", false);
+    }
+
     public static FlushDiskMode getFlushDiskMode() {
         return FlushDiskMode.findDiskMode(CONFIGURATION.getConfig(STORE_FILE_PREFIX + "flushDiskMode"));
     }
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.seata.common.ConfigurationKeys;
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.IOUtil;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.core.store.LockDO;
+import org.apache.seata.server.storage.db.lock.LockStoreDataBaseDAO;
+import org.h2.store.fs.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The batch acquire and the coalesced release of the db lock store.
+ */
+@SpringBootTest
+public class DataBaseLockStoreBatchTest {
+
+    static BasicDataSource dataSource = null;
+
+    static H2InsertIgnoreLockStoreDAO batchLockStoreDAO = null;
+
+    @BeforeAll
+    public static void start(ApplicationContext context) throws SQLException {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:./db_store/batch_lock");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.STORE_DB_TYPE, "h2");
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_TABLE, "lock_table");
+        batchLockStoreDAO = newBatchLockStoreDAO();
+
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            try {
+                stmt.execute("drop table lock_table");
+            } catch (Exception e) {
+            }
+            stmt.execute("CREATE TABLE lock_table ( xid varchar(96) ,  transaction_id long , branch_id long, resource_id varchar(32) ,table_name varchar(32) ,pk varchar(32) ,  row_key  varchar(128) primary key not null , status  integer , gmt_create TIMESTAMP(6) ,gmt_modified TIMESTAMP(6) ) ");
+        }
+    }
+
+    @Test
+    public void test_batchAcquireLocks() throws SQLException {
+        List<LockDO> lockDOs = newLockDOs("abc-123:1", 1L, 1L, "test_batchAcquireLocks-", 0, 3);
+        Assertions.assertTrue(batchLockStoreDAO.acquireLock(lockDOs));
+        Assertions.assertEquals(3, countLocks("abc-123:1"));
+
+        // the rows locked by the transaction itself are skipped
+        List<LockDO> moreLockDOs = newLockDOs("abc-123:1", 1L, 2L, "test_batchAcquireLocks-", 2, 5);
+        Assertions.assertTrue(batchLockStoreDAO.acquireLock(moreLockDOs));
+        Assertions.assertEquals(5, countLocks("abc-123:1"));
+
+        // conflict with the rows locked by another transaction, nothing is locked
+        List<LockDO> conflictLockDOs = newLockDOs("abc-123:2", 2L, 3L, "test_batchAcquireLocks-", 4, 8);
+        Assertions.assertFalse(batchLockStoreDAO.acquireLock(conflictLockDOs));
+        Assertions.assertEquals(0, countLocks("abc-123:2"));
+
+        batchLockStoreDAO.updateLockStatus("abc-123:1", LockStatus.Rollbacking);
+        Assertions.assertThrows(StoreException.class, () -> batchLockStoreDAO.acquireLock(conflictLockDOs, false, false));
+
+        Assertions.assertTrue(batchLockStoreDAO.unLock("abc-123:1"));
+        Assertions.assertEquals(0, countLocks("abc-123:1"));
+        Assertions.assertTrue(batchLockStoreDAO.acquireLock(conflictLockDOs));
+        Assertions.assertEquals(4, countLocks("abc-123:2"));
+        Assertions.assertTrue(batchLockStoreDAO.unLock(3L));
+        Assertions.assertEquals(0, countLocks("abc-123:2"));
+    }
+
+    @Test
+    public void test_batchAcquireLocksReleasedAfterInsert() throws SQLException {
+        Assertions.assertTrue(batchLockStoreDAO.acquireLock(newLockDOs("abc-789:1", 1L, 1L, "test_released-", 0, 2)));
+
+        // the holder releases its locks after the insert skipped them, the check finds no conflict but no lock either
+        batchLockStoreDAO.afterInsert = () -> batchLockStoreDAO.unLock("abc-789:1");
+        try {
+            Assertions.assertTrue(batchLockStoreDAO.acquireLock(newLockDOs("abc-789:2", 2L, 2L, "test_released-", 0, 3)));
+        } finally {
+            batchLockStoreDAO.afterInsert = null;
+        }
+        Assertions.assertEquals(0, countLocks("abc-789:1"));
+        Assertions.assertEquals(3, countLocks("abc-789:2"));
+        Assertions.assertTrue(batchLockStoreDAO.unLock("abc-789:2"));
+    }
+
+    @Test
+    public void test_unLocksAfterDestroy() throws Exception {
+        H2InsertIgnoreLockStoreDAO lockStoreDAO = newBatchLockStoreDAO();
+        int transactions = 8;
+        for (int i = 0; i < transactions; i++) {
+            Assertions.assertTrue(lockStoreDAO.acquireLock(newLockDOs("abc-999:" + i, i, 900L + i, "test_destroy-" + i + "-", 0, 2)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(transactions);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < transactions / 2; i++) {
+                String xid = "abc-999:" + i;
+                futures.add(executor.submit(() -> lockStoreDAO.unLock(xid)));
+            }
+            // the releases accepted before the destroy are flushed, the later ones are deleted directly
+            lockStoreDAO.destroy();
+            for (int i = transactions / 2; i < transactions; i++) {
+                String xid = "abc-999:" + i;
+                futures.add(executor.submit(() -> lockStoreDAO.unLock(xid)));
+            }
+            for (Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < transactions; i++) {
+            Assertions.assertEquals(0, countLocks("abc-999:" + i));
+        }
+    }
+
+    @Test
+    public void test_concurrentUnLocks() throws Exception {
+        int transactions = 32;
+        for (int i = 0; i < transactions; i++) {
+            String xid = "abc-456:" + i;
+            Assertions.assertTrue(batchLockStoreDAO.acquireLock(newLockDOs(xid, i, 100L + i, "test_concurrentUnLocks-" + i + "-", 0, 3)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < transactions; i++) {
+                String xid = "abc-456:" + i;
+                long branchId = 100L + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return branchId % 2 == 0 ? batchLockStoreDAO.unLock(xid) : batchLockStoreDAO.unLock(branchId);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < transactions; i++) {
+            Assertions.assertEquals(0, countLocks("abc-456:" + i));
+        }
+    }
+
+    private static H2InsertIgnoreLockStoreDAO newBatchLockStoreDAO() {
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_ENABLED, "true");
+        ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_WINDOW, "5");
+        H2InsertIgnoreLockStoreDAO lockStoreDAO;
+        try {
+            lockStoreDAO = new H2InsertIgnoreLockStoreDAO(dataSource);
+        } finally {
+            ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_ENABLED, "false");
+            ConfigurationFactory.getInstance().putConfig(ConfigurationKeys.LOCK_DB_UNLOCK_BATCH_WINDOW, "0");
+        }
+        // h2 has no insert ignore, the dao above emulates it, so the dialect check is done against mysql
+        lockStoreDAO.setDbType("mysql");
+        lockStoreDAO.setBatchAcquireEnabled(true);
+        return lockStoreDAO;
+    }
+
+    private static List<LockDO> newLockDOs(String xid, long transactionId, long branchId, String rowKeyPrefix,
+                                           int from, int to) {
+        List<LockDO> lockDOs = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            LockDO lock = new LockDO();
+            lock.setResourceId("abc");
+            lock.setXid(xid);
+            lock.setTransactionId(transactionId);
+            lock.setBranchId(branchId);
+            lock.setRowKey(rowKeyPrefix + i);
+            lock.setPk(String.valueOf(i));
+            lock.setTableName("t");
+            lockDOs.add(lock);
+        }
+        return lockDOs;
+    }
+
+    private static int countLocks(String xid) throws SQLException {
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            conn = dataSource.getConnection();
+            ps = conn.prepareStatement("select count(1) from lock_table where xid = ?");
+            ps.setString(1, xid);
+            rs = ps.executeQuery();
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            IOUtil.close(rs, ps, conn);
+        }
+    }
+
+    @AfterAll
+    public static void clearStoreDB() {
+        batchLockStoreDAO.destroy();
+        FileUtils.deleteRecursive("db_store", true);
+    }
+
+    /**
+     * Emulates the insert ignore of mysql with one insert per row, h2 keeps the transaction usable after the
+     * duplicate key error of a statement.
+     */
+    static class H2InsertIgnoreLockStoreDAO extends LockStoreDataBaseDAO {
+
+        private static final String DUPLICATE_KEY_STATE = "23505";
+
+        /**
+         * Run once after the next insert of the locks.
+         */
+        volatile Runnable afterInsert;
+
+        H2InsertIgnoreLockStoreDAO(DataSource lockStoreDataSource) {
+            super(lockStoreDataSource);
+        }
+
+        @Override
+        protected int doAcquireLocksIgnoreExisted(Connection conn, List<LockDO> lockDOs) throws SQLException {
+            int locked = 0;
+            for (LockDO lockDO : lockDOs) {
+                try (PreparedStatement ps = conn.prepareStatement("insert into lock_table (xid, transaction_id, "
+                    + "branch_id, resource_id, table_name, pk, row_key, gmt_create, gmt_modified, status) values "
+                    + "(?, ?, ?, ?, ?, ?, ?, now(), now(), ?)")) {
+                    ps.setString(1, lockDO.getXid());
+                    ps.setLong(2, lockDO.getTransactionId());
+                    ps.setLong(3, lockDO.getBranchId());
+                    ps.setString(4, lockDO.getResourceId());
+                    ps.setString(5, lockDO.getTableName());
+                    ps.setString(6, lockDO.getPk());
+                    ps.setString(7, lockDO.getRowKey());
+                    ps.setInt(8, lockDO.getStatus());
+                    locked += ps.executeUpdate();
+                } catch (SQLException e) {
+                    // skip the row already locked
+                    if (!(e instanceof SQLIntegrityConstraintViolationException) && !DUPLICATE_KEY_STATE.equals(e.getSQLState())) {
+                        throw e;
+                    }
+                }
+            }
+            Runnable hook = afterInsert;
+            afterInsert = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return locked;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.lock.file;
+
+import org.apache.seata.common.XID;
+import org.apache.seata.common.exception.StoreException;
+import org.apache.seata.common.util.UUIDGenerator;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.storage.file.lock.HashedFileLockManager;
+import org.apache.seata.server.storage.file.lock.RowLockTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Hashed file lock manager test.
+ */
+@SpringBootTest
+public class HashedFileLockManagerTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    private final HashedFileLockManager lockManager = new HashedFileLockManager();
+
+    @BeforeAll
+    public static void setup(ApplicationContext context) {
+
+    }
+
+    @AfterEach
+    public void cleanUp() throws Exception {
+        lockManager.cleanAllLocks();
+    }
+
+    @Test
+    public void acquireAndReleaseLockTest() throws Exception {
+        BranchSession branchA = newBranchSession(UUIDGenerator.generateUUID(), "t1:1,2,3;t2:1");
+        BranchSession branchB = newBranchSession(UUIDGenerator.generateUUID(), "t2:2;t1:3");
+        Assertions.assertTrue(lockManager.acquireLock(branchA));
+        Assertions.assertEquals(4, branchA.getHeldRowLocks().size());
+
+        Assertions.assertFalse(lockManager.acquireLock(branchB));
+        Assertions.assertEquals(0, branchB.getHeldRowLocks().size());
+        Assertions.assertFalse(lockManager.isLockable(branchB.getXid(), RESOURCE_ID, "t1:3"));
+        Assertions.assertTrue(lockManager.isLockable(branchB.getXid(), RESOURCE_ID, "t2:2"));
+        Assertions.assertTrue(lockManager.isLockable(branchB.getXid(), "other", "t1:3"));
+        Assertions.assertTrue(lockManager.isLockable(branchA.getXid(), RESOURCE_ID, "t1:3"));
+
+        // another branch of the same transaction
+        BranchSession branchA2 = newBranchSession(branchA.getTransactionId(), "t1:3,4");
+        Assertions.assertTrue(lockManager.acquireLock(branchA2));
+        Assertions.assertEquals(1, branchA2.getHeldRowLocks().size());
+
+        Assertions.assertTrue(lockManager.releaseLock(branchA));
+        Assertions.assertEquals(0, branchA.getHeldRowLocks().size());
+        Assertions.assertTrue(lockManager.acquireLock(branchB));
+        Assertions.assertFalse(lockManager.isLockable(branchA.getXid(), RESOURCE_ID, "t2:2"));
+        Assertions.assertTrue(lockManager.releaseLock(branchB));
+        Assertions.assertTrue(lockManager.releaseLock(branchA2));
+        Assertions.assertTrue(lockManager.isLockable(branchB.getXid(), RESOURCE_ID, "t1:1,2,3,4;t2:1,2"));
+    }
+
+    @Test
+    public void lockKeyConflictFailFastTest() throws Exception {
+        BranchSession branchA = newBranchSession(UUIDGenerator.generateUUID(), "t1:1");
+        BranchSession branchB = newBranchSession(UUIDGenerator.generateUUID(), "t1:1");
+        Assertions.assertTrue(lockManager.acquireLock(branchA));
+        branchA.setLockStatus(LockStatus.Rollbacking);
+        Assertions.assertFalse(lockManager.acquireLock(branchB, true, false));
+        Assertions.assertThrows(StoreException.class, () -> lockManager.acquireLock(branchB, false, false));
+    }
+
+    @Test
+    public void manyRowLocksTest() throws Exception {
+        int rows = 20000;
+        StringBuilder lockKey = new StringBuilder("t1:");
+        for (int i = 0; i < rows; i++) {
+            lockKey.append(i).append(',');
+        }
+        BranchSession branchA = newBranchSession(UUIDGenerator.generateUUID(), lockKey.toString());
+        BranchSession branchB = newBranchSession(UUIDGenerator.generateUUID(), "t1:" + (rows - 1));
+        Assertions.assertTrue(lockManager.acquireLock(branchA));
+        Assertions.assertEquals(rows, branchA.getHeldRowLocks().size());
+        Assertions.assertFalse(lockManager.isLockable(branchB.getXid(), RESOURCE_ID, "t1:" + (rows / 2)));
+        Assertions.assertFalse(lockManager.acquireLock(branchB));
+        Assertions.assertTrue(lockManager.releaseLock(branchA));
+        Assertions.assertTrue(lockManager.isLockable(branchB.getXid(), RESOURCE_ID, lockKey.toString()));
+        Assertions.assertTrue(lockManager.acquireLock(branchB));
+    }
+
+    @Test
+    public void hashCollisionTest() {
+        RowLockTable lockTable = new RowLockTable();
+        BranchSession branchA = newBranchSession(UUIDGenerator.generateUUID(), "t1:1");
+        BranchSession branchB = newBranchSession(UUIDGenerator.generateUUID(), "t1:2");
+        // different rows with the same hash never share a slot
+        Assertions.assertNull(lockTable.putIfAbsent(1L, branchA, "t1:1", 0, 2, 3, 4));
+        Assertions.assertNull(lockTable.putIfAbsent(1L, branchB, "t1:2", 0, 2, 3, 4));
+        Assertions.assertSame(branchA, lockTable.putIfAbsent(1L, branchB, "t1:1", 0, 2, 3, 4));
+        Assertions.assertSame(branchB, lockTable.get(1L, RESOURCE_ID, "t1:2", 0, 2, 3, 4));
+        Assertions.assertEquals(2, lockTable.size());
+        Assertions.assertTrue(lockTable.remove(1L, branchA));
+        Assertions.assertNull(lockTable.get(1L, RESOURCE_ID, "t1:1", 0, 2, 3, 4));
+        Assertions.assertSame(branchB, lockTable.get(1L, RESOURCE_ID, "t1:2", 0, 2, 3, 4));
+        Assertions.assertFalse(lockTable.remove(1L, branchA));
+        Assertions.assertTrue(lockTable.remove(1L, branchB));
+        Assertions.assertEquals(0, lockTable.size());
+    }
+
+    private BranchSession newBranchSession(long transactionId, String lockKey) {
+        BranchSession branchSession = new BranchSession(BranchType.AT);
+        branchSession.setXid(XID.generateXID(transactionId));
+        branchSession.setTransactionId(transactionId);
+        branchSession.setBranchId(UUIDGenerator.generateUUID());
+        branchSession.setResourceId(RESOURCE_ID);
+        branchSession.setLockKey(lockKey);
+        return branchSession;
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.seata.server.util.StoreUtil;
 import org.apache.commons.lang.time.DateUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -135,6 +136,67 @@ public class FileSessionManagerTest {
         }
     }
 
+    /**
+     * Find global sessions by the indexes test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void findGlobalSessionsByIndexTest() throws Exception {
+        for (SessionManager sessionManager : sessionManagerList) {
+            GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 60000);
+            globalSession.setBeginTime(System.currentTimeMillis() - 10000);
+            sessionManager.addGlobalSession(globalSession);
+            try {
+                Assertions.assertTrue(sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.Begin))
+                    .contains(globalSession));
+                Assertions.assertTrue(sessionManager.findGlobalSessions(new SessionCondition(5000L))
+                    .contains(globalSession));
+                Assertions.assertFalse(sessionManager.findGlobalSessions(new SessionCondition(20000L))
+                    .contains(globalSession));
+
+                sessionManager.updateGlobalSessionStatus(globalSession, GlobalStatus.Committing);
+                Assertions.assertFalse(sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.Begin))
+                    .contains(globalSession));
+                Assertions.assertTrue(sessionManager.findGlobalSessions(
+                    new SessionCondition(GlobalStatus.Begin, GlobalStatus.Committing)).contains(globalSession));
+            } finally {
+                sessionManager.removeGlobalSession(globalSession);
+            }
+            Assertions.assertFalse(sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.Committing))
+                .contains(globalSession));
+        }
+    }
+
+    /**
+     * Find timeout candidates test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void findTimeoutCandidatesTest() throws Exception {
+        for (SessionManager sessionManager : sessionManagerList) {
+            GlobalSession timeoutSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 100);
+            timeoutSession.setBeginTime(System.currentTimeMillis() - 1000);
+            GlobalSession activeSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 60000);
+            activeSession.setBeginTime(System.currentTimeMillis());
+            sessionManager.addGlobalSession(timeoutSession);
+            sessionManager.addGlobalSession(activeSession);
+            try {
+                List<GlobalSession> candidates = sessionManager.findTimeoutCandidates();
+                Assertions.assertTrue(candidates.contains(timeoutSession));
+                Assertions.assertFalse(candidates.contains(activeSession));
+                // polled again until the status is changed
+                Assertions.assertTrue(sessionManager.findTimeoutCandidates().contains(timeoutSession));
+                sessionManager.updateGlobalSessionStatus(timeoutSession, GlobalStatus.TimeoutRollbacking);
+                Assertions.assertFalse(sessionManager.findTimeoutCandidates().contains(timeoutSession));
+            } finally {
+                sessionManager.removeGlobalSession(timeoutSession);
+                sessionManager.removeGlobalSession(activeSession);
+            }
+        }
+    }
+
     /**
      * Remove global session test.
      *
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Partitioned session dispatcher test.
+ */
+@SpringBootTest
+public class PartitionedSessionDispatcherTest {
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+
+    }
+
+    @Test
+    public void forEachInPartitionTest() throws Exception {
+        PartitionedSessionDispatcher dispatcher = new PartitionedSessionDispatcher("forEachInPartitionTest", 4, 16);
+        try {
+            List<GlobalSession> sessions = newGlobalSessions(200);
+            Map<String, String> handledThreads = new ConcurrentHashMap<>();
+            for (int pass = 0; pass < 2; pass++) {
+                dispatcher.forEach(sessions, globalSession -> {
+                    String thread = Thread.currentThread().getName();
+                    String previous = handledThreads.putIfAbsent(globalSession.getXid(), thread);
+                    // the same xid is always handled by the same partition
+                    Assertions.assertTrue(previous == null || previous.equals(thread));
+                });
+            }
+            Assertions.assertEquals(sessions.size(), handledThreads.size());
+            long handled = 0;
+            for (long count : dispatcher.handledCounts()) {
+                handled += count;
+            }
+            Assertions.assertEquals(sessions.size() * 2, handled);
+            for (GlobalSession session : sessions) {
+                int partition = dispatcher.partitionOf(session.getXid());
+                Assertions.assertTrue(partition >= 0 && partition < 4);
+                Assertions.assertEquals(partition, dispatcher.partitionOf(session.getXid()));
+            }
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void backpressureTest() throws Exception {
+        int queueSize = 2;
+        PartitionedSessionDispatcher dispatcher = new PartitionedSessionDispatcher("backpressureTest", 1, queueSize);
+        try {
+            List<GlobalSession> sessions = newGlobalSessions(10);
+            AtomicInteger dispatched = new AtomicInteger();
+            CountingCollection counting = new CountingCollection(sessions, dispatched);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger handled = new AtomicInteger();
+            Thread pass = new Thread(() -> dispatcher.forEach(counting, globalSession -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new TransactionException(e);
+                }
+                handled.incrementAndGet();
+            }));
+            pass.start();
+            TimeUnit.MILLISECONDS.sleep(300);
+            // the pending sessions are bounded, the next one waits for the partition
+            Assertions.assertEquals(queueSize + 1, dispatched.get());
+            Assertions.assertEquals(0, handled.get());
+            release.countDown();
+            pass.join(10000);
+            Assertions.assertFalse(pass.isAlive());
+            Assertions.assertEquals(sessions.size(), handled.get());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private static List<GlobalSession> newGlobalSessions(int size) {
+        List<GlobalSession> sessions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sessions.add(new GlobalSession("demo-app", "default_tx_group", "test", 6000));
+        }
+        return sessions;
+    }
+
+    private static class CountingCollection extends AbstractCollection<GlobalSession> {
+
+        private final List<GlobalSession> sessions;
+
+        private final AtomicInteger dispatched;
+
+        CountingCollection(List<GlobalSession> sessions, AtomicInteger dispatched) {
+            this.sessions = sessions;
+            this.dispatched = dispatched;
+        }
+
+        @Override
+        public Iterator<GlobalSession> iterator() {
+            Iterator<GlobalSession> iterator = sessions.iterator();
+            return new Iterator<GlobalSession>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public GlobalSession next() {
+                    dispatched.incrementAndGet();
+                    return iterator.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return sessions.size();
+        }
+    }
+}
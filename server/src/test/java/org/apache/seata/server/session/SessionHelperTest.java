@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.BranchType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The type Session helper test.
+ */
+@SpringBootTest
+public class SessionHelperTest {
+
+    private static final int RESOURCES = 3;
+
+    private static final int BRANCHES_PER_RESOURCE = 4;
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+
+    }
+
+    @Test
+    public void parallelForEachKeepsOrderInResourceTest() throws Exception {
+        List<BranchSession> branchSessions = newBranchSessions();
+        CountDownLatch allResourcesStarted = new CountDownLatch(RESOURCES);
+        Set<String> started = ConcurrentHashMap.newKeySet();
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        Boolean result = SessionHelper.parallelForEach(branchSessions, branchSession -> {
+            if (started.add(branchSession.getResourceId())) {
+                allResourcesStarted.countDown();
+                // every resource waits for the others, so it only passes if they are handled concurrently
+                try {
+                    Assertions.assertTrue(allResourcesStarted.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new TransactionException(e);
+                }
+            }
+            handled.computeIfAbsent(branchSession.getResourceId(), k -> new ArrayList<>()).add(branchSession.getBranchId());
+            return null;
+        });
+        Assertions.assertNull(result);
+        Assertions.assertEquals(RESOURCES, handled.size());
+        for (List<Long> branchIds : handled.values()) {
+            Assertions.assertEquals(BRANCHES_PER_RESOURCE, branchIds.size());
+            for (int i = 1; i < branchIds.size(); i++) {
+                Assertions.assertTrue(branchIds.get(i - 1) < branchIds.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void parallelForEachMergesResultsTest() throws Exception {
+        List<BranchSession> branchSessions = newBranchSessions();
+        AtomicInteger handled = new AtomicInteger();
+        // one resource stops at its first branch, the others go on
+        Boolean result = SessionHelper.parallelForEach(branchSessions, branchSession -> {
+            handled.incrementAndGet();
+            return "resource-1".equals(branchSession.getResourceId()) ? false : null;
+        });
+        Assertions.assertEquals(Boolean.FALSE, result);
+        Assertions.assertEquals((RESOURCES - 1) * BRANCHES_PER_RESOURCE + 1, handled.get());
+
+        handled.set(0);
+        Assertions.assertThrows(TransactionException.class, () -> SessionHelper.parallelForEach(branchSessions,
+            branchSession -> {
+                handled.incrementAndGet();
+                if ("resource-2".equals(branchSession.getResourceId())) {
+                    throw new TransactionException("branch failed");
+                }
+                return null;
+            }));
+        // all the resources are done when the exception is thrown
+        Assertions.assertEquals((RESOURCES - 1) * BRANCHES_PER_RESOURCE + 1, handled.get());
+    }
+
+    private static List<BranchSession> newBranchSessions() {
+        List<BranchSession> branchSessions = new ArrayList<>();
+        long branchId = 0;
+        for (int i = 0; i < BRANCHES_PER_RESOURCE; i++) {
+            for (int r = 0; r < RESOURCES; r++) {
+                BranchSession branchSession = new BranchSession(BranchType.AT);
+                branchSession.setXid("127.0.0.1:8091:1");
+                branchSession.setTransactionId(1L);
+                branchSession.setBranchId(++branchId);
+                branchSession.setResourceId("resource-" + r);
+                branchSessions.add(branchSession);
+            }
+        }
+        return branchSessions;
+    }
+}
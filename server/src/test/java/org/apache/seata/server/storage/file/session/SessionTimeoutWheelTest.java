@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.storage.file.session;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Session timeout wheel test.
+ */
+public class SessionTimeoutWheelTest {
+
+    private static final long TICK = 10L;
+
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    public void expireInFineWheelTest() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, WHEEL_SIZE);
+        long base = System.currentTimeMillis();
+        wheel.add("a", base + 3 * TICK);
+        Assertions.assertTrue(wheel.pollExpired(base).isEmpty());
+        Assertions.assertEquals(Collections.singletonList("a"), wheel.pollExpired(base + 4 * TICK));
+        // expired sessions are polled again until cancelled
+        Assertions.assertEquals(Collections.singletonList("a"), wheel.pollExpired(base + 5 * TICK));
+        wheel.cancel("a");
+        Assertions.assertTrue(wheel.pollExpired(base + 6 * TICK).isEmpty());
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cascadeFromCoarseWheelTest() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, WHEEL_SIZE);
+        long base = System.currentTimeMillis();
+        // beyond the fine wheel
+        wheel.add("b", base + 20 * TICK);
+        // beyond the coarse wheel too
+        wheel.add("c", base + 100 * TICK);
+        for (long tick = 0; tick < 20; tick++) {
+            Assertions.assertTrue(wheel.pollExpired(base + tick * TICK).isEmpty());
+        }
+        Assertions.assertEquals(Collections.singletonList("b"), wheel.pollExpired(base + 20 * TICK));
+        wheel.cancel("b");
+        for (long tick = 21; tick < 100; tick++) {
+            Assertions.assertTrue(wheel.pollExpired(base + tick * TICK).isEmpty());
+        }
+        Assertions.assertEquals(Collections.singletonList("c"), wheel.pollExpired(base + 100 * TICK));
+    }
+
+    @Test
+    public void sweepAfterGapTest() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, WHEEL_SIZE);
+        long base = System.currentTimeMillis();
+        wheel.add("d", base + 5 * TICK);
+        wheel.add("e", base + 500 * TICK);
+        Assertions.assertEquals(Collections.singletonList("d"), wheel.pollExpired(base + 200 * TICK));
+        wheel.cancel("d");
+        Assertions.assertTrue(wheel.pollExpired(base + 499 * TICK).isEmpty());
+        Assertions.assertEquals(Collections.singletonList("e"), wheel.pollExpired(base + 500 * TICK));
+        wheel.clear();
+        Assertions.assertTrue(wheel.pollExpired(base + 600 * TICK).isEmpty());
+    }
+
+    @Test
+    public void addExpiredAndReplaceTest() {
+        SessionTimeoutWheel wheel = new SessionTimeoutWheel(TICK, WHEEL_SIZE);
+        long base = System.currentTimeMillis();
+        wheel.add("f", base - TICK);
+        Assertions.assertEquals(Collections.singletonList("f"), wheel.pollExpired(base));
+        // the deadline tracked later replaces the former one
+        wheel.add("f", base + 3 * TICK);
+        Assertions.assertTrue(wheel.pollExpired(base + TICK).isEmpty());
+        Assertions.assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.seata.core.model.BranchStatus;
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.core.model.LockStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.store.TransactionStoreManager.LogOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
+/**
+ * The type Session codec test.
+ */
+@SpringBootTest
+public class SessionCodecTest {
+
+    @BeforeAll
+    public static void setUp(ApplicationContext context) {
+
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SessionCodec.setFormatV2Enabled(false);
+    }
+
+    @Test
+    public void stringTest() {
+        String[] values = {null, "", "ascii", "中文", "emoji 😀", "lone \ud83d surrogate"};
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        for (String value : values) {
+            SessionCodec.putString(buffer, value);
+        }
+        for (String value : values) {
+            if (value != null) {
+                Assertions.assertEquals(4 + value.getBytes(StandardCharsets.UTF_8).length,
+                    SessionCodec.sizeOf(value));
+            }
+        }
+        buffer.flip();
+        for (String value : values) {
+            String expected = value == null ? null
+                : new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+            Assertions.assertEquals(expected, SessionCodec.getString(buffer));
+        }
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void globalSessionIntoBufferTest(boolean formatV2Enabled) {
+        SessionCodec.setFormatV2Enabled(formatV2Enabled);
+        GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "下单", 6000);
+        globalSession.setApplicationData("{\"data\":\"test\"}");
+        int size = globalSession.encodedSize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size + 8);
+        buffer.putInt(size);
+        globalSession.encode(buffer);
+        Assertions.assertEquals(4 + size, buffer.position());
+        buffer.flip();
+        buffer.getInt();
+        Assertions.assertEquals(formatV2Enabled, SessionCodec.isVersioned(buffer));
+
+        GlobalSession decoded = new GlobalSession();
+        decoded.decode(buffer);
+        Assertions.assertFalse(buffer.hasRemaining());
+        Assertions.assertEquals(globalSession.getXid(), decoded.getXid());
+        Assertions.assertEquals(globalSession.getTransactionId(), decoded.getTransactionId());
+        Assertions.assertEquals(globalSession.getTimeout(), decoded.getTimeout());
+        Assertions.assertEquals(globalSession.getBeginTime(), decoded.getBeginTime());
+        Assertions.assertEquals(globalSession.getStatus(), decoded.getStatus());
+        // the legacy format keeps the strings in the default charset
+        String transactionName = formatV2Enabled ? globalSession.getTransactionName()
+            : new String(globalSession.getTransactionName().getBytes());
+        Assertions.assertEquals(transactionName, decoded.getTransactionName());
+        Assertions.assertEquals(globalSession.getApplicationData(), decoded.getApplicationData());
+        Assertions.assertArrayEquals(globalSession.encode(), decoded.encode());
+    }
+
+    @Test
+    public void legacyGlobalSessionTest() {
+        byte[] applicationId = "demo-app".getBytes();
+        byte[] group = DEFAULT_TX_GROUP.getBytes();
+        byte[] txName = "test".getBytes();
+        byte[] xid = "127.0.0.1:8091:1000".getBytes();
+        ByteBuffer legacy = ByteBuffer.allocate(64 + applicationId.length + group.length + txName.length + xid.length);
+        legacy.putLong(1000L);
+        legacy.putInt(6000);
+        legacy.putShort((short)applicationId.length);
+        legacy.put(applicationId);
+        legacy.putShort((short)group.length);
+        legacy.put(group);
+        legacy.putShort((short)txName.length);
+        legacy.put(txName);
+        legacy.putInt(xid.length);
+        legacy.put(xid);
+        legacy.putInt(0);
+        legacy.putLong(123L);
+        legacy.put((byte)GlobalStatus.Committing.getCode());
+        byte[] bytes = new byte[legacy.position()];
+        legacy.flip();
+        legacy.get(bytes);
+
+        GlobalSession decoded = new GlobalSession();
+        decoded.decode(bytes);
+        Assertions.assertEquals(1000L, decoded.getTransactionId());
+        Assertions.assertEquals(6000, decoded.getTimeout());
+        Assertions.assertEquals("demo-app", decoded.getApplicationId());
+        Assertions.assertEquals(DEFAULT_TX_GROUP, decoded.getTransactionServiceGroup());
+        Assertions.assertEquals("test", decoded.getTransactionName());
+        Assertions.assertEquals("127.0.0.1:8091:1000", decoded.getXid());
+        Assertions.assertNull(decoded.getApplicationData());
+        Assertions.assertEquals(123L, decoded.getBeginTime());
+        Assertions.assertEquals(GlobalStatus.Committing, decoded.getStatus());
+
+        // written in the legacy format by default, the servers of the former versions can read it
+        Assertions.assertFalse(SessionCodec.isFormatV2Enabled());
+        Assertions.assertArrayEquals(bytes, decoded.encode());
+    }
+
+    @Test
+    public void legacyBranchSessionTest() {
+        BranchSession branchSession = newBranchSession();
+        byte[] bytes = branchSession.encode();
+        Assertions.assertEquals(branchSession.encodedSize(), bytes.length);
+        Assertions.assertFalse(SessionCodec.isVersioned(ByteBuffer.wrap(bytes)));
+
+        ByteBuffer legacy = ByteBuffer.wrap(bytes);
+        Assertions.assertEquals(1000L, legacy.getLong());
+        Assertions.assertEquals(1001L, legacy.getLong());
+        Assertions.assertEquals("tb_1".length(), legacy.getInt());
+
+        BranchSession decoded = new BranchSession();
+        decoded.decode(bytes);
+        Assertions.assertEquals(branchSession.getXid(), decoded.getXid());
+        Assertions.assertEquals(branchSession.getBranchId(), decoded.getBranchId());
+        Assertions.assertEquals(branchSession.getResourceId(), decoded.getResourceId());
+        Assertions.assertEquals(branchSession.getClientId(), decoded.getClientId());
+        Assertions.assertEquals(branchSession.getLockKey(), decoded.getLockKey());
+        Assertions.assertEquals(BranchType.TCC, decoded.getBranchType());
+        Assertions.assertEquals(BranchStatus.PhaseOne_Done, decoded.getStatus());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void oversizeLockKeyTest(boolean formatV2Enabled) {
+        SessionCodec.setFormatV2Enabled(formatV2Enabled);
+        BranchSession branchSession = newBranchSession();
+        StringBuilder lockKey = new StringBuilder("t_1:");
+        while (lockKey.length() <= StoreConfig.getMaxBranchSessionSize()) {
+            lockKey.append(lockKey.length()).append(',');
+        }
+        branchSession.setLockKey(lockKey.toString());
+        byte[] bytes = branchSession.encode();
+        Assertions.assertEquals(branchSession.encodedSize(), bytes.length);
+        Assertions.assertTrue(bytes.length <= StoreConfig.getMaxBranchSessionSize());
+
+        BranchSession decoded = new BranchSession();
+        decoded.decode(bytes);
+        Assertions.assertEquals(branchSession.getLockKey(), decoded.getLockKey());
+        Assertions.assertEquals(branchSession.getResourceId(), decoded.getResourceId());
+        if (formatV2Enabled) {
+            // the legacy format doesn't read the lock status back
+            Assertions.assertEquals(LockStatus.Rollbacking, decoded.getLockStatus());
+        }
+
+        // the compressed lock key is reused only while the lock key is the same
+        branchSession.setLockKey(lockKey.append("t_2:1").toString());
+        decoded.decode(branchSession.encode());
+        Assertions.assertEquals(branchSession.getLockKey(), decoded.getLockKey());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void oversizeGlobalSessionTest(boolean formatV2Enabled) {
+        SessionCodec.setFormatV2Enabled(formatV2Enabled);
+        StringBuilder applicationData = new StringBuilder();
+        while (applicationData.length() <= StoreConfig.getMaxGlobalSessionSize()) {
+            applicationData.append("data,");
+        }
+        GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+        globalSession.setApplicationData(applicationData.toString());
+        // the size is checked before anything is encoded
+        Assertions.assertThrows(RuntimeException.class, globalSession::encodedSize);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void lazyWriteStoreTest(boolean formatV2Enabled) {
+        SessionCodec.setFormatV2Enabled(formatV2Enabled);
+        BranchSession branchSession = newBranchSession();
+        TransactionWriteStore writeStore = new TransactionWriteStore(branchSession, LogOperation.BRANCH_UPDATE);
+        ByteBuffer buffer = ByteBuffer.allocate(writeStore.encodedSize());
+        writeStore.encode(buffer);
+        buffer.flip();
+        Assertions.assertEquals(LogOperation.BRANCH_UPDATE, TransactionWriteStore.readOperation(buffer));
+        Assertions.assertEquals(branchSession.getTransactionId(), TransactionWriteStore.readTransactionId(buffer));
+        Assertions.assertEquals(0, buffer.position());
+
+        TransactionWriteStore decoded = new TransactionWriteStore();
+        decoded.decode(buffer);
+        BranchSession decodedBranch = (BranchSession)decoded.getSessionRequest();
+        Assertions.assertEquals(branchSession.getBranchId(), decodedBranch.getBranchId());
+        Assertions.assertEquals(branchSession.getXid(), decodedBranch.getXid());
+        Assertions.assertEquals(BranchType.TCC, decodedBranch.getBranchType());
+        Assertions.assertEquals(BranchStatus.PhaseOne_Done, decodedBranch.getStatus());
+    }
+
+    private static BranchSession newBranchSession() {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid("127.0.0.1:8091:1000");
+        branchSession.setTransactionId(1000L);
+        branchSession.setBranchId(1001L);
+        branchSession.setResourceId("tb_1");
+        branchSession.setClientId("c1");
+        branchSession.setLockKey("t_1:1");
+        branchSession.setBranchType(BranchType.TCC);
+        branchSession.setStatus(BranchStatus.PhaseOne_Done);
+        branchSession.setLockStatus(LockStatus.Rollbacking);
+        return branchSession;
+    }
+}
@@ -22,6 +22,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.seata.common.store.SessionMode;
 import org.apache.seata.server.session.SessionHolder;
@@ -38,6 +43,7 @@ import org.apache.seata.common.util.UUIDGenerator;
 import org.apache.seata.server.session.BranchSession;
 import org.apache.seata.server.session.GlobalSession;
 import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
 import org.apache.seata.server.storage.file.TransactionWriteStore;
 import org.apache.seata.server.storage.file.session.FileSessionManager;
 import org.apache.seata.server.storage.file.store.FileTransactionStoreManager;
@@ -69,11 +75,13 @@ public class FileTransactionStoreManagerTest {
             GlobalSession global = new GlobalSession();
             Mockito.when(branchSessionA.encode())
                     .thenReturn(createBigBranchSessionData(global, (byte) 'A'));
+            stubBufferEncode(branchSessionA);
             Mockito.when(branchSessionA.getApplicationData())
                     .thenReturn(new String(createBigApplicationData((byte) 'A')));
             BranchSession branchSessionB = Mockito.mock(BranchSession.class);
             Mockito.when(branchSessionB.encode())
                     .thenReturn(createBigBranchSessionData(global, (byte) 'B'));
+            stubBufferEncode(branchSessionB);
             Mockito.when(branchSessionB.getApplicationData())
                     .thenReturn(new String(createBigApplicationData((byte) 'B')));
             Assertions.assertTrue(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.BRANCH_ADD, branchSessionA));
@@ -93,6 +101,88 @@ public class FileTransactionStoreManagerTest {
         }
     }
 
+    @Test
+    public void testGroupCommitWrite() throws Exception {
+        Assertions.assertEquals(FlushDiskMode.GROUP_MODEL, FlushDiskMode.findDiskMode("group"));
+        File seataFile = Files.newTemporaryFile();
+        FileTransactionStoreManager fileTransactionStoreManager = null;
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null,
+                FlushDiskMode.GROUP_MODEL);
+            FileTransactionStoreManager storeManager = fileTransactionStoreManager;
+            int writers = 8;
+            int writesPerWriter = 200;
+            CountDownLatch countDownLatch = new CountDownLatch(writers);
+            AtomicInteger succeed = new AtomicInteger();
+            for (int i = 0; i < writers; i++) {
+                executorService.execute(() -> {
+                    try {
+                        for (int j = 0; j < writesPerWriter; j++) {
+                            GlobalSession globalSession = new GlobalSession("demo-app", "default_tx_group", "test", 60000);
+                            if (storeManager.writeSession(TransactionStoreManager.LogOperation.GLOBAL_ADD, globalSession)) {
+                                succeed.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        countDownLatch.countDown();
+                    }
+                });
+            }
+            Assertions.assertTrue(countDownLatch.await(30, TimeUnit.SECONDS));
+            Assertions.assertEquals(writers * writesPerWriter, succeed.get());
+            // big record larger than the group commit buffer
+            BranchSession branchSession = Mockito.mock(BranchSession.class);
+            Mockito.when(branchSession.encode())
+                    .thenReturn(createBigBranchSessionData(new GlobalSession(), (byte) 'A'));
+            stubBufferEncode(branchSession);
+            Assertions.assertTrue(storeManager.writeSession(TransactionStoreManager.LogOperation.BRANCH_ADD, branchSession));
+
+            List<TransactionWriteStore> list = storeManager.readWriteStore(writers * writesPerWriter + 1, false);
+            Assertions.assertNotNull(list);
+            Assertions.assertEquals(writers * writesPerWriter + 1, list.size());
+            Assertions.assertEquals(new String(createBigApplicationData((byte) 'A')),
+                ((BranchSession) list.get(list.size() - 1).getSessionRequest()).getApplicationData());
+        } finally {
+            executorService.shutdownNow();
+            if (fileTransactionStoreManager != null) {
+                fileTransactionStoreManager.shutdown();
+            }
+            Assertions.assertTrue(seataFile.delete());
+        }
+    }
+
+    @Test
+    public void testEncodeFailureWrite() throws Exception {
+        for (FlushDiskMode flushDiskMode : new FlushDiskMode[] {FlushDiskMode.SYNC_MODEL, FlushDiskMode.GROUP_MODEL}) {
+            File seataFile = Files.newTemporaryFile();
+            FileTransactionStoreManager fileTransactionStoreManager = null;
+            try {
+                fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null,
+                    flushDiskMode);
+                // the session fails in the middle of its encoding, after a part of it is in the buffer
+                BranchSession brokenSession = Mockito.mock(BranchSession.class);
+                Mockito.when(brokenSession.encodedSize()).thenReturn(16);
+                Mockito.doAnswer(invocation -> {
+                    ((ByteBuffer)invocation.getArgument(0)).putLong(-1L);
+                    throw new RuntimeException("encode error");
+                }).when(brokenSession).encode(Mockito.any(ByteBuffer.class));
+                GlobalSession globalSession = new GlobalSession("demo-app", "default_tx_group", "test", 60000);
+                Assertions.assertFalse(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.BRANCH_ADD, brokenSession));
+                Assertions.assertTrue(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.GLOBAL_ADD, globalSession));
+
+                List<TransactionWriteStore> list = fileTransactionStoreManager.readWriteStore(10, false);
+                Assertions.assertEquals(1, list.size());
+                Assertions.assertEquals(globalSession.getXid(), ((GlobalSession) list.get(0).getSessionRequest()).getXid());
+            } finally {
+                if (fileTransactionStoreManager != null) {
+                    fileTransactionStoreManager.shutdown();
+                }
+                Assertions.assertTrue(seataFile.delete());
+            }
+        }
+    }
+
     @Test
     public void testFindTimeoutAndSave() throws Exception {
         File seataFile = Files.newTemporaryFile();
@@ -107,12 +197,14 @@ public class FileTransactionStoreManagerTest {
                 BranchSession branchSessionA = Mockito.mock(BranchSession.class);
                 Mockito.when(branchSessionA.encode())
                         .thenReturn(createBigBranchSessionData(globalSession, (byte) 'A'));
+                stubBufferEncode(branchSessionA);
                 Mockito.when(branchSessionA.getApplicationData())
                         .thenReturn(new String(createBigApplicationData((byte) 'A')));
                 globalSession.addBranch(branchSessionA);
                 BranchSession branchSessionB = Mockito.mock(BranchSession.class);
                 Mockito.when(branchSessionB.encode())
                         .thenReturn(createBigBranchSessionData(globalSession, (byte) 'B'));
+                stubBufferEncode(branchSessionB);
                 Mockito.when(branchSessionB.getApplicationData())
                         .thenReturn(new String(createBigApplicationData((byte) 'B')));
                 globalSession.addBranch(branchSessionB);
@@ -148,6 +240,12 @@ public class FileTransactionStoreManagerTest {
         }
     }
 
+    private void stubBufferEncode(BranchSession branchSession) {
+        Mockito.when(branchSession.encodedSize()).thenAnswer(invocation -> branchSession.encode().length);
+        Mockito.doAnswer(invocation -> ((ByteBuffer)invocation.getArgument(0)).put(branchSession.encode()))
+            .when(branchSession).encode(Mockito.any(ByteBuffer.class));
+    }
+
     private byte[] createBigBranchSessionData(GlobalSession global, byte c) {
         int bufferSize = StoreConfig.getFileWriteBufferCacheSize() // applicationDataBytes
                 + 8 // trascationId
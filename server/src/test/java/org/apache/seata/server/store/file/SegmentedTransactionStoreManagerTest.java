@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.server.store.file;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.seata.core.model.BranchType;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.server.session.BranchSession;
+import org.apache.seata.server.session.GlobalSession;
+import org.apache.seata.server.session.SessionHelper;
+import org.apache.seata.server.session.SessionManager;
+import org.apache.seata.server.storage.file.FlushDiskMode;
+import org.apache.seata.server.storage.file.TransactionWriteStore;
+import org.apache.seata.server.storage.file.store.SegmentedTransactionStoreManager;
+import org.apache.seata.server.store.TransactionStoreManager.LogOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+@SpringBootTest
+public class SegmentedTransactionStoreManagerTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private File dir;
+
+    @BeforeAll
+    public static void init(ApplicationContext context) {
+        // resolving the context starts the server before the tests, the sessions read their store config from it
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("segment").toFile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testRecoverSkipsEndedTransactions() throws Exception {
+        String fullFileName = dir.getAbsolutePath() + File.separator + "root.data";
+        Set<String> liveXids = new HashSet<>();
+        SegmentedTransactionStoreManager storeManager = new SegmentedTransactionStoreManager(fullFileName, null,
+            SEGMENT_SIZE, FlushDiskMode.SYNC_MODEL);
+        try {
+            for (int i = 0; i < 50; i++) {
+                GlobalSession globalSession = newGlobalSession();
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_ADD, globalSession));
+                BranchSession branchSession = newBranchSession(globalSession);
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.BRANCH_ADD, branchSession));
+                if (i % 2 == 0) {
+                    Assertions.assertTrue(storeManager.writeSession(LogOperation.BRANCH_REMOVE, branchSession));
+                    Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_REMOVE, globalSession));
+                } else if (i % 5 == 0) {
+                    globalSession.setStatus(GlobalStatus.Committed);
+                    Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_UPDATE, globalSession));
+                } else {
+                    liveXids.add(globalSession.getXid());
+                }
+            }
+        } finally {
+            storeManager.shutdown();
+        }
+        File[] segments = dir.listFiles((d, name) -> name.endsWith(".seg"));
+        Assertions.assertNotNull(segments);
+        Assertions.assertTrue(segments.length > 1);
+
+        storeManager = new SegmentedTransactionStoreManager(fullFileName, null, SEGMENT_SIZE,
+            FlushDiskMode.SYNC_MODEL);
+        try {
+            Assertions.assertFalse(storeManager.hasRemaining(false));
+            List<TransactionWriteStore> stores = new ArrayList<>();
+            while (storeManager.hasRemaining(true)) {
+                stores.addAll(storeManager.readWriteStore(7, true));
+            }
+            Assertions.assertEquals(liveXids.size() * 2, stores.size());
+            for (TransactionWriteStore store : stores) {
+                String xid = store.getSessionRequest() instanceof GlobalSession
+                    ? ((GlobalSession)store.getSessionRequest()).getXid()
+                    : ((BranchSession)store.getSessionRequest()).getXid();
+                Assertions.assertTrue(liveXids.contains(xid));
+            }
+        } finally {
+            storeManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompactDropsEndedSegments() throws Exception {
+        String fullFileName = dir.getAbsolutePath() + File.separator + "root.data";
+        SessionManager sessionManager = Mockito.mock(SessionManager.class);
+        GlobalSession liveSession = newGlobalSession();
+        Mockito.when(sessionManager.allSessions()).thenReturn(Collections.emptyList());
+        SegmentedTransactionStoreManager storeManager = new SegmentedTransactionStoreManager(fullFileName,
+            sessionManager, SEGMENT_SIZE, FlushDiskMode.ASYNC_MODEL);
+        Method compact = SegmentedTransactionStoreManager.class.getDeclaredMethod("compact");
+        compact.setAccessible(true);
+        try {
+            for (int i = 0; i < 50; i++) {
+                GlobalSession globalSession = newGlobalSession();
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_ADD, globalSession));
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_REMOVE, globalSession));
+            }
+            Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_ADD, liveSession));
+            for (int i = 0; i < 50; i++) {
+                GlobalSession globalSession = newGlobalSession();
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_ADD, globalSession));
+                Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_REMOVE, globalSession));
+            }
+            int segments = segmentCount();
+            Assertions.assertTrue(segments > 2);
+
+            // the segment with the live session pins itself and all the segments after it
+            Mockito.when(sessionManager.allSessions()).thenReturn(Collections.singletonList(liveSession));
+            compact.invoke(storeManager);
+            int pinnedSegments = segmentCount();
+            Assertions.assertTrue(pinnedSegments < segments);
+            Assertions.assertTrue(pinnedSegments > 1);
+
+            // the live session logged but not in the session map yet still pins its segment
+            Mockito.when(sessionManager.allSessions()).thenReturn(Collections.emptyList());
+            compact.invoke(storeManager);
+            Assertions.assertEquals(pinnedSegments, segmentCount());
+
+            Assertions.assertTrue(storeManager.writeSession(LogOperation.GLOBAL_REMOVE, liveSession));
+            compact.invoke(storeManager);
+            Assertions.assertEquals(1, segmentCount());
+        } finally {
+            compact.setAccessible(false);
+            storeManager.shutdown();
+        }
+    }
+
+    private int segmentCount() {
+        File[] segments = dir.listFiles((d, name) -> name.endsWith(".seg"));
+        return segments == null ? 0 : segments.length;
+    }
+
+    private GlobalSession newGlobalSession() {
+        return GlobalSession.createGlobalSession("demo-app", "default_tx_group", "test", 60000);
+    }
+
+    private BranchSession newBranchSession(GlobalSession globalSession) {
+        return SessionHelper.newBranchByGlobal(globalSession, BranchType.AT, "resource", "t:1,2",
+            "127.0.0.1:8080");
+    }
+}
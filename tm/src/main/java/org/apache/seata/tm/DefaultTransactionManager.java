@@ -19,8 +19,8 @@ package org.apache.seata.tm;
 import org.apache.seata.core.exception.TmTransactionException;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.exception.TransactionExceptionCode;
+import org.apache.seata.core.model.AsyncTransactionManager;
 import org.apache.seata.core.model.GlobalStatus;
-import org.apache.seata.core.model.TransactionManager;
 import org.apache.seata.core.protocol.ResultCode;
 import org.apache.seata.core.protocol.transaction.AbstractTransactionRequest;
 import org.apache.seata.core.protocol.transaction.AbstractTransactionResponse;
@@ -36,13 +36,16 @@ import org.apache.seata.core.protocol.transaction.GlobalStatusRequest;
 import org.apache.seata.core.protocol.transaction.GlobalStatusResponse;
 import org.apache.seata.core.rpc.netty.TmNettyRemotingClient;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
 
 /**
  * The type Default transaction manager.
  *
  */
-public class DefaultTransactionManager implements TransactionManager {
+public class DefaultTransactionManager implements AsyncTransactionManager {
 
     @Override
     public String begin(String applicationId, String transactionServiceGroup, String name, int timeout)
@@ -90,6 +93,76 @@ public class DefaultTransactionManager implements TransactionManager {
         return response.getGlobalStatus();
     }
 
+    @Override
+    public CompletionStage<String> beginAsync(String applicationId, String transactionServiceGroup, String name,
+                                              int timeout) {
+        GlobalBeginRequest request = new GlobalBeginRequest();
+        request.setTransactionName(name);
+        request.setTimeout(timeout);
+        return asyncCall(request).thenApply(r -> {
+            GlobalBeginResponse response = (GlobalBeginResponse) r;
+            if (response.getResultCode() == ResultCode.Failed) {
+                throw new CompletionException(
+                    new TmTransactionException(TransactionExceptionCode.BeginFailed, response.getMsg()));
+            }
+            return response.getXid();
+        });
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> commitAsync(String xid) {
+        GlobalCommitRequest globalCommit = new GlobalCommitRequest();
+        globalCommit.setXid(xid);
+        return asyncCall(globalCommit).thenApply(response -> ((GlobalCommitResponse) response).getGlobalStatus());
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> rollbackAsync(String xid) {
+        GlobalRollbackRequest globalRollback = new GlobalRollbackRequest();
+        globalRollback.setXid(xid);
+        return asyncCall(globalRollback).thenApply(response -> ((GlobalRollbackResponse) response).getGlobalStatus());
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> getStatusAsync(String xid) {
+        GlobalStatusRequest queryGlobalStatus = new GlobalStatusRequest();
+        queryGlobalStatus.setXid(xid);
+        return asyncCall(queryGlobalStatus).thenApply(response -> ((GlobalStatusResponse) response).getGlobalStatus());
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> globalReportAsync(String xid, GlobalStatus globalStatus) {
+        GlobalReportRequest globalReport = new GlobalReportRequest();
+        globalReport.setXid(xid);
+        globalReport.setGlobalStatus(globalStatus);
+        return asyncCall(globalReport).thenApply(response -> ((GlobalReportResponse) response).getGlobalStatus());
+    }
+
+    private CompletionStage<AbstractTransactionResponse> asyncCall(AbstractTransactionRequest request) {
+        CompletableFuture<AbstractTransactionResponse> result = new CompletableFuture<>();
+        CompletableFuture<Object> future;
+        try {
+            future = TmNettyRemotingClient.getInstance().sendAsyncRequest(request);
+        } catch (RuntimeException rex) {
+            result.completeExceptionally(rex);
+            return result;
+        }
+        future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                result.complete((AbstractTransactionResponse) response);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+            if (cause instanceof TimeoutException) {
+                result.completeExceptionally(new TmTransactionException(TransactionExceptionCode.IO, "RPC timeout", cause));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        return result;
+    }
+
     private AbstractTransactionResponse syncCall(AbstractTransactionRequest request) throws TransactionException {
         try {
             return (AbstractTransactionResponse) TmNettyRemotingClient.getInstance().sendSyncRequest(request);
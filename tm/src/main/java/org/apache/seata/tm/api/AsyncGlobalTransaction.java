@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm.api;
+
+import java.util.concurrent.CompletionStage;
+
+import org.apache.seata.core.model.GlobalStatus;
+
+/**
+ * Global transaction without blocking, for the reactive and the virtual thread services.
+ * <p>
+ * Each method returns at once, the stage is completed once the TC responds, or completed exceptionally with the
+ * {@link org.apache.seata.core.exception.TransactionException}. The xid is never bound to the
+ * {@link org.apache.seata.core.context.RootContext} of the calling thread, since the following steps may run on
+ * other threads. The callers should propagate it themselves, e.g. by the subscriber context, and bind it around
+ * the branches.
+ * </p>
+ *
+ */
+public interface AsyncGlobalTransaction extends BaseTransaction {
+
+    /**
+     * Begin a new global transaction with default timeout and name.
+     *
+     * @return the stage of the xid
+     */
+    CompletionStage<String> begin();
+
+    /**
+     * Begin a new global transaction with given timeout and default name.
+     *
+     * @param timeout Global transaction timeout in MILLISECONDS
+     * @return the stage of the xid
+     */
+    CompletionStage<String> begin(int timeout);
+
+    /**
+     * Begin a new global transaction with given timeout and given name.
+     *
+     * @param timeout Given timeout in MILLISECONDS.
+     * @param name    Given name.
+     * @return the stage of the xid
+     */
+    CompletionStage<String> begin(int timeout, String name);
+
+    /**
+     * Commit the global transaction, retried like {@link GlobalTransaction#commit()}.
+     *
+     * @return the stage of the status after committing
+     */
+    CompletionStage<GlobalStatus> commit();
+
+    /**
+     * Rollback the global transaction, retried like {@link GlobalTransaction#rollback()}.
+     *
+     * @return the stage of the status after rollbacking
+     */
+    CompletionStage<GlobalStatus> rollback();
+
+    /**
+     * Ask TC for current status of the corresponding global transaction.
+     *
+     * @return the stage of the status
+     */
+    CompletionStage<GlobalStatus> getStatus();
+
+    /**
+     * report the global transaction status.
+     *
+     * @param globalStatus global status.
+     * @return the stage of the reported status
+     */
+    CompletionStage<GlobalStatus> globalReport(GlobalStatus globalStatus);
+
+    /**
+     * Get XID.
+     *
+     * @return XID. Return null if the global transaction hasn't begun.
+     */
+    String getXid();
+
+    /**
+     * local status of the global transaction.
+     *
+     * @return the local status
+     */
+    GlobalStatus getLocalStatus();
+
+    /**
+     * get global transaction role.
+     *
+     * @return global transaction Role.
+     */
+    GlobalTransactionRole getGlobalTransactionRole();
+
+    /**
+     * get create time
+     *
+     * @return create time
+     */
+    long getCreateTime();
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.apache.seata.common.util.FutureUtils;
+import org.apache.seata.config.ConfigurationFactory;
+import org.apache.seata.core.constants.ConfigurationKeys;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.AsyncTransactionManager;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.tm.TransactionManagerHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_COMMIT_RETRY_COUNT;
+import static org.apache.seata.common.DefaultValues.DEFAULT_TM_ROLLBACK_RETRY_COUNT;
+
+/**
+ * The type Default async global transaction.
+ *
+ */
+public class DefaultAsyncGlobalTransaction implements AsyncGlobalTransaction {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncGlobalTransaction.class);
+
+    private static final int DEFAULT_GLOBAL_TX_TIMEOUT = 60000;
+
+    private static final String DEFAULT_GLOBAL_TX_NAME = "default";
+
+    private static final int COMMIT_RETRY_COUNT = ConfigurationFactory.getInstance().getInt(
+        ConfigurationKeys.CLIENT_TM_COMMIT_RETRY_COUNT, DEFAULT_TM_COMMIT_RETRY_COUNT);
+
+    private static final int ROLLBACK_RETRY_COUNT = ConfigurationFactory.getInstance().getInt(
+        ConfigurationKeys.CLIENT_TM_ROLLBACK_RETRY_COUNT, DEFAULT_TM_ROLLBACK_RETRY_COUNT);
+
+    private final AsyncTransactionManager transactionManager;
+
+    private final GlobalTransactionRole role;
+
+    private volatile String xid;
+
+    private volatile GlobalStatus status;
+
+    private volatile long createTime;
+
+    /**
+     * Instantiates a new Default async global transaction.
+     *
+     * @param xid    the xid
+     * @param status the status
+     * @param role   the role
+     */
+    public DefaultAsyncGlobalTransaction(String xid, GlobalStatus status, GlobalTransactionRole role) {
+        this.transactionManager = AsyncTransactionManager.of(TransactionManagerHolder.get());
+        this.xid = xid;
+        this.status = status;
+        this.role = role;
+    }
+
+    @Override
+    public CompletionStage<String> begin() {
+        return begin(DEFAULT_GLOBAL_TX_TIMEOUT);
+    }
+
+    @Override
+    public CompletionStage<String> begin(int timeout) {
+        return begin(timeout, DEFAULT_GLOBAL_TX_NAME);
+    }
+
+    @Override
+    public CompletionStage<String> begin(int timeout, String name) {
+        this.createTime = System.currentTimeMillis();
+        if (role != GlobalTransactionRole.Launcher) {
+            if (xid == null) {
+                return FutureUtils.failedStage(new IllegalStateException());
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Begin(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(xid);
+        }
+        if (xid != null) {
+            return FutureUtils.failedStage(new IllegalStateException());
+        }
+        return transactionManager.beginAsync(null, null, name, timeout).thenApply(beganXid -> {
+            xid = beganXid;
+            status = GlobalStatus.Begin;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Begin new global transaction [{}]", beganXid);
+            }
+            return beganXid;
+        });
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> commit() {
+        if (role == GlobalTransactionRole.Participant) {
+            // Participant has no responsibility of committing
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Commit(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(status);
+        }
+        if (xid == null) {
+            return FutureUtils.failedStage(new IllegalStateException());
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("transaction {} will be commit", xid);
+        }
+        int retry = COMMIT_RETRY_COUNT <= 0 ? DEFAULT_TM_COMMIT_RETRY_COUNT : COMMIT_RETRY_COUNT;
+        return retry(() -> transactionManager.commitAsync(xid), retry, "commit").thenApply(committed -> {
+            status = committed;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("[{}] commit status: {}", xid, committed);
+            }
+            return committed;
+        });
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> rollback() {
+        if (role == GlobalTransactionRole.Participant) {
+            // Participant has no responsibility of rollback
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Ignore Rollback(): just involved in global transaction [{}]", xid);
+            }
+            return CompletableFuture.completedFuture(status);
+        }
+        if (xid == null) {
+            return FutureUtils.failedStage(new IllegalStateException());
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("transaction {} will be rollback", xid);
+        }
+        int retry = ROLLBACK_RETRY_COUNT <= 0 ? DEFAULT_TM_ROLLBACK_RETRY_COUNT : ROLLBACK_RETRY_COUNT;
+        return retry(() -> transactionManager.rollbackAsync(xid), retry, "rollback").thenApply(rollbacked -> {
+            status = rollbacked;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("[{}] rollback status: {}", xid, rollbacked);
+            }
+            return rollbacked;
+        });
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> getStatus() {
+        if (xid == null) {
+            return CompletableFuture.completedFuture(GlobalStatus.UnKnown);
+        }
+        return transactionManager.getStatusAsync(xid).thenApply(current -> {
+            status = current;
+            return current;
+        });
+    }
+
+    @Override
+    public CompletionStage<GlobalStatus> globalReport(GlobalStatus globalStatus) {
+        if (xid == null || globalStatus == null) {
+            return FutureUtils.failedStage(new IllegalStateException());
+        }
+        return transactionManager.globalReportAsync(xid, globalStatus).thenApply(reported -> {
+            status = reported;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("[{}] report status: {}", xid, reported);
+            }
+            return reported;
+        });
+    }
+
+    @Override
+    public String getXid() {
+        return xid;
+    }
+
+    @Override
+    public GlobalStatus getLocalStatus() {
+        return status;
+    }
+
+    @Override
+    public GlobalTransactionRole getGlobalTransactionRole() {
+        return role;
+    }
+
+    @Override
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    private CompletionStage<GlobalStatus> retry(Supplier<CompletionStage<GlobalStatus>> action, int retry,
+                                                String actionName) {
+        CompletableFuture<GlobalStatus> result = new CompletableFuture<>();
+        attempt(action, retry, actionName, result);
+        return result;
+    }
+
+    private void attempt(Supplier<CompletionStage<GlobalStatus>> action, int retry, String actionName,
+                         CompletableFuture<GlobalStatus> result) {
+        int remaining = retry - 1;
+        CompletionStage<GlobalStatus> stage;
+        try {
+            stage = action.get();
+        } catch (Throwable ex) {
+            stage = FutureUtils.failedStage(ex);
+        }
+        stage.whenComplete((reported, throwable) -> {
+            if (throwable == null) {
+                result.complete(reported);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+            LOGGER.error("Failed to report global {} [{}],Retry Countdown: {}, reason: {}", actionName, xid,
+                remaining, cause.getMessage());
+            if (remaining <= 0) {
+                result.completeExceptionally(new TransactionException("Failed to report global " + actionName, cause));
+            } else {
+                attempt(action, remaining, actionName, result);
+            }
+        });
+    }
+}
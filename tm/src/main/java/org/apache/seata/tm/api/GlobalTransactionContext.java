@@ -16,6 +16,9 @@
  */
 package org.apache.seata.tm.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.seata.core.context.RootContext;
 import org.apache.seata.core.exception.TransactionException;
 import org.apache.seata.core.model.GlobalStatus;
@@ -79,4 +82,42 @@ public class GlobalTransactionContext {
             }
         };
     }
+
+    /**
+     * Create a new AsyncGlobalTransaction, which never binds the xid on the current thread.
+     *
+     * @return the new async global transaction
+     */
+    public static AsyncGlobalTransaction createNewAsync() {
+        return new DefaultAsyncGlobalTransaction(null, GlobalStatus.UnKnown, GlobalTransactionRole.Launcher);
+    }
+
+    /**
+     * Join the global transaction of the given XID as a participant, the XID is propagated by the caller, e.g. the
+     * subscriber context of the reactive streams.
+     *
+     * @param xid the xid
+     * @return the participant async global transaction
+     */
+    public static AsyncGlobalTransaction joinAsync(String xid) {
+        return new DefaultAsyncGlobalTransaction(xid, GlobalStatus.Begin, GlobalTransactionRole.Participant);
+    }
+
+    /**
+     * Reload AsyncGlobalTransaction instance according to the given XID
+     *
+     * @param xid the xid
+     * @return reloaded async transaction instance.
+     */
+    public static AsyncGlobalTransaction reloadAsync(String xid) {
+        return new DefaultAsyncGlobalTransaction(xid, GlobalStatus.UnKnown, GlobalTransactionRole.Launcher) {
+            @Override
+            public CompletionStage<String> begin(int timeout, String name) {
+                CompletableFuture<String> future = new CompletableFuture<>();
+                future.completeExceptionally(
+                    new IllegalStateException("Never BEGIN on a RELOADED GlobalTransaction. "));
+                return future;
+            }
+        };
+    }
 }
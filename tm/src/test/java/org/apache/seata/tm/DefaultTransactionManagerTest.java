@@ -40,6 +40,8 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -165,4 +167,63 @@ public class DefaultTransactionManagerTest {
         Assertions.assertTrue(exception.getMessage().contains("RPC timeout"));
         Mockito.verify(tmNettyRemotingClient).sendSyncRequest(any(AbstractTransactionRequest.class));
     }
+
+    @Test
+    void testBeginAsyncSuccess() throws Exception {
+        GlobalBeginResponse mockResponse = new GlobalBeginResponse();
+        mockResponse.setResultCode(ResultCode.Success);
+        mockResponse.setXid(DEFAULT_XID);
+        CompletableFuture<Object> responseFuture = new CompletableFuture<>();
+
+        when(tmNettyRemotingClient.sendAsyncRequest(any(GlobalBeginRequest.class))).thenReturn(responseFuture);
+
+        CompletableFuture<String> xid = defaultTransactionManager.beginAsync("appId", "txGroup", "testName", 1000)
+            .toCompletableFuture();
+        Assertions.assertFalse(xid.isDone());
+
+        responseFuture.complete(mockResponse);
+        Assertions.assertEquals(DEFAULT_XID, xid.get());
+        Mockito.verify(tmNettyRemotingClient, Mockito.never()).sendSyncRequest(any());
+    }
+
+    @Test
+    void testBeginAsyncFailure() {
+        GlobalBeginResponse mockResponse = new GlobalBeginResponse();
+        mockResponse.setResultCode(ResultCode.Failed);
+        mockResponse.setMsg("Failed to begin transaction");
+
+        when(tmNettyRemotingClient.sendAsyncRequest(any(GlobalBeginRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+            () -> defaultTransactionManager.beginAsync("appId", "txGroup", "testName", 1000).toCompletableFuture().get());
+
+        Assertions.assertTrue(exception.getCause() instanceof TransactionException);
+        Assertions.assertTrue(exception.getCause().getMessage().contains("Failed to begin transaction"));
+    }
+
+    @Test
+    void testCommitAsyncSuccess() throws Exception {
+        GlobalCommitResponse mockResponse = new GlobalCommitResponse();
+        mockResponse.setGlobalStatus(GlobalStatus.Committed);
+
+        when(tmNettyRemotingClient.sendAsyncRequest(any(GlobalCommitRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        Assertions.assertEquals(GlobalStatus.Committed,
+            defaultTransactionManager.commitAsync(DEFAULT_XID).toCompletableFuture().get());
+    }
+
+    @Test
+    void testAsyncCallTimeout() {
+        CompletableFuture<Object> responseFuture = new CompletableFuture<>();
+        responseFuture.completeExceptionally(new TimeoutException("Timeout occurred"));
+        when(tmNettyRemotingClient.sendAsyncRequest(any(AbstractTransactionRequest.class))).thenReturn(responseFuture);
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+            () -> defaultTransactionManager.getStatusAsync(DEFAULT_XID).toCompletableFuture().get());
+
+        Assertions.assertTrue(exception.getCause() instanceof TransactionException);
+        Assertions.assertTrue(exception.getCause().getMessage().contains("RPC timeout"));
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.seata.tm.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.seata.core.context.RootContext;
+import org.apache.seata.core.exception.TransactionException;
+import org.apache.seata.core.model.AsyncTransactionManager;
+import org.apache.seata.core.model.GlobalStatus;
+import org.apache.seata.tm.TransactionManagerHolder;
+import org.apache.seata.tm.api.transaction.MyRuntimeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DefaultAsyncGlobalTransactionTest {
+
+    private static final String DEFAULT_XID = "1234567890";
+
+    private final AtomicInteger commitCalls = new AtomicInteger();
+
+    private CompletableFuture<String> beginFuture;
+
+    @BeforeEach
+    public void init() {
+        commitCalls.set(0);
+        beginFuture = new CompletableFuture<>();
+        TransactionManagerHolder.set(new AsyncTransactionManager() {
+            @Override
+            public CompletionStage<String> beginAsync(String applicationId, String transactionServiceGroup,
+                                                      String name, int timeout) {
+                return beginFuture;
+            }
+
+            @Override
+            public CompletionStage<GlobalStatus> commitAsync(String xid) {
+                CompletableFuture<GlobalStatus> future = new CompletableFuture<>();
+                if (commitCalls.incrementAndGet() < 2) {
+                    future.completeExceptionally(new MyRuntimeException(""));
+                } else {
+                    future.complete(GlobalStatus.Committed);
+                }
+                return future;
+            }
+
+            @Override
+            public String begin(String applicationId, String transactionServiceGroup, String name, int timeout) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public GlobalStatus commit(String xid) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public GlobalStatus rollback(String xid) throws TransactionException {
+                throw new MyRuntimeException("");
+            }
+
+            @Override
+            public GlobalStatus getStatus(String xid) {
+                return GlobalStatus.Committing;
+            }
+
+            @Override
+            public GlobalStatus globalReport(String xid, GlobalStatus globalStatus) {
+                return globalStatus;
+            }
+        });
+    }
+
+    @Test
+    public void beginWithoutBindingTest() throws Exception {
+        RootContext.unbind();
+        AsyncGlobalTransaction tx = GlobalTransactionContext.createNewAsync();
+        CompletableFuture<String> xid = tx.begin().toCompletableFuture();
+        Assertions.assertFalse(xid.isDone());
+        Assertions.assertNull(tx.getXid());
+
+        beginFuture.complete(DEFAULT_XID);
+        Assertions.assertEquals(DEFAULT_XID, xid.get());
+        Assertions.assertEquals(DEFAULT_XID, tx.getXid());
+        Assertions.assertEquals(GlobalStatus.Begin, tx.getLocalStatus());
+        Assertions.assertNull(RootContext.getXID());
+    }
+
+    @Test
+    public void commitRetryTest() throws Exception {
+        beginFuture.complete(DEFAULT_XID);
+        AsyncGlobalTransaction tx = GlobalTransactionContext.createNewAsync();
+        tx.begin().toCompletableFuture().get();
+        Assertions.assertEquals(GlobalStatus.Committed, tx.commit().toCompletableFuture().get());
+        Assertions.assertEquals(2, commitCalls.get());
+        Assertions.assertEquals(GlobalStatus.Committed, tx.getLocalStatus());
+    }
+
+    @Test
+    public void rollbackRetryExceptionTest() throws Exception {
+        beginFuture.complete(DEFAULT_XID);
+        AsyncGlobalTransaction tx = GlobalTransactionContext.createNewAsync();
+        tx.begin().toCompletableFuture().get();
+        // the blocking manager is adapted
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+            () -> tx.rollback().toCompletableFuture().get());
+        Assertions.assertTrue(exception.getCause() instanceof TransactionException);
+    }
+
+    @Test
+    public void noXidTest() {
+        AsyncGlobalTransaction tx = GlobalTransactionContext.createNewAsync();
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+            () -> tx.commit().toCompletableFuture().get());
+        Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void participantAndReloadTest() throws Exception {
+        AsyncGlobalTransaction participant = GlobalTransactionContext.joinAsync(DEFAULT_XID);
+        Assertions.assertEquals(DEFAULT_XID, participant.begin().toCompletableFuture().get());
+        Assertions.assertEquals(GlobalStatus.Begin, participant.commit().toCompletableFuture().get());
+        Assertions.assertEquals(0, commitCalls.get());
+
+        AsyncGlobalTransaction reloaded = GlobalTransactionContext.reloadAsync(DEFAULT_XID);
+        Assertions.assertThrows(ExecutionException.class, () -> reloaded.begin().toCompletableFuture().get());
+        Assertions.assertEquals(GlobalStatus.Committing, reloaded.getStatus().toCompletableFuture().get());
+    }
+}